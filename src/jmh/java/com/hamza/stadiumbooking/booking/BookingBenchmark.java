@@ -0,0 +1,102 @@
+package com.hamza.stadiumbooking.booking;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.hamza.stadiumbooking.stadium.PriceTable;
+import com.hamza.stadiumbooking.stadium.Stadium;
+import com.hamza.stadiumbooking.stadium.StadiumPriceRule;
+import com.hamza.stadiumbooking.stadium.Type;
+import com.hamza.stadiumbooking.user.Role;
+import com.hamza.stadiumbooking.user.User;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.PagedModel;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingBenchmark {
+
+    @Param({"10", "50"})
+    public int pageSize;
+
+    private Booking booking;
+    private PriceTable prices;
+    private LocalDateTime bookedAt;
+    private LocalDateTime bookedLastMinute;
+    private PagedModel<BookingResponse> page;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        User player = new User(UUID.randomUUID(), 0L, "Player User", "player@gmail.com", "01032345678",
+                "hash", LocalDate.of(1995, 1, 1), null, null, Role.ROLE_PLAYER, false);
+        Stadium stadium = new Stadium(UUID.randomUUID(), 0L, "Cairo Arena", "Nasr City", 250.0, "https://photo.com",
+                Type.FIVE_A_SIDE, 50, LocalTime.of(16, 0), LocalTime.of(2, 0), null,
+                Set.of("WiFi", "Locker Room", "Parking"), player, false, null, null, null);
+
+        LocalDateTime start = LocalDateTime.of(2027, 3, 5, 20, 0);
+        booking = new Booking(UUID.randomUUID(), 0L, start, start.plusMinutes(90), null, "Friday match",
+                player, stadium, null, BookingStatus.CONFIRMED, null, null);
+
+        // An evening peak and a last-minute discount: the rule shapes the pricing endpoints compile most often
+        prices = PriceTable.compile(stadium, List.of(
+                StadiumPriceRule.builder().startTime(LocalTime.of(19, 0)).endTime(LocalTime.of(23, 0)).percent(120).build(),
+                StadiumPriceRule.builder().startTime(LocalTime.of(0, 0)).endTime(LocalTime.of(0, 0)).percent(80).withinHours(24).build()));
+        bookedAt = start.minusDays(3);
+        bookedLastMinute = start.minusHours(2);
+
+        List<BookingResponse> content = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) content.add(BookingService.mapToDto(booking));
+        page = new PagedModel<>(new PageImpl<>(content, PageRequest.of(0, pageSize), 500));
+
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    @Benchmark
+    public void validateDuration() {
+        booking.validateDuration();
+    }
+
+    @Benchmark
+    public Double calculateTotalPrice() {
+        booking.calculateTotalPrice(prices, bookedAt);
+        return booking.getTotalPrice();
+    }
+
+    @Benchmark
+    public double quote_lastMinute() {
+        return prices.quote(booking.getStartTime(), booking.getEndTime(), bookedLastMinute);
+    }
+
+    @Benchmark
+    public Double getDuration() {
+        return booking.getDuration();
+    }
+
+    @Benchmark
+    public BookingResponse mapToDto() {
+        return BookingService.mapToDto(booking);
+    }
+
+    @Benchmark
+    public void serializePage(Blackhole blackhole) throws Exception {
+        blackhole.consume(objectMapper.writeValueAsBytes(page));
+    }
+}
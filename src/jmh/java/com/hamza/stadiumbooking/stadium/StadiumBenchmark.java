@@ -0,0 +1,90 @@
+package com.hamza.stadiumbooking.stadium;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.hamza.stadiumbooking.user.Role;
+import com.hamza.stadiumbooking.user.User;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.PagedModel;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StadiumBenchmark {
+
+    @Param({"0", "3", "12"})
+    public int featureCount;
+
+    private Stadium daytimeStadium;
+    private OperatingCalendar daytimeCalendar;
+    private OperatingCalendar overnightCalendar;
+    private PagedModel<StadiumResponse> page;
+    private ObjectMapper objectMapper;
+
+    private final LocalDateTime eveningStart = LocalDate.of(2030, 1, 4).atTime(20, 0);
+    private final LocalDateTime eveningEnd = eveningStart.plusMinutes(90);
+    private final LocalDateTime lateStart = LocalDate.of(2030, 1, 4).atTime(23, 30);
+    private final LocalDateTime lateEnd = lateStart.plusMinutes(90);
+
+    @Setup
+    public void setUp() {
+        User owner = new User(UUID.randomUUID(), 0L, "Manager User", "manager@gmail.com", "01022345678",
+                "hash", LocalDate.of(1995, 1, 1), null, null, Role.ROLE_MANAGER, false);
+
+        Set<String> features = new HashSet<>();
+        for (int i = 0; i < featureCount; i++) features.add("Feature " + i);
+
+        daytimeStadium = stadium(owner, features, LocalTime.of(9, 0), LocalTime.of(23, 0));
+        daytimeCalendar = OperatingCalendar.compile(LocalTime.of(9, 0), LocalTime.of(23, 0), List.of(), List.of());
+        overnightCalendar = OperatingCalendar.compile(LocalTime.of(16, 0), LocalTime.of(2, 0), List.of(), List.of());
+
+        List<StadiumResponse> content = new ArrayList<>(10);
+        for (int i = 0; i < 10; i++) content.add(StadiumService.mapToDto(daytimeStadium));
+        page = new PagedModel<>(new PageImpl<>(content, PageRequest.of(0, 10), 120));
+
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    @Benchmark
+    public boolean isOpen_daytimeHours() {
+        return daytimeCalendar.isOpen(eveningStart, eveningEnd);
+    }
+
+    @Benchmark
+    public boolean isOpen_overnightHours() {
+        return overnightCalendar.isOpen(lateStart, lateEnd);
+    }
+
+    @Benchmark
+    public StadiumResponse mapToDto() {
+        return StadiumService.mapToDto(daytimeStadium);
+    }
+
+    @Benchmark
+    public void serializePage(Blackhole blackhole) throws Exception {
+        blackhole.consume(objectMapper.writeValueAsBytes(page));
+    }
+
+    private Stadium stadium(User owner, Set<String> features, LocalTime open, LocalTime close) {
+        return new Stadium(UUID.randomUUID(), 0L, "Cairo Arena", "Nasr City", 250.0, "https://photo.com",
+                Type.FIVE_A_SIDE, 50, open, close, null, features, owner, false, null, null, null);
+    }
+}
@@ -0,0 +1,33 @@
+package com.hamza.stadiumbooking.analytics;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * State of one analytics job: {@code since} is when it first ran and, for jobs that scan a table by change time,
+ * {@code (lastChangedAt, lastRowId)} is the last row read. Jobs lock their row for the length of a batch, so only one
+ * node runs a batch at a time.
+ */
+@Builder
+@Entity
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "analytics_watermarks")
+public class AnalyticsWatermark {
+
+    @Id
+    @Column(length = 50)
+    private String name;
+
+    @Column(nullable = false)
+    private LocalDateTime since;
+
+    private LocalDateTime lastChangedAt;
+
+    private UUID lastRowId;
+}
@@ -0,0 +1,18 @@
+package com.hamza.stadiumbooking.analytics;
+
+import com.hamza.stadiumbooking.booking.BookingStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A booking row as the revenue rollup reads it; {@code changedAt} is the createdAt or updatedAt it was found by.
+ */
+public record BookingChange(
+        UUID id,
+        UUID stadiumId,
+        LocalDateTime startTime,
+        BookingStatus status,
+        Double totalPrice,
+        LocalDateTime changedAt
+) {}
@@ -0,0 +1,103 @@
+package com.hamza.stadiumbooking.analytics;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Counters of one stadium per weekday and hour (Monday 00:00-01:00 is cell 0): booked minutes and revenue of the
+ * bookings that are not cancelled, and minutes of the completed ones. A booking is spread over the hours it covers by
+ * the minute, its price pro rata in whole cents, so taking a booking out is the exact inverse of putting it in.
+ * Used both for a batch's deltas and, decoded, for the running totals.
+ */
+final class HeatmapCells {
+
+    static final int CELLS = 7 * 24;
+    static final int BYTES = CELLS * Long.BYTES;
+
+    final long[] bookedMinutes;
+    final long[] completedMinutes;
+    final long[] revenueCents;
+
+    HeatmapCells() {
+        this(new long[CELLS], new long[CELLS], new long[CELLS]);
+    }
+
+    private HeatmapCells(long[] bookedMinutes, long[] completedMinutes, long[] revenueCents) {
+        this.bookedMinutes = bookedMinutes;
+        this.completedMinutes = completedMinutes;
+        this.revenueCents = revenueCents;
+    }
+
+    static HeatmapCells of(StadiumHeatmap heatmap) {
+        return new HeatmapCells(decode(heatmap.getBookedMinutes()), decode(heatmap.getCompletedMinutes()), decode(heatmap.getRevenueCents()));
+    }
+
+    /**
+     * Adds ({@code sign} 1) or removes ({@code sign} -1) a booking of {@code [start, end)} at {@code price}.
+     */
+    void book(LocalDateTime start, LocalDateTime end, Double price, int sign) {
+        spread(start, end, bookedMinutes, revenueCents, price == null ? 0 : Math.round(price * 100), sign);
+    }
+
+    void complete(LocalDateTime start, LocalDateTime end) {
+        spread(start, end, completedMinutes, null, 0, 1);
+    }
+
+    void addTo(StadiumHeatmap heatmap) {
+        HeatmapCells total = of(heatmap);
+        for (int i = 0; i < CELLS; i++) {
+            total.bookedMinutes[i] += bookedMinutes[i];
+            total.completedMinutes[i] += completedMinutes[i];
+            total.revenueCents[i] += revenueCents[i];
+        }
+        total.writeTo(heatmap);
+    }
+
+    void writeTo(StadiumHeatmap heatmap) {
+        heatmap.setBookedMinutes(encode(bookedMinutes));
+        heatmap.setCompletedMinutes(encode(completedMinutes));
+        heatmap.setRevenueCents(encode(revenueCents));
+    }
+
+    static int cell(LocalDateTime time) {
+        return (time.getDayOfWeek().getValue() - 1) * 24 + time.getHour();
+    }
+
+    private static void spread(LocalDateTime start, LocalDateTime end, long[] minutes, long[] cents, long totalCents, int sign) {
+        LocalDateTime from = start.truncatedTo(ChronoUnit.MINUTES);
+        LocalDateTime to = end.truncatedTo(ChronoUnit.MINUTES);
+        long total = ChronoUnit.MINUTES.between(from, to);
+        if (total <= 0) return;
+
+        // Cents are handed out by cumulative share, so the cells always add up to the whole price
+        long done = 0;
+        long paid = 0;
+        for (LocalDateTime t = from; t.isBefore(to); ) {
+            LocalDateTime next = t.truncatedTo(ChronoUnit.HOURS).plusHours(1);
+            if (next.isAfter(to)) next = to;
+            long length = ChronoUnit.MINUTES.between(t, next);
+            int cell = cell(t);
+            minutes[cell] += sign * length;
+            done += length;
+            if (cents != null) {
+                long share = totalCents * done / total - paid;
+                paid += share;
+                cents[cell] += sign * share;
+            }
+            t = next;
+        }
+    }
+
+    private static long[] decode(byte[] bytes) {
+        long[] values = new long[CELLS];
+        ByteBuffer.wrap(bytes).asLongBuffer().get(values);
+        return values;
+    }
+
+    private static byte[] encode(long[] values) {
+        ByteBuffer buffer = ByteBuffer.allocate(BYTES);
+        buffer.asLongBuffer().put(values);
+        return buffer.array();
+    }
+}
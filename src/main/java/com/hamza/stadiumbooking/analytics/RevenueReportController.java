@@ -0,0 +1,27 @@
+package com.hamza.stadiumbooking.analytics;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@RestController @RequiredArgsConstructor @Slf4j
+@RequestMapping("/api/v1/reports")
+public class RevenueReportController {
+
+    private final RevenueRollupService revenueRollupService;
+
+    @GetMapping("/revenue")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public ResponseEntity<RevenueReportResponse> getRevenue(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                            @RequestParam(required = false) UUID stadiumId) {
+        log.debug("Incoming request for revenue report | From: {} | To: {} | Stadium: {}", from, to, stadiumId);
+        return ResponseEntity.ok(revenueRollupService.getReport(from, to, stadiumId));
+    }
+}
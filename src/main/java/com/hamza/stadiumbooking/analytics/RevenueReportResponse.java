@@ -0,0 +1,23 @@
+package com.hamza.stadiumbooking.analytics;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Revenue of the report's scope from {@code from} to {@code to} (booking start days, inclusive): the whole range in
+ * {@code total}, and each day that has bookings in {@code days}. {@code stadiumId} is null for several stadiums.
+ */
+public record RevenueReportResponse(
+        LocalDate from,
+        LocalDate to,
+        UUID stadiumId,
+        Revenue total,
+        List<Day> days
+) {
+    public record Day(LocalDate day, Revenue revenue) {}
+
+    public record Revenue(Amount confirmed, Amount completed, Amount cancelled) {}
+
+    public record Amount(long bookings, double revenue) {}
+}
@@ -0,0 +1,50 @@
+package com.hamza.stadiumbooking.analytics;
+
+import com.hamza.stadiumbooking.booking.BookingStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Bookings and revenue of one stadium, day (of the booking's start) and status. Rows keyed by
+ * {@link RevenueRollupService#ALL_STADIUMS} hold the totals of every stadium.
+ */
+@Builder
+@Entity
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "revenue_daily_rollups")
+public class RevenueRollup {
+
+    @EmbeddedId
+    private Key key;
+
+    @Column(nullable = false)
+    private long bookings;
+
+    @Column(nullable = false)
+    private long revenueCents;
+
+    @Embeddable
+    @Getter
+    @EqualsAndHashCode
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Key implements Serializable {
+
+        @Column(name = "stadium_id", nullable = false)
+        private UUID stadiumId;
+
+        @Column(name = "booking_day", nullable = false)
+        private LocalDate day;
+
+        @Enumerated(EnumType.STRING)
+        @Column(nullable = false, length = 50)
+        private BookingStatus status;
+    }
+}
@@ -0,0 +1,38 @@
+package com.hamza.stadiumbooking.analytics;
+
+import com.hamza.stadiumbooking.booking.BookingStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * What one booking currently adds to the rollups. When the booking changes, this is taken out of its old row before
+ * the new state is added, so reading a row again is harmless.
+ */
+@Builder
+@Entity
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "revenue_rollup_entries")
+public class RevenueRollupEntry {
+
+    @Id
+    private UUID bookingId;
+
+    @Column(nullable = false)
+    private UUID stadiumId;
+
+    @Column(name = "booking_day", nullable = false)
+    private LocalDate day;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 50)
+    private BookingStatus status;
+
+    @Column(nullable = false)
+    private long revenueCents;
+}
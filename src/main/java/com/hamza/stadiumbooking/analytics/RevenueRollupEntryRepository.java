@@ -0,0 +1,44 @@
+package com.hamza.stadiumbooking.analytics;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface RevenueRollupEntryRepository extends JpaRepository<RevenueRollupEntry, UUID> {
+
+    // Keyset pages over idx_booking_created / idx_booking_updated: rows after (afterTime, afterId), settled before :before
+    @Query("""
+        SELECT new com.hamza.stadiumbooking.analytics.BookingChange(b.id, b.stadium.id, b.startTime, b.status, b.totalPrice, b.createdAt)
+        FROM Booking b
+        WHERE b.createdAt < :before
+        AND (b.createdAt > :afterTime OR (b.createdAt = :afterTime AND b.id > :afterId))
+        ORDER BY b.createdAt, b.id
+    """)
+    List<BookingChange> findCreatedAfter(
+            @Param("afterTime") LocalDateTime afterTime,
+            @Param("afterId") UUID afterId,
+            @Param("before") LocalDateTime before,
+            Limit limit
+    );
+
+    @Query("""
+        SELECT new com.hamza.stadiumbooking.analytics.BookingChange(b.id, b.stadium.id, b.startTime, b.status, b.totalPrice, b.updatedAt)
+        FROM Booking b
+        WHERE b.updatedAt < :before
+        AND (b.updatedAt > :afterTime OR (b.updatedAt = :afterTime AND b.id > :afterId))
+        ORDER BY b.updatedAt, b.id
+    """)
+    List<BookingChange> findUpdatedAfter(
+            @Param("afterTime") LocalDateTime afterTime,
+            @Param("afterId") UUID afterId,
+            @Param("before") LocalDateTime before,
+            Limit limit
+    );
+}
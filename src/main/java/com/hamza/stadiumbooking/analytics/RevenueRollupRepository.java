@@ -0,0 +1,28 @@
+package com.hamza.stadiumbooking.analytics;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface RevenueRollupRepository extends JpaRepository<RevenueRollup, RevenueRollup.Key> {
+
+    // A primary-key range per stadium: at most 366 days x 3 statuses each
+    @Query("""
+        SELECT new com.hamza.stadiumbooking.analytics.RevenueTotal(r.key.day, r.key.status, SUM(r.bookings), SUM(r.revenueCents))
+        FROM RevenueRollup r
+        WHERE r.key.stadiumId IN :stadiumIds AND r.key.day BETWEEN :from AND :to
+        GROUP BY r.key.day, r.key.status
+    """)
+    List<RevenueTotal> sumByDay(
+            @Param("stadiumIds") Collection<UUID> stadiumIds,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+}
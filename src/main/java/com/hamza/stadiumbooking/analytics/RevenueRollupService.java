@@ -0,0 +1,240 @@
+package com.hamza.stadiumbooking.analytics;
+
+import com.hamza.stadiumbooking.booking.BookingStatus;
+import com.hamza.stadiumbooking.security.utils.OwnershipValidationService;
+import com.hamza.stadiumbooking.stadium.StadiumRepository;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Daily revenue per stadium and booking status, kept in {@link RevenueRollup} rows so that a year's report reads a
+ * few hundred rows instead of the bookings behind them.
+ * <p>
+ * Every {@code analytics.revenue.interval-ms} the job reads the bookings created, then those updated, since its two
+ * watermarks (keyset over {@code (createdAt, id)} and {@code (updatedAt, id)}), in batches. Each booking's current
+ * contribution is kept in a {@link RevenueRollupEntry}: a changed booking is taken out of its old row and added to its
+ * new one, and one read twice (created and updated, or again after a crash) changes nothing. A batch's rollups,
+ * entries and watermark commit together, with both watermark rows locked so that one node rolls up at a time. Rows
+ * changed less than {@code settle-ms} ago wait for the next run, so a transaction that commits a little after
+ * stamping its rows is not skipped.
+ * <p>
+ * The first run reads the whole bookings table; bookings archived before the rollups existed were counted by the
+ * migration, and later archiving removes nothing from them.
+ */
+@Slf4j
+@Service
+public class RevenueRollupService {
+
+    static final UUID ALL_STADIUMS = new UUID(0, 0);
+    static final String CREATED_WATERMARK = "revenue-rollup-created";
+    static final String UPDATED_WATERMARK = "revenue-rollup-updated";
+    static final int MAX_REPORT_DAYS = 366;
+
+    private static final LocalDateTime START = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final UUID NO_ROW = new UUID(0, 0);
+
+    private final RevenueRollupRepository rollupRepository;
+    private final RevenueRollupEntryRepository entryRepository;
+    private final AnalyticsWatermarkRepository watermarkRepository;
+    private final StadiumRepository stadiumRepository;
+    private final OwnershipValidationService ownershipValidationService;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long settleMillis;
+
+    public RevenueRollupService(RevenueRollupRepository rollupRepository,
+                                RevenueRollupEntryRepository entryRepository,
+                                AnalyticsWatermarkRepository watermarkRepository,
+                                StadiumRepository stadiumRepository,
+                                OwnershipValidationService ownershipValidationService,
+                                EntityManager entityManager,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${analytics.revenue.batch-size:1000}") int batchSize,
+                                @Value("${analytics.revenue.settle-ms:30000}") long settleMillis) {
+        this.rollupRepository = rollupRepository;
+        this.entryRepository = entryRepository;
+        this.watermarkRepository = watermarkRepository;
+        this.stadiumRepository = stadiumRepository;
+        this.ownershipValidationService = ownershipValidationService;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.settleMillis = settleMillis;
+    }
+
+    @Scheduled(fixedDelayString = "${analytics.revenue.interval-ms:60000}")
+    public void rollUp() {
+        try {
+            while (rollUpBatch(true) == batchSize) {
+                // a full batch was read, keep reading
+            }
+            while (rollUpBatch(false) == batchSize) {
+                // a full batch was read, keep reading
+            }
+        } catch (Exception e) {
+            log.error("❌ Error during revenue rollup task: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Revenue of one stadium (its owner or an admin), of the current manager's stadiums, or for admins of all
+     * stadiums, per status and day.
+     */
+    @Transactional(readOnly = true)
+    public RevenueReportResponse getReport(LocalDate from, LocalDate to, UUID stadiumId) {
+        if (to.isBefore(from)) throw new IllegalArgumentException("'to' must not be before 'from'");
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_REPORT_DAYS)
+            throw new IllegalArgumentException("A revenue report covers at most " + MAX_REPORT_DAYS + " days");
+
+        List<UUID> scope;
+        if (stadiumId != null) {
+            ownershipValidationService.checkOwnership(stadiumId);
+            scope = List.of(stadiumId);
+        } else if (ownershipValidationService.isAdmin()) {
+            scope = List.of(ALL_STADIUMS);
+        } else {
+            scope = stadiumRepository.findIdsByOwnerId(ownershipValidationService.getCurrentUserId());
+        }
+        List<RevenueTotal> totals = scope.isEmpty() ? List.of() : rollupRepository.sumByDay(scope, from, to);
+
+        Map<BookingStatus, long[]> total = new EnumMap<>(BookingStatus.class);
+        Map<LocalDate, Map<BookingStatus, long[]>> byDay = new TreeMap<>();
+        for (RevenueTotal row : totals) {
+            // Rows emptied by bookings moving away stay behind at zero
+            if (row.bookings() == 0) continue;
+            add(total, row);
+            add(byDay.computeIfAbsent(row.day(), day -> new EnumMap<>(BookingStatus.class)), row);
+        }
+        List<RevenueReportResponse.Day> days = new ArrayList<>(byDay.size());
+        byDay.forEach((day, revenue) -> days.add(new RevenueReportResponse.Day(day, toRevenue(revenue))));
+        return new RevenueReportResponse(from, to, stadiumId, toRevenue(total), days);
+    }
+
+    /**
+     * Rolls up one batch of created ({@code created}) or updated bookings and advances that watermark, in one
+     * transaction.
+     *
+     * @return number of bookings read
+     */
+    private int rollUpBatch(boolean created) {
+        Integer read = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            // Both rows, always in this order: whichever pass runs, one node at a time writes the entries
+            AnalyticsWatermark createdMark = lockWatermark(CREATED_WATERMARK, now);
+            AnalyticsWatermark updatedMark = lockWatermark(UPDATED_WATERMARK, now);
+            AnalyticsWatermark watermark = created ? createdMark : updatedMark;
+
+            LocalDateTime afterTime = watermark.getLastChangedAt() != null ? watermark.getLastChangedAt() : START;
+            UUID afterId = watermark.getLastRowId() != null ? watermark.getLastRowId() : NO_ROW;
+            LocalDateTime before = now.minusNanos(settleMillis * 1_000_000);
+            List<BookingChange> changes = created
+                    ? entryRepository.findCreatedAfter(afterTime, afterId, before, Limit.of(batchSize))
+                    : entryRepository.findUpdatedAfter(afterTime, afterId, before, Limit.of(batchSize));
+            if (changes.isEmpty()) return 0;
+
+            apply(changes);
+            watermark.setLastChangedAt(changes.getLast().changedAt());
+            watermark.setLastRowId(changes.getLast().id());
+            return changes.size();
+        });
+        return read == null ? 0 : read;
+    }
+
+    private AnalyticsWatermark lockWatermark(String name, LocalDateTime now) {
+        return watermarkRepository.findForUpdate(name).orElseGet(() -> {
+            AnalyticsWatermark watermark = AnalyticsWatermark.builder().name(name).since(now).build();
+            entityManager.persist(watermark);
+            return watermark;
+        });
+    }
+
+    private void apply(List<BookingChange> changes) {
+        Map<UUID, RevenueRollupEntry> entries = entryRepository.findAllById(changes.stream().map(BookingChange::id).toList()).stream()
+                .collect(Collectors.toMap(RevenueRollupEntry::getBookingId, Function.identity()));
+        Map<RevenueRollup.Key, long[]> deltas = new HashMap<>();
+
+        for (BookingChange change : changes) {
+            UUID stadiumId = change.stadiumId();
+            LocalDate day = change.startTime().toLocalDate();
+            long cents = Math.round(change.totalPrice() * 100);
+
+            RevenueRollupEntry entry = entries.get(change.id());
+            if (entry == null) {
+                entityManager.persist(RevenueRollupEntry.builder().bookingId(change.id()).stadiumId(stadiumId).day(day)
+                        .status(change.status()).revenueCents(cents).build());
+            } else if (entry.getStadiumId().equals(stadiumId) && entry.getDay().equals(day)
+                    && entry.getStatus() == change.status() && entry.getRevenueCents() == cents) {
+                continue;
+            } else {
+                add(deltas, entry.getStadiumId(), entry.getDay(), entry.getStatus(), -1, -entry.getRevenueCents());
+                entry.setStadiumId(stadiumId);
+                entry.setDay(day);
+                entry.setStatus(change.status());
+                entry.setRevenueCents(cents);
+            }
+            add(deltas, stadiumId, day, change.status(), 1, cents);
+        }
+        if (!deltas.isEmpty()) merge(deltas);
+    }
+
+    private void merge(Map<RevenueRollup.Key, long[]> deltas) {
+        Map<RevenueRollup.Key, RevenueRollup> stored = rollupRepository.findAllById(deltas.keySet()).stream()
+                .collect(Collectors.toMap(RevenueRollup::getKey, Function.identity()));
+        deltas.forEach((key, delta) -> {
+            RevenueRollup rollup = stored.get(key);
+            if (rollup == null) {
+                // persist, not save: the key is assigned, and merge would SELECT it again
+                entityManager.persist(RevenueRollup.builder().key(key).bookings(delta[0]).revenueCents(delta[1]).build());
+            } else {
+                rollup.setBookings(rollup.getBookings() + delta[0]);
+                rollup.setRevenueCents(rollup.getRevenueCents() + delta[1]);
+            }
+        });
+    }
+
+    private static void add(Map<RevenueRollup.Key, long[]> deltas, UUID stadiumId, LocalDate day, BookingStatus status, long bookings, long cents) {
+        for (UUID id : new UUID[]{stadiumId, ALL_STADIUMS}) {
+            long[] delta = deltas.computeIfAbsent(new RevenueRollup.Key(id, day, status), key -> new long[2]);
+            delta[0] += bookings;
+            delta[1] += cents;
+        }
+    }
+
+    private static void add(Map<BookingStatus, long[]> sums, RevenueTotal row) {
+        long[] sum = sums.computeIfAbsent(row.status(), status -> new long[2]);
+        sum[0] += row.bookings();
+        sum[1] += row.revenueCents();
+    }
+
+    private static RevenueReportResponse.Revenue toRevenue(Map<BookingStatus, long[]> sums) {
+        return new RevenueReportResponse.Revenue(
+                toAmount(sums.get(BookingStatus.CONFIRMED)),
+                toAmount(sums.get(BookingStatus.COMPLETED)),
+                toAmount(sums.get(BookingStatus.CANCELLED)));
+    }
+
+    private static RevenueReportResponse.Amount toAmount(long[] sum) {
+        return sum == null ? new RevenueReportResponse.Amount(0, 0) : new RevenueReportResponse.Amount(sum[0], sum[1] / 100.0);
+    }
+}
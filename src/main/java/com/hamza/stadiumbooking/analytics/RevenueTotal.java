@@ -0,0 +1,12 @@
+package com.hamza.stadiumbooking.analytics;
+
+import com.hamza.stadiumbooking.booking.BookingStatus;
+
+import java.time.LocalDate;
+
+public record RevenueTotal(
+        LocalDate day,
+        BookingStatus status,
+        Long bookings,
+        Long revenueCents
+) {}
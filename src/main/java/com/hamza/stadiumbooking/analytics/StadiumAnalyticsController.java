@@ -0,0 +1,23 @@
+package com.hamza.stadiumbooking.analytics;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController @RequiredArgsConstructor @Slf4j
+@RequestMapping("/api/v1/stadiums")
+public class StadiumAnalyticsController {
+
+    private final StadiumHeatmapService stadiumHeatmapService;
+
+    @GetMapping("/{stadiumId}/heatmap")
+    @PreAuthorize("@ownershipValidationService.isStadiumOwner(#stadiumId)")
+    public ResponseEntity<StadiumHeatmapResponse> getHeatmap(@PathVariable UUID stadiumId) {
+        log.debug("Incoming request to get heatmap of stadium ID: {}", stadiumId);
+        return ResponseEntity.ok(stadiumHeatmapService.getHeatmap(stadiumId));
+    }
+}
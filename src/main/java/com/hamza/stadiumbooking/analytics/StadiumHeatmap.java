@@ -0,0 +1,36 @@
+package com.hamza.stadiumbooking.analytics;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Persisted {@link HeatmapCells} of one stadium: each column is 168 big-endian longs, Monday 00:00-01:00 first.
+ */
+@Builder
+@Entity
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "stadium_heatmaps")
+public class StadiumHeatmap {
+
+    @Id
+    @Column(name = "stadium_id")
+    private UUID stadiumId;
+
+    @Column(nullable = false, length = HeatmapCells.BYTES)
+    private byte[] bookedMinutes;
+
+    @Column(nullable = false, length = HeatmapCells.BYTES)
+    private byte[] completedMinutes;
+
+    @Column(nullable = false, length = HeatmapCells.BYTES)
+    private byte[] revenueCents;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,10 @@
+package com.hamza.stadiumbooking.analytics;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface StadiumHeatmapRepository extends JpaRepository<StadiumHeatmap, UUID> {
+}
@@ -0,0 +1,27 @@
+package com.hamza.stadiumbooking.analytics;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Weekday x hour view of a stadium's bookings made since {@code since}; each array holds hours 0-23 of its day.
+ * {@code occupancy} is the average share of the hour booked across {@code pitches} per week elapsed since
+ * {@code since} (at least one), so bookings made far ahead can briefly push it past 1.
+ */
+public record StadiumHeatmapResponse(
+        UUID stadiumId,
+        LocalDateTime since,
+        LocalDateTime updatedAt,
+        int pitches,
+        List<Day> days
+) {
+    public record Day(
+            DayOfWeek dayOfWeek,
+            double[] occupancy,
+            double[] bookedHours,
+            double[] completedHours,
+            double[] revenue
+    ) {}
+}
@@ -0,0 +1,201 @@
+package com.hamza.stadiumbooking.analytics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hamza.stadiumbooking.booking.BookingStatus;
+import com.hamza.stadiumbooking.exception.ResourceNotFoundException;
+import com.hamza.stadiumbooking.id.UuidV7Generator;
+import com.hamza.stadiumbooking.outbox.BookingEvent;
+import com.hamza.stadiumbooking.outbox.BookingOutboxEvent;
+import com.hamza.stadiumbooking.outbox.BookingOutboxRepository;
+import com.hamza.stadiumbooking.stadium.PitchRepository;
+import com.hamza.stadiumbooking.stadium.StadiumRepository;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Occupancy and revenue per stadium, weekday and hour, kept as {@link HeatmapCells} counters so that reading them
+ * never touches the bookings table.
+ * <p>
+ * Every {@code analytics.heatmap.interval-ms} the job folds booking events from the outbox into the counters, in
+ * batches of the rows it has not marked {@code aggregatedAt} yet (so it works whatever {@code booking.outbox.sinks}
+ * are, and whether or not the relay has published them). A batch's deltas are added to the stored counters and its
+ * rows are marked in the same transaction, with the watermark row locked, so each event is counted exactly once across
+ * nodes and restarts. Deltas add up in any order, so an event whose transaction committed late is simply counted by a
+ * later batch; no position in the outbox has to be trusted to be final.
+ * <p>
+ * Counting starts when the job first runs: bookings created before then (older UUIDv7 IDs, or non-v7 ones) are left
+ * out, including their later changes, so no cancellation is ever taken from a booking that was never added. The job
+ * must keep up within {@code booking.outbox.retention-days}.
+ */
+@Slf4j
+@Service
+public class StadiumHeatmapService {
+
+    static final String WATERMARK = "stadium-heatmap";
+
+    private final BookingOutboxRepository outboxRepository;
+    private final StadiumHeatmapRepository heatmapRepository;
+    private final AnalyticsWatermarkRepository watermarkRepository;
+    private final StadiumRepository stadiumRepository;
+    private final PitchRepository pitchRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public StadiumHeatmapService(BookingOutboxRepository outboxRepository,
+                                 StadiumHeatmapRepository heatmapRepository,
+                                 AnalyticsWatermarkRepository watermarkRepository,
+                                 StadiumRepository stadiumRepository,
+                                 PitchRepository pitchRepository,
+                                 EntityManager entityManager,
+                                 ObjectMapper objectMapper,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${analytics.heatmap.batch-size:500}") int batchSize) {
+        this.outboxRepository = outboxRepository;
+        this.heatmapRepository = heatmapRepository;
+        this.watermarkRepository = watermarkRepository;
+        this.stadiumRepository = stadiumRepository;
+        this.pitchRepository = pitchRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${analytics.heatmap.interval-ms:60000}")
+    public void aggregate() {
+        try {
+            while (aggregateBatch() == batchSize) {
+                // a full batch was read, keep folding
+            }
+        } catch (Exception e) {
+            log.error("❌ Error during heatmap aggregation task: {}", e.getMessage());
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public StadiumHeatmapResponse getHeatmap(UUID stadiumId) {
+        stadiumRepository.findByIdAndIsDeletedFalse(stadiumId)
+                .orElseThrow(() -> new ResourceNotFoundException("Stadium not found with ID: " + stadiumId));
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = watermarkRepository.findById(WATERMARK).map(AnalyticsWatermark::getSince).orElse(now);
+        StadiumHeatmap heatmap = heatmapRepository.findById(stadiumId).orElse(null);
+        HeatmapCells cells = heatmap != null ? HeatmapCells.of(heatmap) : new HeatmapCells();
+        int pitches = Math.max(1, pitchRepository.findActiveByStadiumId(stadiumId).size());
+
+        double weeks = Math.max(1, Duration.between(since, now).toMinutes() / (7 * 24 * 60.0));
+        List<StadiumHeatmapResponse.Day> days = new ArrayList<>(7);
+        for (DayOfWeek day : DayOfWeek.values()) {
+            double[] occupancy = new double[24];
+            double[] bookedHours = new double[24];
+            double[] completedHours = new double[24];
+            double[] revenue = new double[24];
+            for (int hour = 0; hour < 24; hour++) {
+                int cell = (day.getValue() - 1) * 24 + hour;
+                occupancy[hour] = Math.round(cells.bookedMinutes[cell] / (60.0 * pitches * weeks) * 1000) / 1000.0;
+                bookedHours[hour] = cells.bookedMinutes[cell] / 60.0;
+                completedHours[hour] = cells.completedMinutes[cell] / 60.0;
+                revenue[hour] = cells.revenueCents[cell] / 100.0;
+            }
+            days.add(new StadiumHeatmapResponse.Day(day, occupancy, bookedHours, completedHours, revenue));
+        }
+        return new StadiumHeatmapResponse(stadiumId, since, heatmap != null ? heatmap.getUpdatedAt() : null, pitches, days);
+    }
+
+    /**
+     * Folds one batch of events into the stored counters and marks them aggregated, in one transaction.
+     *
+     * @return number of events read
+     */
+    private int aggregateBatch() {
+        Integer read = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            AnalyticsWatermark watermark = watermarkRepository.findForUpdate(WATERMARK).orElseGet(() -> startWatermark(now));
+            List<BookingOutboxEvent> batch = outboxRepository.findNotAggregated(Limit.of(batchSize));
+            if (batch.isEmpty()) return 0;
+
+            long sinceMillis = watermark.getSince().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            Map<UUID, HeatmapCells> deltas = new HashMap<>();
+            for (BookingOutboxEvent row : batch) apply(deltas, row, sinceMillis);
+            if (!deltas.isEmpty()) merge(deltas, now);
+
+            outboxRepository.markAggregated(batch.stream().map(BookingOutboxEvent::getId).toList(), now);
+            return batch.size();
+        });
+        return read == null ? 0 : read;
+    }
+
+    private AnalyticsWatermark startWatermark(LocalDateTime now) {
+        AnalyticsWatermark watermark = AnalyticsWatermark.builder()
+                .name(WATERMARK)
+                .since(now)
+                .build();
+        entityManager.persist(watermark);
+        log.info("Heatmap aggregation started | Counting bookings created from {}", now);
+        return watermark;
+    }
+
+    private void apply(Map<UUID, HeatmapCells> deltas, BookingOutboxEvent row, long sinceMillis) {
+        BookingEvent event;
+        try {
+            event = objectMapper.readValue(row.getPayload(), BookingEvent.class);
+        } catch (Exception e) {
+            // Marked with the rest of the batch rather than retried: the payload will never parse
+            log.error("❌ Unreadable booking outbox event {}, left out of the heatmap: {}", row.getId(), e.getMessage());
+            return;
+        }
+        if (event.bookingId().version() != 7 || UuidV7Generator.timestampMillis(event.bookingId()) < sinceMillis) return;
+
+        Function<UUID, HeatmapCells> cells = stadiumId -> deltas.computeIfAbsent(stadiumId, id -> new HeatmapCells());
+        switch (event.type()) {
+            case BOOKING_CREATED -> {
+                cells.apply(event.stadiumId()).book(event.startTime(), event.endTime(), event.totalPrice(), 1);
+                if (event.status() == BookingStatus.COMPLETED) cells.apply(event.stadiumId()).complete(event.startTime(), event.endTime());
+            }
+            case BOOKING_UPDATED -> {
+                BookingEvent.Slot previous = event.previous();
+                if (previous != null) cells.apply(previous.stadiumId()).book(previous.startTime(), previous.endTime(), previous.totalPrice(), -1);
+                cells.apply(event.stadiumId()).book(event.startTime(), event.endTime(), event.totalPrice(), 1);
+            }
+            case BOOKING_CANCELLED -> cells.apply(event.stadiumId()).book(event.startTime(), event.endTime(), event.totalPrice(), -1);
+            case BOOKING_COMPLETED -> cells.apply(event.stadiumId()).complete(event.startTime(), event.endTime());
+        }
+    }
+
+    private void merge(Map<UUID, HeatmapCells> deltas, LocalDateTime now) {
+        Map<UUID, StadiumHeatmap> stored = heatmapRepository.findAllById(deltas.keySet()).stream()
+                .collect(Collectors.toMap(StadiumHeatmap::getStadiumId, Function.identity()));
+        deltas.forEach((stadiumId, delta) -> {
+            StadiumHeatmap heatmap = stored.get(stadiumId);
+            if (heatmap == null) {
+                heatmap = StadiumHeatmap.builder().stadiumId(stadiumId).updatedAt(now).build();
+                delta.writeTo(heatmap);
+                // persist, not save: the ID is assigned, and merge would SELECT it again
+                entityManager.persist(heatmap);
+            } else {
+                delta.addTo(heatmap);
+                heatmap.setUpdatedAt(now);
+            }
+        });
+    }
+}
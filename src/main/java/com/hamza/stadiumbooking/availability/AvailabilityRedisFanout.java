@@ -0,0 +1,45 @@
+package com.hamza.stadiumbooking.availability;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hamza.stadiumbooking.outbox.BookingEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Multi-node fan-out: the outbox relay runs on one node at a time, so with {@code availability.stream.fanout=redis}
+ * every node subscribes to the channel the {@code redis-pubsub} sink publishes to and republishes each event locally,
+ * for its own stream subscribers and every other {@code @EventListener(BookingEvent.class)}.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "availability.stream.fanout", havingValue = "redis")
+public class AvailabilityRedisFanout {
+
+    @Bean
+    public RedisMessageListenerContainer availabilityListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            ApplicationEventPublisher publisher,
+            ObjectMapper objectMapper,
+            @Value("${booking.outbox.redis.channel:booking-events}") String channel) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener((message, pattern) -> {
+            try {
+                publisher.publishEvent(
+                        objectMapper.readValue(new String(message.getBody(), StandardCharsets.UTF_8), BookingEvent.class));
+            } catch (Exception e) {
+                log.error("❌ Error reading booking event from channel {}: {}", channel, e.getMessage());
+            }
+        }, new ChannelTopic(channel));
+        return container;
+    }
+}
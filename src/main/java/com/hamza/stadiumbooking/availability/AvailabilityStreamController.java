@@ -0,0 +1,25 @@
+package com.hamza.stadiumbooking.availability;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.UUID;
+
+@RestController @RequiredArgsConstructor @Slf4j
+@RequestMapping("/api/v1/stadiums")
+public class AvailabilityStreamController {
+
+    private final AvailabilityStreamService availabilityStreamService;
+
+    @GetMapping(path = "/{stadiumId}/availability/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAvailability(@PathVariable UUID stadiumId) {
+        log.debug("Incoming availability stream subscription for stadium: {}", stadiumId);
+        return availabilityStreamService.subscribe(stadiumId);
+    }
+}
@@ -0,0 +1,300 @@
+package com.hamza.stadiumbooking.availability;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hamza.stadiumbooking.booking.BookingRepository;
+import com.hamza.stadiumbooking.exception.TooManyRequestsException;
+import com.hamza.stadiumbooking.outbox.BookingEvent;
+import com.hamza.stadiumbooking.stadium.StadiumService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes slot-state deltas of a stadium to its SSE subscribers. Emitters are async requests, so an idle subscriber
+ * holds a connection but no servlet thread.
+ * <p>
+ * Booking events are not sent one by one: they are merged per stadium and booking (latest state wins) and flushed
+ * every {@code coalesce-ms}, each batch serialized once and queued to every subscriber of that stadium. Events of
+ * stadiums nobody watches are dropped on arrival.
+ * <p>
+ * Each subscriber's writes are drained in order by at most one virtual thread at a time, so a client that stops
+ * reading blocks only its own drainer. One with {@code max-pending-writes} writes still queued is dropped; it
+ * reconnects and starts again from a snapshot. Snapshots are serialized once per stadium and reused until a booking
+ * event for the stadium arrives or {@code snapshot-ttl-ms} pass, so a reconnect storm costs one bookings query.
+ */
+@Slf4j
+@Service
+public class AvailabilityStreamService {
+
+    static final String SNAPSHOT_EVENT = "snapshot";
+    static final String SLOTS_EVENT = "slots";
+
+    private final BookingRepository bookingRepository;
+    private final StadiumService stadiumService;
+    private final ObjectMapper objectMapper;
+    private final int maxConnections;
+    private final int maxPerStadium;
+    private final long timeoutMillis;
+    private final int snapshotDays;
+    private final long snapshotTtlNanos;
+    private final int maxPendingWrites;
+    private final Counter rejected;
+    private final Counter pushed;
+    private final Counter dropped;
+
+    private final ConcurrentMap<UUID, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<UUID, Map<UUID, SlotDelta>> pending = new ConcurrentHashMap<>();
+    private final ConcurrentMap<UUID, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final ExecutorService writer = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("availability-writer-", 0).factory());
+
+    public AvailabilityStreamService(BookingRepository bookingRepository,
+                                     StadiumService stadiumService,
+                                     ObjectMapper objectMapper,
+                                     MeterRegistry registry,
+                                     @Value("${availability.stream.max-connections:5000}") int maxConnections,
+                                     @Value("${availability.stream.max-per-stadium:1000}") int maxPerStadium,
+                                     @Value("${availability.stream.timeout-ms:1800000}") long timeoutMillis,
+                                     @Value("${availability.stream.snapshot-days:14}") int snapshotDays,
+                                     @Value("${availability.stream.snapshot-ttl-ms:30000}") long snapshotTtlMillis,
+                                     @Value("${availability.stream.max-pending-writes:16}") int maxPendingWrites) {
+        this.bookingRepository = bookingRepository;
+        this.stadiumService = stadiumService;
+        this.objectMapper = objectMapper;
+        this.maxConnections = maxConnections;
+        this.maxPerStadium = maxPerStadium;
+        this.timeoutMillis = timeoutMillis;
+        this.snapshotDays = snapshotDays;
+        this.snapshotTtlNanos = TimeUnit.MILLISECONDS.toNanos(snapshotTtlMillis);
+        this.maxPendingWrites = maxPendingWrites;
+
+        Gauge.builder("availability.stream.connections", connections, AtomicInteger::get)
+                .description("Open availability SSE connections on this node")
+                .register(registry);
+        this.rejected = Counter.builder("availability.stream.rejected")
+                .description("Availability stream connections refused by the connection budget")
+                .register(registry);
+        this.pushed = Counter.builder("availability.stream.pushed")
+                .description("Coalesced slot batches written to availability subscribers")
+                .register(registry);
+        this.dropped = Counter.builder("availability.stream.dropped")
+                .description("Availability subscribers dropped for not keeping up with their writes")
+                .register(registry);
+    }
+
+    /**
+     * Opens a stream for {@code stadiumId}. The first event is a {@code snapshot} of the booked slots in the next
+     * {@code snapshot-days}; {@code slots} deltas follow.
+     */
+    public SseEmitter subscribe(UUID stadiumId) {
+        // Cached lookup, like the snapshot below, so reconnect storms don't reach the database; throws 404 for unknown
+        // or deleted stadiums
+        stadiumService.getStadiumById(stadiumId);
+        reserve(stadiumId);
+
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter);
+        subscribers.compute(stadiumId, (id, targets) -> {
+            Set<Subscriber> set = targets == null ? ConcurrentHashMap.newKeySet() : targets;
+            set.add(subscriber);
+            return set;
+        });
+        Runnable release = () -> release(stadiumId, subscriber);
+        emitter.onCompletion(release);
+        emitter.onTimeout(release);
+        emitter.onError(e -> release.run());
+
+        // Subscribed before the snapshot is read, so a change it misses still reaches this stream as a delta
+        try {
+            emitter.send(SseEmitter.event().name(SNAPSHOT_EVENT).reconnectTime(5_000).data(snapshot(stadiumId), MediaType.APPLICATION_JSON));
+        } catch (Exception e) {
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    @EventListener
+    public void onBookingEvent(BookingEvent event) {
+        BookingEvent.Slot previous = event.previous();
+        snapshots.remove(event.stadiumId());
+        if (previous != null && !previous.stadiumId().equals(event.stadiumId())) {
+            snapshots.remove(previous.stadiumId());
+            // Moved to another stadium: its old stadium's subscribers see the slot freed
+            queue(previous.stadiumId(), new SlotDelta(event.bookingId(), previous.startTime(), previous.endTime(), SlotState.FREE));
+        }
+        queue(event.stadiumId(), SlotDelta.from(event));
+    }
+
+    @Scheduled(fixedDelayString = "${availability.stream.coalesce-ms:250}")
+    public void flush() {
+        for (UUID stadiumId : List.copyOf(pending.keySet())) {
+            Map<UUID, SlotDelta> deltas = pending.remove(stadiumId);
+            Set<Subscriber> targets = subscribers.get(stadiumId);
+            if (deltas == null || targets == null || targets.isEmpty()) continue;
+
+            String json;
+            try {
+                json = objectMapper.writeValueAsString(new ArrayList<>(deltas.values()));
+            } catch (JsonProcessingException e) {
+                log.error("❌ Error serializing availability deltas for stadium {}: {}", stadiumId, e.getMessage());
+                continue;
+            }
+            for (Subscriber subscriber : targets) {
+                send(stadiumId, subscriber, SseEmitter.event().name(SLOTS_EVENT).data(json, MediaType.APPLICATION_JSON));
+            }
+            pushed.increment();
+        }
+    }
+
+    // Comment lines keep proxies and load balancers from closing idle streams, and surface dead clients. A stream
+    // with writes still queued isn't idle, so it gets none
+    @Scheduled(fixedDelayString = "${availability.stream.heartbeat-ms:20000}")
+    public void heartbeat() {
+        subscribers.forEach((stadiumId, targets) -> {
+            for (Subscriber subscriber : targets) {
+                if (subscriber.size.get() == 0) send(stadiumId, subscriber, SseEmitter.event().comment("heartbeat"));
+            }
+        });
+    }
+
+    int connections() {
+        return connections.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writer.shutdown();
+    }
+
+    private void queue(UUID stadiumId, SlotDelta delta) {
+        if (!subscribers.containsKey(stadiumId)) return;
+        // Mutated only inside compute; flush() takes the whole map out with remove()
+        pending.compute(stadiumId, (id, deltas) -> {
+            Map<UUID, SlotDelta> merged = deltas == null ? new LinkedHashMap<>() : deltas;
+            merged.put(delta.bookingId(), delta);
+            return merged;
+        });
+    }
+
+    private String snapshot(UUID stadiumId) {
+        long now = System.nanoTime();
+        Snapshot cached = snapshots.get(stadiumId);
+        if (cached != null && now - cached.loadedAt() < snapshotTtlNanos) return cached.json();
+        // Loaded inside compute: concurrent subscribers share one query, and the eviction of a booking event that
+        // arrives meanwhile waits for the load instead of being overtaken by it
+        return snapshots.compute(stadiumId, (id, current) -> {
+            if (current != null && now - current.loadedAt() < snapshotTtlNanos) return current;
+            LocalDateTime from = LocalDateTime.now();
+            try {
+                return new Snapshot(objectMapper.writeValueAsString(bookingRepository.findBookedSlots(id, from, from.plusDays(snapshotDays))), now);
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        }).json();
+    }
+
+    private void reserve(UUID stadiumId) {
+        Set<Subscriber> current = subscribers.get(stadiumId);
+        if (current != null && current.size() >= maxPerStadium) {
+            rejected.increment();
+            throw new TooManyRequestsException("Too many availability subscribers for this stadium, retry later", 30);
+        }
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            rejected.increment();
+            throw new TooManyRequestsException("Availability stream is at capacity, retry later", 30);
+        }
+    }
+
+    private void send(UUID stadiumId, Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (subscriber.size.incrementAndGet() > maxPendingWrites) {
+            // Its drainer has been stuck on a full socket for several batches: drop it rather than queue without end
+            subscriber.size.decrementAndGet();
+            if (release(stadiumId, subscriber)) {
+                dropped.increment();
+                subscriber.emitter.complete();
+            }
+            return;
+        }
+        subscriber.queue.add(event);
+        schedule(subscriber);
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.running.compareAndSet(false, true)) writer.execute(() -> drain(subscriber));
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            SseEmitter.SseEventBuilder event;
+            while ((event = subscriber.queue.poll()) != null) {
+                subscriber.size.decrementAndGet();
+                try {
+                    subscriber.emitter.send(event);
+                } catch (Exception e) {
+                    // Client went away; the container completes the async request and our callbacks release the slot
+                    subscriber.emitter.completeWithError(e);
+                    subscriber.queue.clear();
+                    subscriber.size.set(0);
+                    return;
+                }
+            }
+        } finally {
+            subscriber.running.set(false);
+            // Re-checked after releasing, so a write queued while the drainer was finishing isn't stranded
+            if (!subscriber.queue.isEmpty()) schedule(subscriber);
+        }
+    }
+
+    private boolean release(UUID stadiumId, Subscriber subscriber) {
+        boolean[] removed = {false};
+        subscribers.computeIfPresent(stadiumId, (id, targets) -> {
+            removed[0] = targets.remove(subscriber);
+            if (!targets.isEmpty()) return targets;
+            snapshots.remove(stadiumId);
+            return null;
+        });
+        if (removed[0]) connections.decrementAndGet();
+        return removed[0];
+    }
+
+    private record Snapshot(String json, long loadedAt) {}
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicBoolean running = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+    }
+}
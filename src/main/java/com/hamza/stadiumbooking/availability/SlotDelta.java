@@ -0,0 +1,28 @@
+package com.hamza.stadiumbooking.availability;
+
+import com.hamza.stadiumbooking.booking.BookingStatus;
+import com.hamza.stadiumbooking.outbox.BookingEvent;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * State of the slot held by one booking. Clients key their board by {@code bookingId}: a later delta for the same
+ * booking replaces the earlier one, so a moved booking frees its old slot without the old times being sent.
+ */
+public record SlotDelta(
+        UUID bookingId,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        SlotState state
+) {
+    // Used by the snapshot query, which only selects confirmed bookings
+    public SlotDelta(UUID bookingId, LocalDateTime startTime, LocalDateTime endTime) {
+        this(bookingId, startTime, endTime, SlotState.BOOKED);
+    }
+
+    static SlotDelta from(BookingEvent event) {
+        SlotState state = event.status() == BookingStatus.CONFIRMED ? SlotState.BOOKED : SlotState.FREE;
+        return new SlotDelta(event.bookingId(), event.startTime(), event.endTime(), state);
+    }
+}
@@ -0,0 +1,6 @@
+package com.hamza.stadiumbooking.availability;
+
+public enum SlotState {
+    BOOKED,
+    FREE
+}
@@ -1,9 +1,13 @@
 package com.hamza.stadiumbooking.booking;
 
+import com.hamza.stadiumbooking.id.UuidV7Generator;
+import com.hamza.stadiumbooking.stadium.Pitch;
+import com.hamza.stadiumbooking.stadium.PriceTable;
 import com.hamza.stadiumbooking.stadium.Stadium;
 import com.hamza.stadiumbooking.user.User;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.UuidGenerator;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -21,12 +25,16 @@ import java.util.UUID;
 @EntityListeners(AuditingEntityListener.class)
 @Table(name = "bookings", indexes = {
         @Index(name = "idx_booking_overlap", columnList = "stadium_id, status, startTime, endTime"),
-        @Index(name = "idx_booking_user", columnList = "user_id")
+        @Index(name = "idx_booking_user_start", columnList = "user_id, startTime, id"),
+        @Index(name = "idx_booking_status_end", columnList = "status, endTime"),
+        @Index(name = "idx_booking_created", columnList = "createdAt, id"),
+        @Index(name = "idx_booking_updated", columnList = "updatedAt, id")
 })
 public class Booking {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedValue
+    @UuidGenerator(algorithm = UuidV7Generator.class)
     private UUID id;
 
     @Version
@@ -52,6 +60,11 @@ public class Booking {
     @JoinColumn(name = "stadium_id", nullable = false)
     private Stadium stadium;
 
+    // Null while the stadium has no pitches (and for bookings made before it had any)
+    @ManyToOne
+    @JoinColumn(name = "pitch_id")
+    private Pitch pitch;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     @Builder.Default
@@ -77,6 +90,13 @@ public class Booking {
         this.totalPrice = (hours * stadium.getPricePerHour()) + stadium.getBallRentalFee();
     }
 
+    /**
+     * Prices the booking from the stadium's compiled rules, as booked at {@code now}.
+     */
+    public void calculateTotalPrice(PriceTable prices, LocalDateTime now) {
+        this.totalPrice = prices.quote(startTime, endTime, now);
+    }
+
     public void validateDuration() {
         if (startTime == null || endTime == null) return;
 
@@ -104,6 +124,7 @@ public class Booking {
     @PreUpdate
     public void prepareBooking() {
         validateDuration();
-        calculateTotalPrice();
+        // Priced by the service from the stadium's PriceTable; the flat price only covers rows saved without one
+        if (totalPrice == null) calculateTotalPrice();
     }
 }
@@ -0,0 +1,118 @@
+package com.hamza.stadiumbooking.booking;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Moves finished bookings out of the live {@code bookings} table into {@code bookings_archive}, oldest first and in
+ * short per-chunk transactions, and decides whether a ranged read has to look at the archive at all. CONFIRMED
+ * bookings are never archived, so conflict checks only ever touch the live table.
+ */
+@Service
+@Slf4j
+public class BookingArchiveService {
+
+    static final List<BookingStatus> ARCHIVABLE = List.of(BookingStatus.COMPLETED, BookingStatus.CANCELLED);
+
+    private final BookingRepository bookingRepository;
+    private final BookingHistoryRepository bookingHistoryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int retentionMonths;
+    private final int chunkSize;
+
+    // Newest end time that may exist in the archive; lazily loaded, then advanced by every archive run on this node
+    private volatile LocalDateTime archivedUntil;
+    private volatile boolean archivedUntilLoaded;
+
+    public BookingArchiveService(BookingRepository bookingRepository,
+                                 BookingHistoryRepository bookingHistoryRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${booking.archive.retention-months:12}") int retentionMonths,
+                                 @Value("${booking.archive.chunk-size:1000}") int chunkSize) {
+        this.bookingRepository = bookingRepository;
+        this.bookingHistoryRepository = bookingHistoryRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retentionMonths = retentionMonths;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Archives every COMPLETED or CANCELLED booking that ended more than {@code retention-months} ago.
+     *
+     * @return number of bookings moved
+     */
+    public int archiveCompletedBookings() {
+        return archiveBookingsEndedBefore(retentionCutoff());
+    }
+
+    int archiveBookingsEndedBefore(LocalDateTime cutoff) {
+        long started = System.nanoTime();
+        int archived = 0;
+        int moved;
+        do {
+            Integer chunk = transactionTemplate.execute(status -> archiveChunk(cutoff));
+            moved = chunk == null ? 0 : chunk;
+            archived += moved;
+        } while (moved == chunkSize);
+
+        if (archived > 0) advanceArchivedUntil(cutoff);
+        log.atInfo().addKeyValue("action", "archiveBookings")
+                .addKeyValue("cutoff", cutoff)
+                .addKeyValue("archived", archived)
+                .addKeyValue("elapsedMillis", (System.nanoTime() - started) / 1_000_000)
+                .log("Booking archive run finished");
+        return archived;
+    }
+
+    /**
+     * Whether bookings overlapping {@code [from, to)} may live in the archive. A read without any bound stays on the
+     * live table; an open-ended past ({@code from == null}) always includes the archive.
+     */
+    public boolean requiresArchive(LocalDateTime from, LocalDateTime to) {
+        if (from == null && to == null) return false;
+        if (from == null) return true;
+
+        // Archived rows ended before the cutoff of their run, so a range starting at or after it can't overlap them
+        LocalDateTime until = archivedUntil();
+        LocalDateTime cutoff = retentionCutoff();
+        return from.isBefore(until == null || until.isBefore(cutoff) ? cutoff : until);
+    }
+
+    private int archiveChunk(LocalDateTime cutoff) {
+        List<UUID> ids = bookingRepository.findArchivableIds(ARCHIVABLE, cutoff, Limit.of(chunkSize));
+        if (ids.isEmpty()) return 0;
+
+        bookingRepository.copyToArchive(ids, LocalDateTime.now());
+        return bookingRepository.deleteArchived(ids);
+    }
+
+    private LocalDateTime retentionCutoff() {
+        return LocalDateTime.now().minusMonths(retentionMonths);
+    }
+
+    private LocalDateTime archivedUntil() {
+        if (!archivedUntilLoaded) {
+            synchronized (this) {
+                if (!archivedUntilLoaded) {
+                    // Covers rows archived before a restart, or under a shorter retention than the current one
+                    archivedUntil = bookingHistoryRepository.findLatestArchivedEndTime();
+                    archivedUntilLoaded = true;
+                }
+            }
+        }
+        return archivedUntil;
+    }
+
+    private synchronized void advanceArchivedUntil(LocalDateTime cutoff) {
+        LocalDateTime current = archivedUntil();
+        if (current == null || current.isBefore(cutoff)) archivedUntil = cutoff;
+    }
+}
@@ -0,0 +1,17 @@
+package com.hamza.stadiumbooking.booking;
+
+import org.springframework.http.HttpStatus;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+/**
+ * {@code 409} body of a booking create: the usual {@code ApiError} fields plus free slots to retry with.
+ */
+public record BookingConflictResponse(
+        String msg,
+        HttpStatus httpStatus,
+        ZonedDateTime zonedDateTime,
+        List<FreeSlot> sameStadium,
+        List<FreeSlot> nearby
+) {}
@@ -1,5 +1,7 @@
 package com.hamza.stadiumbooking.booking;
 
+import com.hamza.stadiumbooking.exception.ConflictingBookingsException;
+import com.hamza.stadiumbooking.waitingroom.WaitingRoomService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -8,11 +10,18 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
 import java.util.UUID;
 
 
@@ -20,31 +29,41 @@ import java.util.UUID;
 @RequestMapping(path = "/api/v1/bookings")
 public class BookingController {
     private final BookingService bookingService;
+    private final BookingImportService bookingImportService;
+    private final SlotSuggestionService slotSuggestionService;
+    private final WaitingRoomService waitingRoomService;
+    private final StadiumBookingActors stadiumBookingActors;
 
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Page<BookingResponse>> getAdminGlobalBookings(@ParameterObject
-                                                        @PageableDefault(page = 0, size = 10, sort = "id", direction = Sort.Direction.DESC) Pageable pageable){
-        log.info("Incoming request to get ALL global bookings (Admin View)");
-        return ResponseEntity.ok(bookingService.getAllBookings(pageable, null, null));
+                                                        @PageableDefault(page = 0, size = 10, sort = "id", direction = Sort.Direction.DESC) Pageable pageable,
+                                                @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to){
+        log.atInfo().addKeyValue("action", "getAdminGlobalBookings").log("Incoming request to get all global bookings");
+        return ResponseEntity.ok(bookingService.getAllBookings(pageable, null, null, from, to));
     }
 
     @GetMapping("/stadiums/{stadiumId}")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
     public ResponseEntity<Page<BookingResponse>> getAllBookings(@ParameterObject
                                                 @PageableDefault(page = 0, size = 10, sort = "id", direction = Sort.Direction.DESC) Pageable pageable,
-                                                @PathVariable UUID stadiumId){
-        log.info("Incoming request to get bookings for Stadium ID: {}", stadiumId);
-        return ResponseEntity.ok(bookingService.getAllBookings(pageable, stadiumId, null));
+                                                @PathVariable UUID stadiumId,
+                                                @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to){
+        log.atInfo().addKeyValue("action", "getStadiumBookings").addKeyValue("stadiumId", stadiumId).log("Incoming request to get stadium bookings");
+        return ResponseEntity.ok(bookingService.getAllBookings(pageable, stadiumId, null, from, to));
     }
 
     @GetMapping("/players/{playerId}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Page<BookingResponse>> getBookingsByPlayer(
-            @ParameterObject @PageableDefault(page = 0, size = 10, sort = "id", direction = Sort.Direction.DESC) Pageable pageable,
-            @PathVariable UUID playerId) {
-        log.info("Admin fetching bookings for player: {}", playerId);
-        return ResponseEntity.ok(bookingService.getAllBookings(pageable, null, playerId));
+            @ParameterObject @PageableDefault(page = 0, size = 10, sort = {"startTime", "id"}, direction = Sort.Direction.DESC) Pageable pageable,
+            @PathVariable UUID playerId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.atInfo().addKeyValue("action", "getPlayerBookings").addKeyValue("playerId", playerId).log("Incoming request to get player bookings");
+        return ResponseEntity.ok(bookingService.getAllBookings(pageable, null, playerId, from, to));
     }
 
     @GetMapping("/stadiums/{stadiumId}/players/{playerId}")
@@ -52,53 +71,108 @@ public class BookingController {
     public ResponseEntity<Page<BookingResponse>> getPlayerBookingsInStadium(
             @ParameterObject @PageableDefault(page = 0, size = 10, sort = "id", direction = Sort.Direction.DESC) Pageable pageable,
             @PathVariable UUID stadiumId,
-            @PathVariable UUID playerId) {
+            @PathVariable UUID playerId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
 
-        log.info("Request to get bookings for Player ID: {} inside Stadium ID: {}", playerId, stadiumId);
+        log.atInfo().addKeyValue("action", "getPlayerBookingsInStadium")
+                .addKeyValue("stadiumId", stadiumId)
+                .addKeyValue("playerId", playerId)
+                .log("Incoming request to get player bookings in stadium");
 
-        return ResponseEntity.ok(bookingService.getAllBookings(pageable, stadiumId, playerId));
+        return ResponseEntity.ok(bookingService.getAllBookings(pageable, stadiumId, playerId, from, to));
     }
 
     @GetMapping("/my-bookings")
     @PreAuthorize("hasAnyRole('PLAYER', 'ADMIN')")
     public ResponseEntity<Page<BookingResponse>> getMyBookings(@ParameterObject
-                                                               @PageableDefault(page = 0, size = 10, sort = "id", direction = Sort.Direction.DESC) Pageable pageable) {
-        log.info("Incoming request to get My Bookings (Player View)");
-        return ResponseEntity.ok(bookingService.getMyBookings(pageable));
+                                                               @PageableDefault(page = 0, size = 10, sort = {"startTime", "id"}, direction = Sort.Direction.DESC) Pageable pageable,
+                                                               @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                               @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.atInfo().addKeyValue("action", "getMyBookings").log("Incoming request to get my bookings");
+        return ResponseEntity.ok(bookingService.getMyBookings(pageable, from, to));
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'PLAYER')")
     public BookingResponse getBookingById(@PathVariable UUID id){
-        log.info("Incoming request to get the booking with ID {}", id);
+        log.atInfo().addKeyValue("action", "getBookingById").addKeyValue("bookingId", id).log("Incoming request to get booking");
         return bookingService.getBookingById(id);
     }
 
     @PostMapping
     @PreAuthorize("hasAnyRole('PLAYER', 'ADMIN')")
-    public ResponseEntity<BookingResponse> addBooking(@RequestBody @Valid BookingRequest bookingRequest){
-        log.info("Incoming request to create booking for Stadium ID: {} at {}", bookingRequest.stadiumId(), bookingRequest.startTime());
-        BookingResponse bookingResponse = bookingService.addBooking(bookingRequest);
-        return new ResponseEntity<>(bookingResponse, HttpStatus.CREATED);
+    public ResponseEntity<BookingResponse> addBooking(@RequestBody @Valid BookingRequest bookingRequest,
+                                                      @RequestHeader(name = WaitingRoomService.TOKEN_HEADER, required = false) String admissionToken){
+        log.atInfo().addKeyValue("action", "addBooking")
+                .addKeyValue("stadiumId", bookingRequest.stadiumId())
+                .addKeyValue("startTime", bookingRequest.startTime())
+                .log("Incoming request to create booking");
+        // Before the transaction, so players still queueing never take a connection or wait on the stadium lock
+        boolean admitted = waitingRoomService.checkAdmission(bookingRequest.stadiumId(), admissionToken);
+        boolean booked = false;
+        try {
+            BookingResponse bookingResponse = stadiumBookingActors.isEnabled()
+                    ? stadiumBookingActors.addBooking(bookingRequest)
+                    : bookingService.addBooking(bookingRequest);
+            booked = true;
+            return new ResponseEntity<>(bookingResponse, HttpStatus.CREATED);
+        } catch (ConflictingBookingsException e) {
+            // Outside the booking transaction, so the stadium lock is already released
+            throw new SlotTakenException(e.getMessage(), slotSuggestionService.suggest(bookingRequest));
+        } finally {
+            if (admitted) settleAdmission(bookingRequest.stadiumId(), booked);
+        }
+    }
+
+    @PostMapping(path = "/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BookingImportReport> importBookings(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                              InputStream body) throws IOException {
+        log.atInfo().addKeyValue("action", "importBookings").addKeyValue("contentType", contentType).log("Incoming request to import bookings");
+        return ResponseEntity.ok(bookingImportService.importBookings(body, BookingImportService.Format.of(contentType)));
     }
 
     @DeleteMapping("/{bookingId}")
     @PreAuthorize("hasAnyRole('ADMIN', 'PLAYER')")
     public ResponseEntity<Void> deleteBooking(@PathVariable UUID bookingId){
-        log.info("Incoming request to delete booking with ID: {}", bookingId);
+        log.atInfo().addKeyValue("action", "deleteBooking").addKeyValue("bookingId", bookingId).log("Incoming request to delete booking");
         bookingService.deleteBooking(bookingId);
-        log.info("Action: deleteBooking | Success | Booking Cancelled ID: {}", bookingId);
+        log.atInfo().addKeyValue("action", "deleteBooking").addKeyValue("bookingId", bookingId).log("Booking cancelled");
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 
     @PutMapping("/{bookingId}")
     @PreAuthorize("hasAnyRole('ADMIN', 'PLAYER')")
     public ResponseEntity<BookingResponse> updateBooking(@PathVariable UUID bookingId,
-                                                         @RequestBody @Valid BookingRequestForUpdate bookingRequestForUpdate
+                                                         @RequestBody @Valid BookingRequestForUpdate bookingRequestForUpdate,
+                                                         @RequestHeader(name = WaitingRoomService.TOKEN_HEADER, required = false) String admissionToken
     ) {
-        log.info("Incoming request to update booking with ID: {}", bookingId);
-        BookingResponse bookingResponse = bookingService.updateBooking(bookingId, bookingRequestForUpdate);
-        log.info("Action: updateBooking | Success | Booking Updated ID: {}", bookingId);
+        log.atInfo().addKeyValue("action", "updateBooking").addKeyValue("bookingId", bookingId).log("Incoming request to update booking");
+        // Moving a booking into a stadium, or to another slot of its own, queues like booking it
+        UUID stadiumId = bookingService.getTargetStadiumId(bookingId, bookingRequestForUpdate);
+        boolean admitted = waitingRoomService.checkAdmission(stadiumId, admissionToken);
+        boolean updated = false;
+        BookingResponse bookingResponse;
+        try {
+            bookingResponse = bookingService.updateBooking(bookingId, bookingRequestForUpdate);
+            updated = true;
+        } finally {
+            if (admitted) settleAdmission(stadiumId, updated);
+        }
+        log.atInfo().addKeyValue("action", "updateBooking").addKeyValue("bookingId", bookingId).log("Booking updated");
         return new ResponseEntity<>(bookingResponse, HttpStatus.OK);
     }
+
+    // A failed booking hands its claimed token back, so the player can retry without queueing again
+    private void settleAdmission(UUID stadiumId, boolean booked) {
+        if (booked) waitingRoomService.consume(stadiumId);
+        else waitingRoomService.release(stadiumId);
+    }
+
+    @ExceptionHandler(SlotTakenException.class)
+    public ResponseEntity<BookingConflictResponse> handleSlotTaken(SlotTakenException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(new BookingConflictResponse(e.getMessage(), HttpStatus.CONFLICT,
+                ZonedDateTime.now(), e.getSuggestions().sameStadium(), e.getSuggestions().nearby()));
+    }
 }
@@ -0,0 +1,64 @@
+package com.hamza.stadiumbooking.booking;
+
+import com.hamza.stadiumbooking.stadium.Pitch;
+import com.hamza.stadiumbooking.stadium.Stadium;
+import com.hamza.stadiumbooking.user.User;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.Subselect;
+import org.hibernate.annotations.Synchronize;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Read-only view over live and archived bookings. Only used when a read's time range reaches past the archive
+ * watermark (see {@link BookingArchiveService#requiresArchive}); MySQL pushes the filters down into both branches
+ * of the {@code UNION ALL}, so each side still uses its own indexes.
+ */
+@Entity
+@Immutable
+@Getter
+@NoArgsConstructor
+@Subselect("""
+        SELECT id, start_time, end_time, total_price, note, status, user_id, stadium_id, pitch_id, created_at, false AS archived
+        FROM bookings
+        UNION ALL
+        SELECT id, start_time, end_time, total_price, note, status, user_id, stadium_id, pitch_id, created_at, true AS archived
+        FROM bookings_archive
+        """)
+@Synchronize({"bookings", "bookings_archive"})
+public class BookingHistory {
+
+    @Id
+    private UUID id;
+
+    private LocalDateTime startTime;
+
+    private LocalDateTime endTime;
+
+    private Double totalPrice;
+
+    private String note;
+
+    @Enumerated(EnumType.STRING)
+    private BookingStatus status;
+
+    @ManyToOne
+    @JoinColumn(name = "user_id")
+    private User user;
+
+    @ManyToOne
+    @JoinColumn(name = "stadium_id")
+    private Stadium stadium;
+
+    @ManyToOne
+    @JoinColumn(name = "pitch_id")
+    private Pitch pitch;
+
+    private LocalDateTime createdAt;
+
+    private boolean archived;
+}
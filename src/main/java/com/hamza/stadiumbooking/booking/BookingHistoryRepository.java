@@ -0,0 +1,40 @@
+package com.hamza.stadiumbooking.booking;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface BookingHistoryRepository extends JpaRepository<BookingHistory, UUID> {
+
+    @EntityGraph(attributePaths = {"stadium", "user"})
+    @Query("""
+        SELECT h FROM BookingHistory h
+        WHERE (:stadiumId IS NULL OR h.stadium.id = :stadiumId)
+        AND (:userId IS NULL OR h.user.id = :userId)
+        AND (:from IS NULL OR h.endTime > :from)
+        AND (:to IS NULL OR h.startTime < :to)
+    """)
+    Page<BookingHistory> findInPeriod(
+            Pageable pageable,
+            @Param("stadiumId") UUID stadiumId,
+            @Param("userId") UUID userId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+
+    @EntityGraph(attributePaths = {"stadium", "user"})
+    @Query("SELECT h FROM BookingHistory h WHERE h.id = :id AND h.archived = true")
+    Optional<BookingHistory> findArchivedById(@Param("id") UUID id);
+
+    @Query("SELECT MAX(h.endTime) FROM BookingHistory h WHERE h.archived = true")
+    LocalDateTime findLatestArchivedEndTime();
+}
@@ -0,0 +1,192 @@
+package com.hamza.stadiumbooking.booking;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Streams import records one at a time, so a file of any size is never held in memory. A record that cannot be
+ * parsed is returned with an error instead of failing the whole import.
+ */
+abstract class BookingImportReader implements Closeable {
+
+    record Record(int row, BookingImportRow booking, String error) {
+
+        static Record rejected(int row, String error) {
+            return new Record(row, null, error);
+        }
+    }
+
+    protected final BufferedReader in;
+
+    private BookingImportReader(Reader reader) {
+        this.in = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+    }
+
+    static BookingImportReader csv(Reader reader) throws IOException {
+        return new Csv(reader);
+    }
+
+    static BookingImportReader ndjson(Reader reader, ObjectMapper objectMapper) {
+        return new Ndjson(reader, objectMapper);
+    }
+
+    /**
+     * @return the next record, or {@code null} at the end of the input
+     */
+    abstract Record next() throws IOException;
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /**
+     * RFC 4180 CSV with a header row naming the columns ({@code stadiumId,userId,startTime,endTime,note}, any order).
+     * Quoted fields may contain commas, doubled quotes and line breaks. Rows are numbered from the first data row.
+     */
+    private static final class Csv extends BookingImportReader {
+
+        private static final List<String> REQUIRED = List.of("stadiumId", "userId", "startTime", "endTime");
+
+        private final Map<String, Integer> columns = new HashMap<>();
+        private final StringBuilder field = new StringBuilder();
+        private int row;
+
+        private Csv(Reader reader) throws IOException {
+            super(reader);
+            List<String> header = readRecord();
+            if (header != null) {
+                for (int i = 0; i < header.size(); i++) columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+            for (String column : REQUIRED) {
+                if (!columns.containsKey(column.toLowerCase(Locale.ROOT)))
+                    throw new IllegalArgumentException("CSV header must contain the columns: " + String.join(", ", REQUIRED) + " (note is optional)");
+            }
+        }
+
+        @Override
+        Record next() throws IOException {
+            List<String> fields;
+            do {
+                fields = readRecord();
+                if (fields == null) return null;
+            } while (fields.size() == 1 && fields.getFirst().isBlank());
+
+            row++;
+            try {
+                return new Record(row, new BookingImportRow(
+                        value(fields, "stadiumId", UUID::fromString),
+                        value(fields, "userId", UUID::fromString),
+                        value(fields, "startTime", LocalDateTime::parse),
+                        value(fields, "endTime", LocalDateTime::parse),
+                        value(fields, "note", Function.identity())), null);
+            } catch (InvalidValueException e) {
+                return Record.rejected(row, e.getMessage());
+            }
+        }
+
+        private <T> T value(List<String> fields, String column, Function<String, T> parser) {
+            Integer index = columns.get(column.toLowerCase(Locale.ROOT));
+            if (index == null || index >= fields.size() || fields.get(index).isBlank()) return null;
+
+            String raw = fields.get(index).trim();
+            try {
+                return parser.apply(raw);
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                throw new InvalidValueException("Invalid value for '" + column + "': " + raw);
+            }
+        }
+
+        private List<String> readRecord() throws IOException {
+            int c = in.read();
+            if (c == -1) return null;
+
+            List<String> fields = new ArrayList<>();
+            field.setLength(0);
+            boolean quoted = false;
+            for (; c != -1; c = in.read()) {
+                if (quoted) {
+                    if (c != '"') {
+                        field.append((char) c);
+                        continue;
+                    }
+                    in.mark(1);
+                    int next = in.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (next != -1) in.reset();
+                    }
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n') {
+                    break;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+
+    /**
+     * One JSON object per line, with the {@link BookingImportRow} fields. Rows are numbered by line.
+     */
+    private static final class Ndjson extends BookingImportReader {
+
+        private final ObjectReader rowReader;
+        private int line;
+
+        private Ndjson(Reader reader, ObjectMapper objectMapper) {
+            super(reader);
+            this.rowReader = objectMapper.readerFor(BookingImportRow.class);
+        }
+
+        @Override
+        Record next() throws IOException {
+            String json;
+            do {
+                json = in.readLine();
+                if (json == null) return null;
+                line++;
+            } while (json.isBlank());
+
+            try {
+                return new Record(line, rowReader.readValue(json), null);
+            } catch (JsonMappingException e) {
+                String field = e.getPath().isEmpty() ? null : e.getPath().getLast().getFieldName();
+                return Record.rejected(line, field == null ? "Malformed JSON" : "Invalid value for '" + field + "'");
+            } catch (JsonProcessingException e) {
+                return Record.rejected(line, "Malformed JSON");
+            }
+        }
+    }
+
+    private static final class InvalidValueException extends RuntimeException {
+
+        private InvalidValueException(String message) {
+            super(message, null, false, false);
+        }
+    }
+}
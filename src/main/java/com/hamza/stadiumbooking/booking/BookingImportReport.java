@@ -0,0 +1,18 @@
+package com.hamza.stadiumbooking.booking;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import. {@code errors} lists at most the first 1000 rejected rows; {@code rejected} counts all.
+ */
+public record BookingImportReport(
+        int rows,
+        int imported,
+        int rejected,
+        long elapsedMillis,
+        double rowsPerSecond,
+        List<RowError> errors
+) {
+    public record RowError(int row, String message) {
+    }
+}
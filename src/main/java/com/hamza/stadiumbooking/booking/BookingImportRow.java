@@ -0,0 +1,16 @@
+package com.hamza.stadiumbooking.booking;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One booking from a bulk import file (a CSV record or an NDJSON line).
+ */
+public record BookingImportRow(
+        UUID stadiumId,
+        UUID userId,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        String note
+) {
+}
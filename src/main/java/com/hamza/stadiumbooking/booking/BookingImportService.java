@@ -0,0 +1,327 @@
+package com.hamza.stadiumbooking.booking;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hamza.stadiumbooking.booking.BookingImportReport.RowError;
+import com.hamza.stadiumbooking.outbox.BookingEventType;
+import com.hamza.stadiumbooking.outbox.BookingOutbox;
+import com.hamza.stadiumbooking.stadium.OperatingCalendar;
+import com.hamza.stadiumbooking.stadium.Pitch;
+import com.hamza.stadiumbooking.stadium.PitchRepository;
+import com.hamza.stadiumbooking.stadium.Stadium;
+import com.hamza.stadiumbooking.stadium.StadiumHoursService;
+import com.hamza.stadiumbooking.stadium.StadiumPricingService;
+import com.hamza.stadiumbooking.stadium.StadiumRepository;
+import com.hamza.stadiumbooking.user.User;
+import com.hamza.stadiumbooking.user.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk booking import for migrations. Records are streamed from the request body and written in chunks, one
+ * transaction per chunk: the chunk's stadiums are locked (same {@code SELECT ... FOR UPDATE} as
+ * {@link BookingService#addBooking}), each row is validated and checked for conflicts against an in-memory
+ * per-stadium, per-day schedule (or allocated to a pitch by {@link PitchAllocator}), and the accepted rows are persisted as JDBC batches, then flushed and cleared.
+ * Invalid rows are reported and skipped; they never fail the import.
+ */
+@Slf4j
+@Service
+@Timed(value = "booking.import", percentiles = {0.5, 0.99})
+public class BookingImportService {
+
+    public enum Format {
+        CSV, NDJSON;
+
+        public static Format of(MediaType contentType) {
+            return MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType) ? NDJSON : CSV;
+        }
+    }
+
+    private static final int MAX_REPORTED_ERRORS = 1_000;
+    private static final int MAX_NOTE_LENGTH = 500;
+
+    private final BookingRepository bookingRepository;
+    private final BookingLotteryRepository bookingLotteryRepository;
+    private final StadiumRepository stadiumRepository;
+    private final UserRepository userRepository;
+    private final BookingMetrics bookingMetrics;
+    private final BookingOutbox bookingOutbox;
+    private final StadiumHoursService stadiumHoursService;
+    private final StadiumPricingService stadiumPricingService;
+    private final PitchRepository pitchRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+
+    public BookingImportService(BookingRepository bookingRepository, BookingLotteryRepository bookingLotteryRepository,
+                                StadiumRepository stadiumRepository,
+                                UserRepository userRepository, BookingMetrics bookingMetrics, BookingOutbox bookingOutbox,
+                                StadiumHoursService stadiumHoursService, StadiumPricingService stadiumPricingService,
+                                PitchRepository pitchRepository, EntityManager entityManager,
+                                PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+                                @Value("${booking.import.chunk-size:500}") int chunkSize) {
+        this.bookingRepository = bookingRepository;
+        this.bookingLotteryRepository = bookingLotteryRepository;
+        this.stadiumRepository = stadiumRepository;
+        this.userRepository = userRepository;
+        this.bookingMetrics = bookingMetrics;
+        this.bookingOutbox = bookingOutbox;
+        this.stadiumHoursService = stadiumHoursService;
+        this.stadiumPricingService = stadiumPricingService;
+        this.pitchRepository = pitchRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+    }
+
+    public BookingImportReport importBookings(InputStream body, Format format) throws IOException {
+        long start = System.nanoTime();
+        Progress progress = new Progress();
+        List<BookingImportReader.Record> chunk = new ArrayList<>(chunkSize);
+
+        Reader reader = new InputStreamReader(body, StandardCharsets.UTF_8);
+        try (BookingImportReader records = format == Format.NDJSON
+                ? BookingImportReader.ndjson(reader, objectMapper)
+                : BookingImportReader.csv(reader)) {
+            for (BookingImportReader.Record record = records.next(); record != null; record = records.next()) {
+                progress.rows++;
+                if (record.error() != null) {
+                    progress.reject(record.row(), record.error());
+                    continue;
+                }
+                chunk.add(record);
+                if (chunk.size() == chunkSize) {
+                    writeChunk(chunk, progress);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) writeChunk(chunk, progress);
+
+        long elapsedNanos = System.nanoTime() - start;
+        double rowsPerSecond = progress.rows == 0 ? 0 : progress.rows / (elapsedNanos / 1e9);
+        progress.errors.sort(Comparator.comparingInt(RowError::row));
+
+        log.atInfo().addKeyValue("action", "importBookings")
+                .addKeyValue("format", format)
+                .addKeyValue("rows", progress.rows)
+                .addKeyValue("imported", progress.imported)
+                .addKeyValue("rejected", progress.rejected)
+                .addKeyValue("rowsPerSecond", Math.round(rowsPerSecond))
+                .log("Booking import finished");
+        return new BookingImportReport(progress.rows, progress.imported, progress.rejected,
+                elapsedNanos / 1_000_000, rowsPerSecond, List.copyOf(progress.errors));
+    }
+
+    private void writeChunk(List<BookingImportReader.Record> chunk, Progress progress) {
+        List<BookingImportReader.Record> accepted = new ArrayList<>(chunk.size());
+        List<RowError> rejected = new ArrayList<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                accepted.clear();
+                rejected.clear();
+                persistChunk(chunk, accepted, rejected);
+            });
+            progress.imported += accepted.size();
+        } catch (DataAccessException | TransactionException e) {
+            log.atWarn().setCause(e).addKeyValue("action", "importBookings").addKeyValue("rows", accepted.size())
+                    .log("Import chunk rolled back");
+            for (BookingImportReader.Record record : accepted) progress.reject(record.row(), "Could not be saved, please retry this row");
+        }
+        rejected.forEach(error -> progress.reject(error.row(), error.message()));
+    }
+
+    private void persistChunk(List<BookingImportReader.Record> chunk, List<BookingImportReader.Record> accepted, List<RowError> rejected) {
+        // Locked in ID order so two concurrent imports can't deadlock each other
+        Map<UUID, Stadium> stadiums = new HashMap<>();
+        chunk.stream().map(record -> record.booking().stadiumId()).filter(Objects::nonNull).distinct().sorted()
+                .forEach(id -> bookingMetrics.lockStadium(id, () -> stadiumRepository.findByIdWithLock(id))
+                        .ifPresent(stadium -> stadiums.put(id, stadium)));
+
+        Map<UUID, User> users = new HashMap<>();
+        List<UUID> userIds = chunk.stream().map(record -> record.booking().userId()).filter(Objects::nonNull).distinct().toList();
+        for (User user : userRepository.findAllById(userIds)) {
+            if (!user.isDeleted()) users.put(user.getId(), user);
+        }
+
+        Map<UUID, List<Pitch>> pitches = stadiums.isEmpty() ? Map.of()
+                : pitchRepository.findActiveByStadiumIdIn(stadiums.keySet()).stream().collect(Collectors.groupingBy(Pitch::getStadiumId));
+
+        // One query per stadium loads every CONFIRMED booking in the time range the chunk covers for it
+        Map<UUID, StadiumSchedule> schedules = new HashMap<>();
+        for (BookingImportReader.Record record : chunk) {
+            BookingImportRow row = record.booking();
+            if (row.stadiumId() == null || row.startTime() == null || row.endTime() == null || !row.endTime().isAfter(row.startTime())) continue;
+            schedules.computeIfAbsent(row.stadiumId(), id -> new StadiumSchedule(id, pitches.getOrDefault(id, List.of()))).cover(row.startTime(), row.endTime());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (BookingImportReader.Record record : chunk) {
+            BookingImportRow row = record.booking();
+            String error = missingField(row);
+            if (error != null) {
+                rejected.add(new RowError(record.row(), error));
+                continue;
+            }
+
+            Stadium stadium = stadiums.get(row.stadiumId());
+            User user = users.get(row.userId());
+            Booking booking = Booking.builder().user(user).stadium(stadium).startTime(row.startTime()).endTime(row.endTime())
+                    .note(row.note()).status(BookingStatus.CONFIRMED).build();
+
+            error = validate(booking, row, schedules);
+            if (error != null) {
+                rejected.add(new RowError(record.row(), error));
+                continue;
+            }
+
+            booking.calculateTotalPrice(stadiumPricingService.priceTableFor(stadium), now);
+            entityManager.persist(booking);
+            bookingOutbox.append(booking, BookingEventType.BOOKING_CREATED);
+            stadium.setLastLockAt(now);
+            accepted.add(record);
+        }
+
+        // Hibernate sends the pending booking and outbox inserts as JDBC batches (hibernate.jdbc.batch_size)
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private String validate(Booking booking, BookingImportRow row, Map<UUID, StadiumSchedule> schedules) {
+        Stadium stadium = booking.getStadium();
+        if (stadium == null) return "Stadium not found: " + row.stadiumId();
+        if (booking.getUser() == null) return "User not found: " + row.userId();
+        if (row.note() != null && row.note().length() > MAX_NOTE_LENGTH) return "Note must be at most " + MAX_NOTE_LENGTH + " characters";
+
+        try {
+            booking.validateDuration();
+        } catch (IllegalArgumentException e) {
+            bookingMetrics.rejected(stadium, "invalid_duration");
+            return e.getMessage();
+        }
+        // Undrawn lottery windows belong to their entrants; the draw would count an imported row as already booked
+        if (schedules.get(stadium.getId()).inLottery(row.startTime(), row.endTime())) return "This time is allocated by lottery";
+        OperatingCalendar calendar = stadiumHoursService.calendarFor(stadium);
+        if (!calendar.isOpen(row.startTime(), row.endTime())) {
+            bookingMetrics.rejected(stadium, "closed");
+            return "Stadium is closed during the selected time. Operating hours: " + calendar.summary();
+        }
+
+        if (!schedules.get(stadium.getId()).tryReserve(booking)) {
+            bookingMetrics.conflict(stadium, "import");
+            return "This time is already booked";
+        }
+        return null;
+    }
+
+    private static String missingField(BookingImportRow row) {
+        if (row.stadiumId() == null) return "Missing stadiumId";
+        if (row.userId() == null) return "Missing userId";
+        if (row.startTime() == null) return "Missing startTime";
+        if (row.endTime() == null) return "Missing endTime";
+        return null;
+    }
+
+    /**
+     * CONFIRMED bookings of one stadium bucketed by day, extended with the rows accepted so far. An interval is kept
+     * under every day it touches, so overnight bookings are found from either side of midnight. A stadium with
+     * pitches uses a {@link PitchAllocator} over the same range instead, and each accepted row gets a pitch. The
+     * stadium's open lottery windows over the range are loaded with one more query.
+     */
+    private final class StadiumSchedule {
+
+        private final UUID stadiumId;
+        private final List<Pitch> pitches;
+        private final Map<LocalDate, List<BookingInterval>> days = new HashMap<>();
+        private LocalDateTime from;
+        private LocalDateTime to;
+        private boolean loaded;
+        private PitchAllocator allocator;
+        private List<BookingLottery> lotteries;
+
+        private StadiumSchedule(UUID stadiumId, List<Pitch> pitches) {
+            this.stadiumId = stadiumId;
+            this.pitches = pitches;
+        }
+
+        void cover(LocalDateTime start, LocalDateTime end) {
+            if (from == null || start.isBefore(from)) from = start;
+            if (to == null || end.isAfter(to)) to = end;
+        }
+
+        boolean inLottery(LocalDateTime start, LocalDateTime end) {
+            if (lotteries == null) lotteries = bookingLotteryRepository.findOpenOverlapping(stadiumId, from, to);
+            return lotteries.stream().anyMatch(lottery -> lottery.getWindowStart().isBefore(end) && lottery.getWindowEnd().isAfter(start));
+        }
+
+        boolean tryReserve(Booking booking) {
+            LocalDateTime start = booking.getStartTime();
+            LocalDateTime end = booking.getEndTime();
+            if (!pitches.isEmpty()) {
+                if (allocator == null) allocator = PitchAllocator.load(bookingRepository, stadiumId, pitches,
+                        stadiumHoursService.calendarFor(booking.getStadium()), from, to, null);
+                Optional<Pitch> pitch = allocator.reserve(null, start, end, null);
+                pitch.ifPresent(booking::setPitch);
+                return pitch.isPresent();
+            }
+            if (!loaded) {
+                bookingRepository.findConfirmedIntervals(stadiumId, from, to).forEach(this::add);
+                loaded = true;
+            }
+            LocalDate lastDay = end.minusNanos(1).toLocalDate();
+            for (LocalDate day = start.toLocalDate(); !day.isAfter(lastDay); day = day.plusDays(1)) {
+                for (BookingInterval interval : days.getOrDefault(day, List.of())) {
+                    if (interval.overlaps(start, end)) return false;
+                }
+            }
+            add(new BookingInterval(start, end));
+            return true;
+        }
+
+        private void add(BookingInterval interval) {
+            LocalDate lastDay = interval.endTime().minusNanos(1).toLocalDate();
+            for (LocalDate day = interval.startTime().toLocalDate(); !day.isAfter(lastDay); day = day.plusDays(1)) {
+                days.computeIfAbsent(day, d -> new ArrayList<>()).add(interval);
+            }
+        }
+    }
+
+    private static final class Progress {
+
+        private int rows;
+        private int imported;
+        private int rejected;
+        private final List<RowError> errors = new ArrayList<>();
+
+        void reject(int row, String message) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) errors.add(new RowError(row, message));
+        }
+    }
+}
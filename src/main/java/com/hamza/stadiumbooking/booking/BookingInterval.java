@@ -0,0 +1,12 @@
+package com.hamza.stadiumbooking.booking;
+
+import java.time.LocalDateTime;
+
+public record BookingInterval(
+        LocalDateTime startTime,
+        LocalDateTime endTime
+) {
+    public boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        return end.isAfter(startTime) && start.isBefore(endTime);
+    }
+}
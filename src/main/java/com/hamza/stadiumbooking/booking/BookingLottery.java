@@ -0,0 +1,61 @@
+package com.hamza.stadiumbooking.booking;
+
+import com.hamza.stadiumbooking.id.UuidV7Generator;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UuidGenerator;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A peak window of one stadium allocated by lottery instead of first come, first served. Until it is drawn, slots
+ * starting or ending inside {@code [windowStart, windowEnd)} can only be entered for, not booked; the draw after
+ * {@code entriesCloseAt} turns the winning entries into bookings and frees the rest of the window for normal booking.
+ * The draw's {@code seed} is kept so the order can be replayed from the entries.
+ */
+@Builder
+@Entity
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "booking_lotteries", indexes = {
+        @Index(name = "idx_lottery_stadium_window", columnList = "stadium_id, status, windowStart"),
+        @Index(name = "idx_lottery_due", columnList = "status, entriesCloseAt")
+})
+public class BookingLottery {
+
+    @Id
+    @GeneratedValue
+    @UuidGenerator(algorithm = UuidV7Generator.class)
+    private UUID id;
+
+    @Column(name = "stadium_id", nullable = false)
+    private UUID stadiumId;
+
+    @Column(nullable = false)
+    private LocalDateTime windowStart;
+
+    @Column(nullable = false)
+    private LocalDateTime windowEnd;
+
+    @Column(nullable = false)
+    private LocalDateTime entriesCloseAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private BookingLotteryStatus status = BookingLotteryStatus.OPEN;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime drawnAt;
+
+    private Long seed;
+
+    private Integer entries;
+
+    private Integer winners;
+}
@@ -0,0 +1,47 @@
+package com.hamza.stadiumbooking.booking;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController @RequiredArgsConstructor @Slf4j
+@RequestMapping("/api/v1")
+public class BookingLotteryController {
+
+    private final BookingLotteryService bookingLotteryService;
+
+    @GetMapping("/stadiums/{stadiumId}/lotteries")
+    public ResponseEntity<List<BookingLotteryResponse>> getLotteries(@PathVariable UUID stadiumId) {
+        log.debug("Incoming request to get lotteries of stadium: {}", stadiumId);
+        return ResponseEntity.ok(bookingLotteryService.getLotteries(stadiumId));
+    }
+
+    @PostMapping("/stadiums/{stadiumId}/lotteries")
+    @PreAuthorize("@ownershipValidationService.isStadiumOwner(#stadiumId)")
+    public ResponseEntity<BookingLotteryResponse> createLottery(@PathVariable UUID stadiumId,
+                                                                @RequestBody @Valid BookingLotteryRequest request) {
+        log.atInfo().addKeyValue("action", "createLottery").addKeyValue("stadiumId", stadiumId).log("Incoming request to open a booking lottery");
+        return ResponseEntity.status(HttpStatus.CREATED).body(bookingLotteryService.createLottery(stadiumId, request));
+    }
+
+    @PostMapping("/bookings/lotteries/{lotteryId}/entries")
+    @PreAuthorize("hasAnyRole('PLAYER', 'ADMIN')")
+    public ResponseEntity<BookingLotteryEntryResponse> enter(@PathVariable UUID lotteryId,
+                                                             @RequestBody @Valid BookingLotteryEntryRequest request) {
+        log.atInfo().addKeyValue("action", "enterLottery").addKeyValue("lotteryId", lotteryId).log("Incoming lottery entry");
+        return ResponseEntity.status(HttpStatus.CREATED).body(bookingLotteryService.enter(lotteryId, request));
+    }
+
+    @GetMapping("/bookings/lotteries/{lotteryId}/my-entry")
+    @PreAuthorize("hasAnyRole('PLAYER', 'ADMIN')")
+    public ResponseEntity<BookingLotteryEntryResponse> getMyEntry(@PathVariable UUID lotteryId) {
+        return ResponseEntity.ok(bookingLotteryService.getMyEntry(lotteryId));
+    }
+}
@@ -0,0 +1,60 @@
+package com.hamza.stadiumbooking.booking;
+
+import com.hamza.stadiumbooking.id.UuidV7Generator;
+import com.hamza.stadiumbooking.stadium.Type;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UuidGenerator;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One player's request for a slot in a {@link BookingLottery}. Entries are plain inserts without foreign keys or
+ * locks; only the draw updates them, with the result and the booking a winner got.
+ */
+@Builder
+@Entity
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "booking_lottery_entries", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_lottery_entry_user", columnNames = {"lottery_id", "user_id"})
+})
+public class BookingLotteryEntry {
+
+    @Id
+    @GeneratedValue
+    @UuidGenerator(algorithm = UuidV7Generator.class)
+    private UUID id;
+
+    @Column(name = "lottery_id", nullable = false)
+    private UUID lotteryId;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(nullable = false)
+    private LocalDateTime startTime;
+
+    @Column(nullable = false)
+    private LocalDateTime endTime;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 50)
+    private Type pitchType;
+
+    @Column(length = 500)
+    private String note;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private BookingLotteryEntryStatus status = BookingLotteryEntryStatus.PENDING;
+
+    private UUID bookingId;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,18 @@
+package com.hamza.stadiumbooking.booking;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface BookingLotteryEntryRepository extends JpaRepository<BookingLotteryEntry, UUID> {
+
+    boolean existsByLotteryIdAndUserId(UUID lotteryId, UUID userId);
+
+    Optional<BookingLotteryEntry> findByLotteryIdAndUserId(UUID lotteryId, UUID userId);
+
+    List<BookingLotteryEntry> findByLotteryIdOrderById(UUID lotteryId);
+}
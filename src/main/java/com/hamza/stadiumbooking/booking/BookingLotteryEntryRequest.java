@@ -0,0 +1,19 @@
+package com.hamza.stadiumbooking.booking;
+
+import com.hamza.stadiumbooking.stadium.Type;
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDateTime;
+
+/**
+ * @param pitchType only used by stadiums with pitches; null accepts any free pitch
+ */
+public record BookingLotteryEntryRequest(
+        @NotNull @Future LocalDateTime startTime,
+        @NotNull @Future LocalDateTime endTime,
+        Type pitchType,
+        @Size(max = 500, message = "Note must be at most 500 characters") String note
+) {
+}
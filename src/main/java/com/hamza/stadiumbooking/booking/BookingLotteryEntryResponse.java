@@ -0,0 +1,20 @@
+package com.hamza.stadiumbooking.booking;
+
+import com.hamza.stadiumbooking.stadium.Type;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * @param bookingId the booking a winning entry got, null otherwise
+ */
+public record BookingLotteryEntryResponse(
+        UUID id,
+        UUID lotteryId,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        Type pitchType,
+        BookingLotteryEntryStatus status,
+        UUID bookingId
+) {
+}
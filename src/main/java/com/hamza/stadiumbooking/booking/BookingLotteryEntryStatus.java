@@ -0,0 +1,7 @@
+package com.hamza.stadiumbooking.booking;
+
+public enum BookingLotteryEntryStatus {
+    PENDING,
+    WON,
+    LOST
+}
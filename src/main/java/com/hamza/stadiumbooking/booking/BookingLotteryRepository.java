@@ -0,0 +1,31 @@
+package com.hamza.stadiumbooking.booking;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface BookingLotteryRepository extends JpaRepository<BookingLottery, UUID> {
+
+    @Query("SELECT COUNT(l) > 0 FROM BookingLottery l WHERE l.stadiumId = :stadiumId AND l.status = 'OPEN' " +
+            "AND l.windowStart < :endTime AND l.windowEnd > :startTime")
+    boolean existsOpenOverlapping(@Param("stadiumId") UUID stadiumId,
+                                  @Param("startTime") LocalDateTime startTime,
+                                  @Param("endTime") LocalDateTime endTime);
+
+    @Query("SELECT l FROM BookingLottery l WHERE l.stadiumId = :stadiumId AND l.status = 'OPEN' " +
+            "AND l.windowStart < :endTime AND l.windowEnd > :startTime")
+    List<BookingLottery> findOpenOverlapping(@Param("stadiumId") UUID stadiumId,
+                                             @Param("startTime") LocalDateTime startTime,
+                                             @Param("endTime") LocalDateTime endTime);
+
+    List<BookingLottery> findTop50ByStadiumIdOrderByWindowStartDesc(UUID stadiumId);
+
+    @Query("SELECT l.id FROM BookingLottery l WHERE l.status = 'OPEN' AND l.entriesCloseAt <= :closedBefore ORDER BY l.entriesCloseAt")
+    List<UUID> findDueIds(@Param("closedBefore") LocalDateTime closedBefore);
+}
@@ -0,0 +1,17 @@
+package com.hamza.stadiumbooking.booking;
+
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+
+/**
+ * @param windowStart    start of the peak window; slots overlapping {@code [windowStart, windowEnd)} go by lottery
+ * @param entriesCloseAt last moment to enter; the draw runs shortly after and must be before the window starts
+ */
+public record BookingLotteryRequest(
+        @NotNull @Future LocalDateTime windowStart,
+        @NotNull @Future LocalDateTime windowEnd,
+        @NotNull @Future LocalDateTime entriesCloseAt
+) {
+}
@@ -0,0 +1,22 @@
+package com.hamza.stadiumbooking.booking;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * @param entries number of entries drawn, null until the draw
+ * @param winners number of entries that got a booking, null until the draw
+ */
+public record BookingLotteryResponse(
+        UUID id,
+        UUID stadiumId,
+        LocalDateTime windowStart,
+        LocalDateTime windowEnd,
+        LocalDateTime entriesCloseAt,
+        BookingLotteryStatus status,
+        LocalDateTime drawnAt,
+        Long seed,
+        Integer entries,
+        Integer winners
+) {
+}
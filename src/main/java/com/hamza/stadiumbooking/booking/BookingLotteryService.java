@@ -0,0 +1,275 @@
+package com.hamza.stadiumbooking.booking;
+
+import com.hamza.stadiumbooking.exception.ConflictingBookingsException;
+import com.hamza.stadiumbooking.exception.ResourceNotFoundException;
+import com.hamza.stadiumbooking.outbox.BookingEventType;
+import com.hamza.stadiumbooking.outbox.BookingOutbox;
+import com.hamza.stadiumbooking.security.utils.OwnershipValidationService;
+import com.hamza.stadiumbooking.stadium.OperatingCalendar;
+import com.hamza.stadiumbooking.stadium.Pitch;
+import com.hamza.stadiumbooking.stadium.PitchRepository;
+import com.hamza.stadiumbooking.stadium.PriceTable;
+import com.hamza.stadiumbooking.stadium.Stadium;
+import com.hamza.stadiumbooking.stadium.StadiumHoursService;
+import com.hamza.stadiumbooking.stadium.StadiumPricingService;
+import com.hamza.stadiumbooking.stadium.StadiumRepository;
+import com.hamza.stadiumbooking.user.User;
+import com.hamza.stadiumbooking.user.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Lottery allocation for peak windows. While a lottery is open, players file entries: a validated insert with no
+ * stadium lock and no conflict check, so a rush of players never queues on the stadium row. Once entries close,
+ * {@link #drawDueLotteries} draws each lottery in one transaction per stadium: the stadium is locked once, the
+ * window's bookings are loaded into a {@link PitchAllocator}, entries are tried in a random order and the winners are
+ * written as one batch of bookings plus their outbox events. Each player has one entry per lottery, so every player
+ * has the same chance at a slot however often they retry.
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+@Timed(value = "booking.lottery", percentiles = {0.5, 0.99})
+public class BookingLotteryService {
+
+    private static final int MAX_WINDOW_DAYS = 14;
+
+    private final BookingLotteryRepository lotteryRepository;
+    private final BookingLotteryEntryRepository entryRepository;
+    private final BookingRepository bookingRepository;
+    private final StadiumRepository stadiumRepository;
+    private final UserRepository userRepository;
+    private final PitchRepository pitchRepository;
+    private final StadiumHoursService stadiumHoursService;
+    private final StadiumPricingService stadiumPricingService;
+    private final BookingMetrics bookingMetrics;
+    private final BookingOutbox bookingOutbox;
+    private final OwnershipValidationService ownershipValidationService;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration settle;
+    private final SecureRandom seeds = new SecureRandom();
+
+    public BookingLotteryService(BookingLotteryRepository lotteryRepository, BookingLotteryEntryRepository entryRepository,
+                                 BookingRepository bookingRepository, StadiumRepository stadiumRepository,
+                                 UserRepository userRepository, PitchRepository pitchRepository,
+                                 StadiumHoursService stadiumHoursService, StadiumPricingService stadiumPricingService,
+                                 BookingMetrics bookingMetrics, BookingOutbox bookingOutbox,
+                                 OwnershipValidationService ownershipValidationService,
+                                 EntityManager entityManager, PlatformTransactionManager transactionManager,
+                                 @Value("${booking.lottery.settle-ms:2000}") long settleMillis) {
+        this.lotteryRepository = lotteryRepository;
+        this.entryRepository = entryRepository;
+        this.bookingRepository = bookingRepository;
+        this.stadiumRepository = stadiumRepository;
+        this.userRepository = userRepository;
+        this.pitchRepository = pitchRepository;
+        this.stadiumHoursService = stadiumHoursService;
+        this.stadiumPricingService = stadiumPricingService;
+        this.bookingMetrics = bookingMetrics;
+        this.bookingOutbox = bookingOutbox;
+        this.ownershipValidationService = ownershipValidationService;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.settle = Duration.ofMillis(settleMillis);
+    }
+
+    public List<BookingLotteryResponse> getLotteries(UUID stadiumId) {
+        return lotteryRepository.findTop50ByStadiumIdOrderByWindowStartDesc(stadiumId).stream()
+                .map(BookingLotteryService::mapToDto)
+                .toList();
+    }
+
+    @Transactional
+    public BookingLotteryResponse createLottery(UUID stadiumId, BookingLotteryRequest request) {
+        if (!request.windowEnd().isAfter(request.windowStart()))
+            throw new IllegalArgumentException("Window end must be after window start");
+        if (request.windowEnd().isAfter(request.windowStart().plusDays(MAX_WINDOW_DAYS)))
+            throw new IllegalArgumentException("A lottery window can span at most " + MAX_WINDOW_DAYS + " days");
+        if (request.entriesCloseAt().isAfter(request.windowStart()))
+            throw new IllegalArgumentException("Entries must close before the window starts");
+
+        // Serialised with draws and other lotteries of the stadium; rare, so the lock costs nothing
+        Stadium stadium = bookingMetrics.lockStadium(stadiumId, () -> stadiumRepository.findByIdWithLock(stadiumId))
+                .filter(s -> !s.isDeleted())
+                .orElseThrow(() -> new ResourceNotFoundException("Stadium not found with ID: " + stadiumId));
+        if (lotteryRepository.existsOpenOverlapping(stadium.getId(), request.windowStart(), request.windowEnd()))
+            throw new IllegalArgumentException("The window overlaps another open lottery of this stadium");
+
+        BookingLottery lottery = lotteryRepository.save(BookingLottery.builder()
+                .stadiumId(stadium.getId())
+                .windowStart(request.windowStart())
+                .windowEnd(request.windowEnd())
+                .entriesCloseAt(request.entriesCloseAt())
+                .createdAt(LocalDateTime.now())
+                .build());
+        log.atInfo().addKeyValue("action", "createLottery")
+                .addKeyValue("stadiumId", stadiumId)
+                .addKeyValue("lotteryId", lottery.getId())
+                .log("Booking lottery opened");
+        return mapToDto(lottery);
+    }
+
+    @Transactional
+    public BookingLotteryEntryResponse enter(UUID lotteryId, BookingLotteryEntryRequest request) {
+        BookingLottery lottery = lotteryRepository.findById(lotteryId)
+                .orElseThrow(() -> new ResourceNotFoundException("Lottery not found with ID: " + lotteryId));
+        if (lottery.getStatus() != BookingLotteryStatus.OPEN || !LocalDateTime.now().isBefore(lottery.getEntriesCloseAt()))
+            throw new IllegalArgumentException("Entries for this lottery are closed");
+        if (request.startTime().isBefore(lottery.getWindowStart()) || request.endTime().isAfter(lottery.getWindowEnd()))
+            throw new IllegalArgumentException("The slot must lie within the lottery window " + lottery.getWindowStart() + " - " + lottery.getWindowEnd());
+        Booking.builder().startTime(request.startTime()).endTime(request.endTime()).build().validateDuration();
+
+        Stadium stadium = stadiumRepository.findByIdAndIsDeletedFalse(lottery.getStadiumId())
+                .orElseThrow(() -> new ResourceNotFoundException("Stadium not found."));
+        OperatingCalendar calendar = stadiumHoursService.calendarFor(stadium);
+        if (!calendar.isOpen(request.startTime(), request.endTime()))
+            throw new IllegalArgumentException("Stadium is closed during the selected time. Operating hours: " + calendar.summary());
+        if (request.pitchType() != null && pitchesOf(stadium).stream().noneMatch(pitch -> pitch.getType() == request.pitchType()))
+            throw new IllegalArgumentException("Stadium has no " + request.pitchType() + " pitch.");
+
+        UUID userId = ownershipValidationService.getCurrentUserId();
+        // The unique key (lottery_id, user_id) settles two concurrent entries of one player
+        if (entryRepository.existsByLotteryIdAndUserId(lotteryId, userId))
+            throw new ConflictingBookingsException("You have already entered this lottery");
+
+        BookingLotteryEntry entry = entryRepository.save(BookingLotteryEntry.builder()
+                .lotteryId(lotteryId)
+                .userId(userId)
+                .startTime(request.startTime())
+                .endTime(request.endTime())
+                .pitchType(request.pitchType())
+                .note(request.note())
+                .createdAt(LocalDateTime.now())
+                .build());
+        return mapToDto(entry);
+    }
+
+    public BookingLotteryEntryResponse getMyEntry(UUID lotteryId) {
+        return entryRepository.findByLotteryIdAndUserId(lotteryId, ownershipValidationService.getCurrentUserId())
+                .map(BookingLotteryService::mapToDto)
+                .orElseThrow(() -> new ResourceNotFoundException("You have not entered this lottery"));
+    }
+
+    /**
+     * Draws every open lottery whose entries closed at least {@code booking.lottery.settle-ms} ago, so entries
+     * accepted just before the close have committed. Each lottery is drawn in its own transaction.
+     *
+     * @return the number of lotteries drawn
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int drawDueLotteries() {
+        int drawn = 0;
+        for (UUID lotteryId : lotteryRepository.findDueIds(LocalDateTime.now().minus(settle))) {
+            try {
+                if (Boolean.TRUE.equals(transactionTemplate.execute(status -> draw(lotteryId)))) drawn++;
+            } catch (RuntimeException e) {
+                log.atError().setCause(e).addKeyValue("action", "drawLottery").addKeyValue("lotteryId", lotteryId)
+                        .log("Lottery draw failed, retrying on the next run");
+            }
+        }
+        return drawn;
+    }
+
+    private boolean draw(UUID lotteryId) {
+        BookingLottery lottery = lotteryRepository.findById(lotteryId).orElse(null);
+        if (lottery == null) return false;
+        Optional<Stadium> locked = bookingMetrics.lockStadium(lottery.getStadiumId(), () -> stadiumRepository.findByIdWithLock(lottery.getStadiumId()));
+        // Another node may have drawn it while this one waited for the lock
+        entityManager.refresh(lottery);
+        if (lottery.getStatus() != BookingLotteryStatus.OPEN) return false;
+
+        List<BookingLotteryEntry> entries = entryRepository.findByLotteryIdOrderById(lotteryId);
+        long seed = seeds.nextLong();
+        List<BookingLotteryEntry> drawOrder = new ArrayList<>(entries);
+        Collections.shuffle(drawOrder, new Random(seed));
+
+        LocalDateTime now = LocalDateTime.now();
+        int winners = 0;
+        if (locked.isPresent() && !locked.get().isDeleted()) {
+            Stadium stadium = locked.get();
+            List<Pitch> pitches = pitchRepository.findActiveByStadiumId(stadium.getId());
+            boolean singleResource = pitches.isEmpty();
+            PitchAllocator allocator = PitchAllocator.load(bookingRepository, stadium.getId(), PitchAllocator.pitchesOrStandIn(stadium, pitches),
+                    stadiumHoursService.calendarFor(stadium), lottery.getWindowStart(), lottery.getWindowEnd(), null);
+            PriceTable prices = stadiumPricingService.priceTableFor(stadium);
+
+            Map<UUID, User> users = new HashMap<>();
+            for (User user : userRepository.findAllById(entries.stream().map(BookingLotteryEntry::getUserId).distinct().toList())) {
+                if (!user.isDeleted()) users.put(user.getId(), user);
+            }
+
+            for (BookingLotteryEntry entry : drawOrder) {
+                User user = users.get(entry.getUserId());
+                Optional<Pitch> pitch = user == null || entry.getStartTime().isBefore(now) ? Optional.empty()
+                        : allocator.reserve(entry.getPitchType(), entry.getStartTime(), entry.getEndTime(), null);
+                if (pitch.isEmpty()) {
+                    entry.setStatus(BookingLotteryEntryStatus.LOST);
+                    continue;
+                }
+                Booking booking = Booking.builder().user(user).stadium(stadium).pitch(singleResource ? null : pitch.get())
+                        .startTime(entry.getStartTime()).endTime(entry.getEndTime()).note(entry.getNote())
+                        .status(BookingStatus.CONFIRMED).build();
+                booking.calculateTotalPrice(prices, now);
+                entityManager.persist(booking);
+                bookingOutbox.append(booking, BookingEventType.BOOKING_CREATED);
+                entry.setStatus(BookingLotteryEntryStatus.WON);
+                entry.setBookingId(booking.getId());
+                winners++;
+            }
+            stadium.setLastLockAt(now);
+        } else {
+            entries.forEach(entry -> entry.setStatus(BookingLotteryEntryStatus.LOST));
+        }
+
+        lottery.setStatus(BookingLotteryStatus.DRAWN);
+        lottery.setDrawnAt(now);
+        lottery.setSeed(seed);
+        lottery.setEntries(entries.size());
+        lottery.setWinners(winners);
+        // Bookings, outbox events and entry results go out as JDBC batches (hibernate.jdbc.batch_size)
+        entityManager.flush();
+
+        log.atInfo().addKeyValue("action", "drawLottery")
+                .addKeyValue("lotteryId", lotteryId)
+                .addKeyValue("stadiumId", lottery.getStadiumId())
+                .addKeyValue("entries", entries.size())
+                .addKeyValue("winners", winners)
+                .log("Booking lottery drawn");
+        return true;
+    }
+
+    private List<Pitch> pitchesOf(Stadium stadium) {
+        return PitchAllocator.pitchesOrStandIn(stadium, pitchRepository.findActiveByStadiumId(stadium.getId()));
+    }
+
+    static BookingLotteryResponse mapToDto(BookingLottery lottery) {
+        return new BookingLotteryResponse(lottery.getId(), lottery.getStadiumId(), lottery.getWindowStart(), lottery.getWindowEnd(),
+                lottery.getEntriesCloseAt(), lottery.getStatus(), lottery.getDrawnAt(), lottery.getSeed(),
+                lottery.getEntries(), lottery.getWinners());
+    }
+
+    static BookingLotteryEntryResponse mapToDto(BookingLotteryEntry entry) {
+        return new BookingLotteryEntryResponse(entry.getId(), entry.getLotteryId(), entry.getStartTime(), entry.getEndTime(),
+                entry.getPitchType(), entry.getStatus(), entry.getBookingId());
+    }
+}
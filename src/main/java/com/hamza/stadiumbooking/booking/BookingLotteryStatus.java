@@ -0,0 +1,6 @@
+package com.hamza.stadiumbooking.booking;
+
+public enum BookingLotteryStatus {
+    OPEN,
+    DRAWN
+}
@@ -0,0 +1,111 @@
+package com.hamza.stadiumbooking.booking;
+
+import com.hamza.stadiumbooking.stadium.Stadium;
+import com.hamza.stadiumbooking.stadium.Type;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Booking write-path metrics. Everything is tagged by stadium {@link Type}, never by stadium ID, so the number of
+ * series stays fixed no matter how many stadiums exist.
+ */
+@Component
+public class BookingMetrics {
+
+    static final String LOCK_WAIT = "booking.stadium.lock.wait";
+    static final String CONFLICTS = "booking.conflicts";
+    static final String REJECTIONS = "booking.rejections";
+    static final String CONTENTION = "booking.stadium.contention";
+
+    private static final String UNKNOWN_TYPE = "UNKNOWN";
+
+    private final MeterRegistry registry;
+
+    // Booking writes currently waiting for or holding each stadium's row lock; entries are removed at zero
+    private final ConcurrentMap<UUID, Integer> lockHolders = new ConcurrentHashMap<>();
+
+    public BookingMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        Gauge.builder(CONTENTION, this, BookingMetrics::hottestStadiumContention)
+                .description("Concurrent booking writes queued on the single most contended stadium")
+                .register(registry);
+    }
+
+    /**
+     * Runs the {@code SELECT ... FOR UPDATE} stadium lookup, recording how long it blocked and counting the caller
+     * as a lock holder until its transaction completes.
+     */
+    public Optional<Stadium> lockStadium(UUID stadiumId, Supplier<Optional<Stadium>> lockingLookup) {
+        enter(stadiumId);
+        long start = System.nanoTime();
+        Optional<Stadium> stadium = lockingLookup.get();
+        Timer.builder(LOCK_WAIT)
+                .description("Time spent waiting for the stadium row lock in findByIdWithLock")
+                .tag("type", typeOf(stadium.orElse(null)))
+                .publishPercentiles(0.5, 0.99)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return stadium;
+    }
+
+    public void conflict(Stadium stadium, String operation) {
+        counter(CONFLICTS, stadium, "operation", operation).increment();
+    }
+
+    /**
+     * @param reason short snake_case cause, e.g. {@code closed} or {@code invalid_duration}
+     */
+    public void rejected(Stadium stadium, String reason) {
+        counter(REJECTIONS, stadium, "reason", reason).increment();
+    }
+
+    int hottestStadiumContention() {
+        int max = 0;
+        for (int holders : lockHolders.values()) max = Math.max(max, holders);
+        return max;
+    }
+
+    private void enter(UUID stadiumId) {
+        lockHolders.merge(stadiumId, 1, Integer::sum);
+
+        // The row lock is held until commit/rollback, not until the service method returns
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    exit(stadiumId);
+                }
+            });
+        } else {
+            exit(stadiumId);
+        }
+    }
+
+    private void exit(UUID stadiumId) {
+        lockHolders.computeIfPresent(stadiumId, (id, holders) -> holders == 1 ? null : holders - 1);
+    }
+
+    private Counter counter(String name, Stadium stadium, String tagKey, String tagValue) {
+        return Counter.builder(name)
+                .tag("type", typeOf(stadium))
+                .tag(tagKey, tagValue)
+                .register(registry);
+    }
+
+    private static String typeOf(Stadium stadium) {
+        return stadium == null || stadium.getType() == null ? UNKNOWN_TYPE : stadium.getType().name();
+    }
+}
@@ -0,0 +1,21 @@
+package com.hamza.stadiumbooking.booking;
+
+import com.hamza.stadiumbooking.stadium.Type;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * @param totalPrice what booking the slot now would cost; null when the slot can't be booked at all
+ * @param available  whether a matching pitch was free, as of the stadium's occupancy snapshot
+ * @param error      why the slot can't be booked (duration, opening hours, pitch type, unknown stadium); null when valid
+ */
+public record BookingQuote(
+        UUID stadiumId,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        Type pitchType,
+        Double totalPrice,
+        boolean available,
+        String error
+) {}
@@ -0,0 +1,22 @@
+package com.hamza.stadiumbooking.booking;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController @RequiredArgsConstructor @Slf4j
+@RequestMapping("/api/v1/quotes")
+public class BookingQuoteController {
+
+    private final BookingQuoteService bookingQuoteService;
+
+    @PostMapping
+    public ResponseEntity<List<BookingQuote>> quote(@RequestBody @Valid BookingQuoteRequest request) {
+        log.debug("Incoming request to quote {} slots", request.slots().size());
+        return ResponseEntity.ok(bookingQuoteService.quote(request));
+    }
+}
@@ -0,0 +1,31 @@
+package com.hamza.stadiumbooking.booking;
+
+import com.hamza.stadiumbooking.stadium.Type;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Candidate slots to price, e.g. a day grid across several stadiums. Invalid slots are answered one by one rather
+ * than failing the request.
+ */
+public record BookingQuoteRequest(
+        @NotEmpty(message = "At least one slot is required")
+        @Size(max = 500, message = "At most 500 slots per request")
+        List<@Valid Slot> slots
+) {
+    /**
+     * @param pitchType only used by stadiums with pitches; null quotes any free pitch
+     */
+    public record Slot(
+            @NotNull(message = "Stadium is required") UUID stadiumId,
+            @NotNull(message = "Start time is required") LocalDateTime startTime,
+            @NotNull(message = "End time is required") LocalDateTime endTime,
+            Type pitchType
+    ) {}
+}
@@ -0,0 +1,101 @@
+package com.hamza.stadiumbooking.booking;
+
+import com.hamza.stadiumbooking.stadium.OperatingCalendar;
+import com.hamza.stadiumbooking.stadium.Stadium;
+import com.hamza.stadiumbooking.stadium.StadiumHoursService;
+import com.hamza.stadiumbooking.stadium.StadiumPricingService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Prices and availability for many candidate slots in one pass, with the checks {@link BookingService#addBooking}
+ * would make. Everything comes from node-local caches: the stadium row and occupancy from {@link OccupancySnapshots},
+ * the compiled calendar and price table from the hours and pricing services. Warm, a request runs no query.
+ * <p>
+ * A quote is a hint: occupancy may be a moment behind, and the booking itself is checked under the stadium lock.
+ */
+@Service
+public class BookingQuoteService {
+
+    private final OccupancySnapshots occupancySnapshots;
+    private final StadiumHoursService stadiumHoursService;
+    private final StadiumPricingService stadiumPricingService;
+    private final int maxSnapshotsPerRequest;
+
+    public BookingQuoteService(OccupancySnapshots occupancySnapshots,
+                               StadiumHoursService stadiumHoursService,
+                               StadiumPricingService stadiumPricingService,
+                               @Value("${booking.quote.max-snapshots-per-request:20}") int maxSnapshotsPerRequest) {
+        this.occupancySnapshots = occupancySnapshots;
+        this.stadiumHoursService = stadiumHoursService;
+        this.stadiumPricingService = stadiumPricingService;
+        this.maxSnapshotsPerRequest = maxSnapshotsPerRequest;
+    }
+
+    public List<BookingQuote> quote(BookingQuoteRequest request) {
+        LocalDateTime now = LocalDateTime.now();
+        // Slots of one stadium and day range share a snapshot; looked up once per request
+        Map<SnapshotKey, Optional<OccupancySnapshots.Snapshot>> snapshots = new HashMap<>();
+        List<BookingQuote> quotes = new ArrayList<>(request.slots().size());
+        for (BookingQuoteRequest.Slot slot : request.slots()) {
+            String error = validate(slot, now);
+            if (error != null) {
+                quotes.add(rejected(slot, error));
+                continue;
+            }
+            SnapshotKey key = new SnapshotKey(slot.stadiumId(), OccupancySnapshots.firstDay(slot.startTime(), now));
+            // Each cold key is a snapshot load, and each load can evict another request's hot snapshot
+            if (!snapshots.containsKey(key) && snapshots.size() >= maxSnapshotsPerRequest) {
+                quotes.add(rejected(slot, "Too many stadiums and days in one request (at most " + maxSnapshotsPerRequest
+                        + "). Split it into smaller requests."));
+                continue;
+            }
+            OccupancySnapshots.Snapshot snapshot = snapshots.computeIfAbsent(key,
+                    k -> Optional.ofNullable(occupancySnapshots.get(k.stadiumId(), k.firstDay()))).orElse(null);
+            quotes.add(quote(slot, snapshot, now));
+        }
+        return quotes;
+    }
+
+    private BookingQuote quote(BookingQuoteRequest.Slot slot, OccupancySnapshots.Snapshot snapshot, LocalDateTime now) {
+        if (snapshot == null) return rejected(slot, "Stadium not found.");
+        Stadium stadium = snapshot.stadium();
+
+        OperatingCalendar calendar = stadiumHoursService.calendarFor(stadium);
+        if (!calendar.isOpen(slot.startTime(), slot.endTime()))
+            return rejected(slot, "Stadium is closed during the selected time. Operating hours: " + calendar.summary());
+        if (!snapshot.allocator().hasPitchOf(slot.pitchType()))
+            return rejected(slot, "Stadium has no " + slot.pitchType() + " pitch.");
+
+        double price = stadiumPricingService.priceTableFor(stadium).quote(slot.startTime(), slot.endTime(), now);
+        boolean available = !snapshot.inLottery(slot.startTime(), slot.endTime())
+                && snapshot.allocator().isFree(slot.pitchType(), slot.startTime(), slot.endTime());
+        return new BookingQuote(slot.stadiumId(), slot.startTime(), slot.endTime(), slot.pitchType(), price, available, null);
+    }
+
+    private static String validate(BookingQuoteRequest.Slot slot, LocalDateTime now) {
+        if (!slot.endTime().isAfter(slot.startTime())) return "End time must be after start time";
+        if (!slot.startTime().isAfter(now)) return "Start time must be in the future";
+        try {
+            Booking.builder().startTime(slot.startTime()).endTime(slot.endTime()).build().validateDuration();
+            return null;
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+    }
+
+    private static BookingQuote rejected(BookingQuoteRequest.Slot slot, String error) {
+        return new BookingQuote(slot.stadiumId(), slot.startTime(), slot.endTime(), slot.pitchType(), null, false, error);
+    }
+
+    private record SnapshotKey(UUID stadiumId, LocalDate firstDay) {}
+}
@@ -1,5 +1,7 @@
 package com.hamza.stadiumbooking.booking;
 
+import com.hamza.stadiumbooking.availability.SlotDelta;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
@@ -11,22 +13,45 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, UUID> {
 
+    // Explicit JPQL filters on the FK columns: the derived versions joined users a second time just to match user.id
+
+    @EntityGraph(attributePaths = {"stadium", "user"})
+    @Query("SELECT b FROM Booking b WHERE b.user.id = :userId")
+    Page<Booking> findByUserId(Pageable pageable, @Param("userId") UUID userId);
+
     @EntityGraph(attributePaths = {"stadium", "user"})
-    Page<Booking> findByUserId(Pageable pageable, UUID userId);
+    @Query("SELECT b FROM Booking b WHERE b.stadium.id = :stadiumId")
+    Page<Booking> findByStadiumId(Pageable pageable, @Param("stadiumId") UUID stadiumId);
 
     @EntityGraph(attributePaths = {"stadium", "user"})
-    Page<Booking> findByStadiumId(Pageable pageable, UUID stadiumId);
+    @Query("SELECT b FROM Booking b WHERE b.user.id = :userId AND b.stadium.id = :stadiumId")
+    Page<Booking> findByUserIdAndStadiumId(Pageable pageable, @Param("userId") UUID userId, @Param("stadiumId") UUID stadiumId);
 
     @EntityGraph(attributePaths = {"stadium", "user"})
-    Page<Booking> findByUserIdAndStadiumId(Pageable pageable, UUID userId, UUID stadiumId);
+    @Query("SELECT b FROM Booking b WHERE b.user.id = :userId")
+    Page<Booking> findAllByUserId(Pageable pageable, @Param("userId") UUID userId);
 
     @EntityGraph(attributePaths = {"stadium", "user"})
-    Page<Booking> findAllByUserId(Pageable pageable, UUID userId);
+    @Query("""
+        SELECT b FROM Booking b
+        WHERE (:stadiumId IS NULL OR b.stadium.id = :stadiumId)
+        AND (:userId IS NULL OR b.user.id = :userId)
+        AND (:from IS NULL OR b.endTime > :from)
+        AND (:to IS NULL OR b.startTime < :to)
+    """)
+    Page<Booking> findInPeriod(
+            Pageable pageable,
+            @Param("stadiumId") UUID stadiumId,
+            @Param("userId") UUID userId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
 
     @Query("""
         SELECT case WHEN COUNT(b) > 0 then true ELSE false END
@@ -55,10 +80,76 @@ public interface BookingRepository extends JpaRepository<Booking, UUID> {
             @Param("startTime") LocalDateTime startTime,
             @Param("endTime") LocalDateTime endTime
     );
+
+    @Query("""
+        SELECT new com.hamza.stadiumbooking.booking.BookingInterval(b.startTime, b.endTime)
+        FROM Booking b
+        WHERE b.stadium.id = :stadiumId
+        AND b.status = 'CONFIRMED'
+        AND b.startTime < :to AND b.endTime > :from
+    """)
+    List<BookingInterval> findConfirmedIntervals(
+            @Param("stadiumId") UUID stadiumId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+
+    // Every pitch of the stadium in one query; pitchId is null for bookings of the stadium as a whole
+    @Query("""
+        SELECT new com.hamza.stadiumbooking.booking.PitchInterval(b.id, p.id, b.startTime, b.endTime)
+        FROM Booking b LEFT JOIN b.pitch p
+        WHERE b.stadium.id = :stadiumId
+        AND b.status = 'CONFIRMED'
+        AND b.startTime < :to AND b.endTime > :from
+    """)
+    List<PitchInterval> findPitchIntervals(
+            @Param("stadiumId") UUID stadiumId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+
+    @Query("""
+        SELECT new com.hamza.stadiumbooking.availability.SlotDelta(b.id, b.startTime, b.endTime)
+        FROM Booking b
+        WHERE b.stadium.id = :stadiumId
+        AND b.status = 'CONFIRMED'
+        AND b.startTime < :to AND b.endTime > :from
+        ORDER BY b.startTime
+    """)
+    List<SlotDelta> findBookedSlots(
+            @Param("stadiumId") UUID stadiumId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+
+    @Query("SELECT b.stadium.id FROM Booking b WHERE b.id = :id")
+    Optional<UUID> findStadiumIdById(@Param("id") UUID id);
+
     @Query("SELECT b.id FROM Booking b WHERE b.status = 'CONFIRMED' AND b.endTime < :now")
     List<UUID> findExpiredBookingIds(@Param("now") LocalDateTime now);
 
     @Modifying(clearAutomatically = true, flushAutomatically = true)
-    @Query("UPDATE Booking b SET b.status = 'COMPLETED', b.updatedAt = CURRENT_TIMESTAMP WHERE b.id IN :ids")
-    void updateStatusToCompleted(@Param("ids") List<UUID> ids);
+    // updatedAt from the application clock like every other write, not the database's, for change-time readers
+    @Query("UPDATE Booking b SET b.status = 'COMPLETED', b.updatedAt = :now WHERE b.id IN :ids")
+    void updateStatusToCompleted(@Param("ids") List<UUID> ids, @Param("now") LocalDateTime now);
+
+    // Over idx_booking_overlap (stadium_id, status, startTime)
+    @EntityGraph(attributePaths = {"stadium", "user"})
+    @Query("SELECT b FROM Booking b WHERE b.stadium.id = :stadiumId AND b.status = 'CONFIRMED' AND b.startTime > :now ORDER BY b.startTime")
+    List<Booking> findUpcomingConfirmed(@Param("stadiumId") UUID stadiumId, @Param("now") LocalDateTime now, Limit limit);
+
+    @Query("SELECT b.id FROM Booking b WHERE b.status IN :statuses AND b.endTime < :cutoff ORDER BY b.endTime")
+    List<UUID> findArchivableIds(@Param("statuses") List<BookingStatus> statuses, @Param("cutoff") LocalDateTime cutoff, Limit limit);
+
+    @Modifying(flushAutomatically = true)
+    @Query(nativeQuery = true, value = """
+        INSERT INTO bookings_archive (id, version, start_time, end_time, total_price, note, status, user_id, stadium_id, pitch_id, created_at, updated_at, archived_at)
+        SELECT id, version, start_time, end_time, total_price, note, status, user_id, stadium_id, pitch_id, created_at, updated_at, :archivedAt
+        FROM bookings WHERE id IN (:ids)
+    """)
+    int copyToArchive(@Param("ids") List<UUID> ids, @Param("archivedAt") LocalDateTime archivedAt);
+
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM Booking b WHERE b.id IN :ids")
+    int deleteArchived(@Param("ids") List<UUID> ids);
 }
@@ -1,14 +1,23 @@
 package com.hamza.stadiumbooking.booking;
 
+import com.hamza.stadiumbooking.stadium.Type;
 import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.NotNull;
 
 import java.time.LocalDateTime;
 import java.util.UUID; // MODIFIED: Import UUID
 
+/**
+ * @param pitchType only used by stadiums with pitches; null books any free pitch
+ */
 public record BookingRequest(
         @NotNull UUID stadiumId,
         @NotNull @Future LocalDateTime startTime,
         @NotNull @Future LocalDateTime endTime,
-        String note
-) {}
\ No newline at end of file
+        String note,
+        Type pitchType
+) {
+    public BookingRequest(UUID stadiumId, LocalDateTime startTime, LocalDateTime endTime, String note) {
+        this(stadiumId, startTime, endTime, note, null);
+    }
+}
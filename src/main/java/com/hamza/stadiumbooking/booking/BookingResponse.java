@@ -13,5 +13,7 @@ public record BookingResponse(
         String stadiumName,
         UUID userId,
         String userName,
-        String note
+        String note,
+        UUID pitchId,
+        String pitchName
 ) {}
@@ -2,10 +2,22 @@ package com.hamza.stadiumbooking.booking;
 
 import com.hamza.stadiumbooking.exception.ConflictingBookingsException;
 import com.hamza.stadiumbooking.exception.ResourceNotFoundException;
+import com.hamza.stadiumbooking.outbox.BookingEvent;
+import com.hamza.stadiumbooking.outbox.BookingEventType;
+import com.hamza.stadiumbooking.outbox.BookingOutbox;
+import com.hamza.stadiumbooking.stadium.Pitch;
+import com.hamza.stadiumbooking.stadium.PitchRepository;
+import com.hamza.stadiumbooking.stadium.PriceTable;
 import com.hamza.stadiumbooking.stadium.Stadium;
+import com.hamza.stadiumbooking.stadium.OperatingCalendar;
+import com.hamza.stadiumbooking.stadium.StadiumHoursService;
+import com.hamza.stadiumbooking.stadium.StadiumPricingService;
 import com.hamza.stadiumbooking.stadium.StadiumRepository;
+import com.hamza.stadiumbooking.stadium.Type;
 import com.hamza.stadiumbooking.user.User;
+import com.hamza.stadiumbooking.user.UserRepository;
 import com.hamza.stadiumbooking.security.utils.OwnershipValidationService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -15,28 +27,74 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 
 @Service @Slf4j @RequiredArgsConstructor
 @Transactional(readOnly = true)
+@Timed(value = "booking.service", percentiles = {0.5, 0.95, 0.99})
 public class BookingService {
 
     private final BookingRepository bookingRepository;
     private final StadiumRepository stadiumRepository;
     private final OwnershipValidationService ownershipValidationService;
+    private final BookingMetrics bookingMetrics;
+    private final BookingHistoryRepository bookingHistoryRepository;
+    private final BookingArchiveService bookingArchiveService;
+    private final BookingOutbox bookingOutbox;
+    private final StadiumHoursService stadiumHoursService;
+    private final PitchRepository pitchRepository;
+    private final BookingLotteryRepository bookingLotteryRepository;
+    private final UserRepository userRepository;
+    private final StadiumPricingService stadiumPricingService;
 
     public Page<BookingResponse> getMyBookings(Pageable pageable) {
+        return getMyBookings(pageable, null, null);
+    }
+
+    /**
+     * @param from optional; only bookings ending after it
+     * @param to   optional; only bookings starting before it
+     */
+    public Page<BookingResponse> getMyBookings(Pageable pageable, LocalDateTime from, LocalDateTime to) {
         UUID currentUserId = ownershipValidationService.getCurrentUserId();
-        log.info("Action: getMyBookings | Requesting bookings for User ID: {}", currentUserId);
-        Page<Booking> bookings = bookingRepository.findAllByUserId(pageable, currentUserId);
-        log.info("Action: getMyBookings | Found {} bookings", bookings.getTotalElements());
-        return bookings.map(this::mapToDto);
+        log.atInfo().addKeyValue("action", "getMyBookings").addKeyValue("userId", currentUserId).log("Requesting bookings");
+        Page<BookingResponse> bookings = (from == null && to == null)
+                ? bookingRepository.findAllByUserId(pageable, currentUserId).map(BookingService::mapToDto)
+                : findInPeriod(pageable, null, currentUserId, from, to);
+        log.atInfo().addKeyValue("action", "getMyBookings").addKeyValue("found", bookings.getTotalElements()).log("Bookings found");
+        return bookings;
     }
 
     public Page<BookingResponse> getAllBookings(Pageable pageable, UUID stadiumId, UUID userId) {
+        return getAllBookings(pageable, stadiumId, userId, null, null);
+    }
+
+    /**
+     * Without a time range only the live table is read; a range reaching back past the archive watermark also
+     * reads archived history.
+     */
+    public Page<BookingResponse> getAllBookings(Pageable pageable, UUID stadiumId, UUID userId, LocalDateTime from, LocalDateTime to) {
         boolean isAdmin = ownershipValidationService.isAdmin();
-        log.info("Action: getAllBookings | Params: stadiumId={}, userId={}, isAdmin={}", stadiumId, userId, isAdmin);
+        log.atInfo().addKeyValue("action", "getAllBookings")
+                .addKeyValue("stadiumId", stadiumId)
+                .addKeyValue("userId", userId)
+                .addKeyValue("isAdmin", isAdmin)
+                .log("Requesting bookings");
+
+        if (!isAdmin) {
+            if (stadiumId == null) {
+                log.atError().addKeyValue("action", "getAllBookings").log("Missing stadiumId for non-admin user");
+                throw new ResourceNotFoundException("Error: Stadium ID is required for managers.");
+            }
+            ownershipValidationService.checkOwnership(stadiumId);
+        }
+        if (from != null || to != null) return findInPeriod(pageable, stadiumId, userId, from, to);
 
         Page<Booking> bookings;
         if (isAdmin) {
@@ -52,52 +110,65 @@ public class BookingService {
             else bookings = bookingRepository.findAll(pageable);
 
         } else {
-            if (stadiumId == null) {
-                log.error("Action: getAllBookings | Error: Missing stadiumId for non-admin user");
-                throw new ResourceNotFoundException("Error: Stadium ID is required for managers.");
-            }
-
-            ownershipValidationService.checkOwnership(stadiumId);
-
             bookings = (userId != null) ? bookingRepository.findByUserIdAndStadiumId(pageable, userId, stadiumId)
                     : bookingRepository.findByStadiumId(pageable, stadiumId);
         }
-        return bookings.map(this::mapToDto);
+        return bookings.map(BookingService::mapToDto);
     }
 
     public BookingResponse getBookingById(UUID id) {
-        Booking booking = bookingRepository.findById(id).orElseThrow(
-                () -> {
-                    log.error("Action: getBookingById | Booking NOT FOUND with ID: {}", id);
+        BookingResponse booking = bookingRepository.findById(id).map(BookingService::mapToDto)
+                .or(() -> bookingHistoryRepository.findArchivedById(id).map(BookingService::mapToDto))
+                .orElseThrow(() -> {
+                    log.atError().addKeyValue("action", "getBookingById").addKeyValue("bookingId", id).log("Booking not found");
                     return new ResourceNotFoundException("Booking not found with ID: " + id);
-                }
-        );
+                });
 
         if (!ownershipValidationService.isAdmin()) {
 
             if (ownershipValidationService.isPlayer())
-                ownershipValidationService.checkBookingOwnership(booking.getUser().getId());
+                ownershipValidationService.checkBookingOwnership(booking.userId());
 
-            else if (!ownershipValidationService.isStadiumOwner(booking.getStadium().getId()))
+            else if (!ownershipValidationService.isStadiumOwner(booking.stadiumId()))
                 throw new AccessDeniedException("You can only view bookings for your own stadiums.");
         }
-        return mapToDto(booking);
+        return booking;
     }
 
     @Transactional
     public BookingResponse addBooking(BookingRequest bookingRequest) {
         if (!bookingRequest.endTime().isAfter(bookingRequest.startTime()))
             throw new IllegalArgumentException("End time must be after start time");
+        checkNotInLottery(bookingRequest.stadiumId(), bookingRequest.startTime(), bookingRequest.endTime());
 
-        Stadium stadium = stadiumRepository.findByIdWithLock(bookingRequest.stadiumId()).orElseThrow(() -> new ResourceNotFoundException("Stadium not found."));
-
-        if (!stadium.isOpenAt(bookingRequest.startTime().toLocalTime(), bookingRequest.endTime().toLocalTime()))
-            throw new IllegalArgumentException("Stadium is closed during the selected time. Operating hours: " + stadium.getOpenTime() + " to " + stadium.getCloseTime());
+        Stadium stadium = bookingMetrics.lockStadium(bookingRequest.stadiumId(),
+                () -> stadiumRepository.findByIdWithLock(bookingRequest.stadiumId())).orElseThrow(() -> new ResourceNotFoundException("Stadium not found."));
+        // Before anything sized by the requested range (the pitch allocator holds a bitmap per minute of it)
+        validateDuration(stadium, bookingRequest.startTime(), bookingRequest.endTime());
 
+        OperatingCalendar calendar = stadiumHoursService.calendarFor(stadium);
+        if (!calendar.isOpen(bookingRequest.startTime(), bookingRequest.endTime())) {
+            bookingMetrics.rejected(stadium, "closed");
+            throw new IllegalArgumentException("Stadium is closed during the selected time. Operating hours: " + calendar.summary());
+        }
 
-        boolean hasConflict = bookingRepository.findConflictingBookingsForNew(bookingRequest.stadiumId(), bookingRequest.startTime(), bookingRequest.endTime());
+        Pitch pitch = null;
+        List<Pitch> pitches = pitchRepository.findActiveByStadiumId(stadium.getId());
+        if (pitches.isEmpty()) {
+            if (bookingRequest.pitchType() != null && bookingRequest.pitchType() != stadium.getType()) {
+                bookingMetrics.rejected(stadium, "pitch_type");
+                throw new IllegalArgumentException("Stadium has no " + bookingRequest.pitchType() + " pitch.");
+            }
+            boolean hasConflict = bookingRepository.findConflictingBookingsForNew(bookingRequest.stadiumId(), bookingRequest.startTime(), bookingRequest.endTime());
 
-        if (hasConflict) throw new ConflictingBookingsException("This time is already booked");
+            if (hasConflict) {
+                bookingMetrics.conflict(stadium, "create");
+                throw new ConflictingBookingsException("This time is already booked");
+            }
+        } else {
+            pitch = allocatePitch(stadium, pitches, calendar, bookingRequest.pitchType(),
+                    bookingRequest.startTime(), bookingRequest.endTime(), null, "create");
+        }
 
         // --- Prevent Race Condition ---
         stadium.setLastLockAt(LocalDateTime.now());
@@ -105,11 +176,94 @@ public class BookingService {
 
         User user = ownershipValidationService.getCurrentUser();
         Booking booking = mapToEntity(bookingRequest, user, stadium);
-        booking.validateDuration();
-        booking.calculateTotalPrice();
+        booking.setPitch(pitch);
+        booking.calculateTotalPrice(stadiumPricingService.priceTableFor(stadium), LocalDateTime.now());
 
         // Save triggers JPA Hooks (@PrePersist) for Duration & Price
-        return mapToDto(bookingRepository.save(booking));
+        Booking savedBooking = bookingRepository.save(booking);
+        bookingOutbox.append(savedBooking, BookingEventType.BOOKING_CREATED);
+        return mapToDto(savedBooking);
+    }
+
+    /**
+     * A booking create queued by {@link StadiumBookingActors}, made on behalf of {@code userId}.
+     */
+    public record PendingBooking(BookingRequest request, UUID userId) {}
+
+    /**
+     * The result of one {@link PendingBooking}: the booking, or the exception {@link #addBooking} would have thrown.
+     */
+    public record BatchOutcome(BookingResponse booking, RuntimeException error) {}
+
+    /**
+     * {@link #addBooking} for several requests on one stadium in a single transaction: the stadium is locked once,
+     * the batch's time span is loaded into one {@link PitchAllocator} (a stand-in pitch for a stadium without
+     * pitches) and each request is checked against it in order, so earlier requests of the batch block later ones.
+     * A rejected request doesn't affect the others; an exception thrown out of here rolls the whole batch back.
+     *
+     * @return one outcome per request, in order
+     */
+    @Transactional
+    public List<BatchOutcome> addBookingBatch(UUID stadiumId, List<PendingBooking> pending) {
+        List<BatchOutcome> outcomes = new ArrayList<>(pending.size());
+        Optional<Stadium> locked = bookingMetrics.lockStadium(stadiumId, () -> stadiumRepository.findByIdWithLock(stadiumId));
+        if (locked.isEmpty()) {
+            pending.forEach(p -> outcomes.add(new BatchOutcome(null, new ResourceNotFoundException("Stadium not found."))));
+            return outcomes;
+        }
+        Stadium stadium = locked.get();
+        OperatingCalendar calendar = stadiumHoursService.calendarFor(stadium);
+        List<Pitch> pitches = pitchRepository.findActiveByStadiumId(stadium.getId());
+        boolean singleResource = pitches.isEmpty();
+        PriceTable prices = stadiumPricingService.priceTableFor(stadium);
+        LocalDateTime now = LocalDateTime.now();
+        PitchAllocator allocator = loadBatchAllocator(stadium, PitchAllocator.pitchesOrStandIn(stadium, pitches), calendar, pending);
+
+        Map<UUID, User> users = new HashMap<>();
+        for (User user : userRepository.findAllById(pending.stream().map(PendingBooking::userId).distinct().toList())) {
+            if (!user.isDeleted()) users.put(user.getId(), user);
+        }
+
+        for (PendingBooking p : pending) {
+            BookingRequest request = p.request();
+            try {
+                if (!request.endTime().isAfter(request.startTime()))
+                    throw new IllegalArgumentException("End time must be after start time");
+                // Checked before the slot is taken, so a rejected request never blocks a later one of the batch
+                validateDuration(stadium, request.startTime(), request.endTime());
+                checkNotInLottery(stadiumId, request.startTime(), request.endTime());
+                if (!calendar.isOpen(request.startTime(), request.endTime())) {
+                    bookingMetrics.rejected(stadium, "closed");
+                    throw new IllegalArgumentException("Stadium is closed during the selected time. Operating hours: " + calendar.summary());
+                }
+                if (!allocator.hasPitchOf(request.pitchType())) {
+                    bookingMetrics.rejected(stadium, "pitch_type");
+                    throw new IllegalArgumentException("Stadium has no " + request.pitchType() + " pitch.");
+                }
+                User user = users.get(p.userId());
+                if (user == null) throw new ResourceNotFoundException("Current user not found in database");
+                Booking booking = mapToEntity(request, user, stadium);
+
+                Pitch pitch = allocator.reserve(request.pitchType(), request.startTime(), request.endTime(), null).orElseThrow(() -> {
+                    bookingMetrics.conflict(stadium, "create");
+                    return new ConflictingBookingsException(singleResource ? "This time is already booked"
+                            : request.pitchType() != null ? "This time is already booked on every " + request.pitchType() + " pitch"
+                            : "This time is already booked on every pitch");
+                });
+                booking.setPitch(singleResource ? null : pitch);
+                booking.calculateTotalPrice(prices, now);
+
+                Booking savedBooking = bookingRepository.save(booking);
+                bookingOutbox.append(savedBooking, BookingEventType.BOOKING_CREATED);
+                outcomes.add(new BatchOutcome(mapToDto(savedBooking), null));
+            } catch (IllegalArgumentException | ResourceNotFoundException | ConflictingBookingsException e) {
+                outcomes.add(new BatchOutcome(null, e));
+            }
+        }
+
+        stadium.setLastLockAt(now);
+        stadiumRepository.save(stadium);
+        return outcomes;
     }
 
     @Transactional
@@ -117,16 +271,30 @@ public class BookingService {
         Booking booking = getValidatedBookingForModification(bookingId);
 
         booking.setStatus(BookingStatus.CANCELLED);
-        bookingRepository.save(booking);
+        bookingOutbox.append(bookingRepository.save(booking), BookingEventType.BOOKING_CANCELLED);
+    }
+
+    /**
+     * The stadium whose waiting room an update goes through: the requested one, or the booking's own when only the slot
+     * moves. Null when neither changes (a note edit), and for unknown bookings, which {@link #updateBooking} rejects.
+     */
+    public UUID getTargetStadiumId(UUID bookingId, BookingRequestForUpdate request) {
+        if (request.stadiumId() != null) return request.stadiumId();
+        if (request.startTime() == null && request.endTime() == null) return null;
+        return bookingRepository.findStadiumIdById(bookingId).orElse(null);
     }
 
     @Transactional
     public BookingResponse updateBooking(UUID bookingId, BookingRequestForUpdate request) {
         Booking booking = getValidatedBookingForModification(bookingId);
+        BookingEvent.Slot previous = new BookingEvent.Slot(booking.getStadium().getId(), booking.getStartTime(),
+                booking.getEndTime(), booking.getTotalPrice());
 
         UUID targetStadiumId = (request.stadiumId() != null) ? request.stadiumId() : booking.getStadium().getId();
+        checkNotInLottery(targetStadiumId, request.startTime() != null ? request.startTime() : booking.getStartTime(),
+                request.endTime() != null ? request.endTime() : booking.getEndTime());
 
-        Stadium targetStadium = stadiumRepository.findByIdWithLock(targetStadiumId)
+        Stadium targetStadium = bookingMetrics.lockStadium(targetStadiumId, () -> stadiumRepository.findByIdWithLock(targetStadiumId))
                 .orElseThrow(() -> new ResourceNotFoundException("Stadium not found with ID: " + targetStadiumId));
 
         LocalDateTime newStartTime = (request.startTime() != null) ? request.startTime() : booking.getStartTime();
@@ -135,33 +303,107 @@ public class BookingService {
         if (!newEndTime.isAfter(newStartTime)) {
             throw new IllegalArgumentException("End time must be after start time");
         }
+        validateDuration(targetStadium, newStartTime, newEndTime);
 
-        if (!targetStadium.isOpenAt(newStartTime.toLocalTime(), newEndTime.toLocalTime())) {
+        OperatingCalendar calendar = stadiumHoursService.calendarFor(targetStadium);
+        if (!calendar.isOpen(newStartTime, newEndTime)) {
+            bookingMetrics.rejected(targetStadium, "closed");
             throw new IllegalArgumentException("Stadium is closed during the selected time.");
         }
 
-        boolean hasConflict = bookingRepository.findConflictingBookingsForUpdate(bookingId,
-                targetStadium.getId(), newStartTime, newEndTime);
+        Pitch pitch = null;
+        List<Pitch> pitches = pitchRepository.findActiveByStadiumId(targetStadium.getId());
+        if (pitches.isEmpty()) {
+            boolean hasConflict = bookingRepository.findConflictingBookingsForUpdate(bookingId,
+                    targetStadium.getId(), newStartTime, newEndTime);
 
-        if (hasConflict) throw new ConflictingBookingsException("This time is booked");
+            if (hasConflict) {
+                bookingMetrics.conflict(targetStadium, "update");
+                throw new ConflictingBookingsException("This time is booked");
+            }
+        } else {
+            // Staying at the same stadium keeps the pitch type, and the pitch itself when it is still free
+            Pitch current = booking.getPitch() != null && booking.getPitch().getStadiumId().equals(targetStadium.getId())
+                    ? booking.getPitch() : null;
+            pitch = allocatePitch(targetStadium, pitches, calendar, current != null ? current.getType() : null,
+                    newStartTime, newEndTime, booking, "update");
+        }
 
         targetStadium.setLastLockAt(LocalDateTime.now());
         stadiumRepository.save(targetStadium);
 
         if (request.note() != null) booking.setNote(request.note());
 
+        boolean moved = !targetStadium.getId().equals(previous.stadiumId())
+                || !newStartTime.equals(previous.startTime()) || !newEndTime.equals(previous.endTime());
         booking.setStartTime(newStartTime);
         booking.setEndTime(newEndTime);
         booking.setStadium(targetStadium);
-        booking.validateDuration();
-        booking.calculateTotalPrice();
+        booking.setPitch(pitch);
+        // A booking that stays put keeps the price it was booked at, whatever the rules or the clock say now
+        if (moved) booking.calculateTotalPrice(stadiumPricingService.priceTableFor(targetStadium), LocalDateTime.now());
 
         Booking savedBooking = bookingRepository.save(booking);
+        bookingOutbox.append(savedBooking, BookingEventType.BOOKING_UPDATED, previous);
         return mapToDto(savedBooking);
     }
 
     // --- PRIVATE HELPERS ---
 
+    private Page<BookingResponse> findInPeriod(Pageable pageable, UUID stadiumId, UUID userId, LocalDateTime from, LocalDateTime to) {
+        if (bookingArchiveService.requiresArchive(from, to))
+            return bookingHistoryRepository.findInPeriod(pageable, stadiumId, userId, from, to).map(BookingService::mapToDto);
+        return bookingRepository.findInPeriod(pageable, stadiumId, userId, from, to).map(BookingService::mapToDto);
+    }
+
+    /**
+     * Picks a pitch for the slot with one query over all of the (locked) stadium's pitches.
+     *
+     * @param moving the booking being updated, whose own slot doesn't count as taken; null for a new booking
+     */
+    private Pitch allocatePitch(Stadium stadium, List<Pitch> pitches, OperatingCalendar calendar, Type type,
+                                LocalDateTime start, LocalDateTime end, Booking moving, String operation) {
+        PitchAllocator allocator = PitchAllocator.load(bookingRepository, stadium.getId(), pitches, calendar, start, end,
+                moving != null ? moving.getId() : null);
+        if (!allocator.hasPitchOf(type)) {
+            bookingMetrics.rejected(stadium, "pitch_type");
+            throw new IllegalArgumentException("Stadium has no " + type + " pitch.");
+        }
+        return allocator.reserve(type, start, end, moving != null ? moving.getPitch() : null).orElseThrow(() -> {
+            bookingMetrics.conflict(stadium, operation);
+            return new ConflictingBookingsException(type != null
+                    ? "This time is already booked on every " + type + " pitch"
+                    : "This time is already booked on every pitch");
+        });
+    }
+
+    // One bookings query over the whole days the batch's well-formed requests touch. Requests with a bad duration are
+    // rejected one by one anyway, and one ending years ahead must not size the allocator
+    private PitchAllocator loadBatchAllocator(Stadium stadium, List<Pitch> pitches, OperatingCalendar calendar, List<PendingBooking> pending) {
+        LocalDateTime from = null;
+        LocalDateTime to = null;
+        for (PendingBooking p : pending) {
+            BookingRequest request = p.request();
+            if (!hasValidDuration(request)) continue;
+            if (from == null || request.startTime().isBefore(from)) from = request.startTime();
+            if (to == null || request.endTime().isAfter(to)) to = request.endTime();
+        }
+        if (from == null) {
+            from = LocalDateTime.now();
+            to = from.plusMinutes(1);
+        }
+        return PitchAllocator.load(bookingRepository, stadium.getId(), pitches, calendar, from, to, null);
+    }
+
+    private static boolean hasValidDuration(BookingRequest request) {
+        try {
+            Booking.builder().startTime(request.startTime()).endTime(request.endTime()).build().validateDuration();
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
     /**
      * Centralized logic to fetch and validate if a booking can be modified (Update/Delete).
      */
@@ -177,11 +419,36 @@ public class BookingService {
         return booking;
     }
 
+    // Before the stadium lock: slots in an undrawn lottery window are entered for, never raced for
+    private void checkNotInLottery(UUID stadiumId, LocalDateTime start, LocalDateTime end) {
+        if (bookingLotteryRepository.existsOpenOverlapping(stadiumId, start, end))
+            throw new IllegalArgumentException("This time is allocated by lottery. Enter the stadium's lottery instead.");
+    }
+
+    private void validateDuration(Stadium stadium, LocalDateTime start, LocalDateTime end) {
+        validateDuration(Booking.builder().stadium(stadium).startTime(start).endTime(end).build());
+    }
+
+    private void validateDuration(Booking booking) {
+        try {
+            booking.validateDuration();
+        } catch (IllegalArgumentException e) {
+            bookingMetrics.rejected(booking.getStadium(), "invalid_duration");
+            throw e;
+        }
+    }
+
     private Booking mapToEntity(BookingRequest request, User user, Stadium stadium) {
         return Booking.builder().user(user).stadium(stadium).startTime(request.startTime()).endTime(request.endTime()).note(request.note()).status(BookingStatus.CONFIRMED).build();
     }
 
-    private BookingResponse mapToDto(Booking booking) {
-        return new BookingResponse(booking.getId(), booking.getStartTime(), booking.getEndTime(), booking.getTotalPrice(), booking.getStatus(), booking.getStadium().getId(), booking.getStadium().getName(), booking.getUser().getId(), booking.getUser().getName(), booking.getNote());
+    static BookingResponse mapToDto(Booking booking) {
+        return new BookingResponse(booking.getId(), booking.getStartTime(), booking.getEndTime(), booking.getTotalPrice(), booking.getStatus(), booking.getStadium().getId(), booking.getStadium().getName(), booking.getUser().getId(), booking.getUser().getName(), booking.getNote(),
+                booking.getPitch() != null ? booking.getPitch().getId() : null, booking.getPitch() != null ? booking.getPitch().getName() : null);
+    }
+
+    static BookingResponse mapToDto(BookingHistory booking) {
+        return new BookingResponse(booking.getId(), booking.getStartTime(), booking.getEndTime(), booking.getTotalPrice(), booking.getStatus(), booking.getStadium().getId(), booking.getStadium().getName(), booking.getUser().getId(), booking.getUser().getName(), booking.getNote(),
+                booking.getPitch() != null ? booking.getPitch().getId() : null, booking.getPitch() != null ? booking.getPitch().getName() : null);
     }
 }
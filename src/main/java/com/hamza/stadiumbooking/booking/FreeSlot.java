@@ -0,0 +1,11 @@
+package com.hamza.stadiumbooking.booking;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record FreeSlot(
+        UUID stadiumId,
+        String stadiumName,
+        LocalDateTime startTime,
+        LocalDateTime endTime
+) {}
@@ -0,0 +1,148 @@
+package com.hamza.stadiumbooking.booking;
+
+import com.hamza.stadiumbooking.outbox.BookingEvent;
+import com.hamza.stadiumbooking.stadium.Pitch;
+import com.hamza.stadiumbooking.stadium.PitchRepository;
+import com.hamza.stadiumbooking.stadium.Stadium;
+import com.hamza.stadiumbooking.stadium.StadiumHoursService;
+import com.hamza.stadiumbooking.stadium.StadiumRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Node-local occupancy snapshots per stadium and day range, for the read paths that must not touch the database
+ * when warm (conflict suggestions, quotes). A snapshot holds the stadium row, a {@link PitchAllocator} (busy-minute
+ * bitmaps, closed hours included) loaded with one bookings query, the windows of the stadium's open lotteries and
+ * its nearby stadiums. It is reused until a booking event for the stadium arrives or
+ * {@code booking.suggestions.cache-ttl-seconds} pass.
+ * <p>
+ * Snapshots are read without the stadium lock and may be a moment behind; anything derived from them is a hint,
+ * and the booking that follows is checked under the lock as usual. Only {@link PitchAllocator#nearestFree} and
+ * {@link PitchAllocator#isFree} may be called on a snapshot's allocator.
+ */
+@Component
+public class OccupancySnapshots {
+
+    private final BookingRepository bookingRepository;
+    private final BookingLotteryRepository bookingLotteryRepository;
+    private final StadiumRepository stadiumRepository;
+    private final PitchRepository pitchRepository;
+    private final StadiumHoursService stadiumHoursService;
+    private final int horizonDays;
+    private final int nearbyStadiums;
+    private final long ttlNanos;
+    private final int maxSnapshots;
+
+    private final ConcurrentMap<Key, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    public OccupancySnapshots(BookingRepository bookingRepository, BookingLotteryRepository bookingLotteryRepository,
+                              StadiumRepository stadiumRepository, PitchRepository pitchRepository,
+                              StadiumHoursService stadiumHoursService,
+                              @Value("${booking.suggestions.horizon-days:3}") int horizonDays,
+                              @Value("${booking.suggestions.nearby-stadiums:5}") int nearbyStadiums,
+                              @Value("${booking.suggestions.cache-ttl-seconds:30}") long ttlSeconds,
+                              @Value("${booking.suggestions.max-snapshots:2000}") int maxSnapshots) {
+        this.bookingRepository = bookingRepository;
+        this.bookingLotteryRepository = bookingLotteryRepository;
+        this.stadiumRepository = stadiumRepository;
+        this.pitchRepository = pitchRepository;
+        this.stadiumHoursService = stadiumHoursService;
+        this.horizonDays = horizonDays;
+        this.nearbyStadiums = nearbyStadiums;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.maxSnapshots = maxSnapshots;
+    }
+
+    /**
+     * First day of the snapshot covering slots around {@code around}: the day before it, but never before today, so
+     * that slots near {@code around} share one snapshot.
+     */
+    static LocalDate firstDay(LocalDateTime around, LocalDateTime now) {
+        LocalDate firstDay = around.toLocalDate().minusDays(1);
+        return firstDay.isBefore(now.toLocalDate()) ? now.toLocalDate() : firstDay;
+    }
+
+    /**
+     * The stadium's snapshot from {@code firstDay} to {@code horizon-days + 1} days after it, loading it when cold.
+     *
+     * @return null when the stadium doesn't exist or is deleted
+     */
+    Snapshot get(UUID stadiumId, LocalDate firstDay) {
+        Key key = new Key(stadiumId, firstDay);
+        long now = System.nanoTime();
+        Snapshot cached = snapshots.get(key);
+        if (cached != null && now - cached.loadedAt() < ttlNanos) return cached;
+
+        Stadium stadium = stadiumRepository.findByIdAndIsDeletedFalse(stadiumId).orElse(null);
+        if (stadium == null) return null;
+
+        List<Pitch> pitches = PitchAllocator.pitchesOrStandIn(stadium, pitchRepository.findActiveByStadiumId(stadium.getId()));
+
+        LocalDateTime from = firstDay.atStartOfDay();
+        LocalDateTime to = firstDay.plusDays(horizonDays + 2L).atStartOfDay();
+        PitchAllocator allocator = PitchAllocator.load(bookingRepository, stadium.getId(), pitches, stadiumHoursService.calendarFor(stadium),
+                from, to, null);
+        List<Window> lotteries = bookingLotteryRepository.findOpenOverlapping(stadium.getId(), from, to).stream()
+                .map(lottery -> new Window(lottery.getWindowStart(), lottery.getWindowEnd()))
+                .toList();
+        List<UUID> nearby = nearbyStadiums > 0
+                ? stadiumRepository.findNearbyIds(stadium.getLocation(), stadium.getId(), Limit.of(nearbyStadiums))
+                : List.of();
+
+        Snapshot snapshot = new Snapshot(stadium, allocator, lotteries, nearby, now);
+        if (snapshots.size() >= maxSnapshots) evictOldest(now);
+        snapshots.put(key, snapshot);
+        return snapshot;
+    }
+
+    @EventListener
+    public void onBookingEvent(BookingEvent event) {
+        UUID movedFrom = event.previous() != null ? event.previous().stadiumId() : null;
+        snapshots.keySet().removeIf(key -> key.stadiumId().equals(event.stadiumId()) || key.stadiumId().equals(movedFrom));
+    }
+
+    /**
+     * Drops the stadium's snapshots at once, for jobs that change many of its bookings in one transaction.
+     */
+    public void evict(UUID stadiumId) {
+        snapshots.keySet().removeIf(key -> key.stadiumId().equals(stadiumId));
+    }
+
+    /**
+     * Expired snapshots first, then the oldest loaded tenth, so a burst of cold keys neither drops the hot snapshots
+     * nor sorts the map on every load.
+     */
+    private void evictOldest(long now) {
+        snapshots.values().removeIf(s -> now - s.loadedAt() >= ttlNanos);
+        if (snapshots.size() < maxSnapshots) return;
+        snapshots.entrySet().stream()
+                .sorted(Comparator.comparingLong(entry -> entry.getValue().loadedAt()))
+                .limit(snapshots.size() - maxSnapshots + Math.max(1, maxSnapshots / 10))
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(snapshots::remove);
+    }
+
+    private record Key(UUID stadiumId, LocalDate firstDay) {}
+
+    record Window(LocalDateTime start, LocalDateTime end) {}
+
+    record Snapshot(Stadium stadium, PitchAllocator allocator, List<Window> lotteries, List<UUID> nearby, long loadedAt) {
+
+        boolean inLottery(LocalDateTime start, LocalDateTime end) {
+            return lotteries.stream().anyMatch(window -> window.start().isBefore(end) && window.end().isAfter(start));
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.hamza.stadiumbooking.booking;
+
+import com.hamza.stadiumbooking.stadium.OperatingCalendar;
+import com.hamza.stadiumbooking.stadium.Pitch;
+import com.hamza.stadiumbooking.stadium.Stadium;
+import com.hamza.stadiumbooking.stadium.Type;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+/**
+ * Allocates bookings to the pitches of one stadium over a range of whole days. Keeps one busy-minute bitmap per
+ * pitch (minute 0 is midnight of the first day), with the stadium's closed minutes already set, so testing every
+ * pitch for a slot is a {@link BitSet#nextSetBit} each and the bookings are read with a single query.
+ * <p>
+ * Among the free pitches of the requested type it picks the one that strands the fewest minutes in gaps too short
+ * to ever be booked (under an hour), then the one whose free gap is tightest (best fit), so long gaps on the other
+ * pitches stay available for long bookings. Bookings without a pitch, made while the stadium was a single resource,
+ * block every pitch. Reserving is not thread-safe (callers hold the stadium row lock); an allocator that is only
+ * searched with {@link #nearestFree} and {@link #isFree} may be shared.
+ */
+final class PitchAllocator {
+
+    static final int MIN_BOOKING_MINUTES = 60;
+    private static final int DAY_MINUTES = 24 * 60;
+
+    private final LocalDateTime origin;
+    private final int size;
+    private final Map<Pitch, BitSet> busy = new LinkedHashMap<>();
+
+    PitchAllocator(List<Pitch> pitches, OperatingCalendar calendar, LocalDate firstDay, LocalDate lastDay) {
+        this.origin = firstDay.atStartOfDay();
+        int days = (int) ChronoUnit.DAYS.between(firstDay, lastDay) + 1;
+        this.size = days * DAY_MINUTES;
+
+        BitSet closed = new BitSet(size);
+        closed.set(0, size);
+        for (int day = 0; day < days; day++) {
+            BitSet open = calendar.openMinutes(firstDay.plusDays(day));
+            int offset = day * DAY_MINUTES;
+            for (int from = open.nextSetBit(0); from >= 0; from = open.nextSetBit(from)) {
+                int to = open.nextClearBit(from);
+                closed.clear(offset + from, offset + to);
+                from = to;
+            }
+        }
+        for (Pitch pitch : pitches) busy.put(pitch, (BitSet) closed.clone());
+    }
+
+    /**
+     * Loads the CONFIRMED bookings of every pitch over the whole days {@code [from, to)} touches.
+     *
+     * @param ignoredBookingId a booking being moved, which must not block its own new slot; may be null
+     */
+    static PitchAllocator load(BookingRepository bookingRepository, UUID stadiumId, List<Pitch> pitches, OperatingCalendar calendar,
+                               LocalDateTime from, LocalDateTime to, UUID ignoredBookingId) {
+        LocalDate firstDay = from.toLocalDate();
+        LocalDate lastDay = to.minusNanos(1).toLocalDate();
+        PitchAllocator allocator = new PitchAllocator(pitches, calendar, firstDay, lastDay);
+        for (PitchInterval interval : bookingRepository.findPitchIntervals(stadiumId, firstDay.atStartOfDay(), lastDay.plusDays(1).atStartOfDay())) {
+            if (!interval.bookingId().equals(ignoredBookingId))
+                allocator.occupy(interval.pitchId(), interval.startTime(), interval.endTime());
+        }
+        return allocator;
+    }
+
+    /**
+     * {@code pitches}, or for a stadium without any (a single resource) one stand-in pitch with the stadium's ID, name
+     * and type, which its pitch-less bookings block.
+     */
+    static List<Pitch> pitchesOrStandIn(Stadium stadium, List<Pitch> pitches) {
+        return pitches.isEmpty()
+                ? List.of(Pitch.builder().id(stadium.getId()).name(stadium.getName()).type(stadium.getType()).build())
+                : pitches;
+    }
+
+    boolean hasPitchOf(Type type) {
+        return busy.keySet().stream().anyMatch(pitch -> type == null || pitch.getType() == type);
+    }
+
+    /**
+     * Marks {@code [start, end)} busy on a pitch, or on every pitch when {@code pitchId} is null.
+     */
+    void occupy(UUID pitchId, LocalDateTime start, LocalDateTime end) {
+        int from = Math.max(0, floor(start));
+        int to = Math.min(size, ceil(end));
+        if (to <= from) return;
+        busy.forEach((pitch, minutes) -> {
+            if (pitchId == null || pitch.getId().equals(pitchId)) minutes.set(from, to);
+        });
+    }
+
+    /**
+     * Picks a free pitch for {@code [start, end)} and marks it busy there.
+     *
+     * @param type      required pitch type, or null for any
+     * @param preferred kept when it is still free, so moving a booking doesn't shuffle it between pitches; may be null
+     * @return empty when every pitch of the type is taken; {@code [start, end)} must lie within the loaded days
+     */
+    Optional<Pitch> reserve(Type type, LocalDateTime start, LocalDateTime end, Pitch preferred) {
+        int from = floor(start);
+        int to = ceil(end);
+        if (from < 0 || to > size) throw new IllegalArgumentException("Slot outside the loaded days: " + start + " - " + end);
+
+        Pitch best = null;
+        long bestScore = Long.MAX_VALUE;
+        for (Map.Entry<Pitch, BitSet> entry : busy.entrySet()) {
+            Pitch pitch = entry.getKey();
+            BitSet minutes = entry.getValue();
+            if (type != null && pitch.getType() != type) continue;
+            int nextBusy = minutes.nextSetBit(from);
+            if (!isFree(nextBusy, to)) continue;
+
+            if (preferred != null && pitch.getId().equals(preferred.getId())) {
+                best = pitch;
+                break;
+            }
+            int gapStart = minutes.previousSetBit(from - 1) + 1;
+            int gapEnd = nextBusy < 0 ? size : nextBusy;
+            long score = (long) (stranded(from - gapStart) + stranded(gapEnd - to)) * size + (gapEnd - gapStart);
+            if (score < bestScore) {
+                best = pitch;
+                bestScore = score;
+            }
+        }
+        if (best == null) return Optional.empty();
+        busy.get(best).set(from, to);
+        return Optional.of(best);
+    }
+
+    /**
+     * Start times of up to {@code limit} slots of {@code minutes} that some pitch of {@code type} has free, nearest to
+     * {@code around} first (the later one on a tie). Candidates step by {@code stepMinutes} from {@code around}, stay
+     * within the loaded days and never start before {@code notBefore}.
+     */
+    List<LocalDateTime> nearestFree(Type type, LocalDateTime around, int minutes, LocalDateTime notBefore, int stepMinutes, int limit) {
+        return nearestFree(type, around, minutes, notBefore, stepMinutes, limit, start -> true);
+    }
+
+    /**
+     * As above, skipping free start times that {@code eligible} turns down, so they don't use up the limit.
+     */
+    List<LocalDateTime> nearestFree(Type type, LocalDateTime around, int minutes, LocalDateTime notBefore, int stepMinutes, int limit,
+                                    Predicate<LocalDateTime> eligible) {
+        int base = floor(around);
+        int earliest = Math.max(0, ceil(notBefore));
+        List<LocalDateTime> free = new ArrayList<>(limit);
+        for (int offset = 0; free.size() < limit && (base + offset + minutes <= size || base - offset >= earliest); offset += stepMinutes) {
+            if (isFreeOnAnyPitch(type, base + offset, minutes, earliest) && eligible.test(origin.plusMinutes(base + offset)))
+                free.add(origin.plusMinutes(base + offset));
+            if (offset > 0 && free.size() < limit && isFreeOnAnyPitch(type, base - offset, minutes, earliest)
+                    && eligible.test(origin.plusMinutes(base - offset)))
+                free.add(origin.plusMinutes(base - offset));
+        }
+        return free;
+    }
+
+    /**
+     * Whether some pitch of {@code type} (any, when null) has {@code [start, end)} free; false outside the loaded days.
+     */
+    boolean isFree(Type type, LocalDateTime start, LocalDateTime end) {
+        int from = floor(start);
+        return isFreeOnAnyPitch(type, from, ceil(end) - from, 0);
+    }
+
+    private boolean isFreeOnAnyPitch(Type type, int from, int minutes, int earliest) {
+        if (from < earliest || from + minutes > size) return false;
+        for (Map.Entry<Pitch, BitSet> entry : busy.entrySet()) {
+            if (type != null && entry.getKey().getType() != type) continue;
+            if (isFree(entry.getValue().nextSetBit(from), from + minutes)) return true;
+        }
+        return false;
+    }
+
+    private static boolean isFree(int nextBusy, int to) {
+        return nextBusy < 0 || nextBusy >= to;
+    }
+
+    private static int stranded(int minutes) {
+        return minutes > 0 && minutes < MIN_BOOKING_MINUTES ? minutes : 0;
+    }
+
+    private int floor(LocalDateTime time) {
+        return (int) ChronoUnit.MINUTES.between(origin, time);
+    }
+
+    private int ceil(LocalDateTime time) {
+        int minutes = floor(time);
+        return origin.plusMinutes(minutes).isBefore(time) ? minutes + 1 : minutes;
+    }
+}
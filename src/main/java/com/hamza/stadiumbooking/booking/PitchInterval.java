@@ -0,0 +1,11 @@
+package com.hamza.stadiumbooking.booking;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record PitchInterval(
+        UUID bookingId,
+        UUID pitchId,
+        LocalDateTime startTime,
+        LocalDateTime endTime
+) {}
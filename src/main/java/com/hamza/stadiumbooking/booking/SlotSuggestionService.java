@@ -0,0 +1,78 @@
+package com.hamza.stadiumbooking.booking;
+
+import com.hamza.stadiumbooking.stadium.Type;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Free slots offered with a booking conflict, so the client retries once instead of probing neighbouring times with
+ * more locked POSTs. Searches the node-local {@link OccupancySnapshots} of the stadium and its nearby stadiums; a
+ * warm search runs no query.
+ * <p>
+ * Snapshots may be a moment behind; a suggestion is only a hint, and the booking that follows it is checked under
+ * the lock as usual.
+ */
+@Service
+public class SlotSuggestionService {
+
+    private static final int STEP_MINUTES = 30;
+
+    private final OccupancySnapshots occupancySnapshots;
+    private final int limit;
+
+    public SlotSuggestionService(OccupancySnapshots occupancySnapshots,
+                                 @Value("${booking.suggestions.limit:3}") int limit) {
+        this.occupancySnapshots = occupancySnapshots;
+        this.limit = limit;
+    }
+
+    /**
+     * Up to {@code booking.suggestions.limit} slots as long as the requested one at its stadium, and as many again
+     * across up to {@code nearby-stadiums} other stadiums of the same location, looking from the day before the
+     * requested start to {@code horizon-days} after it.
+     */
+    public SlotSuggestions suggest(BookingRequest request) {
+        if (!request.endTime().isAfter(request.startTime())) return SlotSuggestions.NONE;
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate firstDay = OccupancySnapshots.firstDay(request.startTime(), now);
+
+        OccupancySnapshots.Snapshot origin = occupancySnapshots.get(request.stadiumId(), firstDay);
+        if (origin == null) return SlotSuggestions.NONE;
+
+        int minutes = (int) Duration.between(request.startTime(), request.endTime()).toMinutes();
+        List<FreeSlot> sameStadium = freeSlots(origin, request.pitchType(), request.startTime(), minutes, now, limit + 1).stream()
+                .filter(slot -> !slot.startTime().equals(request.startTime()))
+                .limit(limit)
+                .toList();
+
+        // Nearby stadiums must offer the type asked for, or the requested stadium's own
+        Type type = request.pitchType() != null ? request.pitchType() : origin.stadium().getType();
+        List<FreeSlot> nearby = new ArrayList<>();
+        for (UUID stadiumId : origin.nearby()) {
+            OccupancySnapshots.Snapshot other = occupancySnapshots.get(stadiumId, firstDay);
+            if (other != null) nearby.addAll(freeSlots(other, type, request.startTime(), minutes, now, limit));
+        }
+        nearby.sort(Comparator.comparing((FreeSlot slot) -> Duration.between(request.startTime(), slot.startTime()).abs())
+                .thenComparing(FreeSlot::startTime, Comparator.reverseOrder()));
+
+        return new SlotSuggestions(sameStadium, List.copyOf(nearby.subList(0, Math.min(limit, nearby.size()))));
+    }
+
+    private static List<FreeSlot> freeSlots(OccupancySnapshots.Snapshot snapshot, Type pitchType, LocalDateTime around, int minutes,
+                                            LocalDateTime notBefore, int limit) {
+        // Slots in an open lottery's window can only be entered into the draw, not booked
+        return snapshot.allocator().nearestFree(pitchType, around.truncatedTo(ChronoUnit.MINUTES), minutes, notBefore, STEP_MINUTES, limit,
+                        start -> !snapshot.inLottery(start, start.plusMinutes(minutes))).stream()
+                .map(start -> new FreeSlot(snapshot.stadium().getId(), snapshot.stadium().getName(), start, start.plusMinutes(minutes)))
+                .toList();
+    }
+}
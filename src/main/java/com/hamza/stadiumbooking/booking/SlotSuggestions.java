@@ -0,0 +1,14 @@
+package com.hamza.stadiumbooking.booking;
+
+import java.util.List;
+
+/**
+ * @param sameStadium free slots of the requested length at the requested stadium, nearest first
+ * @param nearby      the same at other stadiums of its location (the requested time itself included), nearest first
+ */
+public record SlotSuggestions(
+        List<FreeSlot> sameStadium,
+        List<FreeSlot> nearby
+) {
+    public static final SlotSuggestions NONE = new SlotSuggestions(List.of(), List.of());
+}
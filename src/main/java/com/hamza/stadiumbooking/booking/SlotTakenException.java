@@ -0,0 +1,18 @@
+package com.hamza.stadiumbooking.booking;
+
+import com.hamza.stadiumbooking.exception.ConflictingBookingsException;
+import lombok.Getter;
+
+/**
+ * A booking conflict on create, with the free slots found for the client to retry with.
+ */
+@Getter
+public class SlotTakenException extends ConflictingBookingsException {
+
+    private final SlotSuggestions suggestions;
+
+    public SlotTakenException(String message, SlotSuggestions suggestions) {
+        super(message);
+        this.suggestions = suggestions;
+    }
+}
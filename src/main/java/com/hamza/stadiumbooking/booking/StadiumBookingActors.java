@@ -0,0 +1,162 @@
+package com.hamza.stadiumbooking.booking;
+
+import com.hamza.stadiumbooking.exception.TooManyRequestsException;
+import com.hamza.stadiumbooking.security.utils.OwnershipValidationService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Opt-in ({@code booking.actor.enabled}) single writer per stadium for booking creates. Each stadium gets a mailbox
+ * drained by at most one virtual thread at a time; the drainer takes up to {@code booking.actor.max-batch} queued
+ * requests and makes them in one {@link BookingService#addBookingBatch} transaction, so a burst on a hot stadium
+ * costs one row lock, one bookings query and one commit per batch instead of one of each per request, with
+ * requests queueing in memory rather than on the lock. Checks, errors and metrics are those of
+ * {@link BookingService#addBooking}.
+ * <p>
+ * The stadium row lock is still taken per batch, uncontended on one node, so several nodes stay correct. A batch
+ * whose transaction fails as a whole is retried one request at a time, so one bad request can't fail its
+ * neighbours. A mailbox holding {@code booking.actor.max-queue} requests turns new ones away with a 429.
+ */
+@Slf4j
+@Component
+public class StadiumBookingActors {
+
+    private final BookingService bookingService;
+    private final OwnershipValidationService ownershipValidationService;
+    private final boolean enabled;
+    private final int maxBatch;
+    private final int maxQueue;
+    private final DistributionSummary batchSize;
+
+    private final ConcurrentMap<UUID, Mailbox> mailboxes = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("booking-actor-", 0).factory());
+
+    public StadiumBookingActors(BookingService bookingService,
+                                OwnershipValidationService ownershipValidationService,
+                                MeterRegistry meterRegistry,
+                                @Value("${booking.actor.enabled:false}") boolean enabled,
+                                @Value("${booking.actor.max-batch:32}") int maxBatch,
+                                @Value("${booking.actor.max-queue:1000}") int maxQueue) {
+        this.bookingService = bookingService;
+        this.ownershipValidationService = ownershipValidationService;
+        this.enabled = enabled;
+        this.maxBatch = maxBatch;
+        this.maxQueue = maxQueue;
+        this.batchSize = DistributionSummary.builder("booking.actor.batch.size")
+                .description("Booking creates made per stadium transaction")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * {@link BookingService#addBooking} through the stadium's mailbox, for the current user. Blocks the caller until
+     * its batch commits and throws what {@code addBooking} would have.
+     */
+    public BookingResponse addBooking(BookingRequest request) {
+        try {
+            return submit(request, ownershipValidationService.getCurrentUserId()).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    /**
+     * Queues a booking create for {@code userId}.
+     *
+     * @return completes with the booking once its batch commits, or exceptionally with the request's error
+     */
+    public CompletableFuture<BookingResponse> submit(BookingRequest request, UUID userId) {
+        Mailbox mailbox = mailboxes.computeIfAbsent(request.stadiumId(), id -> new Mailbox());
+        if (mailbox.size.incrementAndGet() > maxQueue) {
+            mailbox.size.decrementAndGet();
+            return CompletableFuture.failedFuture(new TooManyRequestsException("Too many bookings queued for this stadium. Try again shortly.", 1));
+        }
+        Command command = new Command(new BookingService.PendingBooking(request, userId), new CompletableFuture<>());
+        mailbox.queue.add(command);
+        schedule(request.stadiumId(), mailbox);
+        return command.result();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void schedule(UUID stadiumId, Mailbox mailbox) {
+        if (mailbox.running.compareAndSet(false, true)) executor.execute(() -> drain(stadiumId, mailbox));
+    }
+
+    private void drain(UUID stadiumId, Mailbox mailbox) {
+        try {
+            List<Command> batch = new ArrayList<>(maxBatch);
+            Command command;
+            while (batch.size() < maxBatch && (command = mailbox.queue.poll()) != null) {
+                mailbox.size.decrementAndGet();
+                batch.add(command);
+            }
+            if (!batch.isEmpty()) run(stadiumId, batch);
+        } finally {
+            mailbox.running.set(false);
+            // Re-checked after releasing, so a request queued while the batch was finishing isn't stranded
+            if (!mailbox.queue.isEmpty()) schedule(stadiumId, mailbox);
+        }
+    }
+
+    private void run(UUID stadiumId, List<Command> batch) {
+        batchSize.record(batch.size());
+        try {
+            complete(batch, bookingService.addBookingBatch(stadiumId, batch.stream().map(Command::booking).toList()));
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.getFirst().result().completeExceptionally(e);
+                return;
+            }
+            log.warn("Booking batch of {} for stadium {} failed, retrying one by one -> {}", batch.size(), stadiumId, e.getMessage());
+            for (Command command : batch) {
+                try {
+                    complete(List.of(command), bookingService.addBookingBatch(stadiumId, List.of(command.booking())));
+                } catch (RuntimeException single) {
+                    command.result().completeExceptionally(single);
+                }
+            }
+        }
+    }
+
+    private static void complete(List<Command> batch, List<BookingService.BatchOutcome> outcomes) {
+        for (int i = 0; i < batch.size(); i++) {
+            BookingService.BatchOutcome outcome = outcomes.get(i);
+            if (outcome.error() != null) batch.get(i).result().completeExceptionally(outcome.error());
+            else batch.get(i).result().complete(outcome.booking());
+        }
+    }
+
+    private record Command(BookingService.PendingBooking booking, CompletableFuture<BookingResponse> result) {}
+
+    private static final class Mailbox {
+        private final Queue<Command> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicBoolean running = new AtomicBoolean();
+    }
+}
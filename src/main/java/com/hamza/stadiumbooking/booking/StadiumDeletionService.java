@@ -0,0 +1,99 @@
+package com.hamza.stadiumbooking.booking;
+
+import com.hamza.stadiumbooking.outbox.BookingEventType;
+import com.hamza.stadiumbooking.outbox.BookingOutbox;
+import com.hamza.stadiumbooking.stadium.StadiumRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Cancels the upcoming CONFIRMED bookings of soft-deleted stadiums, in per-chunk transactions. Each cancelled booking
+ * gets its BOOKING_CANCELLED outbox event in the same transaction, and the stadium's occupancy snapshots on this node
+ * are dropped once per chunk rather than once per event.
+ * <p>
+ * A deleted stadium stays pending until a chunk comes back short, which also sets its {@code bookingsCancelledAt} in
+ * that chunk's transaction. Cancelled bookings no longer match, so a run stopped half-way (restart, failed chunk)
+ * simply continues with what is left. A booking changed by someone else meanwhile fails its chunk on the version
+ * check, and the next run reads it again.
+ */
+@Service
+@Slf4j
+public class StadiumDeletionService {
+
+    private final BookingRepository bookingRepository;
+    private final StadiumRepository stadiumRepository;
+    private final BookingOutbox bookingOutbox;
+    private final OccupancySnapshots occupancySnapshots;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public StadiumDeletionService(BookingRepository bookingRepository,
+                                  StadiumRepository stadiumRepository,
+                                  BookingOutbox bookingOutbox,
+                                  OccupancySnapshots occupancySnapshots,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${booking.stadium-deletion.chunk-size:200}") int chunkSize) {
+        this.bookingRepository = bookingRepository;
+        this.stadiumRepository = stadiumRepository;
+        this.bookingOutbox = bookingOutbox;
+        this.occupancySnapshots = occupancySnapshots;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Cancels the upcoming bookings of every deleted stadium still pending. A stadium that fails is logged and left
+     * pending for the next run; the others go on.
+     *
+     * @return number of bookings cancelled
+     */
+    public int cancelBookingsOfDeletedStadiums() {
+        int cancelled = 0;
+        for (UUID stadiumId : stadiumRepository.findDeletedIdsWithBookingsPending()) {
+            try {
+                cancelled += cancelUpcomingBookings(stadiumId);
+            } catch (Exception e) {
+                log.error("❌ Error cancelling bookings of deleted stadium {}: {}", stadiumId, e.getMessage());
+            }
+        }
+        return cancelled;
+    }
+
+    int cancelUpcomingBookings(UUID stadiumId) {
+        long started = System.nanoTime();
+        int cancelled = 0;
+        int chunk;
+        do {
+            Integer done = transactionTemplate.execute(status -> cancelChunk(stadiumId));
+            chunk = done == null ? 0 : done;
+            if (chunk > 0) occupancySnapshots.evict(stadiumId);
+            cancelled += chunk;
+        } while (chunk == chunkSize);
+
+        log.atInfo().addKeyValue("action", "cancelDeletedStadiumBookings")
+                .addKeyValue("stadiumId", stadiumId)
+                .addKeyValue("cancelled", cancelled)
+                .addKeyValue("elapsedMillis", (System.nanoTime() - started) / 1_000_000)
+                .log("Bookings of deleted stadium cancelled");
+        return cancelled;
+    }
+
+    private int cancelChunk(UUID stadiumId) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Booking> bookings = bookingRepository.findUpcomingConfirmed(stadiumId, now, Limit.of(chunkSize));
+        for (Booking booking : bookings) {
+            booking.setStatus(BookingStatus.CANCELLED);
+            bookingOutbox.append(booking, BookingEventType.BOOKING_CANCELLED);
+        }
+        if (bookings.size() < chunkSize) stadiumRepository.markBookingsCancelled(stadiumId, now);
+        return bookings.size();
+    }
+}
@@ -0,0 +1,58 @@
+package com.hamza.stadiumbooking.bulkhead;
+
+import com.hamza.stadiumbooking.exception.BulkheadFullException;
+import lombok.Getter;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Caps how many threads may use a downstream resource at once. With virtual threads the servlet container no
+ * longer bounds concurrency, so without this thousands of requests would queue inside the 5-connection Hikari pool.
+ */
+public class Bulkhead {
+
+    @Getter
+    private final String name;
+    @Getter
+    private final int permits;
+    private final long maxWaitNanos;
+    private final Semaphore semaphore;
+
+    public Bulkhead(String name, int permits, long maxWaitMillis) {
+        if (permits < 1) throw new IllegalArgumentException("Bulkhead '" + name + "' needs at least one permit.");
+        this.name = name;
+        this.permits = permits;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        this.semaphore = new Semaphore(permits, true);
+    }
+
+    public void acquire() {
+        try {
+            if (!semaphore.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+                throw new BulkheadFullException("Service is busy (" + name + "). Please retry shortly.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BulkheadFullException("Interrupted while waiting for " + name + ".");
+        }
+    }
+
+    public void release() {
+        semaphore.release();
+    }
+
+    public <T> T call(Supplier<T> action) {
+        acquire();
+        try {
+            return action.get();
+        } finally {
+            release();
+        }
+    }
+
+    public int availablePermits() {
+        return semaphore.availablePermits();
+    }
+}
@@ -0,0 +1,25 @@
+package com.hamza.stadiumbooking.bulkhead;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * BCrypt is pure CPU work; running it on unbounded virtual threads would just time-slice every login into slowness.
+ */
+public class BulkheadBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    private final Bulkhead bulkhead;
+
+    public BulkheadBCryptPasswordEncoder(Bulkhead bulkhead) {
+        this.bulkhead = bulkhead;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return bulkhead.call(() -> super.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return bulkhead.call(() -> super.matches(rawPassword, encodedPassword));
+    }
+}
@@ -0,0 +1,50 @@
+package com.hamza.stadiumbooking.bulkhead;
+
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NonNull;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import javax.sql.DataSource;
+
+/**
+ * Puts the JDBC pool, Redis and BCrypt behind semaphore bulkheads. Registered only in virtual-thread mode.
+ */
+@Slf4j
+public class BulkheadBeanPostProcessor implements BeanPostProcessor, EnvironmentAware {
+
+    private Environment environment;
+
+    @Override
+    public void setEnvironment(@NonNull Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof BulkheadDataSource)) {
+            int permits = environment.getProperty("bulkhead.jdbc.permits", Integer.class,
+                    environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+            return new BulkheadDataSource(dataSource, bulkhead("jdbc", permits));
+        }
+        if (bean instanceof RedisConnectionFactory) {
+            return BulkheadRedisConnectionFactory.wrap(bean, bulkhead("redis",
+                    environment.getProperty("bulkhead.redis.permits", Integer.class, 32)));
+        }
+        if (bean.getClass() == BCryptPasswordEncoder.class) {
+            return new BulkheadBCryptPasswordEncoder(bulkhead("bcrypt",
+                    environment.getProperty("bulkhead.bcrypt.permits", Integer.class, Runtime.getRuntime().availableProcessors())));
+        }
+        return bean;
+    }
+
+    private Bulkhead bulkhead(String name, int permits) {
+        long maxWaitMillis = environment.getProperty("bulkhead." + name + ".max-wait-ms", Long.class,
+                environment.getProperty("bulkhead.max-wait-ms", Long.class, 2000L));
+        log.info("Bulkhead '{}' enabled | Permits: {} | Max wait: {} ms", name, permits, maxWaitMillis);
+        return new Bulkhead(name, permits, maxWaitMillis);
+    }
+}
@@ -0,0 +1,15 @@
+package com.hamza.stadiumbooking.bulkhead;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class BulkheadConfig {
+
+    @Bean
+    public static BulkheadBeanPostProcessor bulkheadBeanPostProcessor() {
+        return new BulkheadBeanPostProcessor();
+    }
+}
@@ -0,0 +1,61 @@
+package com.hamza.stadiumbooking.bulkhead;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.data.redis.connection.RedisConnection;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Proxies the Redis connection factory (keeping every interface it implements) so that each borrowed
+ * connection holds a bulkhead permit until it is closed. A connection that subscribes (the availability fan-out's
+ * listener container) gives its permit back right away: it's held for the node's lifetime and never queues commands.
+ */
+public final class BulkheadRedisConnectionFactory {
+
+    private static final Set<String> CONNECTION_METHODS = Set.of("getConnection", "getClusterConnection", "getSentinelConnection");
+    private static final Set<String> SUBSCRIBE_METHODS = Set.of("subscribe", "pSubscribe");
+
+    private BulkheadRedisConnectionFactory() {
+    }
+
+    public static Object wrap(Object connectionFactory, Bulkhead bulkhead) {
+        ProxyFactory proxyFactory = new ProxyFactory(connectionFactory);
+        proxyFactory.addAdvice((MethodInterceptor) invocation -> {
+            if (!CONNECTION_METHODS.contains(invocation.getMethod().getName())) return invocation.proceed();
+
+            bulkhead.acquire();
+            try {
+                Object connection = invocation.proceed();
+                if (connection instanceof RedisConnection) return guard(connection, bulkhead);
+                bulkhead.release();
+                return connection;
+            } catch (Throwable e) {
+                bulkhead.release();
+                throw e;
+            }
+        });
+        return proxyFactory.getProxy();
+    }
+
+    private static Object guard(Object connection, Bulkhead bulkhead) {
+        AtomicBoolean released = new AtomicBoolean();
+        ProxyFactory proxyFactory = new ProxyFactory(connection);
+        proxyFactory.addAdvice((MethodInterceptor) invocation -> {
+            String method = invocation.getMethod().getName();
+            if (SUBSCRIBE_METHODS.contains(method)) {
+                // Before proceeding: some drivers block in subscribe until the subscription ends
+                if (released.compareAndSet(false, true)) bulkhead.release();
+                return invocation.proceed();
+            }
+            if (!method.equals("close")) return invocation.proceed();
+            try {
+                return invocation.proceed();
+            } finally {
+                if (released.compareAndSet(false, true)) bulkhead.release();
+            }
+        });
+        return proxyFactory.getProxy();
+    }
+}
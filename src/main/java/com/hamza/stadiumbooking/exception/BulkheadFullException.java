@@ -0,0 +1,7 @@
+package com.hamza.stadiumbooking.exception;
+
+public class BulkheadFullException extends RuntimeException {
+    public BulkheadFullException(String message) {
+        super(message, null, false, false);
+    }
+}
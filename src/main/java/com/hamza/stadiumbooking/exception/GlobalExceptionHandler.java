@@ -9,12 +9,14 @@ import org.springframework.dao.CannotAcquireLockException;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.AuthenticationException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.MissingPathVariableException;
 import org.springframework.web.bind.MissingRequestCookieException;
@@ -67,6 +69,26 @@ public class GlobalExceptionHandler {
         return error(e.getMessage(), HttpStatus.CONFLICT);
     }
 
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<Object> handleTooManyRequests(TooManyRequestsException e) {
+        ApiError apiError = new ApiError(e.getMessage(), HttpStatus.TOO_MANY_REQUESTS, ZonedDateTime.now());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(apiError);
+    }
+
+    @ExceptionHandler(BulkheadFullException.class)
+    public ResponseEntity<Object> handleBulkheadFull(BulkheadFullException e) {
+        return busy(e.getMessage());
+    }
+
+    // A saturated JDBC bulkhead (or Hikari timeout) surfaces when the transaction tries to get a connection
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<Object> handleCannotCreateTransaction(CannotCreateTransactionException e) {
+        log.warn("Could not open transaction: {}", e.getMostSpecificCause().getMessage());
+        return busy("Service is busy. Please retry shortly.");
+    }
+
     @ExceptionHandler({JWTVerificationException.class, TokenExpiredException.class})
     public ResponseEntity<Object> handleJwtErrors(Exception e) {
         log.warn("JWT auth failed {}", e.getMessage());
@@ -156,6 +178,10 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(DataIntegrityViolationException.class)
     public ResponseEntity<Object> handleDataIntegrity(DataIntegrityViolationException e) {
         log.warn("Data integrity violation {}", e.getMessage());
+        // Registration skips the uniqueness pre-check for values the Bloom filter has never seen
+        String cause = String.valueOf(e.getMostSpecificCause().getMessage());
+        if (cause.contains("uk_user_email")) return error("Email is already taken.", HttpStatus.CONFLICT);
+        if (cause.contains("uk_user_phone")) return error("Phone Number is already taken.", HttpStatus.CONFLICT);
         return error("Data integrity violation", HttpStatus.CONFLICT);
     }
 
@@ -182,26 +208,24 @@ public class GlobalExceptionHandler {
             rootCause = rootCause.getCause();
         }
 
-        log.error("""
-        ❌ [UNHANDLED ERROR REPORT]
-        ---------------------------------------------------------
-        Path: {}
-        Exception Type: {}
-        Culprit (Root Cause): {}
-        Error Message: {}
-        ---------------------------------------------------------
-        """,
-                request.getDescription(false),
-                e.getClass().getSimpleName(),
-                rootCause.getClass().getName(),
-                rootCause.getMessage(),
-                e
-        );
+        log.atError()
+                .setCause(e)
+                .addKeyValue("path", request.getDescription(false))
+                .addKeyValue("exceptionType", e.getClass().getSimpleName())
+                .addKeyValue("rootCause", rootCause.getClass().getName())
+                .log("Unhandled error: {}", rootCause.getMessage());
 
         return error("An unexpected error occurred. Please try again later or contact support.",
                 HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
+    private ResponseEntity<Object> busy(String msg) {
+        ApiError apiError = new ApiError(msg, HttpStatus.SERVICE_UNAVAILABLE, ZonedDateTime.now());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(apiError);
+    }
+
     private ResponseEntity<Object> error(String msg, HttpStatus status){
         ApiError apiError = new ApiError(msg, status, ZonedDateTime.now());
         return new ResponseEntity<>(apiError, status);
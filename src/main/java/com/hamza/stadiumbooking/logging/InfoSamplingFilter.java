@@ -0,0 +1,81 @@
+package com.hamza.stadiumbooking.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.spi.FilterReply;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps 1 in {@code rate} INFO events per message template for the configured logger prefixes. It runs as an appender
+ * filter, so it sees fluent key/value events as well (Logback's turbo filters don't), and a sampled-out event is
+ * never formatted, queued or written. Counting per template means a rare line is not starved by a hot one;
+ * templates are source literals, so the map stays small.
+ */
+public class InfoSamplingFilter extends Filter<ILoggingEvent> {
+
+    public static final String NAME = "INFO_SAMPLING";
+
+    private final int rate;
+    private final String[] loggerPrefixes;
+    private final ConcurrentMap<String, AtomicLong> seen = new ConcurrentHashMap<>();
+    private final LongAdder sampledOut = new LongAdder();
+
+    public InfoSamplingFilter(int rate, List<String> loggerPrefixes) {
+        if (rate < 1) throw new IllegalArgumentException("rate must be at least 1");
+        this.rate = rate;
+        this.loggerPrefixes = loggerPrefixes.toArray(String[]::new);
+        setName(NAME);
+    }
+
+    /**
+     * Adds the filter to every root appender (the ring buffer, when async logging is on) unless one is already
+     * installed, and returns the active one.
+     */
+    public static synchronized InfoSamplingFilter install(LoggerContext context, int rate, List<String> loggerPrefixes) {
+        List<Appender<ILoggingEvent>> appenders = new ArrayList<>();
+        context.getLogger(Logger.ROOT_LOGGER_NAME).iteratorForAppenders().forEachRemaining(appenders::add);
+        for (Appender<ILoggingEvent> appender : appenders) {
+            for (Filter<ILoggingEvent> filter : appender.getCopyOfAttachedFiltersList()) {
+                if (filter instanceof InfoSamplingFilter installed) return installed;
+            }
+        }
+
+        InfoSamplingFilter filter = new InfoSamplingFilter(rate, loggerPrefixes);
+        filter.setContext(context);
+        filter.start();
+        appenders.forEach(appender -> appender.addFilter(filter));
+        return filter;
+    }
+
+    @Override
+    public FilterReply decide(ILoggingEvent event) {
+        if (event.getLevel() != Level.INFO || !isSampled(event.getLoggerName())) return FilterReply.NEUTRAL;
+
+        long n = seen.computeIfAbsent(event.getMessage(), m -> new AtomicLong()).getAndIncrement();
+        if (n % rate == 0) return FilterReply.NEUTRAL;
+
+        sampledOut.increment();
+        return FilterReply.DENY;
+    }
+
+    public long getSampledOutCount() {
+        return sampledOut.sum();
+    }
+
+    private boolean isSampled(String loggerName) {
+        for (String prefix : loggerPrefixes) {
+            if (loggerName.startsWith(prefix)) return true;
+        }
+        return false;
+    }
+}
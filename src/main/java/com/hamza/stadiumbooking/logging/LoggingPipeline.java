@@ -0,0 +1,66 @@
+package com.hamza.stadiumbooking.logging;
+
+import ch.qos.logback.classic.LoggerContext;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NonNull;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Installs the optional async ring buffer and INFO sampling on top of Spring Boot's Logback setup, and exposes their
+ * counters. Both are installed once per Logger context, so test contexts sharing a JVM reuse them.
+ */
+@Slf4j
+@Component
+public class LoggingPipeline implements MeterBinder {
+
+    private final RingBufferAppender ringBuffer;
+    private final InfoSamplingFilter sampling;
+
+    public LoggingPipeline(@Value("${log-pipeline.async.enabled:false}") boolean asyncEnabled,
+                           @Value("${log-pipeline.async.buffer-size:8192}") int bufferSize,
+                           @Value("${log-pipeline.sampling.info-rate:1}") int infoSampleRate,
+                           @Value("${log-pipeline.sampling.loggers:com.hamza.stadiumbooking}") List<String> sampledLoggers) {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            this.ringBuffer = null;
+            this.sampling = null;
+            return;
+        }
+        // Buffer first, so the sampling filter lands on it and sampled-out events are never queued
+        this.ringBuffer = asyncEnabled ? RingBufferAppender.install(context, bufferSize) : null;
+        this.sampling = infoSampleRate > 1 ? InfoSamplingFilter.install(context, infoSampleRate, sampledLoggers) : null;
+
+        log.atInfo()
+                .addKeyValue("async", ringBuffer != null)
+                .addKeyValue("bufferSize", ringBuffer == null ? 0 : ringBuffer.getCapacity())
+                .addKeyValue("infoSampleRate", infoSampleRate)
+                .log("Logging pipeline configured");
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        if (ringBuffer != null) {
+            FunctionCounter.builder("logging.events.dropped", ringBuffer, RingBufferAppender::getDroppedCount)
+                    .description("TRACE..INFO events dropped because the async log buffer was full")
+                    .register(registry);
+            FunctionCounter.builder("logging.events.overflow", ringBuffer, RingBufferAppender::getOverflowWriteCount)
+                    .description("WARN/ERROR events written on the caller thread because the async log buffer was full")
+                    .register(registry);
+            Gauge.builder("logging.buffer.depth", ringBuffer, RingBufferAppender::getQueueDepth)
+                    .description("Events waiting in the async log buffer")
+                    .register(registry);
+        }
+        if (sampling != null) {
+            FunctionCounter.builder("logging.events.sampled", sampling, InfoSamplingFilter::getSampledOutCount)
+                    .description("INFO events skipped by sampling")
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.hamza.stadiumbooking.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hands log events to a single writer thread through a bounded buffer, so request threads never wait on the console.
+ * When the buffer is full, TRACE..INFO events are dropped and counted; WARN and ERROR are written on the caller
+ * thread instead, so they are never lost (but may appear ahead of older queued lines).
+ */
+public class RingBufferAppender extends UnsynchronizedAppenderBase<ILoggingEvent> implements AppenderAttachable<ILoggingEvent> {
+
+    public static final String NAME = "RING_BUFFER";
+
+    private static final int BATCH_SIZE = 256;
+    private static final long STOP_TIMEOUT_MS = 2_000;
+
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+    private final BlockingQueue<ILoggingEvent> buffer;
+    private final int capacity;
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder overflowWrites = new LongAdder();
+
+    private Thread writer;
+
+    public RingBufferAppender(int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("capacity must be positive");
+        this.capacity = capacity;
+        // ArrayBlockingQueue is a preallocated circular array: no per-event node allocation
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * Moves the root logger's appenders behind a ring buffer. Idempotent: returns the installed one if present.
+     */
+    public static synchronized RingBufferAppender install(LoggerContext context, int capacity) {
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        if (root.getAppender(NAME) instanceof RingBufferAppender installed) return installed;
+
+        List<Appender<ILoggingEvent>> targets = new ArrayList<>();
+        root.iteratorForAppenders().forEachRemaining(targets::add);
+
+        RingBufferAppender ringBuffer = new RingBufferAppender(capacity);
+        ringBuffer.setContext(context);
+        ringBuffer.setName(NAME);
+        targets.forEach(ringBuffer::addAppender);
+        ringBuffer.start();
+
+        root.addAppender(ringBuffer);
+        targets.forEach(root::detachAppender);
+        return ringBuffer;
+    }
+
+    /**
+     * Drains and removes the ring buffer, putting its appenders back on the root logger.
+     */
+    public static synchronized void uninstall(LoggerContext context) {
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        if (!(root.getAppender(NAME) instanceof RingBufferAppender ringBuffer)) return;
+
+        List<Appender<ILoggingEvent>> targets = new ArrayList<>();
+        ringBuffer.iteratorForAppenders().forEachRemaining(targets::add);
+        targets.forEach(root::addAppender);
+        root.detachAppender(ringBuffer);
+        ringBuffer.stop();
+        targets.forEach(ringBuffer::detachAppender);
+    }
+
+    @Override
+    public void start() {
+        if (isStarted()) return;
+        writer = Thread.ofPlatform().name("log-ring-buffer").daemon(true).unstarted(this::drainLoop);
+        super.start();
+        writer.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) return;
+        super.stop();
+        writer.interrupt();
+        try {
+            writer.join(STOP_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Whatever the writer did not get to is flushed here rather than lost
+        ILoggingEvent event;
+        while ((event = buffer.poll()) != null) appenders.appendLoopOnAppenders(event);
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        boolean mustWrite = event.getLevel().isGreaterOrEqual(Level.WARN);
+        if (!mustWrite && buffer.remainingCapacity() == 0) {
+            dropped.increment();
+            return;
+        }
+
+        // Thread name, MDC and the formatted message must be captured on the caller thread
+        event.prepareForDeferredProcessing();
+        if (buffer.offer(event)) return;
+
+        if (mustWrite) {
+            overflowWrites.increment();
+            appenders.appendLoopOnAppenders(event);
+        } else {
+            dropped.increment();
+        }
+    }
+
+    private void drainLoop() {
+        List<ILoggingEvent> batch = new ArrayList<>(BATCH_SIZE);
+        while (isStarted()) {
+            try {
+                ILoggingEvent first = buffer.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                appenders.appendLoopOnAppenders(first);
+                buffer.drainTo(batch, BATCH_SIZE);
+                for (ILoggingEvent event : batch) appenders.appendLoopOnAppenders(event);
+                batch.clear();
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * WARN/ERROR events written synchronously because the buffer was full.
+     */
+    public long getOverflowWriteCount() {
+        return overflowWrites.sum();
+    }
+
+    public int getQueueDepth() {
+        return buffer.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> appender) {
+        appenders.addAppender(appender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(String name) {
+        return appenders.getAppender(name);
+    }
+
+    @Override
+    public boolean isAttached(Appender<ILoggingEvent> appender) {
+        return appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        return appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(String name) {
+        return appenders.detachAppender(name);
+    }
+}
@@ -0,0 +1,32 @@
+package com.hamza.stadiumbooking.outbox;
+
+import com.hamza.stadiumbooking.booking.BookingStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Payload of a booking lifecycle event: a snapshot of the booking as of the transaction that changed it. Updates
+ * also carry the slot the booking had before ({@code previous}); it is null for every other type.
+ */
+public record BookingEvent(
+        UUID eventId,
+        BookingEventType type,
+        LocalDateTime occurredAt,
+        UUID bookingId,
+        UUID stadiumId,
+        UUID userId,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        BookingStatus status,
+        Double totalPrice,
+        Slot previous
+) {
+
+    public BookingEvent(UUID eventId, BookingEventType type, LocalDateTime occurredAt, UUID bookingId, UUID stadiumId,
+                        UUID userId, LocalDateTime startTime, LocalDateTime endTime, BookingStatus status, Double totalPrice) {
+        this(eventId, type, occurredAt, bookingId, stadiumId, userId, startTime, endTime, status, totalPrice, null);
+    }
+
+    public record Slot(UUID stadiumId, LocalDateTime startTime, LocalDateTime endTime, Double totalPrice) {}
+}
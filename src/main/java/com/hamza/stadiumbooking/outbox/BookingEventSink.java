@@ -0,0 +1,15 @@
+package com.hamza.stadiumbooking.outbox;
+
+/**
+ * Destination of relayed booking events. Delivery is at-least-once: an event is retried until every enabled sink
+ * accepted it, so a sink may see the same {@link BookingEvent#eventId()} more than once.
+ */
+public interface BookingEventSink {
+
+    /**
+     * Name used in {@code booking.outbox.sinks}.
+     */
+    String name();
+
+    void publish(BookingEvent event) throws Exception;
+}
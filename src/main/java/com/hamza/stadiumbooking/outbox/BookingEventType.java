@@ -0,0 +1,8 @@
+package com.hamza.stadiumbooking.outbox;
+
+public enum BookingEventType {
+    BOOKING_CREATED,
+    BOOKING_UPDATED,
+    BOOKING_CANCELLED,
+    BOOKING_COMPLETED
+}
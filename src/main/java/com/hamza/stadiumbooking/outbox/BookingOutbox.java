@@ -0,0 +1,60 @@
+package com.hamza.stadiumbooking.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hamza.stadiumbooking.booking.Booking;
+import com.hamza.stadiumbooking.id.UuidV7Generator;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Appends booking lifecycle events to the outbox table inside the caller's transaction, so an event exists exactly
+ * when the booking change it describes was committed. {@link BookingOutboxRelay} delivers them afterwards.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingOutbox {
+
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(Booking booking, BookingEventType type) {
+        append(booking, type, null);
+    }
+
+    /**
+     * Appends an event that also records the slot the booking had before this transaction changed it.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(Booking booking, BookingEventType type, BookingEvent.Slot previous) {
+        UUID eventId = UuidV7Generator.next();
+        LocalDateTime now = LocalDateTime.now();
+        BookingEvent event = new BookingEvent(eventId, type, now, booking.getId(), booking.getStadium().getId(),
+                booking.getUser().getId(), booking.getStartTime(), booking.getEndTime(), booking.getStatus(), booking.getTotalPrice(), previous);
+
+        // persist, not save: the ID is already assigned, and merge would SELECT it first
+        entityManager.persist(BookingOutboxEvent.builder()
+                .id(eventId)
+                .stadiumId(event.stadiumId())
+                .bookingId(event.bookingId())
+                .type(type)
+                .payload(toJson(event))
+                .createdAt(now)
+                .build());
+    }
+
+    private String toJson(BookingEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize booking event " + event.eventId(), e);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.hamza.stadiumbooking.outbox;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One pending or published row of the booking outbox. The UUIDv7 ID is assigned by {@link BookingOutbox} (it is
+ * also the event ID in the payload), so ordering by ID is append order.
+ */
+@Builder
+@Entity
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "booking_outbox", indexes = {
+        @Index(name = "idx_booking_outbox_pending", columnList = "publishedAt, id"),
+        @Index(name = "idx_booking_outbox_aggregated", columnList = "aggregatedAt, id")
+})
+public class BookingOutboxEvent {
+
+    @Id
+    private UUID id;
+
+    @Column(nullable = false)
+    private UUID stadiumId;
+
+    @Column(nullable = false)
+    private UUID bookingId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 50)
+    private BookingEventType type;
+
+    @Column(nullable = false, length = 2000)
+    private String payload;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime publishedAt;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private int attempts = 0;
+
+    // Set when the relay gave up on the event; it stays for inspection and no longer holds its stadium's later events
+    private LocalDateTime deadLetteredAt;
+
+    // Set when the heatmap folded the event in, independently of the relay
+    private LocalDateTime aggregatedAt;
+}
@@ -0,0 +1,207 @@
+package com.hamza.stadiumbooking.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Drains the booking outbox in batches, oldest first, to the sinks listed in {@code booking.outbox.sinks}. Events of
+ * one stadium are delivered strictly in append order: when delivery fails, later events of that stadium wait for the
+ * next run while other stadiums carry on.
+ * <p>
+ * Only events older than {@code settle-ms} are read, so a transaction that appended earlier but commits a little
+ * later is not overtaken by a newer event of the same stadium.
+ * <p>
+ * Relays on several nodes take turns rather than splitting the work: batches are read oldest first with NOWAIT
+ * locks, so a node that reaches rows another node holds backs off until its next run. An event that fails
+ * {@code max-attempts} runs while other events get through (or whose payload can't be read) is dead-lettered, so one
+ * poison event can't hold its stadium forever; a sink outage fails every event and dead-letters none.
+ */
+@Slf4j
+@Component
+public class BookingOutboxRelay {
+
+    // Never matches a stadium; keeps the NOT IN list non-empty
+    private static final UUID NO_STADIUM = new UUID(0, 0);
+
+    private final BookingOutboxRepository outboxRepository;
+    private final List<BookingEventSink> sinks;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry registry;
+    private final int batchSize;
+    private final long settleMillis;
+    private final int maxAttempts;
+    private final int retentionDays;
+    private final Timer lag;
+    private final Counter deadLettered;
+
+    public BookingOutboxRelay(BookingOutboxRepository outboxRepository,
+                              List<BookingEventSink> availableSinks,
+                              ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry registry,
+                              @Value("${booking.outbox.sinks:log}") List<String> enabledSinks,
+                              @Value("${booking.outbox.relay.batch-size:200}") int batchSize,
+                              @Value("${booking.outbox.relay.settle-ms:1000}") long settleMillis,
+                              @Value("${booking.outbox.relay.max-attempts:10}") int maxAttempts,
+                              @Value("${booking.outbox.retention-days:7}") int retentionDays) {
+        this.outboxRepository = outboxRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.registry = registry;
+        this.batchSize = batchSize;
+        this.settleMillis = settleMillis;
+        this.maxAttempts = maxAttempts;
+        this.retentionDays = retentionDays;
+
+        Map<String, BookingEventSink> byName = availableSinks.stream()
+                .collect(Collectors.toMap(BookingEventSink::name, Function.identity()));
+        this.sinks = new ArrayList<>();
+        for (String name : enabledSinks) {
+            if (name.isBlank()) continue;
+            BookingEventSink sink = byName.get(name.trim());
+            if (sink == null) throw new IllegalArgumentException("Unknown booking.outbox.sinks entry '" + name + "', available: " + byName.keySet());
+            sinks.add(sink);
+        }
+
+        this.lag = Timer.builder("booking.outbox.lag")
+                .description("Time from appending a booking event to delivering it to every sink")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+        this.deadLettered = Counter.builder("booking.outbox.dead_lettered")
+                .description("Booking events the relay gave up on")
+                .register(registry);
+        log.info("Booking outbox relay | Sinks: {} | Batch: {}", sinks.stream().map(BookingEventSink::name).toList(), batchSize);
+    }
+
+    /**
+     * Drains every settled event. Stadiums whose delivery failed are skipped for the rest of the run, so their
+     * stuck events can't fill every batch and starve the others.
+     */
+    @Scheduled(fixedDelayString = "${booking.outbox.relay.interval-ms:1000}")
+    public void relayPending() {
+        Set<UUID> failedStadiums = new HashSet<>(Set.of(NO_STADIUM));
+        Batch batch;
+        boolean delivered = false;
+        try {
+            do {
+                batch = relayBatch(failedStadiums);
+                delivered |= batch.published() > 0;
+            } while (batch.read() == batchSize);
+            // Only when the sinks took other events, so an outage doesn't dead-letter everything it held
+            if (delivered && failedStadiums.size() > 1) deadLetterExhausted();
+        } catch (PessimisticLockingFailureException e) {
+            log.debug("Booking outbox relay: another node holds the pending events, backing off -> {}", e.getMessage());
+        } catch (Exception e) {
+            log.error("❌ Error during booking outbox relay: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "${booking.outbox.purge-cron:0 0 4 * * *}")
+    public void purgePublished() {
+        Integer purged = transactionTemplate.execute(status ->
+                outboxRepository.deletePublishedBefore(LocalDateTime.now().minusDays(retentionDays)));
+        log.info("Booking outbox purge: {} published events removed", purged);
+    }
+
+    /**
+     * Delivers one batch in its own transaction; the rows stay locked until they are marked published. Stadiums
+     * that fail are added to {@code failedStadiums}, and their later events in the batch are left pending.
+     *
+     * @return events read and published
+     */
+    private Batch relayBatch(Set<UUID> failedStadiums) {
+        Batch result = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<BookingOutboxEvent> batch = outboxRepository.findPendingForUpdate(
+                    now.minusNanos(settleMillis * 1_000_000), failedStadiums, Limit.of(batchSize));
+
+            List<UUID> published = new ArrayList<>(batch.size());
+            for (BookingOutboxEvent event : batch) {
+                if (failedStadiums.contains(event.getStadiumId())) continue;
+
+                BookingEvent payload = read(event);
+                if (payload == null) {
+                    // No retry will make it readable: out of the way of the stadium's later events right away
+                    outboxRepository.markDeadLettered(event.getId(), now);
+                    deadLettered.increment();
+                } else if (deliver(event, payload)) {
+                    published.add(event.getId());
+                    lag.record(Duration.between(event.getCreatedAt(), now));
+                } else {
+                    failedStadiums.add(event.getStadiumId());
+                    outboxRepository.incrementAttempts(event.getId());
+                }
+            }
+            if (!published.isEmpty()) outboxRepository.markPublished(published, now);
+            return new Batch(batch.size(), published.size());
+        });
+        return result == null ? new Batch(0, 0) : result;
+    }
+
+    private void deadLetterExhausted() {
+        Integer exhausted = transactionTemplate.execute(status ->
+                outboxRepository.markExhaustedDeadLettered(maxAttempts, LocalDateTime.now()));
+        if (exhausted != null && exhausted > 0) {
+            deadLettered.increment(exhausted);
+            log.error("❌ {} booking outbox events dead-lettered after {} failed attempts, releasing later events of their stadiums",
+                    exhausted, maxAttempts);
+        }
+    }
+
+    private BookingEvent read(BookingOutboxEvent row) {
+        try {
+            return objectMapper.readValue(row.getPayload(), BookingEvent.class);
+        } catch (Exception e) {
+            log.error("❌ Unreadable booking outbox event {}, dead-lettering it: {}", row.getId(), e.getMessage());
+            return null;
+        }
+    }
+
+    private boolean deliver(BookingOutboxEvent row, BookingEvent event) {
+
+        for (BookingEventSink sink : sinks) {
+            try {
+                sink.publish(event);
+                counter("booking.outbox.relayed", sink).increment();
+            } catch (Exception e) {
+                counter("booking.outbox.failures", sink).increment();
+                log.atWarn().addKeyValue("action", "relayOutbox")
+                        .addKeyValue("eventId", row.getId())
+                        .addKeyValue("stadiumId", row.getStadiumId())
+                        .addKeyValue("sink", sink.name())
+                        .addKeyValue("attempts", row.getAttempts() + 1)
+                        .log("Booking event delivery failed, holding later events of this stadium");
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Counter counter(String name, BookingEventSink sink) {
+        return Counter.builder(name).tag("sink", sink.name()).register(registry);
+    }
+
+    private record Batch(int read, int published) {}
+}
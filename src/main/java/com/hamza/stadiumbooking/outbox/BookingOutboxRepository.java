@@ -0,0 +1,68 @@
+package com.hamza.stadiumbooking.outbox;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface BookingOutboxRepository extends JpaRepository<BookingOutboxEvent, UUID> {
+
+    // NOWAIT (lock timeout 0): a relay node whose batch would overlap the one another node holds fails fast instead of
+    // skipping past it, since delivering the rows behind a locked one could overtake a stadium's earlier events
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "0"))
+    @Query("""
+        SELECT e FROM BookingOutboxEvent e
+        WHERE e.publishedAt IS NULL AND e.deadLetteredAt IS NULL AND e.createdAt < :settledBefore
+        AND e.stadiumId NOT IN :skippedStadiums
+        ORDER BY e.id
+    """)
+    List<BookingOutboxEvent> findPendingForUpdate(
+            @Param("settledBefore") LocalDateTime settledBefore,
+            @Param("skippedStadiums") Collection<UUID> skippedStadiums,
+            Limit limit
+    );
+
+    // Published or not, and whatever their age: a row is only visible here once it committed, however late that was
+    @Query("SELECT e FROM BookingOutboxEvent e WHERE e.aggregatedAt IS NULL ORDER BY e.id")
+    List<BookingOutboxEvent> findNotAggregated(Limit limit);
+
+    @Modifying
+    @Query("UPDATE BookingOutboxEvent e SET e.aggregatedAt = :aggregatedAt WHERE e.id IN :ids")
+    int markAggregated(@Param("ids") List<UUID> ids, @Param("aggregatedAt") LocalDateTime aggregatedAt);
+
+    @Modifying
+    @Query("UPDATE BookingOutboxEvent e SET e.publishedAt = :publishedAt WHERE e.id IN :ids")
+    int markPublished(@Param("ids") List<UUID> ids, @Param("publishedAt") LocalDateTime publishedAt);
+
+    @Modifying
+    @Query("UPDATE BookingOutboxEvent e SET e.attempts = e.attempts + 1 WHERE e.id = :id")
+    void incrementAttempts(@Param("id") UUID id);
+
+    @Modifying
+    @Query("UPDATE BookingOutboxEvent e SET e.deadLetteredAt = :now WHERE e.id = :id")
+    void markDeadLettered(@Param("id") UUID id, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("""
+        UPDATE BookingOutboxEvent e SET e.deadLetteredAt = :now
+        WHERE e.publishedAt IS NULL AND e.deadLetteredAt IS NULL AND e.attempts >= :maxAttempts
+    """)
+    int markExhaustedDeadLettered(@Param("maxAttempts") int maxAttempts, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM BookingOutboxEvent e WHERE e.publishedAt < :before")
+    int deletePublishedBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,25 @@
+package com.hamza.stadiumbooking.outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes each event as a Spring application event, for {@code @EventListener(BookingEvent.class)} beans.
+ */
+@Component
+@RequiredArgsConstructor
+class InProcessBookingEventSink implements BookingEventSink {
+
+    private final ApplicationEventPublisher publisher;
+
+    @Override
+    public String name() {
+        return "in-process";
+    }
+
+    @Override
+    public void publish(BookingEvent event) {
+        publisher.publishEvent(event);
+    }
+}
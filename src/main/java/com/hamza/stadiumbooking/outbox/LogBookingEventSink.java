@@ -0,0 +1,30 @@
+package com.hamza.stadiumbooking.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes one JSON line per event to the {@code booking.events} logger; route that logger to its own file appender
+ * to get an event log.
+ */
+@Component
+@RequiredArgsConstructor
+class LogBookingEventSink implements BookingEventSink {
+
+    private static final Logger EVENTS = LoggerFactory.getLogger("booking.events");
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public String name() {
+        return "log";
+    }
+
+    @Override
+    public void publish(BookingEvent event) throws Exception {
+        EVENTS.info(objectMapper.writeValueAsString(event));
+    }
+}
@@ -0,0 +1,35 @@
+package com.hamza.stadiumbooking.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes each event to a Redis pub/sub channel ({@code PUBLISH}), fire-and-forget to whichever nodes are
+ * subscribed right now. Use {@code redis-stream} for consumers that must not miss events.
+ */
+@Component
+class RedisPubSubBookingEventSink implements BookingEventSink {
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final String channel;
+
+    RedisPubSubBookingEventSink(StringRedisTemplate redisTemplate, ObjectMapper objectMapper,
+                                @Value("${booking.outbox.redis.channel:booking-events}") String channel) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.channel = channel;
+    }
+
+    @Override
+    public String name() {
+        return "redis-pubsub";
+    }
+
+    @Override
+    public void publish(BookingEvent event) throws Exception {
+        redisTemplate.convertAndSend(channel, objectMapper.writeValueAsString(event));
+    }
+}
@@ -0,0 +1,44 @@
+package com.hamza.stadiumbooking.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Appends each event to a Redis stream ({@code XADD}), trimmed to roughly {@code max-length} entries.
+ */
+@Component
+class RedisStreamBookingEventSink implements BookingEventSink {
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final String stream;
+    private final long maxLength;
+
+    RedisStreamBookingEventSink(StringRedisTemplate redisTemplate, ObjectMapper objectMapper,
+                                @Value("${booking.outbox.redis.stream:booking-events}") String stream,
+                                @Value("${booking.outbox.redis.max-length:100000}") long maxLength) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.stream = stream;
+        this.maxLength = maxLength;
+    }
+
+    @Override
+    public String name() {
+        return "redis-stream";
+    }
+
+    @Override
+    public void publish(BookingEvent event) throws Exception {
+        redisTemplate.opsForStream().add(StreamRecords.string(Map.of(
+                "type", event.type().name(),
+                "stadiumId", event.stadiumId().toString(),
+                "payload", objectMapper.writeValueAsString(event))).withStreamKey(stream));
+        redisTemplate.opsForStream().trim(stream, maxLength, true);
+    }
+}
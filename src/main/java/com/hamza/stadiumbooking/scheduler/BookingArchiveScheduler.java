@@ -0,0 +1,24 @@
+package com.hamza.stadiumbooking.scheduler;
+
+import com.hamza.stadiumbooking.booking.BookingArchiveService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class BookingArchiveScheduler {
+    private final BookingArchiveService bookingArchiveService;
+
+    // Off-peak by default; set booking.archive.cron=- to disable on a node
+    @Scheduled(cron = "${booking.archive.cron:0 30 3 * * *}")
+    public void archiveCompletedBookings() {
+        try {
+            bookingArchiveService.archiveCompletedBookings();
+        } catch (Exception e) {
+            log.error("❌ Error during booking archive task: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.hamza.stadiumbooking.scheduler;
+
+import com.hamza.stadiumbooking.booking.BookingLotteryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class BookingLotteryScheduler {
+    private final BookingLotteryService bookingLotteryService;
+
+    @Scheduled(fixedDelayString = "${booking.lottery.draw-interval-ms:15000}")
+    public void drawDueLotteries() {
+        try {
+            int drawn = bookingLotteryService.drawDueLotteries();
+            if (drawn > 0) log.info("🎲 Lottery Job: {} booking lotteries drawn", drawn);
+        } catch (Exception e) {
+            log.error("❌ Error during booking lottery draw task: {}", e.getMessage());
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.hamza.stadiumbooking.scheduler;
 
 import com.hamza.stadiumbooking.booking.BookingRepository;
+import com.hamza.stadiumbooking.outbox.BookingEventType;
+import com.hamza.stadiumbooking.outbox.BookingOutbox;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -16,6 +18,7 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class BookingStatusScheduler {
     private final BookingRepository bookingRepository;
+    private final BookingOutbox bookingOutbox;
 
     @Scheduled(fixedDelay = 3600000)
     @Transactional
@@ -28,7 +31,9 @@ public class BookingStatusScheduler {
 
                 log.debug("Detailed IDs for completed bookings: {}", expiredIds);
 
-                bookingRepository.updateStatusToCompleted(expiredIds);
+                bookingRepository.updateStatusToCompleted(expiredIds, now);
+                bookingRepository.findAllById(expiredIds)
+                        .forEach(booking -> bookingOutbox.append(booking, BookingEventType.BOOKING_COMPLETED));
             }
         } catch (Exception e) {
             log.error("❌ Error during booking status update task: {}", e.getMessage());
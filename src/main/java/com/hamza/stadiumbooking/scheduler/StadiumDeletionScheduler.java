@@ -0,0 +1,24 @@
+package com.hamza.stadiumbooking.scheduler;
+
+import com.hamza.stadiumbooking.booking.StadiumDeletionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class StadiumDeletionScheduler {
+    private final StadiumDeletionService stadiumDeletionService;
+
+    @Scheduled(fixedDelayString = "${booking.stadium-deletion.interval-ms:60000}")
+    public void cancelBookingsOfDeletedStadiums() {
+        try {
+            int cancelled = stadiumDeletionService.cancelBookingsOfDeletedStadiums();
+            if (cancelled > 0) log.info("🗑️ Deletion Job: {} bookings of deleted stadiums cancelled", cancelled);
+        } catch (Exception e) {
+            log.error("❌ Error during deleted stadium cancellation task: {}", e.getMessage());
+        }
+    }
+}
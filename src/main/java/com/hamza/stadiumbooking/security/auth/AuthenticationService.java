@@ -6,6 +6,7 @@ import com.hamza.stadiumbooking.security.jwt.JwtProvider;
 import com.hamza.stadiumbooking.security.service.CustomUserDetails;
 import com.hamza.stadiumbooking.user.User;
 import com.hamza.stadiumbooking.user.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -16,6 +17,7 @@ import java.util.List;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "auth.service", percentiles = {0.5, 0.95, 0.99})
 public class AuthenticationService {
 
     private final AuthenticationManager authenticationManager;
@@ -0,0 +1,128 @@
+package com.hamza.stadiumbooking.security.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.jspecify.annotations.NonNull;
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Counts hits, misses, puts and evictions for one named cache and times loads. Only {@link #get(Object, Callable)}
+ * ({@code @Cacheable(sync = true)}) is timed: the loader runs inside the call, so nothing is left behind when it
+ * throws. A plain get → method → put is counted but not timed.
+ */
+class MeteredCache implements Cache {
+
+    private final Cache delegate;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter puts;
+    private final Counter evictions;
+    private final Timer loads;
+
+    MeteredCache(Cache delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        String name = delegate.getName();
+        this.hits = Counter.builder("cache.gets").tag("cache", name).tag("result", "hit").register(registry);
+        this.misses = Counter.builder("cache.gets").tag("cache", name).tag("result", "miss").register(registry);
+        this.puts = Counter.builder("cache.puts").tag("cache", name).register(registry);
+        this.evictions = Counter.builder("cache.evictions").tag("cache", name).register(registry);
+        this.loads = Timer.builder("cache.load")
+                .description("Time spent in the value loader on a cache miss")
+                .tag("cache", name)
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+    }
+
+    @Override
+    public @NonNull String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public @NonNull Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(@NonNull Object key) {
+        return record(delegate.get(key));
+    }
+
+    @Override
+    public <T> T get(@NonNull Object key, Class<T> type) {
+        return record(delegate.get(key, type));
+    }
+
+    @Override
+    public <T> T get(@NonNull Object key, @NonNull Callable<T> valueLoader) {
+        boolean[] loaded = {false};
+        T value = delegate.get(key, () -> {
+            loaded[0] = true;
+            long start = System.nanoTime();
+            try {
+                return valueLoader.call();
+            } finally {
+                loads.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        });
+        (loaded[0] ? misses : hits).increment();
+        return value;
+    }
+
+    @Override
+    public void put(@NonNull Object key, Object value) {
+        puts.increment();
+        delegate.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(@NonNull Object key, Object value) {
+        puts.increment();
+        return delegate.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(@NonNull Object key) {
+        evictions.increment();
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(@NonNull Object key) {
+        evictions.increment();
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        evictions.increment();
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        evictions.increment();
+        return delegate.invalidate();
+    }
+
+    @Override
+    public CompletableFuture<?> retrieve(@NonNull Object key) {
+        return delegate.retrieve(key);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> retrieve(@NonNull Object key, @NonNull Supplier<CompletableFuture<T>> valueLoader) {
+        return delegate.retrieve(key, valueLoader);
+    }
+
+    private <T> T record(T value) {
+        (value != null ? hits : misses).increment();
+        return value;
+    }
+}
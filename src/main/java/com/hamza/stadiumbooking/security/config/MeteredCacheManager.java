@@ -0,0 +1,40 @@
+package com.hamza.stadiumbooking.security.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.jspecify.annotations.NonNull;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Wraps every cache of the delegate in a {@link MeteredCache}, including caches the delegate creates on demand.
+ */
+class MeteredCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    private final MeterRegistry registry;
+    private final ConcurrentMap<String, Cache> caches = new ConcurrentHashMap<>();
+
+    MeteredCacheManager(CacheManager delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.registry = registry;
+    }
+
+    @Override
+    public Cache getCache(@NonNull String name) {
+        Cache cache = caches.get(name);
+        if (cache != null) return cache;
+
+        Cache target = delegate.getCache(name);
+        if (target == null) return null;
+        return caches.computeIfAbsent(name, n -> new MeteredCache(target, registry));
+    }
+
+    @Override
+    public @NonNull Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+}
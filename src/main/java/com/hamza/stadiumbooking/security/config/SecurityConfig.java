@@ -4,6 +4,8 @@ import com.hamza.stadiumbooking.security.handler.DelegatedAccessDeniedHandler;
 import com.hamza.stadiumbooking.security.handler.DelegatedAuthenticationEntryPoint;
 import com.hamza.stadiumbooking.security.jwt.JwtAuthorizationFilter;
 import com.hamza.stadiumbooking.security.jwt.JwtProvider;
+import com.hamza.stadiumbooking.security.ratelimit.RateLimitFilter;
+import com.hamza.stadiumbooking.security.ratelimit.RateLimitService;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -36,15 +38,18 @@ public class SecurityConfig {
     private final HandlerExceptionResolver exceptionResolver;
     private final DelegatedAuthenticationEntryPoint authEntryPoint;
     private final DelegatedAccessDeniedHandler accessDeniedHandler;
+    private final RateLimitService rateLimitService;
 
     public SecurityConfig(JwtProvider utils,
                           @Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver
-            , DelegatedAuthenticationEntryPoint authEntryPoint, DelegatedAccessDeniedHandler accessDeniedHandler) {
+            , DelegatedAuthenticationEntryPoint authEntryPoint, DelegatedAccessDeniedHandler accessDeniedHandler,
+                          RateLimitService rateLimitService) {
 
         this.utils = utils;
         this.exceptionResolver = exceptionResolver;
         this.authEntryPoint = authEntryPoint;
         this.accessDeniedHandler = accessDeniedHandler;
+        this.rateLimitService = rateLimitService;
     }
 
     @Bean
@@ -86,9 +91,13 @@ public class SecurityConfig {
                 ).permitAll()
                 .requestMatchers("/api/v1/auth/login/**", "/api/v1/auth/refresh-token/**").permitAll()
                 .requestMatchers("/", "/actuator/health").permitAll()
+                .requestMatchers("/actuator/**").hasAuthority("ROLE_ADMIN")
                 .requestMatchers(HttpMethod.POST, "/api/v1/users").permitAll()
+                .requestMatchers(HttpMethod.GET, "/api/v1/stadiums/*/heatmap").hasAnyAuthority("ROLE_ADMIN", "ROLE_MANAGER")
                 .requestMatchers(HttpMethod.GET, "/api/v1/stadiums/**").permitAll()
+                .requestMatchers(HttpMethod.POST, "/api/v1/quotes").permitAll()
 
+                .requestMatchers(HttpMethod.POST, "/api/v1/stadiums/*/waiting-room/join").hasAnyAuthority("ROLE_ADMIN", "ROLE_PLAYER")
                 .requestMatchers(HttpMethod.POST, "/api/v1/stadiums/**").hasAnyAuthority("ROLE_ADMIN", "ROLE_MANAGER")
                 .requestMatchers(HttpMethod.PUT,  "/api/v1/stadiums/**").hasAnyAuthority("ROLE_ADMIN", "ROLE_MANAGER")
                 .requestMatchers(HttpMethod.DELETE,"/api/v1/stadiums/**").hasAnyAuthority("ROLE_ADMIN", "ROLE_MANAGER")
@@ -97,16 +106,20 @@ public class SecurityConfig {
 
                 .requestMatchers(HttpMethod.GET, "/api/v1/bookings/{id}").hasAnyAuthority("ROLE_ADMIN", "ROLE_MANAGER", "ROLE_PLAYER")
                 .requestMatchers(HttpMethod.GET, "/api/v1/bookings/my-bookings").hasAnyAuthority("ROLE_ADMIN", "ROLE_PLAYER")
+                .requestMatchers(HttpMethod.GET, "/api/v1/bookings/lotteries/*/my-entry").hasAnyAuthority("ROLE_ADMIN", "ROLE_PLAYER")
                 .requestMatchers(HttpMethod.GET, "/api/v1/bookings/**").hasAnyAuthority("ROLE_ADMIN", "ROLE_MANAGER")
 
                 .requestMatchers(HttpMethod.PUT, "/api/v1/bookings/**").hasAnyAuthority("ROLE_ADMIN", "ROLE_PLAYER")
                 .requestMatchers(HttpMethod.DELETE, "/api/v1/bookings/**").hasAnyAuthority("ROLE_ADMIN", "ROLE_PLAYER")
 
+                .requestMatchers(HttpMethod.GET, "/api/v1/reports/**").hasAnyAuthority("ROLE_ADMIN", "ROLE_MANAGER")
+
 
                 .anyRequest().authenticated()
         );
 
         http.addFilterBefore(new JwtAuthorizationFilter(utils, exceptionResolver), UsernamePasswordAuthenticationFilter.class);
+        http.addFilterAfter(new RateLimitFilter(rateLimitService, exceptionResolver), JwtAuthorizationFilter.class);
         return http.build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.hamza.stadiumbooking.security.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+public enum EndpointClass {
+    BOOKING_WRITE,
+    STADIUM_READ,
+    AUTH,
+    DEFAULT;
+
+    public static EndpointClass of(HttpServletRequest request) {
+        String path = request.getServletPath();
+        String method = request.getMethod();
+
+        if (path.startsWith("/api/v1/bookings") && !"GET".equals(method)) return BOOKING_WRITE;
+        if (path.startsWith("/api/v1/stadiums") && "GET".equals(method)) return STADIUM_READ;
+        if (path.equals("/api/v1/quotes")) return STADIUM_READ;
+        if (path.startsWith("/api/v1/auth") || (path.equals("/api/v1/users") && "POST".equals(method))) return AUTH;
+        return DEFAULT;
+    }
+}
@@ -0,0 +1,12 @@
+package com.hamza.stadiumbooking.security.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+
+public record RateLimit(
+        int capacity,
+        int refillPerMinute
+) {
+    public long refillIntervalNanos() {
+        return TimeUnit.MINUTES.toNanos(1) / refillPerMinute;
+    }
+}
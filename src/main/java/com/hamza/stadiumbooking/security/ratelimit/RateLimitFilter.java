@@ -0,0 +1,50 @@
+package com.hamza.stadiumbooking.security.ratelimit;
+
+import com.hamza.stadiumbooking.exception.TooManyRequestsException;
+import com.hamza.stadiumbooking.security.service.CustomUserDetails;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.jspecify.annotations.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.io.IOException;
+
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimitService rateLimitService;
+    private final HandlerExceptionResolver exceptionResolver;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !rateLimitService.isEnabled() || !request.getServletPath().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain) throws ServletException, IOException {
+        EndpointClass endpointClass = EndpointClass.of(request);
+        long retryAfterSeconds = rateLimitService.tryAcquire(endpointClass, clientKey(request));
+
+        if (retryAfterSeconds > 0) {
+            exceptionResolver.resolveException(request, response, null,
+                    new TooManyRequestsException("Too many requests. Please retry later.", retryAfterSeconds));
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof CustomUserDetails userDetails) {
+            return "user:" + userDetails.getId();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
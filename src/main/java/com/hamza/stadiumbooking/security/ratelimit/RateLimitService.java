@@ -0,0 +1,119 @@
+package com.hamza.stadiumbooking.security.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+@Service
+public class RateLimitService {
+
+    // Same GCRA arithmetic as TokenBucket, evaluated atomically on the Redis server clock (milliseconds)
+    private static final DefaultRedisScript<Long> REDIS_BUCKET_SCRIPT = new DefaultRedisScript<>("""
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local interval = tonumber(ARGV[1])
+            local tolerance = tonumber(ARGV[2])
+            local arrival = tonumber(redis.call('GET', KEYS[1]) or now)
+            if arrival < now then arrival = now end
+            if arrival - now > tolerance then return arrival - now - tolerance end
+            redis.call('SET', KEYS[1], arrival + interval, 'PX', arrival + interval - now)
+            return 0
+            """, Long.class);
+
+    private final boolean enabled;
+    private final boolean redisMode;
+    private final Map<EndpointClass, RateLimit> limits = new EnumMap<>(EndpointClass.class);
+    private final StripedBucketMap localBuckets;
+    private final StringRedisTemplate redisTemplate;
+    private final Map<EndpointClass, Counter> rejections = new EnumMap<>(EndpointClass.class);
+    private final Counter redisFallbacks;
+    // Set from the first failed Redis call until one succeeds, so an outage is logged once rather than per request
+    private final AtomicBoolean redisDown = new AtomicBoolean();
+
+    public RateLimitService(@Value("${rate-limit.enabled:true}") boolean enabled,
+                            @Value("${rate-limit.mode:local}") String mode,
+                            @Value("${rate-limit.stripes:16}") int stripes,
+                            @Value("${rate-limit.max-keys:100000}") int maxKeys,
+                            @Value("${rate-limit.booking-write.capacity:10}") int bookingWriteCapacity,
+                            @Value("${rate-limit.booking-write.per-minute:10}") int bookingWritePerMinute,
+                            @Value("${rate-limit.stadium-read.capacity:60}") int stadiumReadCapacity,
+                            @Value("${rate-limit.stadium-read.per-minute:120}") int stadiumReadPerMinute,
+                            @Value("${rate-limit.auth.capacity:10}") int authCapacity,
+                            @Value("${rate-limit.auth.per-minute:20}") int authPerMinute,
+                            @Value("${rate-limit.default.capacity:100}") int defaultCapacity,
+                            @Value("${rate-limit.default.per-minute:300}") int defaultPerMinute,
+                            StringRedisTemplate redisTemplate,
+                            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.redisMode = "redis".equalsIgnoreCase(mode);
+        this.localBuckets = new StripedBucketMap(stripes, maxKeys);
+        this.redisTemplate = redisTemplate;
+
+        limits.put(EndpointClass.BOOKING_WRITE, new RateLimit(bookingWriteCapacity, bookingWritePerMinute));
+        limits.put(EndpointClass.STADIUM_READ, new RateLimit(stadiumReadCapacity, stadiumReadPerMinute));
+        limits.put(EndpointClass.AUTH, new RateLimit(authCapacity, authPerMinute));
+        limits.put(EndpointClass.DEFAULT, new RateLimit(defaultCapacity, defaultPerMinute));
+
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            rejections.put(endpointClass, Counter.builder("rate.limit.rejections")
+                    .description("Requests rejected with 429 by the token-bucket rate limiter")
+                    .tag("endpoint", endpointClass.name())
+                    .register(meterRegistry));
+        }
+        this.redisFallbacks = Counter.builder("rate.limit.redis.fallbacks")
+                .description("Requests rate-limited by a local bucket because Redis could not be reached")
+                .register(meterRegistry);
+
+        log.info("Rate limiting {} | Mode: {} | Limits: {}", enabled ? "enabled" : "disabled", redisMode ? "redis" : "local", limits);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return 0 when the request may proceed, otherwise the number of seconds the client should wait
+     */
+    public long tryAcquire(EndpointClass endpointClass, String clientKey) {
+        RateLimit limit = limits.get(endpointClass);
+        String key = endpointClass.name() + ":" + clientKey;
+
+        long waitNanos = redisMode ? tryAcquireShared(key, limit) : tryAcquireLocal(key, limit);
+        if (waitNanos == 0) return 0;
+
+        rejections.get(endpointClass).increment();
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    private long tryAcquireLocal(String key, RateLimit limit) {
+        long now = System.nanoTime();
+        return localBuckets.bucketFor(key, limit, now).tryConsume(now);
+    }
+
+    private long tryAcquireShared(String key, RateLimit limit) {
+        long intervalMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(limit.refillIntervalNanos()));
+        try {
+            Long waitMillis = redisTemplate.execute(REDIS_BUCKET_SCRIPT, List.of("rate-limit:" + key),
+                    String.valueOf(intervalMillis), String.valueOf((limit.capacity() - 1) * intervalMillis));
+            if (redisDown.compareAndSet(true, false)) log.info("Rate limit Redis is reachable again, back to shared buckets");
+            return waitMillis == null ? 0 : TimeUnit.MILLISECONDS.toNanos(waitMillis);
+        } catch (Exception e) {
+            if (redisDown.compareAndSet(false, true)) {
+                log.warn("Rate limit Redis error, falling back to local buckets until it answers again -> {}", e.getMessage());
+            }
+            redisFallbacks.increment();
+            return tryAcquireLocal(key, limit);
+        }
+    }
+}
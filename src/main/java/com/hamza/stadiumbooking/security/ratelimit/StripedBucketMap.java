@@ -0,0 +1,61 @@
+package com.hamza.stadiumbooking.security.ratelimit;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded key -> bucket map split into independent stripes, so a flood of distinct client keys
+ * (e.g. spoofed IPs) can neither grow memory without limit nor make every request contend on one table.
+ */
+public class StripedBucketMap {
+
+    private final ConcurrentHashMap<String, TokenBucket>[] stripes;
+    private final int maxPerStripe;
+    private final int mask;
+
+    @SuppressWarnings("unchecked")
+    public StripedBucketMap(int stripeCount, int maxKeys) {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1) << 1);
+        this.stripes = new ConcurrentHashMap[size];
+        this.maxPerStripe = Math.max(1, maxKeys / size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+    }
+
+    public TokenBucket bucketFor(String key, RateLimit limit, long nowNanos) {
+        ConcurrentHashMap<String, TokenBucket> stripe = stripes[spread(key.hashCode()) & mask];
+
+        TokenBucket bucket = stripe.get(key);
+        if (bucket != null) return bucket;
+
+        if (stripe.size() >= maxPerStripe) evict(stripe, nowNanos);
+
+        return stripe.computeIfAbsent(key, k -> new TokenBucket(limit.capacity(), limit.refillIntervalNanos(), nowNanos));
+    }
+
+    public int size() {
+        int total = 0;
+        for (ConcurrentHashMap<String, TokenBucket> stripe : stripes) total += stripe.size();
+        return total;
+    }
+
+    private void evict(ConcurrentHashMap<String, TokenBucket> stripe, long nowNanos) {
+        stripe.values().removeIf(bucket -> bucket.isFull(nowNanos));
+        if (stripe.size() < maxPerStripe) return;
+        // Every client in this stripe is mid-burst: drop the tenth closest to refilled rather than grow past the
+        // bound, so a key flood can't reset the buckets of the clients furthest over their limit
+        stripe.entrySet().stream()
+                .sorted(Comparator.comparingLong(entry -> entry.getValue().theoreticalArrival()))
+                .limit(stripe.size() - maxPerStripe + Math.max(1, maxPerStripe / 10))
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(stripe::remove);
+    }
+
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+}
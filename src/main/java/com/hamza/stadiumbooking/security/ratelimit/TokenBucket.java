@@ -0,0 +1,53 @@
+package com.hamza.stadiumbooking.security.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket stored as a single "theoretical arrival time" (GCRA form).
+ * A bucket with {@code capacity} tokens refilled every {@code refillIntervalNanos} accepts a request
+ * while the arrival time is at most {@code (capacity - 1) * interval} ahead of now.
+ */
+public class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrival;
+
+    public TokenBucket(int capacity, long refillIntervalNanos, long nowNanos) {
+        if (capacity < 1 || refillIntervalNanos < 1) {
+            throw new IllegalArgumentException("Token bucket capacity and refill interval must be positive.");
+        }
+        this.intervalNanos = refillIntervalNanos;
+        this.burstToleranceNanos = (capacity - 1) * refillIntervalNanos;
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * @return 0 when a token was taken, otherwise the nanoseconds to wait before the next token is available
+     */
+    public long tryConsume(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long arrival = Math.max(current, nowNanos);
+            long ahead = arrival - nowNanos;
+
+            if (ahead > burstToleranceNanos) return ahead - burstToleranceNanos;
+
+            if (theoreticalArrival.compareAndSet(current, arrival + intervalNanos)) return 0;
+        }
+    }
+
+    /**
+     * A bucket that has fully refilled behaves exactly like a new one and can be evicted safely.
+     */
+    public boolean isFull(long nowNanos) {
+        return theoreticalArrival.get() <= nowNanos;
+    }
+
+    /**
+     * The lower, the closer the bucket is to refilled, and the less a client loses when it is evicted.
+     */
+    long theoreticalArrival() {
+        return theoreticalArrival.get();
+    }
+}
@@ -0,0 +1,15 @@
+package com.hamza.stadiumbooking.sql;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Called by Hibernate once per prepared statement (selects, inserts, updates, collection loads).
+ */
+public class CountingStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        SqlStatementCounter.record(sql);
+        return sql;
+    }
+}
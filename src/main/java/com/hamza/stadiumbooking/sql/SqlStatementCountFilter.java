@@ -0,0 +1,71 @@
+package com.hamza.stadiumbooking.sql;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.jspecify.annotations.NonNull;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Counts the SQL statements each request causes, reports them in the {@value #HEADER} response header and records
+ * them in the {@code http.server.requests.sql.statements} summary (tagged by method and URI template).
+ */
+public class SqlStatementCountFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-SQL-Statement-Count";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean headerEnabled;
+
+    public SqlStatementCountFilter(MeterRegistry meterRegistry, boolean headerEnabled) {
+        this.meterRegistry = meterRegistry;
+        this.headerEnabled = headerEnabled;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain) throws ServletException, IOException {
+        try (SqlStatementCounter.Scope scope = SqlStatementCounter.open()) {
+            HttpServletResponse countedResponse = headerEnabled ? new HeaderOnCommitResponse(response, scope) : response;
+            try {
+                filterChain.doFilter(request, countedResponse);
+            } finally {
+                if (headerEnabled && !response.isCommitted()) response.setIntHeader(HEADER, scope.count());
+                record(request, scope.count());
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, int statements) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder("http.server.requests.sql.statements")
+                .description("SQL statements executed per HTTP request")
+                .tag("method", request.getMethod())
+                .tag("uri", pattern == null ? "UNKNOWN" : pattern.toString())
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry)
+                .record(statements);
+    }
+
+    // The body may be flushed before the filter chain returns, so the header is set right before the commit
+    private static final class HeaderOnCommitResponse extends OnCommittedResponseWrapper {
+
+        private final SqlStatementCounter.Scope scope;
+
+        HeaderOnCommitResponse(HttpServletResponse response, SqlStatementCounter.Scope scope) {
+            super(response);
+            this.scope = scope;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            setIntHeader(HEADER, scope.count());
+        }
+    }
+}
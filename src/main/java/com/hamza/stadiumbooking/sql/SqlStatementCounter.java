@@ -0,0 +1,69 @@
+package com.hamza.stadiumbooking.sql;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Thread-bound count of SQL statements prepared by Hibernate. Scopes nest: a statement is counted in the innermost
+ * open scope and every scope enclosing it, so a test can wrap a MockMvc call that opens its own per-request scope.
+ */
+public final class SqlStatementCounter {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private SqlStatementCounter() {
+    }
+
+    public static Scope open() {
+        return push(new Scope(CURRENT.get(), null));
+    }
+
+    /**
+     * Like {@link #open()}, but the scope also keeps the SQL text of every statement (tests and diagnostics only).
+     */
+    public static Scope recording() {
+        return push(new Scope(CURRENT.get(), new ArrayList<>()));
+    }
+
+    static void record(String sql) {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.count++;
+            if (scope.statements != null) scope.statements.add(sql);
+        }
+    }
+
+    private static Scope push(Scope scope) {
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final Scope parent;
+        private final List<String> statements;
+        private int count;
+
+        private Scope(Scope parent, List<String> statements) {
+            this.parent = parent;
+            this.statements = statements;
+        }
+
+        public int count() {
+            return count;
+        }
+
+        /**
+         * SQL text of the statements prepared so far; empty unless the scope was opened with {@link #recording()}.
+         */
+        public List<String> statements() {
+            return statements == null ? List.of() : List.copyOf(statements);
+        }
+
+        @Override
+        public void close() {
+            if (CURRENT.get() != this) return;
+            if (parent == null) CURRENT.remove();
+            else CURRENT.set(parent);
+        }
+    }
+}
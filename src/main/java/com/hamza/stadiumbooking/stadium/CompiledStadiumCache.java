@@ -0,0 +1,57 @@
+package com.hamza.stadiumbooking.stadium;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/**
+ * Node-local cache of something compiled per stadium, such as its {@link OperatingCalendar} or {@link PriceTable}.
+ * <p>
+ * An entry is reused while it still matches the stadium row the caller passes (so edits to the row itself show at
+ * once) and it is younger than the TTL. Writes on this node evict it on commit; other nodes pick them up within the
+ * TTL.
+ */
+final class CompiledStadiumCache<T> {
+
+    private final long ttlNanos;
+    private final BiPredicate<T, Stadium> compiledFrom;
+
+    private final ConcurrentMap<UUID, Entry<T>> entries = new ConcurrentHashMap<>();
+
+    CompiledStadiumCache(long ttlSeconds, BiPredicate<T, Stadium> compiledFrom) {
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.compiledFrom = compiledFrom;
+    }
+
+    T get(Stadium stadium, Function<Stadium, T> compile) {
+        long now = System.nanoTime();
+        Entry<T> cached = entries.get(stadium.getId());
+        if (cached != null && now - cached.loadedAt() < ttlNanos && compiledFrom.test(cached.value(), stadium)) {
+            return cached.value();
+        }
+
+        T value = compile.apply(stadium);
+        entries.put(stadium.getId(), new Entry<>(value, now));
+        return value;
+    }
+
+    /**
+     * Drops the stadium's entry once the current transaction commits.
+     */
+    void evictOnCommit(UUID stadiumId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                entries.remove(stadiumId);
+            }
+        });
+    }
+
+    private record Entry<T>(T value, long loadedAt) {}
+}
@@ -0,0 +1,164 @@
+package com.hamza.stadiumbooking.stadium;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Operating hours of one stadium compiled into bitmasks: one bit per minute of the week (Monday 00:00 is bit 0),
+ * plus a one-day mask for every date an exception changes (the date itself and the day its overnight window spills
+ * into). An open-hours check is a {@link BitSet#nextClearBit} per calendar day the booking touches, with no
+ * branching on overnight windows. Immutable once compiled.
+ */
+public final class OperatingCalendar {
+
+    static final int DAY_MINUTES = 24 * 60;
+    static final int WEEK_MINUTES = 7 * DAY_MINUTES;
+
+    private final LocalTime defaultOpen;
+    private final LocalTime defaultClose;
+    private final BitSet week;
+    private final Map<LocalDate, BitSet> dates;
+    private final String summary;
+
+    private OperatingCalendar(LocalTime defaultOpen, LocalTime defaultClose, BitSet week, Map<LocalDate, BitSet> dates, String summary) {
+        this.defaultOpen = defaultOpen;
+        this.defaultClose = defaultClose;
+        this.week = week;
+        this.dates = dates;
+        this.summary = summary;
+    }
+
+    /**
+     * @param weekly     weekly windows; when empty, every day uses {@code defaultOpen}..{@code defaultClose}
+     * @param exceptions per-date replacements of the weekly windows
+     */
+    public static OperatingCalendar compile(LocalTime defaultOpen, LocalTime defaultClose,
+                                            List<StadiumWeeklyHours> weekly, List<StadiumHoursException> exceptions) {
+        Map<DayOfWeek, List<Window>> byDay = new EnumMap<>(DayOfWeek.class);
+        for (DayOfWeek day : DayOfWeek.values()) byDay.put(day, new ArrayList<>());
+        if (weekly.isEmpty()) {
+            for (DayOfWeek day : DayOfWeek.values()) byDay.get(day).add(Window.of(defaultOpen, defaultClose));
+        } else {
+            for (StadiumWeeklyHours hours : weekly) byDay.get(hours.getDayOfWeek()).add(Window.of(hours.getOpenTime(), hours.getCloseTime()));
+        }
+
+        BitSet week = new BitSet(WEEK_MINUTES);
+        byDay.forEach((day, windows) -> {
+            int dayStart = (day.getValue() - 1) * DAY_MINUTES;
+            for (Window window : windows) {
+                int from = dayStart + window.open();
+                int to = from + window.length();
+                week.set(from, Math.min(to, WEEK_MINUTES));
+                // Sunday night spills into Monday morning
+                if (to > WEEK_MINUTES) week.set(0, to - WEEK_MINUTES);
+            }
+        });
+
+        Map<LocalDate, List<Window>> byDate = new HashMap<>();
+        for (StadiumHoursException exception : exceptions) {
+            byDate.put(exception.getDate(), exception.isClosed()
+                    ? List.of()
+                    : List.of(Window.of(exception.getOpenTime(), exception.getCloseTime())));
+        }
+        Map<LocalDate, BitSet> dates = new HashMap<>();
+        for (LocalDate date : byDate.keySet()) {
+            dates.computeIfAbsent(date, d -> dayMask(d, byDay, byDate));
+            dates.computeIfAbsent(date.plusDays(1), d -> dayMask(d, byDay, byDate));
+        }
+
+        String summary = weekly.isEmpty()
+                ? defaultOpen + " to " + defaultClose
+                : weekly.stream()
+                    .sorted(Comparator.comparing(StadiumWeeklyHours::getDayOfWeek).thenComparing(StadiumWeeklyHours::getOpenTime))
+                    .map(h -> h.getDayOfWeek() + " " + h.getOpenTime() + "-" + h.getCloseTime())
+                    .collect(Collectors.joining(", "));
+        return new OperatingCalendar(defaultOpen, defaultClose, week, Map.copyOf(dates), summary);
+    }
+
+    /**
+     * Whether the stadium is open for the whole of {@code [start, end)}. Seconds are ignored.
+     */
+    public boolean isOpen(LocalDateTime start, LocalDateTime end) {
+        LocalDateTime cursor = start;
+        while (cursor.isBefore(end)) {
+            LocalDate date = cursor.toLocalDate();
+            LocalDateTime nextDay = date.plusDays(1).atStartOfDay();
+            int from = minuteOfDay(cursor);
+            int to = end.isBefore(nextDay) ? minuteOfDay(end) : DAY_MINUTES;
+            if (to > from && !isOpen(date, from, to)) return false;
+            cursor = nextDay;
+        }
+        return true;
+    }
+
+    /**
+     * Whether minutes {@code [from, to)} of {@code date} are all open; both bounds within {@code 0..1440}.
+     */
+    public boolean isOpen(LocalDate date, int from, int to) {
+        BitSet day = dates.get(date);
+        if (day != null) return day.nextClearBit(from) >= to;
+
+        int offset = (date.getDayOfWeek().getValue() - 1) * DAY_MINUTES;
+        return week.nextClearBit(offset + from) >= offset + to;
+    }
+
+    /**
+     * Open minutes of {@code date}, bit {@code n} being minute {@code n} of the day. A copy the caller may modify.
+     */
+    public BitSet openMinutes(LocalDate date) {
+        BitSet day = dates.get(date);
+        if (day != null) return (BitSet) day.clone();
+
+        int offset = (date.getDayOfWeek().getValue() - 1) * DAY_MINUTES;
+        return week.get(offset, offset + DAY_MINUTES);
+    }
+
+    /**
+     * Whether this calendar was compiled from the given default hours, i.e. is still valid for the stadium row.
+     */
+    boolean compiledFrom(LocalTime open, LocalTime close) {
+        return defaultOpen.equals(open) && defaultClose.equals(close);
+    }
+
+    /**
+     * Human-readable hours for error messages, e.g. {@code 16:00 to 23:00}.
+     */
+    public String summary() {
+        return summary;
+    }
+
+    private static BitSet dayMask(LocalDate date, Map<DayOfWeek, List<Window>> byDay, Map<LocalDate, List<Window>> byDate) {
+        BitSet day = new BitSet(DAY_MINUTES);
+        for (Window window : byDate.getOrDefault(date, byDay.get(date.getDayOfWeek()))) {
+            day.set(window.open(), Math.min(window.open() + window.length(), DAY_MINUTES));
+        }
+        LocalDate previous = date.minusDays(1);
+        for (Window window : byDate.getOrDefault(previous, byDay.get(previous.getDayOfWeek()))) {
+            int spill = window.open() + window.length() - DAY_MINUTES;
+            if (spill > 0) day.set(0, spill);
+        }
+        return day;
+    }
+
+    private static int minuteOfDay(LocalDateTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    private record Window(int open, int length) {
+        static Window of(LocalTime open, LocalTime close) {
+            int from = open.getHour() * 60 + open.getMinute();
+            int to = close.getHour() * 60 + close.getMinute();
+            return new Window(from, to > from ? to - from : to - from + DAY_MINUTES);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.hamza.stadiumbooking.stadium;
+
+import com.hamza.stadiumbooking.id.UuidV7Generator;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UuidGenerator;
+
+import java.util.UUID;
+
+/**
+ * One bookable pitch of a stadium. A stadium without pitches is booked as a single resource; once it has pitches,
+ * every booking is allocated to one of them. Removed pitches are soft-deleted so past bookings keep their reference.
+ */
+@Builder
+@Entity
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "pitches", indexes = {
+        @Index(name = "idx_pitch_stadium", columnList = "stadium_id")
+})
+public class Pitch {
+    @Id
+    @GeneratedValue
+    @UuidGenerator(algorithm = UuidV7Generator.class)
+    private UUID id;
+
+    @Column(name = "stadium_id", nullable = false)
+    private UUID stadiumId;
+
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Type type;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private boolean isDeleted = false;
+}
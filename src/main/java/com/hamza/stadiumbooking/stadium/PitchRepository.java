@@ -0,0 +1,31 @@
+package com.hamza.stadiumbooking.stadium;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface PitchRepository extends JpaRepository<Pitch, UUID> {
+
+    @Query("SELECT p FROM Pitch p WHERE p.stadiumId = :stadiumId AND p.isDeleted = false ORDER BY p.name")
+    List<Pitch> findActiveByStadiumId(@Param("stadiumId") UUID stadiumId);
+
+    @Query("SELECT p FROM Pitch p WHERE p.stadiumId IN :stadiumIds AND p.isDeleted = false ORDER BY p.name")
+    List<Pitch> findActiveByStadiumIdIn(@Param("stadiumIds") Collection<UUID> stadiumIds);
+
+    @Query("SELECT p FROM Pitch p WHERE p.id = :id AND p.stadiumId = :stadiumId AND p.isDeleted = false")
+    Optional<Pitch> findActive(@Param("stadiumId") UUID stadiumId, @Param("id") UUID id);
+
+    @Query("SELECT COUNT(p) > 0 FROM Pitch p WHERE p.stadiumId = :stadiumId AND p.isDeleted = false AND LOWER(p.name) = LOWER(:name)")
+    boolean existsActiveByName(@Param("stadiumId") UUID stadiumId, @Param("name") String name);
+
+    @Query("SELECT COUNT(b) > 0 FROM Booking b WHERE b.pitch.id = :pitchId AND b.status = 'CONFIRMED' AND b.endTime > :now")
+    boolean hasUpcomingBookings(@Param("pitchId") UUID pitchId, @Param("now") LocalDateTime now);
+}
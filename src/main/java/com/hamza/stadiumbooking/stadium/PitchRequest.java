@@ -0,0 +1,15 @@
+package com.hamza.stadiumbooking.stadium;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+public record PitchRequest(
+        @NotBlank(message = "Pitch name is required")
+        @Size(max = 100, message = "Pitch name must be at most 100 characters")
+        String name,
+
+        @NotNull(message = "Type is required")
+        Type type
+) {
+}
@@ -0,0 +1,11 @@
+package com.hamza.stadiumbooking.stadium;
+
+import java.util.UUID;
+
+public record PitchResponse(
+        UUID id,
+        UUID stadiumId,
+        String name,
+        Type type
+) {
+}
@@ -0,0 +1,70 @@
+package com.hamza.stadiumbooking.stadium;
+
+import com.hamza.stadiumbooking.exception.ResourceNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Pitches of a stadium. Adding or removing one takes the same stadium row lock as booking, so a pitch can't
+ * disappear while a booking is being allocated to it.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class PitchService {
+
+    private final PitchRepository pitchRepository;
+    private final StadiumRepository stadiumRepository;
+
+    public List<PitchResponse> getPitches(UUID stadiumId) {
+        stadiumRepository.findByIdAndIsDeletedFalse(stadiumId)
+                .orElseThrow(() -> new ResourceNotFoundException("Stadium not found with ID: " + stadiumId));
+        return pitchRepository.findActiveByStadiumId(stadiumId).stream().map(PitchService::mapToDto).toList();
+    }
+
+    @Transactional
+    public PitchResponse addPitch(UUID stadiumId, PitchRequest request) {
+        log.info("Action: addPitch | Adding pitch '{}' to stadium ID: {}", request.name(), stadiumId);
+        lockStadium(stadiumId);
+        if (pitchRepository.existsActiveByName(stadiumId, request.name().trim()))
+            throw new IllegalArgumentException("Stadium already has a pitch named " + request.name().trim());
+
+        Pitch pitch = pitchRepository.save(Pitch.builder()
+                .stadiumId(stadiumId)
+                .name(request.name().trim())
+                .type(request.type())
+                .build());
+        log.info("Action: addPitch | Success | Pitch ID: {}", pitch.getId());
+        return mapToDto(pitch);
+    }
+
+    @Transactional
+    public void removePitch(UUID stadiumId, UUID pitchId) {
+        log.info("Action: removePitch | Attempting to soft-delete pitch ID: {} of stadium ID: {}", pitchId, stadiumId);
+        lockStadium(stadiumId);
+        Pitch pitch = pitchRepository.findActive(stadiumId, pitchId)
+                .orElseThrow(() -> new ResourceNotFoundException("Pitch not found with ID: " + pitchId));
+        if (pitchRepository.hasUpcomingBookings(pitchId, LocalDateTime.now()))
+            throw new IllegalArgumentException("Pitch has upcoming bookings; cancel or move them first.");
+
+        pitch.setDeleted(true);
+        pitchRepository.save(pitch);
+        log.info("Action: removePitch | Success | Pitch ID: {} marked as deleted", pitchId);
+    }
+
+    private void lockStadium(UUID stadiumId) {
+        stadiumRepository.findByIdWithLock(stadiumId)
+                .orElseThrow(() -> new ResourceNotFoundException("Stadium not found with ID: " + stadiumId));
+    }
+
+    private static PitchResponse mapToDto(Pitch pitch) {
+        return new PitchResponse(pitch.getId(), pitch.getStadiumId(), pitch.getName(), pitch.getType());
+    }
+}
@@ -0,0 +1,112 @@
+package com.hamza.stadiumbooking.stadium;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Prices of one stadium compiled into a week of half-hour slots (Monday 00:00 is slot 0), each the hourly price
+ * scaled by every {@link StadiumPriceRule} covering it, plus prefix sums over the week. A second week, with the
+ * last-minute rules applied on top, prices bookings made within {@code withinHours} of their start. A quote is two
+ * prefix-sum lookups however long the booking is and however many rules there are; a slot a booking only partly
+ * covers is charged pro rata by the minute. The ball rental fee is added once per booking. Immutable once compiled.
+ */
+public final class PriceTable {
+
+    static final int SLOT_MINUTES = 30;
+    static final int DAY_SLOTS = 24 * 60 / SLOT_MINUTES;
+    static final int WEEK_SLOTS = 7 * DAY_SLOTS;
+    static final int WEEK_MINUTES = WEEK_SLOTS * SLOT_MINUTES;
+
+    private final double pricePerHour;
+    private final int ballRentalFee;
+    private final Week standard;
+    private final Week lastMinute;
+    private final Integer lastMinuteHours;
+
+    private PriceTable(Stadium stadium, Week standard, Week lastMinute, Integer lastMinuteHours) {
+        this.pricePerHour = stadium.getPricePerHour();
+        this.ballRentalFee = stadium.getBallRentalFee();
+        this.standard = standard;
+        this.lastMinute = lastMinute;
+        this.lastMinuteHours = lastMinuteHours;
+    }
+
+    public static PriceTable compile(Stadium stadium, List<StadiumPriceRule> rules) {
+        double[] slots = new double[WEEK_SLOTS];
+        Arrays.fill(slots, stadium.getPricePerHour() * SLOT_MINUTES / 60);
+        rules.stream().filter(rule -> rule.getWithinHours() == null).forEach(rule -> apply(slots, rule));
+        Week standard = new Week(slots.clone());
+
+        Integer lastMinuteHours = rules.stream().map(StadiumPriceRule::getWithinHours).filter(Objects::nonNull).findFirst().orElse(null);
+        if (lastMinuteHours == null) return new PriceTable(stadium, standard, standard, null);
+        rules.stream().filter(rule -> rule.getWithinHours() != null).forEach(rule -> apply(slots, rule));
+        return new PriceTable(stadium, standard, new Week(slots), lastMinuteHours);
+    }
+
+    /**
+     * Total price of {@code [start, end)} booked at {@code now}, rounded to cents. Seconds are ignored.
+     */
+    public double quote(LocalDateTime start, LocalDateTime end, LocalDateTime now) {
+        long minutes = ChronoUnit.MINUTES.between(start.truncatedTo(ChronoUnit.MINUTES), end.truncatedTo(ChronoUnit.MINUTES));
+        Week week = lastMinuteHours != null && start.isBefore(now.plusHours(lastMinuteHours)) ? lastMinute : standard;
+        double rent = minutes > 0 ? week.rent(minuteOfWeek(start), minutes) : 0;
+        return Math.round((rent + ballRentalFee) * 100) / 100.0;
+    }
+
+    /**
+     * Whether this table was compiled from the given stadium row's prices, i.e. is still valid for it.
+     */
+    boolean compiledFrom(Stadium stadium) {
+        return pricePerHour == stadium.getPricePerHour() && ballRentalFee == stadium.getBallRentalFee();
+    }
+
+    private static void apply(double[] slots, StadiumPriceRule rule) {
+        int from = slotOfDay(rule.getStartTime().getHour() * 60 + rule.getStartTime().getMinute());
+        int to = slotOfDay(rule.getEndTime().getHour() * 60 + rule.getEndTime().getMinute());
+        int length = to > from ? to - from : to - from + DAY_SLOTS;
+        double factor = rule.getPercent() / 100.0;
+        for (int day = 0; day < 7; day++) {
+            if (rule.getDayOfWeek() != null && rule.getDayOfWeek().getValue() - 1 != day) continue;
+            int first = day * DAY_SLOTS + from;
+            // Sunday night spills into Monday morning
+            for (int i = 0; i < length; i++) slots[(first + i) % WEEK_SLOTS] *= factor;
+        }
+    }
+
+    private static int minuteOfWeek(LocalDateTime time) {
+        return (time.getDayOfWeek().getValue() - 1) * 24 * 60 + time.getHour() * 60 + time.getMinute();
+    }
+
+    private static int slotOfDay(int minuteOfDay) {
+        return minuteOfDay / SLOT_MINUTES;
+    }
+
+    private static final class Week {
+        private final double[] slots;
+        private final double[] prefix;
+
+        Week(double[] slots) {
+            this.slots = slots;
+            this.prefix = new double[WEEK_SLOTS + 1];
+            for (int i = 0; i < WEEK_SLOTS; i++) prefix[i + 1] = prefix[i] + slots[i];
+        }
+
+        double rent(int from, long minutes) {
+            double rent = minutes / WEEK_MINUTES * prefix[WEEK_SLOTS];
+            int to = from + (int) (minutes % WEEK_MINUTES);
+            return to <= WEEK_MINUTES
+                    ? rent + cumulative(to) - cumulative(from)
+                    : rent + prefix[WEEK_SLOTS] - cumulative(from) + cumulative(to - WEEK_MINUTES);
+        }
+
+        // Rent from Monday 00:00 to minute m of the week
+        private double cumulative(int minute) {
+            int slot = minute / SLOT_MINUTES;
+            if (slot == WEEK_SLOTS) return prefix[WEEK_SLOTS];
+            return prefix[slot] + slots[slot] * (minute % SLOT_MINUTES) / SLOT_MINUTES;
+        }
+    }
+}
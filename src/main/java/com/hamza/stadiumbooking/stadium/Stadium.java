@@ -1,8 +1,12 @@
 package com.hamza.stadiumbooking.stadium;
 
+import com.hamza.stadiumbooking.id.UuidV7Generator;
 import com.hamza.stadiumbooking.user.User;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
+import org.hibernate.annotations.UuidGenerator;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -25,7 +29,8 @@ import java.util.UUID;
 })
 public class Stadium {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedValue
+    @UuidGenerator(algorithm = UuidV7Generator.class)
     private UUID id;
 
     @Version
@@ -60,7 +65,9 @@ public class Stadium {
     @Column(name = "last_lock_at")
     private LocalDateTime lastLockAt;
 
+    // SUBSELECT: the features of every stadium a query loaded come in one more select, not one per stadium
     @ElementCollection(fetch = FetchType.EAGER)
+    @Fetch(FetchMode.SUBSELECT)
     @CollectionTable(name = "stadium_features", joinColumns = @JoinColumn(name = "stadium_id"))
     @Column(name = "feature")
     @Builder.Default
@@ -74,6 +81,10 @@ public class Stadium {
     @Builder.Default
     private boolean isDeleted = false;
 
+    // Set once every future booking of the deleted stadium has been cancelled; null while that is still pending
+    @Column(name = "bookings_cancelled_at")
+    private LocalDateTime bookingsCancelledAt;
+
     @CreatedDate
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -81,14 +92,4 @@ public class Stadium {
     @LastModifiedDate
     @Column(insertable = false)
     private LocalDateTime updatedAt;
-
-    public boolean isOpenAt(LocalTime start, LocalTime end) {
-        if (closeTime.isAfter(openTime)) {
-            return !start.isBefore(openTime) && !end.isAfter(closeTime);
-        }
-        else {
-            if (start.isAfter(end)) return !start.isBefore(openTime) && !end.isAfter(closeTime);
-            else return !start.isBefore(openTime) || !end.isAfter(closeTime);
-        }
-    }
 }
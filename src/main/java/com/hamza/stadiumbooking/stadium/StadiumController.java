@@ -23,6 +23,9 @@ import java.util.UUID;
 public class StadiumController {
 
     private final StadiumService stadiumService;
+    private final StadiumHoursService stadiumHoursService;
+    private final PitchService pitchService;
+    private final StadiumPricingService stadiumPricingService;
     private final OwnershipValidationService ownershipValidationService;
 
     @GetMapping
@@ -76,4 +79,61 @@ public class StadiumController {
         StadiumResponse updatedStadium = stadiumService.updateStadium(stadiumId, stadiumRequestForUpdate);
         return ResponseEntity.ok(updatedStadium);
     }
+
+    @GetMapping("/{stadiumId}/hours")
+    public ResponseEntity<StadiumHoursResponse> getHours(@PathVariable UUID stadiumId) {
+        log.debug("Incoming request to get operating hours of stadium ID: {}", stadiumId);
+        return ResponseEntity.ok(stadiumHoursService.getHours(stadiumId));
+    }
+
+    @PutMapping("/{stadiumId}/hours")
+    @PreAuthorize("@ownershipValidationService.isStadiumOwner(#stadiumId)")
+    public ResponseEntity<StadiumHoursResponse> updateHours(
+            @PathVariable UUID stadiumId,
+            @RequestBody @Valid StadiumHoursRequest request
+    ) {
+        log.info("Incoming request to update operating hours of stadium ID: {} by User ID: {}",
+                stadiumId, ownershipValidationService.getCurrentUserId());
+        return ResponseEntity.ok(stadiumHoursService.updateHours(stadiumId, request));
+    }
+
+    @GetMapping("/{stadiumId}/pricing")
+    public ResponseEntity<StadiumPricingResponse> getPricing(@PathVariable UUID stadiumId) {
+        log.debug("Incoming request to get pricing of stadium ID: {}", stadiumId);
+        return ResponseEntity.ok(stadiumPricingService.getPricing(stadiumId));
+    }
+
+    @PutMapping("/{stadiumId}/pricing")
+    @PreAuthorize("@ownershipValidationService.isStadiumOwner(#stadiumId)")
+    public ResponseEntity<StadiumPricingResponse> updatePricing(
+            @PathVariable UUID stadiumId,
+            @RequestBody @Valid StadiumPricingRequest request
+    ) {
+        log.info("Incoming request to update pricing of stadium ID: {} by User ID: {}",
+                stadiumId, ownershipValidationService.getCurrentUserId());
+        return ResponseEntity.ok(stadiumPricingService.updatePricing(stadiumId, request));
+    }
+
+    @GetMapping("/{stadiumId}/pitches")
+    public ResponseEntity<List<PitchResponse>> getPitches(@PathVariable UUID stadiumId) {
+        log.debug("Incoming request to get pitches of stadium ID: {}", stadiumId);
+        return ResponseEntity.ok(pitchService.getPitches(stadiumId));
+    }
+
+    @PostMapping("/{stadiumId}/pitches")
+    @PreAuthorize("@ownershipValidationService.isStadiumOwner(#stadiumId)")
+    public ResponseEntity<PitchResponse> addPitch(@PathVariable UUID stadiumId, @RequestBody @Valid PitchRequest request) {
+        log.info("Incoming request to add pitch '{}' to stadium ID: {} by User ID: {}",
+                request.name(), stadiumId, ownershipValidationService.getCurrentUserId());
+        return ResponseEntity.status(HttpStatus.CREATED).body(pitchService.addPitch(stadiumId, request));
+    }
+
+    @DeleteMapping("/{stadiumId}/pitches/{pitchId}")
+    @PreAuthorize("@ownershipValidationService.isStadiumOwner(#stadiumId)")
+    public ResponseEntity<Void> removePitch(@PathVariable UUID stadiumId, @PathVariable UUID pitchId) {
+        log.info("Incoming request to remove pitch ID: {} of stadium ID: {} by User ID: {}",
+                pitchId, stadiumId, ownershipValidationService.getCurrentUserId());
+        pitchService.removePitch(stadiumId, pitchId);
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
 }
@@ -0,0 +1,50 @@
+package com.hamza.stadiumbooking.stadium;
+
+import com.hamza.stadiumbooking.id.UuidV7Generator;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcType;
+import org.hibernate.annotations.UuidGenerator;
+import org.hibernate.type.descriptor.jdbc.LocalDateJdbcType;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * Replaces the weekly hours of one date (holiday, maintenance, tournament). No times means closed all day.
+ */
+@Builder
+@Entity
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "stadium_hours_exceptions", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_stadium_hours_exception_date", columnNames = {"stadium_id", "exception_date"})
+})
+public class StadiumHoursException {
+    @Id
+    @GeneratedValue
+    @UuidGenerator(algorithm = UuidV7Generator.class)
+    private UUID id;
+
+    @Column(name = "stadium_id", nullable = false)
+    private UUID stadiumId;
+
+    // Bound as LocalDate, not java.sql.Date: the default zone switches to Africa/Cairo after the driver has started,
+    // and the java.sql.Date conversion then shifts the day
+    @JdbcType(LocalDateJdbcType.class)
+    @Column(name = "exception_date", nullable = false)
+    private LocalDate date;
+
+    private LocalTime openTime;
+
+    private LocalTime closeTime;
+
+    private String reason;
+
+    public boolean isClosed() {
+        return openTime == null;
+    }
+}
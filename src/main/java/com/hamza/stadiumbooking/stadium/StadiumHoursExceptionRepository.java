@@ -0,0 +1,21 @@
+package com.hamza.stadiumbooking.stadium;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface StadiumHoursExceptionRepository extends JpaRepository<StadiumHoursException, UUID> {
+
+    List<StadiumHoursException> findByStadiumIdAndDateGreaterThanEqualOrderByDate(UUID stadiumId, LocalDate from);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM StadiumHoursException e WHERE e.stadiumId = :stadiumId")
+    void deleteByStadiumId(@Param("stadiumId") UUID stadiumId);
+}
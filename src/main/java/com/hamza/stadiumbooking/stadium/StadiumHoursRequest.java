@@ -0,0 +1,37 @@
+package com.hamza.stadiumbooking.stadium;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Full replacement of a stadium's weekly hours and date exceptions. An empty {@code weekly} list falls back to the
+ * stadium's {@code openTime}/{@code closeTime} on every day.
+ */
+public record StadiumHoursRequest(
+        @NotNull(message = "Weekly hours are required (may be empty)")
+        @Size(max = 50, message = "At most 50 weekly windows")
+        List<@Valid WeeklyWindow> weekly,
+
+        @Size(max = 366, message = "At most 366 exceptions")
+        List<@Valid DateHours> exceptions
+) {
+    public record WeeklyWindow(
+            @NotNull(message = "Day of week is required") DayOfWeek dayOfWeek,
+            @NotNull(message = "Opening time is required") LocalTime openTime,
+            @NotNull(message = "Closing time is required") LocalTime closeTime
+    ) {}
+
+    // openTime/closeTime both null = closed all day
+    public record DateHours(
+            @NotNull(message = "Date is required") LocalDate date,
+            LocalTime openTime,
+            LocalTime closeTime,
+            @Size(max = 255, message = "Reason must be at most 255 characters") String reason
+    ) {}
+}
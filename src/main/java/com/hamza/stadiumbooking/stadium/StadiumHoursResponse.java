@@ -0,0 +1,14 @@
+package com.hamza.stadiumbooking.stadium;
+
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+
+public record StadiumHoursResponse(
+        UUID stadiumId,
+        LocalTime openTime,
+        LocalTime closeTime,
+        List<StadiumHoursRequest.WeeklyWindow> weekly,
+        List<StadiumHoursRequest.DateHours> exceptions
+) {
+}
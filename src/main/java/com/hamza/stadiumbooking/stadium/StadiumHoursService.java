@@ -0,0 +1,117 @@
+package com.hamza.stadiumbooking.stadium;
+
+import com.hamza.stadiumbooking.exception.ResourceNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Weekly hours and date exceptions of stadiums, and the node-local cache of their compiled {@link OperatingCalendar}s
+ * ({@code stadium.calendar.cache-ttl-seconds}), keyed to the stadium's default hours.
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class StadiumHoursService {
+
+    private final StadiumRepository stadiumRepository;
+    private final StadiumWeeklyHoursRepository weeklyHoursRepository;
+    private final StadiumHoursExceptionRepository exceptionRepository;
+    private final CompiledStadiumCache<OperatingCalendar> calendars;
+
+    public StadiumHoursService(StadiumRepository stadiumRepository,
+                               StadiumWeeklyHoursRepository weeklyHoursRepository,
+                               StadiumHoursExceptionRepository exceptionRepository,
+                               @Value("${stadium.calendar.cache-ttl-seconds:60}") long ttlSeconds) {
+        this.stadiumRepository = stadiumRepository;
+        this.weeklyHoursRepository = weeklyHoursRepository;
+        this.exceptionRepository = exceptionRepository;
+        this.calendars = new CompiledStadiumCache<>(ttlSeconds,
+                (calendar, stadium) -> calendar.compiledFrom(stadium.getOpenTime(), stadium.getCloseTime()));
+    }
+
+    public OperatingCalendar calendarFor(Stadium stadium) {
+        // Yesterday's exception can spill past midnight into today
+        return calendars.get(stadium, s -> OperatingCalendar.compile(s.getOpenTime(), s.getCloseTime(),
+                weeklyHoursRepository.findByStadiumId(s.getId()),
+                exceptionRepository.findByStadiumIdAndDateGreaterThanEqualOrderByDate(s.getId(), LocalDate.now().minusDays(1))));
+    }
+
+    public StadiumHoursResponse getHours(UUID stadiumId) {
+        Stadium stadium = findStadium(stadiumId);
+        return mapToDto(stadium,
+                weeklyHoursRepository.findByStadiumId(stadiumId),
+                exceptionRepository.findByStadiumIdAndDateGreaterThanEqualOrderByDate(stadiumId, LocalDate.now()));
+    }
+
+    @Transactional
+    public StadiumHoursResponse updateHours(UUID stadiumId, StadiumHoursRequest request) {
+        log.info("Action: updateHours | Replacing operating hours of stadium ID: {}", stadiumId);
+        Stadium stadium = findStadium(stadiumId);
+        List<StadiumHoursRequest.DateHours> exceptions = request.exceptions() != null ? request.exceptions() : List.of();
+        validate(exceptions);
+
+        weeklyHoursRepository.deleteByStadiumId(stadiumId);
+        exceptionRepository.deleteByStadiumId(stadiumId);
+        List<StadiumWeeklyHours> weekly = weeklyHoursRepository.saveAll(request.weekly().stream()
+                .map(w -> StadiumWeeklyHours.builder()
+                        .stadiumId(stadiumId)
+                        .dayOfWeek(w.dayOfWeek())
+                        .openTime(w.openTime())
+                        .closeTime(w.closeTime())
+                        .build())
+                .toList());
+        List<StadiumHoursException> saved = exceptionRepository.saveAll(exceptions.stream()
+                .map(e -> StadiumHoursException.builder()
+                        .stadiumId(stadiumId)
+                        .date(e.date())
+                        .openTime(e.openTime())
+                        .closeTime(e.closeTime())
+                        .reason(e.reason())
+                        .build())
+                .toList());
+
+        calendars.evictOnCommit(stadiumId);
+        log.info("Action: updateHours | Success | Stadium ID: {} | Weekly windows: {} | Exceptions: {}",
+                stadiumId, weekly.size(), saved.size());
+        return mapToDto(stadium, weekly, saved);
+    }
+
+    private Stadium findStadium(UUID stadiumId) {
+        return stadiumRepository.findByIdAndIsDeletedFalse(stadiumId)
+                .orElseThrow(() -> new ResourceNotFoundException("Stadium not found with ID: " + stadiumId));
+    }
+
+    private static void validate(List<StadiumHoursRequest.DateHours> exceptions) {
+        Set<LocalDate> dates = new HashSet<>();
+        for (StadiumHoursRequest.DateHours exception : exceptions) {
+            if ((exception.openTime() == null) != (exception.closeTime() == null))
+                throw new IllegalArgumentException("Exception on " + exception.date() + " needs both opening and closing time, or neither to close all day");
+            if (!dates.add(exception.date()))
+                throw new IllegalArgumentException("Duplicate exception for " + exception.date());
+        }
+    }
+
+    private static StadiumHoursResponse mapToDto(Stadium stadium, List<StadiumWeeklyHours> weekly, List<StadiumHoursException> exceptions) {
+        return new StadiumHoursResponse(
+                stadium.getId(),
+                stadium.getOpenTime(),
+                stadium.getCloseTime(),
+                weekly.stream()
+                        .sorted(Comparator.comparing(StadiumWeeklyHours::getDayOfWeek).thenComparing(StadiumWeeklyHours::getOpenTime))
+                        .map(w -> new StadiumHoursRequest.WeeklyWindow(w.getDayOfWeek(), w.getOpenTime(), w.getCloseTime()))
+                        .toList(),
+                exceptions.stream()
+                        .map(e -> new StadiumHoursRequest.DateHours(e.getDate(), e.getOpenTime(), e.getCloseTime(), e.getReason()))
+                        .toList()
+        );
+    }
+}
@@ -0,0 +1,50 @@
+package com.hamza.stadiumbooking.stadium;
+
+import com.hamza.stadiumbooking.id.UuidV7Generator;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UuidGenerator;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * Scales the hourly price of a stadium to {@code percent} over a daily window, on one weekday or (no day) every day.
+ * Windows lie on half hours; one whose {@code endTime} is not after its {@code startTime} runs past midnight, and
+ * equal times cover the whole day. A rule with {@code withinHours} is a last-minute rule: it only prices bookings
+ * made less than that many hours before they start. Overlapping rules multiply.
+ */
+@Builder
+@Entity
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "stadium_price_rules", indexes = {
+        @Index(name = "idx_stadium_price_rules_stadium", columnList = "stadium_id")
+})
+public class StadiumPriceRule {
+    @Id
+    @GeneratedValue
+    @UuidGenerator(algorithm = UuidV7Generator.class)
+    private UUID id;
+
+    @Column(name = "stadium_id", nullable = false)
+    private UUID stadiumId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 10)
+    private DayOfWeek dayOfWeek;
+
+    @Column(nullable = false)
+    private LocalTime startTime;
+
+    @Column(nullable = false)
+    private LocalTime endTime;
+
+    @Column(nullable = false)
+    private Integer percent;
+
+    private Integer withinHours;
+}
@@ -0,0 +1,20 @@
+package com.hamza.stadiumbooking.stadium;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface StadiumPriceRuleRepository extends JpaRepository<StadiumPriceRule, UUID> {
+
+    List<StadiumPriceRule> findByStadiumId(UUID stadiumId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM StadiumPriceRule r WHERE r.stadiumId = :stadiumId")
+    void deleteByStadiumId(@Param("stadiumId") UUID stadiumId);
+}
@@ -0,0 +1,34 @@
+package com.hamza.stadiumbooking.stadium;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Full replacement of a stadium's price rules. An empty list charges {@code pricePerHour} at every hour.
+ */
+public record StadiumPricingRequest(
+        @NotNull(message = "Price rules are required (may be empty)")
+        @Size(max = 100, message = "At most 100 price rules")
+        List<@Valid PriceRule> rules
+) {
+    // No dayOfWeek = every day; withinHours = last-minute rule, the same for all of a stadium's last-minute rules
+    public record PriceRule(
+            DayOfWeek dayOfWeek,
+            @NotNull(message = "Start time is required") LocalTime startTime,
+            @NotNull(message = "End time is required") LocalTime endTime,
+            @NotNull(message = "Percent is required")
+            @Min(value = 10, message = "Percent must be at least 10")
+            @Max(value = 500, message = "Percent must be at most 500")
+            Integer percent,
+            @Min(value = 1, message = "Last-minute window must be at least 1 hour")
+            @Max(value = 72, message = "Last-minute window must be at most 72 hours")
+            Integer withinHours
+    ) {}
+}
@@ -0,0 +1,12 @@
+package com.hamza.stadiumbooking.stadium;
+
+import java.util.List;
+import java.util.UUID;
+
+public record StadiumPricingResponse(
+        UUID stadiumId,
+        Double pricePerHour,
+        Integer ballRentalFee,
+        List<StadiumPricingRequest.PriceRule> rules
+) {
+}
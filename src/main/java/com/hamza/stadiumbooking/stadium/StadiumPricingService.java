@@ -0,0 +1,98 @@
+package com.hamza.stadiumbooking.stadium;
+
+import com.hamza.stadiumbooking.exception.ResourceNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Price rules of stadiums, and the node-local cache of their compiled {@link PriceTable}s
+ * ({@code stadium.pricing.cache-ttl-seconds}), keyed to the stadium's prices.
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class StadiumPricingService {
+
+    private final StadiumRepository stadiumRepository;
+    private final StadiumPriceRuleRepository priceRuleRepository;
+    private final CompiledStadiumCache<PriceTable> tables;
+
+    public StadiumPricingService(StadiumRepository stadiumRepository,
+                                 StadiumPriceRuleRepository priceRuleRepository,
+                                 @Value("${stadium.pricing.cache-ttl-seconds:60}") long ttlSeconds) {
+        this.stadiumRepository = stadiumRepository;
+        this.priceRuleRepository = priceRuleRepository;
+        this.tables = new CompiledStadiumCache<>(ttlSeconds, PriceTable::compiledFrom);
+    }
+
+    public PriceTable priceTableFor(Stadium stadium) {
+        return tables.get(stadium, s -> PriceTable.compile(s, priceRuleRepository.findByStadiumId(s.getId())));
+    }
+
+    public StadiumPricingResponse getPricing(UUID stadiumId) {
+        Stadium stadium = findStadium(stadiumId);
+        return mapToDto(stadium, priceRuleRepository.findByStadiumId(stadiumId));
+    }
+
+    @Transactional
+    public StadiumPricingResponse updatePricing(UUID stadiumId, StadiumPricingRequest request) {
+        log.info("Action: updatePricing | Replacing price rules of stadium ID: {}", stadiumId);
+        Stadium stadium = findStadium(stadiumId);
+        validate(request);
+
+        priceRuleRepository.deleteByStadiumId(stadiumId);
+        List<StadiumPriceRule> rules = priceRuleRepository.saveAll(request.rules().stream()
+                .map(r -> StadiumPriceRule.builder()
+                        .stadiumId(stadiumId)
+                        .dayOfWeek(r.dayOfWeek())
+                        .startTime(r.startTime())
+                        .endTime(r.endTime())
+                        .percent(r.percent())
+                        .withinHours(r.withinHours())
+                        .build())
+                .toList());
+
+        tables.evictOnCommit(stadiumId);
+        log.info("Action: updatePricing | Success | Stadium ID: {} | Rules: {}", stadiumId, rules.size());
+        return mapToDto(stadium, rules);
+    }
+
+    private Stadium findStadium(UUID stadiumId) {
+        return stadiumRepository.findByIdAndIsDeletedFalse(stadiumId)
+                .orElseThrow(() -> new ResourceNotFoundException("Stadium not found with ID: " + stadiumId));
+    }
+
+    private static void validate(StadiumPricingRequest request) {
+        if (request.rules().stream().map(StadiumPricingRequest.PriceRule::withinHours).filter(Objects::nonNull).distinct().count() > 1)
+            throw new IllegalArgumentException("All last-minute price rules must have the same withinHours");
+        for (StadiumPricingRequest.PriceRule rule : request.rules()) {
+            if (!onHalfHour(rule.startTime()) || !onHalfHour(rule.endTime()))
+                throw new IllegalArgumentException("Price rule times must be on the hour or half hour: " + rule.startTime() + "-" + rule.endTime());
+        }
+    }
+
+    private static boolean onHalfHour(LocalTime time) {
+        return time.getMinute() % PriceTable.SLOT_MINUTES == 0 && time.getSecond() == 0 && time.getNano() == 0;
+    }
+
+    private static StadiumPricingResponse mapToDto(Stadium stadium, List<StadiumPriceRule> rules) {
+        return new StadiumPricingResponse(
+                stadium.getId(),
+                stadium.getPricePerHour(),
+                stadium.getBallRentalFee(),
+                rules.stream()
+                        .sorted(Comparator.comparing(StadiumPriceRule::getDayOfWeek, Comparator.nullsFirst(Comparator.naturalOrder()))
+                                .thenComparing(StadiumPriceRule::getStartTime))
+                        .map(r -> new StadiumPricingRequest.PriceRule(r.getDayOfWeek(), r.getStartTime(), r.getEndTime(), r.getPercent(), r.getWithinHours()))
+                        .toList()
+        );
+    }
+}
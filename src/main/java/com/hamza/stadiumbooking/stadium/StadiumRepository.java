@@ -2,13 +2,16 @@ package com.hamza.stadiumbooking.stadium;
 
 import org.springframework.data.repository.query.Param;
 import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -22,9 +25,23 @@ public interface StadiumRepository extends JpaRepository<Stadium, UUID> {
 
     boolean existsByIdAndOwner_Id(UUID id, UUID owner_id);
 
+    // Deleted stadiums included: their history still belongs to the owner
+    @Query("SELECT s.id FROM Stadium s WHERE s.owner.id = :ownerId")
+    List<UUID> findIdsByOwnerId(@Param("ownerId") UUID ownerId);
+
     @Query("SELECT DISTINCT s.location FROM Stadium s WHERE s.isDeleted = false")
     List<String> findAllDistinctLocations();
 
+    @Query("SELECT s.id FROM Stadium s WHERE s.location = :location AND s.id <> :id AND s.isDeleted = false ORDER BY s.id")
+    List<UUID> findNearbyIds(@Param("location") String location, @Param("id") UUID id, Limit limit);
+
+    @Query("SELECT s.id FROM Stadium s WHERE s.isDeleted = true AND s.bookingsCancelledAt IS NULL ORDER BY s.id")
+    List<UUID> findDeletedIdsWithBookingsPending();
+
+    @Modifying
+    @Query("UPDATE Stadium s SET s.bookingsCancelledAt = :now WHERE s.id = :id")
+    void markBookingsCancelled(@Param("id") UUID id, @Param("now") LocalDateTime now);
+
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT s FROM Stadium s WHERE s.id = :id AND s.isDeleted = false")
     Optional<Stadium> findByIdWithLock(@Param("id") UUID id);
@@ -4,6 +4,7 @@ import com.hamza.stadiumbooking.exception.ResourceNotFoundException;
 import com.hamza.stadiumbooking.user.User;
 import com.hamza.stadiumbooking.user.UserRepository;
 import com.hamza.stadiumbooking.security.utils.OwnershipValidationService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
@@ -21,6 +22,7 @@ import java.util.UUID;
 
 @Service @RequiredArgsConstructor @Slf4j
 @Transactional(readOnly = true)
+@Timed(value = "stadium.service", percentiles = {0.5, 0.95, 0.99})
 public class StadiumService {
 
     private final StadiumRepository stadiumRepository;
@@ -29,16 +31,16 @@ public class StadiumService {
 
     public Page<StadiumResponse> getAllStadiums(Pageable pageable) {
         log.info("Action: getAllStadiums | Fetching stadiums from database");
-        return stadiumRepository.findAllByIsDeletedFalse(pageable).map(this::mapToDto);
+        return stadiumRepository.findAllByIsDeletedFalse(pageable).map(StadiumService::mapToDto);
     }
 
-    @Cacheable(value = "locations")
+    @Cacheable(value = "locations", sync = true)
     public List<String> getAllLocations() {
         log.info("Action: getAllLocations | Fetching distinct locations from database (Cache Miss)");
         return stadiumRepository.findAllDistinctLocations();
     }
 
-    @Cacheable(value = "stadiums", key = "#id")
+    @Cacheable(value = "stadiums", key = "#id", sync = true)
     public StadiumResponse getStadiumById(UUID id) {
         Stadium stadium = stadiumRepository.findByIdAndIsDeletedFalse(id).orElseThrow(
                 () -> {
@@ -127,7 +129,7 @@ public class StadiumService {
     }
 
 
-    private StadiumResponse mapToDto(Stadium stadium) {
+    static StadiumResponse mapToDto(Stadium stadium) {
         return new StadiumResponse(
                 stadium.getId(),
                 stadium.getName(),
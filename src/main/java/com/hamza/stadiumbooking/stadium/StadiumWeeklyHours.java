@@ -0,0 +1,43 @@
+package com.hamza.stadiumbooking.stadium;
+
+import com.hamza.stadiumbooking.id.UuidV7Generator;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UuidGenerator;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * One opening window of a stadium on a weekday. A window whose {@code closeTime} is not after its {@code openTime}
+ * runs past midnight into the next day; equal times mean open around the clock.
+ */
+@Builder
+@Entity
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "stadium_weekly_hours", indexes = {
+        @Index(name = "idx_stadium_weekly_hours_stadium", columnList = "stadium_id")
+})
+public class StadiumWeeklyHours {
+    @Id
+    @GeneratedValue
+    @UuidGenerator(algorithm = UuidV7Generator.class)
+    private UUID id;
+
+    @Column(name = "stadium_id", nullable = false)
+    private UUID stadiumId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private DayOfWeek dayOfWeek;
+
+    @Column(nullable = false)
+    private LocalTime openTime;
+
+    @Column(nullable = false)
+    private LocalTime closeTime;
+}
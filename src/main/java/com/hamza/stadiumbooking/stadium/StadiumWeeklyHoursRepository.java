@@ -0,0 +1,20 @@
+package com.hamza.stadiumbooking.stadium;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface StadiumWeeklyHoursRepository extends JpaRepository<StadiumWeeklyHours, UUID> {
+
+    List<StadiumWeeklyHours> findByStadiumId(UUID stadiumId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM StadiumWeeklyHours h WHERE h.stadiumId = :stadiumId")
+    void deleteByStadiumId(@Param("stadiumId") UUID stadiumId);
+}
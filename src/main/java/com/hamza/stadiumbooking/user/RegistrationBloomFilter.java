@@ -0,0 +1,122 @@
+package com.hamza.stadiumbooking.user;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory pre-check for taken emails and phone numbers. A negative answer means the value is definitely
+ * free, so registration can skip the uniqueness queries and rely on uk_user_email / uk_user_phone as the final guard.
+ * Released values (deleted users, changed emails) stay in the filter until the next rebuild.
+ */
+@Slf4j
+@Component
+public class RegistrationBloomFilter {
+
+    private static final int LOAD_PAGE_SIZE = 5_000;
+    // Headroom over the users loaded, so a rebuild isn't full again the moment it's published
+    private static final int GROWTH_FACTOR = 2;
+
+    private final UserRepository userRepository;
+    private final long expectedUsers;
+    private final double falsePositiveRate;
+
+    private final AtomicLong inserted = new AtomicLong();
+    private final AtomicLong released = new AtomicLong();
+
+    private volatile long capacity;
+    private volatile Filters current;
+    private volatile Filters next;
+
+    public RegistrationBloomFilter(UserRepository userRepository,
+                                   @Value("${registration.bloom.expected-users:100000}") long expectedUsers,
+                                   @Value("${registration.bloom.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        this.expectedUsers = expectedUsers;
+        this.falsePositiveRate = falsePositiveRate;
+        this.capacity = expectedUsers;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long start = System.currentTimeMillis();
+        long size = Math.max(expectedUsers, inserted.get() * GROWTH_FACTOR);
+        // Counted against the old filter; releases and inserts while loading carry over to the new one
+        long releasedBefore = released.get();
+        long insertedBefore = inserted.get();
+        Filters fresh = new Filters(new BloomFilter(size, falsePositiveRate), new BloomFilter(size, falsePositiveRate));
+        next = fresh;
+
+        long loaded = 0;
+        Slice<UserContact> page = userRepository.findAllContacts(PageRequest.of(0, LOAD_PAGE_SIZE, Sort.by("id")));
+        while (true) {
+            for (UserContact contact : page) {
+                fresh.add(contact.email(), contact.phoneNumber());
+                loaded++;
+            }
+            if (!page.hasNext()) break;
+            page = userRepository.findAllContacts(page.nextPageable());
+        }
+
+        current = fresh;
+        next = null;
+        capacity = size;
+        inserted.addAndGet(loaded - insertedBefore);
+        released.addAndGet(-releasedBefore);
+        log.info("Action: buildRegistrationFilter | Success | Loaded {} users into a filter for {} in {} ms",
+                loaded, size, System.currentTimeMillis() - start);
+    }
+
+    @Scheduled(fixedDelayString = "${registration.bloom.rebuild-check-ms:600000}")
+    public void rebuildIfStale() {
+        long total = inserted.get();
+        if (current != null && (released.get() > total / 10 || total > capacity)) {
+            log.info("Action: rebuildRegistrationFilter | Released: {} | Inserted: {}", released.get(), total);
+            build();
+        }
+    }
+
+    public boolean mightContainEmail(String email) {
+        Filters filters = current;
+        return filters == null || filters.emails.mightContain(normalizeEmail(email));
+    }
+
+    public boolean mightContainPhone(String phoneNumber) {
+        Filters filters = current;
+        return filters == null || filters.phones.mightContain(phoneNumber);
+    }
+
+    public void recordTaken(String email, String phoneNumber) {
+        // Read "next" first: a rebuild publishes current before clearing next, so no write can miss the new filter
+        Filters building = next;
+        Filters filters = current;
+        if (filters != null) filters.add(email, phoneNumber);
+        if (building != null && building != filters) building.add(email, phoneNumber);
+        inserted.incrementAndGet();
+    }
+
+    public void recordReleased() {
+        released.incrementAndGet();
+    }
+
+    // MySQL's default collation compares emails case-insensitively, so the filter must too
+    private static String normalizeEmail(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+
+    private record Filters(BloomFilter emails, BloomFilter phones) {
+        void add(String email, String phoneNumber) {
+            if (email != null) emails.put(normalizeEmail(email));
+            if (phoneNumber != null) phones.put(phoneNumber);
+        }
+    }
+}
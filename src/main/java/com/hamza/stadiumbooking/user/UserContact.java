@@ -0,0 +1,7 @@
+package com.hamza.stadiumbooking.user;
+
+public record UserContact(
+        String email,
+        String phoneNumber
+) {
+}
@@ -2,6 +2,7 @@ package com.hamza.stadiumbooking.user;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -24,4 +25,7 @@ public interface UserRepository extends JpaRepository<User, UUID> {
 
     @Query("SELECT u.id FROM User u WHERE u.email = :email")
     UUID getUserIdByEmail(String email);
+
+    @Query("SELECT new com.hamza.stadiumbooking.user.UserContact(u.email, u.phoneNumber) FROM User u")
+    Slice<UserContact> findAllContacts(Pageable pageable);
 }
\ No newline at end of file
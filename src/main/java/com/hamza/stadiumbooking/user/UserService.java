@@ -4,6 +4,7 @@ import com.hamza.stadiumbooking.exception.EmailTakenException;
 import com.hamza.stadiumbooking.exception.PhoneNumberTakenException;
 import com.hamza.stadiumbooking.exception.ResourceNotFoundException;
 import org.springframework.transaction.annotation.Transactional;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -18,10 +19,12 @@ import java.util.UUID;
 
 @Service @Slf4j @RequiredArgsConstructor
 @Transactional(readOnly = true)
+@Timed(value = "user.service", percentiles = {0.5, 0.95, 0.99})
 public class UserService{
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final RegistrationBloomFilter registrationBloomFilter;
 
     public Page<UserResponse> getAllUsers(Pageable pageable) {
         log.info("Action: getAllUsers | Fetching users from DB (Page: {})", pageable.getPageNumber());
@@ -48,8 +51,11 @@ public class UserService{
 
     @Transactional
     public UserResponse addUser(UserRequest userRequest) {
-        boolean isEmailPresent = userRepository.findByEmailAndIsDeletedFalse(userRequest.email()).isPresent();
-        boolean isPhonePresent = userRepository.existsByPhoneNumberAndIsDeletedFalse(userRequest.phoneNumber());
+        // Definitely-new values skip the lookups; the unique constraints still guard the insert
+        boolean isEmailPresent = registrationBloomFilter.mightContainEmail(userRequest.email())
+                && userRepository.findByEmailAndIsDeletedFalse(userRequest.email()).isPresent();
+        boolean isPhonePresent = registrationBloomFilter.mightContainPhone(userRequest.phoneNumber())
+                && userRepository.existsByPhoneNumberAndIsDeletedFalse(userRequest.phoneNumber());
 
         if (isEmailPresent) {
             log.warn("Action: addUser | Failure | Email already exists: {}", userRequest.email());
@@ -68,6 +74,7 @@ public class UserService{
         User newUser = mapToEntity(userRequest);
         newUser.setPassword(passwordEncoder.encode(userRequest.password()));
         User savedUser = userRepository.save(newUser);
+        registrationBloomFilter.recordTaken(savedUser.getEmail(), savedUser.getPhoneNumber());
 
         log.info("Action: addUser | Success | User registered with ID: {}", savedUser.getId());
         return mapToDto(savedUser);
@@ -89,6 +96,7 @@ public class UserService{
         user.setPhoneNumber("del" + suffix + "_" + user.getPhoneNumber());
 
         userRepository.save(user);
+        registrationBloomFilter.recordReleased();
         log.info("Action: deleteUser | Success | User ID {} marked as deleted", userId);
     }
 
@@ -99,6 +107,7 @@ public class UserService{
                     log.error("Action: updateUser | Failure | User ID {} not found", userId);
                     return new ResourceNotFoundException("User not found with ID: " + userId);
                 });
+        boolean contactChanged = false;
 
         if (request.password() != null && !request.password().isEmpty()) {
             log.warn("Action: updateUser | Security Alert | Password changed for User ID: {}", userId);
@@ -110,19 +119,23 @@ public class UserService{
         }
 
         if (request.email() != null && !request.email().isEmpty() && !request.email().equals(user.getEmail())) {
-            if (userRepository.findByEmailAndIsDeletedFalse(request.email()).isPresent()) {
+            if (registrationBloomFilter.mightContainEmail(request.email())
+                    && userRepository.findByEmailAndIsDeletedFalse(request.email()).isPresent()) {
                 log.warn("Action: updateUser | Conflict | Email {} is already taken", request.email());
                 throw new EmailTakenException("Email " + request.email() + " is already taken.");
             }
             user.setEmail(request.email());
+            contactChanged = true;
         }
 
         if (request.phoneNumber() != null && !request.phoneNumber().equals(user.getPhoneNumber())) {
-                if (userRepository.existsByPhoneNumberAndIsDeletedFalse(request.phoneNumber())) {
+                if (registrationBloomFilter.mightContainPhone(request.phoneNumber())
+                        && userRepository.existsByPhoneNumberAndIsDeletedFalse(request.phoneNumber())) {
                     log.warn("Action: updateUser | Conflict | Phone {} is already taken", request.phoneNumber());
                     throw new PhoneNumberTakenException("Phone number " + request.phoneNumber() + " is already taken.");
                 }
                 user.setPhoneNumber(request.phoneNumber());
+                contactChanged = true;
             }
 
         if (request.dob() != null) {
@@ -135,6 +148,10 @@ public class UserService{
         }
 
         User savedUser = userRepository.save(user);
+        if (contactChanged) {
+            registrationBloomFilter.recordTaken(savedUser.getEmail(), savedUser.getPhoneNumber());
+            registrationBloomFilter.recordReleased();
+        }
         log.info("Action: updateUser | Success | User ID {} updated successfully", savedUser.getId());
         return mapToDto(savedUser);
     }
@@ -0,0 +1,122 @@
+package com.hamza.stadiumbooking.waitingroom;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Single-node queue state held in memory.
+ */
+final class LocalWaitingRoomStore implements WaitingRoomStore {
+
+    private final LongSupplier clock;
+    private final ConcurrentMap<UUID, Room> rooms = new ConcurrentHashMap<>();
+
+    LocalWaitingRoomStore(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public Optional<WaitingRoom> room(UUID stadiumId) {
+        Room room = rooms.get(stadiumId);
+        return room == null ? Optional.empty() : Optional.of(room.settings);
+    }
+
+    @Override
+    public void open(UUID stadiumId, WaitingRoom settings) {
+        // Reopening with new settings keeps the queue
+        rooms.compute(stadiumId, (id, room) -> {
+            if (room == null) return new Room(settings);
+            room.settings = settings;
+            return room;
+        });
+    }
+
+    @Override
+    public void close(UUID stadiumId) {
+        rooms.remove(stadiumId);
+    }
+
+    @Override
+    public Ticket join(UUID stadiumId, UUID userId, WaitingRoom settings) {
+        Room room = rooms.computeIfAbsent(stadiumId, id -> new Room(settings));
+        synchronized (room) {
+            long now = clock.getAsLong();
+            Entry entry = room.tickets.get(userId);
+            if (entry != null && !entry.isExpired(now, settings)) return entry.toTicket(now);
+
+            long admitAt = Math.max(now, room.cursor);
+            room.cursor = admitAt + settings.admitIntervalMillis();
+            entry = new Entry(UUID.randomUUID().toString(), admitAt, false);
+            room.tickets.put(userId, entry);
+            return entry.toTicket(now);
+        }
+    }
+
+    @Override
+    public Optional<Ticket> ticket(UUID stadiumId, UUID userId) {
+        Room room = rooms.get(stadiumId);
+        if (room == null) return Optional.empty();
+        long now = clock.getAsLong();
+        Entry entry = room.tickets.get(userId);
+        if (entry == null || entry.isExpired(now, room.settings)) return Optional.empty();
+        return Optional.of(entry.toTicket(now));
+    }
+
+    @Override
+    public boolean claim(UUID stadiumId, UUID userId, String token) {
+        Room room = rooms.get(stadiumId);
+        if (room == null) return false;
+        Entry entry = room.tickets.get(userId);
+        if (entry == null || entry.claimed() || !entry.token().equals(token) || entry.isExpired(clock.getAsLong(), room.settings)) {
+            return false;
+        }
+        // Only one of two racing claims swaps the unclaimed entry out
+        return room.tickets.replace(userId, entry, entry.withClaimed(true));
+    }
+
+    @Override
+    public void release(UUID stadiumId, UUID userId) {
+        Room room = rooms.get(stadiumId);
+        if (room != null) room.tickets.computeIfPresent(userId, (id, entry) -> entry.withClaimed(false));
+    }
+
+    @Override
+    public void consume(UUID stadiumId, UUID userId) {
+        Room room = rooms.get(stadiumId);
+        if (room != null) room.tickets.remove(userId);
+    }
+
+    @Override
+    public void sweep() {
+        long now = clock.getAsLong();
+        rooms.values().forEach(room -> room.tickets.values().removeIf(entry -> entry.isExpired(now, room.settings)));
+    }
+
+    private static final class Room {
+        private volatile WaitingRoom settings;
+        private long cursor;
+        private final ConcurrentMap<UUID, Entry> tickets = new ConcurrentHashMap<>();
+
+        private Room(WaitingRoom settings) {
+            this.settings = settings;
+        }
+    }
+
+    private record Entry(String token, long admitAt, boolean claimed) {
+
+        Entry withClaimed(boolean claimed) {
+            return new Entry(token, admitAt, claimed);
+        }
+
+        boolean isExpired(long now, WaitingRoom settings) {
+            return now >= admitAt + settings.tokenTtlMillis();
+        }
+
+        Ticket toTicket(long now) {
+            return new Ticket(token, admitAt, now);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.hamza.stadiumbooking.waitingroom;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Queue state shared by every node: the room settings in a hash, the admission cursor in a string and each ticket in
+ * a hash that Redis expires with the token. Joining, reading and claiming a ticket run as scripts on the Redis server clock, so
+ * nodes with drifting clocks still hand out one FIFO order. Room settings are cached per node for
+ * {@code waiting-room.room-cache-ms}, since every booking asks whether its stadium has a room.
+ */
+final class RedisWaitingRoomStore implements WaitingRoomStore {
+
+    private static final String KEY_PREFIX = "waiting-room:";
+
+    private static final DefaultRedisScript<List> JOIN_SCRIPT = new DefaultRedisScript<>("""
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local ticket = redis.call('HMGET', KEYS[2], 'token', 'admitAt')
+            if ticket[1] then return {ticket[1], ticket[2], tostring(now)} end
+            local interval = tonumber(ARGV[1])
+            local ttl = tonumber(ARGV[2])
+            local admitAt = tonumber(redis.call('GET', KEYS[1]) or now)
+            if admitAt < now then admitAt = now end
+            redis.call('SET', KEYS[1], admitAt + interval, 'PX', admitAt + interval - now)
+            redis.call('HSET', KEYS[2], 'token', ARGV[3], 'admitAt', admitAt)
+            redis.call('PEXPIRE', KEYS[2], admitAt + ttl - now)
+            return {ARGV[3], tostring(admitAt), tostring(now)}
+            """, List.class);
+
+    private static final DefaultRedisScript<List> TICKET_SCRIPT = new DefaultRedisScript<>("""
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local ticket = redis.call('HMGET', KEYS[1], 'token', 'admitAt')
+            if not ticket[1] then return {} end
+            return {ticket[1], ticket[2], tostring(now)}
+            """, List.class);
+
+    private static final DefaultRedisScript<Long> CLAIM_SCRIPT = new DefaultRedisScript<>("""
+            local ticket = redis.call('HMGET', KEYS[1], 'token', 'claimed')
+            if ticket[1] ~= ARGV[1] or ticket[2] then return 0 end
+            redis.call('HSET', KEYS[1], 'claimed', '1')
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final long roomCacheNanos;
+    private final ConcurrentMap<UUID, CachedRoom> rooms = new ConcurrentHashMap<>();
+
+    RedisWaitingRoomStore(StringRedisTemplate redisTemplate, long roomCacheMillis) {
+        this.redisTemplate = redisTemplate;
+        this.roomCacheNanos = TimeUnit.MILLISECONDS.toNanos(roomCacheMillis);
+    }
+
+    @Override
+    public Optional<WaitingRoom> room(UUID stadiumId) {
+        long now = System.nanoTime();
+        CachedRoom cached = rooms.get(stadiumId);
+        if (cached != null && now - cached.loadedAt() < roomCacheNanos) return cached.room();
+
+        Map<Object, Object> fields = redisTemplate.opsForHash().entries(roomKey(stadiumId));
+        Optional<WaitingRoom> room = fields.isEmpty() ? Optional.empty() : Optional.of(new WaitingRoom(
+                Integer.parseInt((String) fields.get("admitPerMinute")), Integer.parseInt((String) fields.get("tokenTtlSeconds"))));
+        rooms.put(stadiumId, new CachedRoom(room, now));
+        return room;
+    }
+
+    @Override
+    public void open(UUID stadiumId, WaitingRoom room) {
+        redisTemplate.opsForHash().putAll(roomKey(stadiumId), Map.of(
+                "admitPerMinute", String.valueOf(room.admitPerMinute()),
+                "tokenTtlSeconds", String.valueOf(room.tokenTtlSeconds())));
+        rooms.remove(stadiumId);
+    }
+
+    @Override
+    public void close(UUID stadiumId) {
+        // Tickets expire with their tokens
+        redisTemplate.delete(List.of(roomKey(stadiumId), cursorKey(stadiumId)));
+        rooms.remove(stadiumId);
+    }
+
+    @Override
+    public Ticket join(UUID stadiumId, UUID userId, WaitingRoom room) {
+        List<?> ticket = redisTemplate.execute(JOIN_SCRIPT, List.of(cursorKey(stadiumId), ticketKey(stadiumId, userId)),
+                String.valueOf(room.admitIntervalMillis()), String.valueOf(room.tokenTtlMillis()), UUID.randomUUID().toString());
+        return toTicket(ticket).orElseThrow(() -> new IllegalStateException("Waiting room join script returned no ticket"));
+    }
+
+    @Override
+    public Optional<Ticket> ticket(UUID stadiumId, UUID userId) {
+        return toTicket(redisTemplate.execute(TICKET_SCRIPT, List.of(ticketKey(stadiumId, userId))));
+    }
+
+    @Override
+    public boolean claim(UUID stadiumId, UUID userId, String token) {
+        Long claimed = redisTemplate.execute(CLAIM_SCRIPT, List.of(ticketKey(stadiumId, userId)), token);
+        return claimed != null && claimed == 1;
+    }
+
+    @Override
+    public void release(UUID stadiumId, UUID userId) {
+        // A ticket that expired meanwhile stays gone
+        redisTemplate.opsForHash().delete(ticketKey(stadiumId, userId), "claimed");
+    }
+
+    @Override
+    public void consume(UUID stadiumId, UUID userId) {
+        redisTemplate.delete(ticketKey(stadiumId, userId));
+    }
+
+    private static Optional<Ticket> toTicket(List<?> fields) {
+        if (fields == null || fields.size() < 3) return Optional.empty();
+        return Optional.of(new Ticket((String) fields.get(0),
+                Long.parseLong((String) fields.get(1)), Long.parseLong((String) fields.get(2))));
+    }
+
+    private static String roomKey(UUID stadiumId) {
+        return KEY_PREFIX + stadiumId;
+    }
+
+    private static String cursorKey(UUID stadiumId) {
+        return KEY_PREFIX + stadiumId + ":cursor";
+    }
+
+    private static String ticketKey(UUID stadiumId, UUID userId) {
+        return KEY_PREFIX + stadiumId + ":ticket:" + userId;
+    }
+
+    private record CachedRoom(Optional<WaitingRoom> room, long loadedAt) {}
+}
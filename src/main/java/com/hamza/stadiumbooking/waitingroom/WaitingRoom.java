@@ -0,0 +1,18 @@
+package com.hamza.stadiumbooking.waitingroom;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Settings of an open waiting room: one player is admitted every {@code 60s / admitPerMinute}, and an admission
+ * token is good for {@code tokenTtlSeconds} after its admission time.
+ */
+record WaitingRoom(int admitPerMinute, int tokenTtlSeconds) {
+
+    long admitIntervalMillis() {
+        return Math.max(1, TimeUnit.MINUTES.toMillis(1) / admitPerMinute);
+    }
+
+    long tokenTtlMillis() {
+        return TimeUnit.SECONDS.toMillis(tokenTtlSeconds);
+    }
+}
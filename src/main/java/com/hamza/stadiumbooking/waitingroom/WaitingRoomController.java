@@ -0,0 +1,53 @@
+package com.hamza.stadiumbooking.waitingroom;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController @RequiredArgsConstructor @Slf4j
+@RequestMapping("/api/v1/stadiums/{stadiumId}/waiting-room")
+public class WaitingRoomController {
+
+    private final WaitingRoomService waitingRoomService;
+
+    @GetMapping
+    public ResponseEntity<WaitingRoomResponse> getWaitingRoom(@PathVariable UUID stadiumId) {
+        log.debug("Incoming request to get waiting room of stadium: {}", stadiumId);
+        return ResponseEntity.ok(waitingRoomService.getWaitingRoom(stadiumId));
+    }
+
+    @PutMapping
+    @PreAuthorize("@ownershipValidationService.isStadiumOwner(#stadiumId)")
+    public ResponseEntity<WaitingRoomResponse> openWaitingRoom(@PathVariable UUID stadiumId,
+                                                               @RequestBody @Valid WaitingRoomRequest request) {
+        log.info("Incoming request to open waiting room of stadium: {}", stadiumId);
+        return ResponseEntity.ok(waitingRoomService.openWaitingRoom(stadiumId, request));
+    }
+
+    @DeleteMapping
+    @PreAuthorize("@ownershipValidationService.isStadiumOwner(#stadiumId)")
+    public ResponseEntity<Void> closeWaitingRoom(@PathVariable UUID stadiumId) {
+        log.info("Incoming request to close waiting room of stadium: {}", stadiumId);
+        waitingRoomService.closeWaitingRoom(stadiumId);
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+
+    @PostMapping("/join")
+    @PreAuthorize("hasAnyRole('PLAYER', 'ADMIN')")
+    public ResponseEntity<WaitingRoomTicket> join(@PathVariable UUID stadiumId) {
+        log.debug("Incoming request to join waiting room of stadium: {}", stadiumId);
+        return ResponseEntity.ok(waitingRoomService.join(stadiumId));
+    }
+
+    @GetMapping("/position")
+    @PreAuthorize("hasAnyRole('PLAYER', 'ADMIN')")
+    public ResponseEntity<WaitingRoomTicket> getPosition(@PathVariable UUID stadiumId) {
+        return ResponseEntity.ok(waitingRoomService.getPosition(stadiumId));
+    }
+}
@@ -0,0 +1,17 @@
+package com.hamza.stadiumbooking.waitingroom;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+public record WaitingRoomRequest(
+        @NotNull(message = "Admission rate is required")
+        @Min(value = 1, message = "At least one player per minute must be admitted")
+        @Max(value = 6000, message = "At most 6000 players per minute can be admitted")
+        Integer admitPerMinute,
+
+        @Min(value = 30, message = "Admission tokens must be valid for at least 30 seconds")
+        @Max(value = 3600, message = "Admission tokens can be valid for at most an hour")
+        Integer tokenTtlSeconds
+) {
+}
@@ -0,0 +1,11 @@
+package com.hamza.stadiumbooking.waitingroom;
+
+import java.util.UUID;
+
+public record WaitingRoomResponse(
+        UUID stadiumId,
+        boolean open,
+        Integer admitPerMinute,
+        Integer tokenTtlSeconds
+) {
+}
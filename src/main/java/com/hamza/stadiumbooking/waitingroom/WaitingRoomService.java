@@ -0,0 +1,205 @@
+package com.hamza.stadiumbooking.waitingroom;
+
+import com.hamza.stadiumbooking.exception.ResourceNotFoundException;
+import com.hamza.stadiumbooking.exception.TooManyRequestsException;
+import com.hamza.stadiumbooking.security.utils.OwnershipValidationService;
+import com.hamza.stadiumbooking.stadium.StadiumRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Virtual waiting room for high-demand booking releases. While a stadium's room is open, players queue with
+ * {@link #join}, are admitted one every {@code 60s / admitPerMinute} in join order, and only a player holding an
+ * admitted, unexpired token reaches the booking path (and its stadium row lock); everyone else gets a 429 with the
+ * time left in the queue as Retry-After. A token is spent by the booking it makes, so each admission books once.
+ * <p>
+ * Queue state is per node ({@code waiting-room.mode=local}) or shared in Redis ({@code redis}). The room only
+ * shapes load, so if Redis fails while checking a booking the booking goes through and the row lock serialises it
+ * as before.
+ */
+@Slf4j
+@Service
+public class WaitingRoomService {
+
+    public static final String TOKEN_HEADER = "X-Waiting-Room-Token";
+
+    private final WaitingRoomStore store;
+    private final StadiumRepository stadiumRepository;
+    private final OwnershipValidationService ownershipValidationService;
+    private final int defaultTokenTtlSeconds;
+    private final Counter joins;
+    private final Counter admissions;
+    private final MeterRegistry meterRegistry;
+
+    public WaitingRoomService(@Value("${waiting-room.mode:local}") String mode,
+                              @Value("${waiting-room.room-cache-ms:1000}") long roomCacheMillis,
+                              @Value("${waiting-room.default-token-ttl-seconds:120}") int defaultTokenTtlSeconds,
+                              StringRedisTemplate redisTemplate,
+                              StadiumRepository stadiumRepository,
+                              OwnershipValidationService ownershipValidationService,
+                              MeterRegistry meterRegistry) {
+        boolean redisMode = "redis".equalsIgnoreCase(mode);
+        this.store = redisMode ? new RedisWaitingRoomStore(redisTemplate, roomCacheMillis) : new LocalWaitingRoomStore(System::currentTimeMillis);
+        this.defaultTokenTtlSeconds = defaultTokenTtlSeconds;
+        this.stadiumRepository = stadiumRepository;
+        this.ownershipValidationService = ownershipValidationService;
+        this.meterRegistry = meterRegistry;
+        this.joins = Counter.builder("waiting.room.joins")
+                .description("Players queued in a stadium waiting room")
+                .register(meterRegistry);
+        this.admissions = Counter.builder("waiting.room.admissions")
+                .description("Bookings made with an admission token")
+                .register(meterRegistry);
+
+        log.info("Waiting room mode: {}", redisMode ? "redis" : "local");
+    }
+
+    public WaitingRoomResponse getWaitingRoom(UUID stadiumId) {
+        return store.room(stadiumId)
+                .map(room -> new WaitingRoomResponse(stadiumId, true, room.admitPerMinute(), room.tokenTtlSeconds()))
+                .orElseGet(() -> new WaitingRoomResponse(stadiumId, false, null, null));
+    }
+
+    public WaitingRoomResponse openWaitingRoom(UUID stadiumId, WaitingRoomRequest request) {
+        if (stadiumRepository.findByIdAndIsDeletedFalse(stadiumId).isEmpty()) {
+            throw new ResourceNotFoundException("Stadium not found with ID: " + stadiumId);
+        }
+        WaitingRoom room = new WaitingRoom(request.admitPerMinute(),
+                request.tokenTtlSeconds() != null ? request.tokenTtlSeconds() : defaultTokenTtlSeconds);
+        store.open(stadiumId, room);
+        log.atInfo().addKeyValue("action", "openWaitingRoom").addKeyValue("stadiumId", stadiumId)
+                .addKeyValue("admitPerMinute", room.admitPerMinute()).log("Waiting room opened");
+        return new WaitingRoomResponse(stadiumId, true, room.admitPerMinute(), room.tokenTtlSeconds());
+    }
+
+    public void closeWaitingRoom(UUID stadiumId) {
+        store.close(stadiumId);
+        log.atInfo().addKeyValue("action", "closeWaitingRoom").addKeyValue("stadiumId", stadiumId).log("Waiting room closed");
+    }
+
+    public WaitingRoomTicket join(UUID stadiumId) {
+        WaitingRoom room = openRoom(stadiumId);
+        WaitingRoomStore.Ticket ticket = store.join(stadiumId, ownershipValidationService.getCurrentUserId(), room);
+        joins.increment();
+        return toResponse(stadiumId, room, ticket);
+    }
+
+    public WaitingRoomTicket getPosition(UUID stadiumId) {
+        WaitingRoom room = openRoom(stadiumId);
+        return store.ticket(stadiumId, ownershipValidationService.getCurrentUserId())
+                .map(ticket -> toResponse(stadiumId, room, ticket))
+                .orElseThrow(() -> new ResourceNotFoundException("You are not queued in this stadium's waiting room"));
+    }
+
+    /**
+     * Lets a booking for {@code stadiumId} through only with an admitted token while the stadium's room is open.
+     * Admins are never queued.
+     *
+     * The token is claimed for the booking, so a concurrent request carrying the same token is turned away until it's
+     * {@linkplain #consume consumed} or {@linkplain #release released}.
+     *
+     * @return true when the booking holds a claimed token, to be consumed once it succeeds or released if it fails
+     * @throws TooManyRequestsException when the player has to (keep) queueing
+     */
+    public boolean checkAdmission(UUID stadiumId, String token) {
+        if (stadiumId == null || ownershipValidationService.isAdmin()) return false;
+        Optional<WaitingRoomStore.Ticket> ticket;
+        try {
+            if (store.room(stadiumId).isEmpty()) return false;
+            ticket = store.ticket(stadiumId, ownershipValidationService.getCurrentUserId());
+        } catch (RuntimeException e) {
+            log.warn("Waiting room store error, letting booking for stadium {} through -> {}", stadiumId, e.getMessage());
+            return false;
+        }
+
+        if (ticket.isEmpty()) {
+            throw reject("not_queued", "Bookings for this stadium go through its waiting room. Join the queue first.", 1);
+        }
+        long waitMillis = ticket.get().admitAt() - ticket.get().now();
+        if (waitMillis > 0) {
+            throw reject("not_admitted", "You are still in the waiting room. Please retry once admitted.", toSeconds(waitMillis));
+        }
+        if (!ticket.get().token().equals(token)) {
+            throw reject("invalid_token", "Missing or invalid " + TOKEN_HEADER + " header.", 1);
+        }
+        boolean claimed;
+        try {
+            claimed = store.claim(stadiumId, ownershipValidationService.getCurrentUserId(), token);
+        } catch (RuntimeException e) {
+            log.warn("Waiting room store error, letting booking for stadium {} through -> {}", stadiumId, e.getMessage());
+            return false;
+        }
+        if (!claimed) {
+            throw reject("token_in_use", "Your admission token is in use by another booking. Please retry shortly.", 1);
+        }
+        return true;
+    }
+
+    public void consume(UUID stadiumId) {
+        try {
+            store.consume(stadiumId, ownershipValidationService.getCurrentUserId());
+            admissions.increment();
+        } catch (RuntimeException e) {
+            log.warn("Waiting room store error, admission token for stadium {} not consumed -> {}", stadiumId, e.getMessage());
+        }
+    }
+
+    public void release(UUID stadiumId) {
+        try {
+            store.release(stadiumId, ownershipValidationService.getCurrentUserId());
+        } catch (RuntimeException e) {
+            log.warn("Waiting room store error, admission token for stadium {} not released -> {}", stadiumId, e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${waiting-room.sweep-ms:60000}")
+    public void sweepExpiredTickets() {
+        try {
+            store.sweep();
+        } catch (Exception e) {
+            log.error("❌ Error during waiting room sweep: {}", e.getMessage());
+        }
+    }
+
+    private WaitingRoom openRoom(UUID stadiumId) {
+        return store.room(stadiumId)
+                .orElseThrow(() -> new ResourceNotFoundException("No open waiting room for stadium: " + stadiumId));
+    }
+
+    private TooManyRequestsException reject(String reason, String message, long retryAfterSeconds) {
+        meterRegistry.counter("waiting.room.rejections", "reason", reason).increment();
+        return new TooManyRequestsException(message, retryAfterSeconds);
+    }
+
+    private static WaitingRoomTicket toResponse(UUID stadiumId, WaitingRoom room, WaitingRoomStore.Ticket ticket) {
+        long waitMillis = Math.max(0, ticket.admitAt() - ticket.now());
+        boolean admitted = waitMillis == 0;
+        return new WaitingRoomTicket(stadiumId,
+                (waitMillis + room.admitIntervalMillis() - 1) / room.admitIntervalMillis(),
+                toSeconds(waitMillis),
+                admitted,
+                admitted ? ticket.token() : null,
+                toLocalDateTime(ticket.admitAt()),
+                toLocalDateTime(ticket.admitAt() + room.tokenTtlMillis()));
+    }
+
+    private static long toSeconds(long millis) {
+        return TimeUnit.MILLISECONDS.toSeconds(millis + TimeUnit.SECONDS.toMillis(1) - 1);
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,56 @@
+package com.hamza.stadiumbooking.waitingroom;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Queue state of the waiting rooms: the settings of each open room, its admission cursor (the time the next joiner
+ * will be admitted) and one ticket per queued player. Tickets are handed out in join order with admission times
+ * {@code interval} apart, the same virtual-scheduling arithmetic as the rate limiter's buckets, so the queue needs no
+ * admitting job: a ticket is admitted once the store's clock passes its time.
+ */
+interface WaitingRoomStore {
+
+    /**
+     * @param token   the admission token, also the ticket's identity
+     * @param admitAt epoch millis from which the token is accepted
+     * @param now     the store's clock when the ticket was read, so positions are computed against one clock
+     */
+    record Ticket(String token, long admitAt, long now) {}
+
+    Optional<WaitingRoom> room(UUID stadiumId);
+
+    void open(UUID stadiumId, WaitingRoom room);
+
+    void close(UUID stadiumId);
+
+    /**
+     * Queues the player behind everyone already waiting, or returns their ticket if it hasn't expired yet.
+     */
+    Ticket join(UUID stadiumId, UUID userId, WaitingRoom room);
+
+    Optional<Ticket> ticket(UUID stadiumId, UUID userId);
+
+    /**
+     * Marks the player's ticket as held by an in-flight booking, if it still carries {@code token} and no other booking
+     * holds it, so two concurrent requests can't both book on one admission.
+     *
+     * @return false when the ticket is gone, carries another token or is already held
+     */
+    boolean claim(UUID stadiumId, UUID userId, String token);
+
+    /**
+     * Hands a claimed ticket back after its booking failed, so the player can retry within the token's lifetime.
+     */
+    void release(UUID stadiumId, UUID userId);
+
+    /**
+     * Drops the player's ticket once it was used for a booking.
+     */
+    void consume(UUID stadiumId, UUID userId);
+
+    /**
+     * Drops expired tickets, for stores that don't expire them by themselves.
+     */
+    default void sweep() {}
+}
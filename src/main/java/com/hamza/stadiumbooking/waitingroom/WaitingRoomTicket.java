@@ -0,0 +1,20 @@
+package com.hamza.stadiumbooking.waitingroom;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A player's place in a waiting room. {@code position} counts the players admitted before them; at 0 the ticket is
+ * admitted and {@code token} goes in the {@code X-Waiting-Room-Token} header of the booking request until
+ * {@code expiresAt}.
+ */
+public record WaitingRoomTicket(
+        UUID stadiumId,
+        long position,
+        long estimatedWaitSeconds,
+        boolean admitted,
+        String token,
+        LocalDateTime admittedAt,
+        LocalDateTime expiresAt
+) {
+}
@@ -0,0 +1,146 @@
+package com.hamza.stadiumbooking.analytics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hamza.stadiumbooking.base.AuthTestUtils;
+import com.hamza.stadiumbooking.booking.BookingRequest;
+import com.hamza.stadiumbooking.booking.BookingRequestForUpdate;
+import com.hamza.stadiumbooking.stadium.Stadium;
+import com.hamza.stadiumbooking.user.Role;
+import com.hamza.stadiumbooking.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static com.hamza.stadiumbooking.base.QueryBudget.atMost;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Daily revenue rollups read from bookings past the job's watermarks, and the reports over them, on H2.
+ */
+@AutoConfigureMockMvc
+@SpringBootTest
+@ActiveProfiles({"test", "h2"})
+class RevenueRollupTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private AuthTestUtils authTestUtils;
+    @Autowired
+    private RevenueRollupService revenueRollupService;
+
+    private String playerToken;
+    private String ownerToken;
+    private String otherManagerToken;
+    private String adminToken;
+    private Stadium stadium;
+    private Stadium other;
+    private final LocalDate day = LocalDate.now().plusDays(5);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        User owner = authTestUtils.saveUser("revenue-owner-" + suffix + "@gmail.com", "Owner@1234", "020" + suffix, Role.ROLE_MANAGER);
+        User manager = authTestUtils.saveUser("revenue-manager-" + suffix + "@gmail.com", "Manager@1234", "021" + suffix, Role.ROLE_MANAGER);
+        User admin = authTestUtils.saveUser("revenue-admin-" + suffix + "@gmail.com", "Admin@1234", "022" + suffix, Role.ROLE_ADMIN);
+        User player = authTestUtils.savePlayer("revenue-player-" + suffix + "@gmail.com", "Player@1234", "023" + suffix);
+        stadium = authTestUtils.saveStadium("Revenue " + suffix, owner);
+        other = authTestUtils.saveStadium("Revenue other " + suffix, owner);
+        playerToken = authTestUtils.obtainAccessToken(player.getEmail(), "Player@1234");
+        ownerToken = authTestUtils.obtainAccessToken(owner.getEmail(), "Owner@1234");
+        otherManagerToken = authTestUtils.obtainAccessToken(manager.getEmail(), "Manager@1234");
+        adminToken = authTestUtils.obtainAccessToken(admin.getEmail(), "Admin@1234");
+    }
+
+    @Test
+    void changedBookings_ShouldMoveBetweenRollupsAndBeCountedOnce() throws Exception {
+        book(stadium, day.atTime(18, 0), day.atTime(19, 0));
+        UUID cancelled = book(stadium, day.atTime(20, 0), day.atTime(22, 0));
+        UUID moved = book(other, day.atTime(17, 0), day.atTime(18, 0));
+        revenueRollupService.rollUp();
+
+        mockMvc.perform(delete("/api/v1/bookings/" + cancelled).header("Authorization", "Bearer " + playerToken))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(put("/api/v1/bookings/" + moved)
+                        .header("Authorization", "Bearer " + playerToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BookingRequestForUpdate(null, day.plusDays(1).atTime(18, 0), day.plusDays(1).atTime(19, 0), "moved"))))
+                .andExpect(status().isOk());
+        revenueRollupService.rollUp();
+        // Nothing new: a second run must not count anything twice
+        revenueRollupService.rollUp();
+
+        report(ownerToken, null).andExpect(status().isOk())
+                .andExpect(jsonPath("$.total.confirmed.bookings").value(2))
+                .andExpect(jsonPath("$.total.confirmed.revenue").value(500.0))
+                .andExpect(jsonPath("$.total.cancelled.bookings").value(1))
+                .andExpect(jsonPath("$.total.cancelled.revenue").value(450.0))
+                .andExpect(jsonPath("$.days.length()").value(2))
+                .andExpect(jsonPath("$.days[0].day").value(day.toString()))
+                .andExpect(jsonPath("$.days[0].revenue.confirmed.revenue").value(250.0))
+                .andExpect(jsonPath("$.days[0].revenue.cancelled.bookings").value(1))
+                .andExpect(jsonPath("$.days[1].day").value(day.plusDays(1).toString()))
+                .andExpect(jsonPath("$.days[1].revenue.confirmed.revenue").value(250.0));
+        report(ownerToken, other.getId()).andExpect(status().isOk())
+                .andExpect(jsonPath("$.total.confirmed.bookings").value(1))
+                .andExpect(jsonPath("$.days[0].day").value(day.plusDays(1).toString()));
+        report(adminToken, null).andExpect(status().isOk())
+                .andExpect(jsonPath("$.stadiumId").doesNotExist())
+                .andExpect(jsonPath("$.total.confirmed.bookings", greaterThanOrEqualTo(2)))
+                .andExpect(jsonPath("$.total.cancelled.bookings", greaterThanOrEqualTo(1)));
+    }
+
+    @Test
+    void reports_ShouldStayInTheCallersScopeAndReadOnlyRollups() throws Exception {
+        report(ownerToken, null).andExpect(status().isOk()).andExpect(atMost(4));
+        report(adminToken, null).andExpect(status().isOk()).andExpect(atMost(4));
+        report(otherManagerToken, null).andExpect(status().isOk())
+                .andExpect(jsonPath("$.total.confirmed.bookings").value(0))
+                .andExpect(jsonPath("$.days.length()").value(0));
+        report(otherManagerToken, stadium.getId()).andExpect(status().isForbidden());
+        report(playerToken, null).andExpect(status().isForbidden());
+
+        mockMvc.perform(request(ownerToken, null).param("from", day.toString()).param("to", day.minusDays(1).toString()))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(request(ownerToken, null).param("from", day.toString()).param("to", day.plusDays(RevenueRollupService.MAX_REPORT_DAYS).toString()))
+                .andExpect(status().isBadRequest());
+    }
+
+    private UUID book(Stadium target, LocalDateTime start, LocalDateTime end) throws Exception {
+        String response = mockMvc.perform(post("/api/v1/bookings")
+                        .header("Authorization", "Bearer " + playerToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BookingRequest(target.getId(), start, end, "revenue"))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return UUID.fromString(objectMapper.readTree(response).get("id").asText());
+    }
+
+    private ResultActions report(String token, UUID stadiumId) throws Exception {
+        return mockMvc.perform(request(token, stadiumId).param("from", day.toString()).param("to", day.plusDays(1).toString()));
+    }
+
+    private MockHttpServletRequestBuilder request(String token, UUID stadiumId) {
+        MockHttpServletRequestBuilder request = get("/api/v1/reports/revenue").header("Authorization", "Bearer " + token);
+        return stadiumId != null ? request.param("stadiumId", stadiumId.toString()) : request;
+    }
+}
@@ -0,0 +1,164 @@
+package com.hamza.stadiumbooking.analytics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hamza.stadiumbooking.base.AuthTestUtils;
+import com.hamza.stadiumbooking.booking.BookingRequest;
+import com.hamza.stadiumbooking.booking.BookingRequestForUpdate;
+import com.hamza.stadiumbooking.stadium.Stadium;
+import com.hamza.stadiumbooking.user.Role;
+import com.hamza.stadiumbooking.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.hamza.stadiumbooking.base.QueryBudget.atMost;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Heatmap counters folded from the booking outbox and read back, on H2.
+ */
+@AutoConfigureMockMvc
+@SpringBootTest
+@ActiveProfiles({"test", "h2"})
+class StadiumHeatmapTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private AuthTestUtils authTestUtils;
+    @Autowired
+    private StadiumHeatmapService stadiumHeatmapService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String playerToken;
+    private String ownerToken;
+    private String otherManagerToken;
+    private Stadium stadium;
+    private Stadium other;
+    private final LocalDate day = LocalDate.now().plusDays(5);
+    private final int dayIndex = day.getDayOfWeek().getValue() - 1;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // Starts counting, if no earlier run did, before this test's bookings are made
+        stadiumHeatmapService.aggregate();
+
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        User owner = authTestUtils.saveUser("heatmap-owner-" + suffix + "@gmail.com", "Owner@1234", "017" + suffix, Role.ROLE_MANAGER);
+        User manager = authTestUtils.saveUser("heatmap-manager-" + suffix + "@gmail.com", "Manager@1234", "018" + suffix, Role.ROLE_MANAGER);
+        User player = authTestUtils.savePlayer("heatmap-player-" + suffix + "@gmail.com", "Player@1234", "019" + suffix);
+        stadium = authTestUtils.saveStadium("Heatmap " + suffix, owner);
+        other = authTestUtils.saveStadium("Heatmap other " + suffix, owner);
+        playerToken = authTestUtils.obtainAccessToken(player.getEmail(), "Player@1234");
+        ownerToken = authTestUtils.obtainAccessToken(owner.getEmail(), "Owner@1234");
+        otherManagerToken = authTestUtils.obtainAccessToken(manager.getEmail(), "Manager@1234");
+    }
+
+    @Test
+    void lifecycleEvents_ShouldBeCountedOncePerWeekdayAndHour() throws Exception {
+        book(day.atTime(18, 0), day.atTime(19, 30));
+        UUID moved = book(day.atTime(20, 0), day.atTime(21, 0));
+        UUID movedAway = book(day.atTime(22, 0), day.atTime(23, 0));
+        UUID cancelled = book(day.atTime(17, 0), day.atTime(18, 0));
+        update(moved, new BookingRequestForUpdate(null, day.atTime(21, 0), day.atTime(22, 0), "moved"));
+        update(movedAway, new BookingRequestForUpdate(other.getId(), null, null, "moved away"));
+        mockMvc.perform(delete("/api/v1/bookings/" + cancelled).header("Authorization", "Bearer " + playerToken))
+                .andExpect(status().isNoContent());
+
+        stadiumHeatmapService.aggregate();
+        // Nothing new: a second run must not count anything twice
+        stadiumHeatmapService.aggregate();
+
+        String hours = "$.days[" + dayIndex + "].";
+        heatmap(stadium, ownerToken).andExpect(status().isOk())
+                .andExpect(jsonPath("$.pitches").value(1))
+                .andExpect(jsonPath(hours + "bookedHours[17]").value(0.0))
+                .andExpect(jsonPath(hours + "bookedHours[18]").value(1.0))
+                .andExpect(jsonPath(hours + "bookedHours[19]").value(0.5))
+                .andExpect(jsonPath(hours + "bookedHours[20]").value(0.0))
+                .andExpect(jsonPath(hours + "bookedHours[21]").value(1.0))
+                .andExpect(jsonPath(hours + "bookedHours[22]").value(0.0))
+                .andExpect(jsonPath(hours + "occupancy[18]").value(1.0))
+                .andExpect(jsonPath(hours + "revenue[17]").value(0.0))
+                .andExpect(jsonPath(hours + "revenue[18]").value(233.33))
+                .andExpect(jsonPath(hours + "revenue[19]").value(116.67))
+                .andExpect(jsonPath(hours + "revenue[21]").value(250.0))
+                .andExpect(jsonPath(hours + "completedHours[18]").value(0.0));
+        heatmap(other, ownerToken).andExpect(status().isOk())
+                .andExpect(jsonPath(hours + "bookedHours[22]").value(1.0))
+                .andExpect(jsonPath(hours + "revenue[22]").value(250.0));
+    }
+
+    @Test
+    void eventCommittedAfterALaterOne_ShouldStillBeCounted() throws Exception {
+        UUID late = book(day.atTime(18, 0), day.atTime(19, 0));
+        book(day.atTime(20, 0), day.atTime(21, 0));
+        // The first booking's transaction "commits" only after the second one's event was folded in
+        Map<String, Object> event = jdbcTemplate.queryForMap("SELECT * FROM booking_outbox WHERE booking_id = ?", late);
+        jdbcTemplate.update("DELETE FROM booking_outbox WHERE id = ?", event.get("id"));
+        stadiumHeatmapService.aggregate();
+        jdbcTemplate.update("INSERT INTO booking_outbox (id, stadium_id, booking_id, type, payload, created_at, attempts) VALUES (?, ?, ?, ?, ?, ?, 0)",
+                event.get("id"), event.get("stadium_id"), event.get("booking_id"), event.get("type"), event.get("payload"), event.get("created_at"));
+
+        stadiumHeatmapService.aggregate();
+
+        String hours = "$.days[" + dayIndex + "].";
+        heatmap(stadium, ownerToken).andExpect(status().isOk())
+                .andExpect(jsonPath(hours + "bookedHours[18]").value(1.0))
+                .andExpect(jsonPath(hours + "bookedHours[20]").value(1.0));
+    }
+
+    @Test
+    void heatmap_ShouldReadCountersOnlyAndBeOwnersOnly() throws Exception {
+        heatmap(stadium, ownerToken).andExpect(status().isOk())
+                .andExpect(jsonPath("$.days.length()").value(7))
+                .andExpect(jsonPath("$.days[0].occupancy.length()").value(24))
+                .andExpect(atMost(7));
+        heatmap(stadium, otherManagerToken).andExpect(status().isForbidden());
+        heatmap(stadium, playerToken).andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/v1/stadiums/" + UUID.randomUUID() + "/heatmap").header("Authorization", "Bearer " + ownerToken))
+                .andExpect(status().isForbidden());
+    }
+
+    private UUID book(LocalDateTime start, LocalDateTime end) throws Exception {
+        String response = mockMvc.perform(post("/api/v1/bookings")
+                        .header("Authorization", "Bearer " + playerToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BookingRequest(stadium.getId(), start, end, "heatmap"))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return UUID.fromString(objectMapper.readTree(response).get("id").asText());
+    }
+
+    private void update(UUID bookingId, BookingRequestForUpdate request) throws Exception {
+        mockMvc.perform(put("/api/v1/bookings/" + bookingId)
+                        .header("Authorization", "Bearer " + playerToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+    }
+
+    private ResultActions heatmap(Stadium target, String token) throws Exception {
+        return mockMvc.perform(get("/api/v1/stadiums/" + target.getId() + "/heatmap").header("Authorization", "Bearer " + token));
+    }
+}
@@ -0,0 +1,81 @@
+package com.hamza.stadiumbooking.availability;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hamza.stadiumbooking.booking.BookingRepository;
+import com.hamza.stadiumbooking.booking.BookingStatus;
+import com.hamza.stadiumbooking.exception.TooManyRequestsException;
+import com.hamza.stadiumbooking.outbox.BookingEvent;
+import com.hamza.stadiumbooking.outbox.BookingEventType;
+import com.hamza.stadiumbooking.stadium.StadiumService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class AvailabilityStreamServiceTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+    @Mock
+    private StadiumService stadiumService;
+
+    private AvailabilityStreamService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new AvailabilityStreamService(bookingRepository, stadiumService, new ObjectMapper(),
+                new SimpleMeterRegistry(), 3, 2, 60_000, 14, 60_000, 16);
+    }
+
+    @Test
+    void subscribe_whenStadiumBudgetReached_shouldRejectWithTooManyRequests() {
+        UUID stadiumId = UUID.randomUUID();
+        service.subscribe(stadiumId);
+        service.subscribe(stadiumId);
+
+        assertThatThrownBy(() -> service.subscribe(stadiumId))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThat(service.connections()).isEqualTo(2);
+    }
+
+    @Test
+    void subscribe_whenNodeBudgetReached_shouldRejectAndKeepCount() {
+        service.subscribe(UUID.randomUUID());
+        service.subscribe(UUID.randomUUID());
+        service.subscribe(UUID.randomUUID());
+
+        assertThatThrownBy(() -> service.subscribe(UUID.randomUUID()))
+                .isInstanceOf(TooManyRequestsException.class)
+                .hasMessageContaining("capacity");
+        assertThat(service.connections()).isEqualTo(3);
+    }
+
+    @Test
+    void subscribe_shouldReuseTheSnapshotUntilABookingEventForTheStadiumArrives() {
+        AvailabilityStreamService cached = new AvailabilityStreamService(bookingRepository, stadiumService, new ObjectMapper(),
+                new SimpleMeterRegistry(), 10, 10, 60_000, 14, 60_000, 16);
+        UUID stadiumId = UUID.randomUUID();
+        cached.subscribe(stadiumId);
+        cached.subscribe(stadiumId);
+        verify(bookingRepository, times(1)).findBookedSlots(eq(stadiumId), any(), any());
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        cached.onBookingEvent(new BookingEvent(UUID.randomUUID(), BookingEventType.BOOKING_CREATED, LocalDateTime.now(),
+                UUID.randomUUID(), stadiumId, UUID.randomUUID(), start, start.plusHours(1), BookingStatus.CONFIRMED, 100.0));
+        cached.subscribe(stadiumId);
+        verify(bookingRepository, times(2)).findBookedSlots(eq(stadiumId), any(), any());
+    }
+}
@@ -0,0 +1,96 @@
+package com.hamza.stadiumbooking.availability;
+
+import com.hamza.stadiumbooking.base.AuthTestUtils;
+import com.hamza.stadiumbooking.booking.Booking;
+import com.hamza.stadiumbooking.booking.BookingStatus;
+import com.hamza.stadiumbooking.outbox.BookingEvent;
+import com.hamza.stadiumbooking.outbox.BookingEventType;
+import com.hamza.stadiumbooking.stadium.Stadium;
+import com.hamza.stadiumbooking.user.Role;
+import com.hamza.stadiumbooking.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@SpringBootTest
+@ActiveProfiles({"test", "h2"})
+class AvailabilityStreamTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private AuthTestUtils authTestUtils;
+    @Autowired
+    private AvailabilityStreamService availabilityStreamService;
+
+    private Stadium stadium;
+    private User player;
+    private final LocalDate day = LocalDate.now().plusDays(3);
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        User owner = authTestUtils.saveUser("stream-owner-" + suffix + "@gmail.com", "Owner@1234", "017" + suffix, Role.ROLE_MANAGER);
+        player = authTestUtils.savePlayer("stream-player-" + suffix + "@gmail.com", "Player@1234", "018" + suffix);
+        stadium = authTestUtils.saveStadium("Stream " + suffix, owner);
+    }
+
+    @Test
+    void stream_ShouldStartWithSnapshotThenPushCoalescedDeltas() throws Exception {
+        Booking booked = authTestUtils.createAndSaveBooking(stadium, player, day.atTime(17, 0), 1);
+
+        MockHttpServletResponse response = mockMvc.perform(get("/api/v1/stadiums/" + stadium.getId() + "/availability/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+
+        assertThat(response.getContentAsString())
+                .contains("event:snapshot")
+                .contains(booked.getId().toString());
+
+        // Moved then cancelled before the flush: subscribers only see the final state
+        UUID other = UUID.randomUUID();
+        availabilityStreamService.onBookingEvent(event(booked.getId(), BookingEventType.BOOKING_UPDATED, BookingStatus.CONFIRMED, day.atTime(19, 0)));
+        availabilityStreamService.onBookingEvent(event(booked.getId(), BookingEventType.BOOKING_CANCELLED, BookingStatus.CANCELLED, day.atTime(19, 0)));
+        availabilityStreamService.onBookingEvent(event(other, BookingEventType.BOOKING_CREATED, BookingStatus.CONFIRMED, day.atTime(21, 0)));
+        availabilityStreamService.flush();
+        awaitContent(response, "event:slots");
+
+        String slots = response.getContentAsString().substring(response.getContentAsString().indexOf("event:slots"));
+        assertThat(slots.split("event:slots", -1)).hasSize(2);
+        assertThat(slots)
+                .contains("{\"bookingId\":\"" + booked.getId() + "\",\"startTime\":\"" + day + "T19:00:00\",\"endTime\":\"" + day + "T20:00:00\",\"state\":\"FREE\"}")
+                .contains("{\"bookingId\":\"" + other + "\",\"startTime\":\"" + day + "T21:00:00\",\"endTime\":\"" + day + "T22:00:00\",\"state\":\"BOOKED\"}");
+    }
+
+    @Test
+    void stream_WhenStadiumUnknown_ShouldReturnNotFound() throws Exception {
+        mockMvc.perform(get("/api/v1/stadiums/" + UUID.randomUUID() + "/availability/stream"))
+                .andExpect(status().isNotFound());
+    }
+
+    // Deltas are written by each subscriber's own drainer thread, not by flush() itself
+    private static void awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!response.getContentAsString().contains(expected) && System.currentTimeMillis() < deadline) Thread.sleep(10);
+    }
+
+    private BookingEvent event(UUID bookingId, BookingEventType type, BookingStatus status, LocalDateTime start) {
+        return new BookingEvent(UUID.randomUUID(), type, LocalDateTime.now(), bookingId, stadium.getId(), player.getId(),
+                start, start.plusHours(1), status, 320.0);
+    }
+}
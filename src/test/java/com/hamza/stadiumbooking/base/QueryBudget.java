@@ -0,0 +1,49 @@
+package com.hamza.stadiumbooking.base;
+
+import com.hamza.stadiumbooking.sql.SqlStatementCountFilter;
+import com.hamza.stadiumbooking.sql.SqlStatementCounter;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Query-budget assertions for N+1 regressions. Flush pending writes before measuring repository calls, otherwise the
+ * auto-flush inserts are counted against the query.
+ */
+public final class QueryBudget {
+
+    @FunctionalInterface
+    public interface ThrowingSupplier<T> {
+        T get() throws Exception;
+    }
+
+    private QueryBudget() {
+    }
+
+    /**
+     * Runs {@code action} and fails if it prepared more than {@code maxStatements} SQL statements.
+     */
+    public static <T> T assertAtMost(int maxStatements, ThrowingSupplier<T> action) throws Exception {
+        try (SqlStatementCounter.Scope scope = SqlStatementCounter.open()) {
+            T result = action.get();
+            assertThat(scope.count())
+                    .as("SQL statements executed (query budget %d)", maxStatements)
+                    .isLessThanOrEqualTo(maxStatements);
+            return result;
+        }
+    }
+
+    /**
+     * MockMvc matcher on the {@code X-SQL-Statement-Count} header of an endpoint call.
+     */
+    public static ResultMatcher atMost(int maxStatements) {
+        return result -> {
+            String header = result.getResponse().getHeader(SqlStatementCountFilter.HEADER);
+            assertThat(header).as("%s header", SqlStatementCountFilter.HEADER).isNotNull();
+            assertThat(Integer.parseInt(header))
+                    .as("SQL statements for %s %s (query budget %d)", result.getRequest().getMethod(),
+                            result.getRequest().getRequestURI(), maxStatements)
+                    .isLessThanOrEqualTo(maxStatements);
+        };
+    }
+}
@@ -0,0 +1,129 @@
+package com.hamza.stadiumbooking.booking;
+
+import com.hamza.stadiumbooking.base.AuthTestUtils;
+import com.hamza.stadiumbooking.stadium.Stadium;
+import com.hamza.stadiumbooking.user.Role;
+import com.hamza.stadiumbooking.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Archival of finished bookings into {@code bookings_archive} and ranged reads across both tables, on H2.
+ */
+@AutoConfigureMockMvc
+@SpringBootTest
+@ActiveProfiles({"test", "h2"})
+class BookingArchiveTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private AuthTestUtils authTestUtils;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private BookingHistoryRepository bookingHistoryRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String adminToken;
+    private Stadium stadium;
+    private User player;
+    private final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        User admin = authTestUtils.saveUser("archive-admin-" + suffix + "@gmail.com", "Admin@1234", "013" + suffix, Role.ROLE_ADMIN);
+        player = authTestUtils.savePlayer("archive-player-" + suffix + "@gmail.com", "Player@1234", "014" + suffix);
+        stadium = authTestUtils.saveStadium("Archive " + suffix, admin);
+        adminToken = authTestUtils.obtainAccessToken(admin.getEmail(), "Admin@1234");
+    }
+
+    @Test
+    void archive_ShouldMoveOnlyFinishedBookingsOlderThanTheCutoffInChunks() {
+        UUID oldCompleted1 = saveBooking(now.minusMonths(20), BookingStatus.COMPLETED);
+        UUID oldCompleted2 = saveBooking(now.minusMonths(18), BookingStatus.COMPLETED);
+        UUID oldCancelled = saveBooking(now.minusMonths(16), BookingStatus.CANCELLED);
+        UUID oldConfirmed = saveBooking(now.minusMonths(15), BookingStatus.CONFIRMED);
+        UUID recentCompleted = saveBooking(now.minusMonths(2), BookingStatus.COMPLETED);
+
+        BookingArchiveService archiveService = new BookingArchiveService(bookingRepository, bookingHistoryRepository, transactionManager, 12, 2);
+        int archived = archiveService.archiveBookingsEndedBefore(now.minusMonths(12));
+
+        assertThat(archived).isGreaterThanOrEqualTo(3);
+        assertThat(bookingRepository.findAllById(List.of(oldCompleted1, oldCompleted2, oldCancelled, oldConfirmed, recentCompleted)))
+                .extracting(Booking::getId)
+                .containsExactlyInAnyOrder(oldConfirmed, recentCompleted);
+        assertThat(jdbcTemplate.queryForList("SELECT status FROM bookings_archive WHERE stadium_id = ?", String.class, stadium.getId()))
+                .containsExactlyInAnyOrder("COMPLETED", "COMPLETED", "CANCELLED");
+        assertThat(bookingHistoryRepository.findArchivedById(oldCancelled)).get()
+                .extracting(BookingHistory::getStatus).isEqualTo(BookingStatus.CANCELLED);
+    }
+
+    @Test
+    void requiresArchive_ShouldOnlyReachIntoTheArchiveForRangesBeforeTheWatermark() {
+        BookingArchiveService archiveService = new BookingArchiveService(bookingRepository, bookingHistoryRepository, transactionManager, 12, 100);
+
+        assertThat(archiveService.requiresArchive(null, null)).isFalse();
+        assertThat(archiveService.requiresArchive(now.minusMonths(1), null)).isFalse();
+        assertThat(archiveService.requiresArchive(now.minusMonths(13), now.minusMonths(1))).isTrue();
+        assertThat(archiveService.requiresArchive(null, now)).isTrue();
+    }
+
+    @Test
+    void rangedReads_ShouldIncludeArchivedHistoryOnlyWhenTheRangeNeedsIt() throws Exception {
+        UUID archivedId = saveBooking(now.minusMonths(14), BookingStatus.COMPLETED);
+        UUID recentId = saveBooking(now.minusMonths(1), BookingStatus.COMPLETED);
+        new BookingArchiveService(bookingRepository, bookingHistoryRepository, transactionManager, 12, 100)
+                .archiveBookingsEndedBefore(now.minusMonths(12));
+        String url = "/api/v1/bookings/stadiums/" + stadium.getId();
+
+        mockMvc.perform(get(url).header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].id", containsInAnyOrder(recentId.toString())));
+
+        mockMvc.perform(get(url).header("Authorization", "Bearer " + adminToken)
+                        .param("from", now.minusMonths(2).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)));
+
+        mockMvc.perform(get(url).header("Authorization", "Bearer " + adminToken)
+                        .param("from", now.minusYears(2).toString())
+                        .param("to", now.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].id", containsInAnyOrder(archivedId.toString(), recentId.toString())));
+
+        mockMvc.perform(get("/api/v1/bookings/" + archivedId).header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.stadiumName").value(stadium.getName()));
+    }
+
+    private UUID saveBooking(LocalDateTime startTime, BookingStatus status) {
+        Booking booking = authTestUtils.createAndSaveBooking(stadium, player, startTime.withHour(17), 2);
+        jdbcTemplate.update("UPDATE bookings SET status = ? WHERE id = ?", status.name(), booking.getId());
+        return booking.getId();
+    }
+}
@@ -0,0 +1,86 @@
+package com.hamza.stadiumbooking.booking;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BookingImportReaderTest {
+
+    private static final UUID STADIUM_ID = UUID.fromString("0190f1a2-0000-7000-8000-000000000001");
+    private static final UUID USER_ID = UUID.fromString("0190f1a2-0000-7000-8000-000000000002");
+
+    @Test
+    void csv_ShouldMapColumnsByHeaderNameAndHandleQuotedFields() throws IOException {
+        List<BookingImportReader.Record> records = readAll(BookingImportReader.csv(new StringReader("""
+                note,endTime,startTime,userId,stadiumId\r
+                "Birthday, 5-a-side",2026-03-01T19:00,2026-03-01T18:00,%s,%s\r
+                "Line one
+                ""line"" two",2026-03-02T19:00,2026-03-02T18:00,%s,%s
+
+                ,2026-03-03T19:00,2026-03-03T18:00,%s,%s
+                """.formatted(USER_ID, STADIUM_ID, USER_ID, STADIUM_ID, USER_ID, STADIUM_ID))));
+
+        assertThat(records).hasSize(3);
+        assertThat(records.getFirst().booking()).isEqualTo(new BookingImportRow(STADIUM_ID, USER_ID,
+                LocalDateTime.of(2026, 3, 1, 18, 0), LocalDateTime.of(2026, 3, 1, 19, 0), "Birthday, 5-a-side"));
+        assertThat(records.get(1).booking().note()).isEqualTo("Line one\n\"line\" two");
+        assertThat(records.get(2).row()).isEqualTo(3);
+        assertThat(records.get(2).booking().note()).isNull();
+    }
+
+    @Test
+    void csv_ShouldRejectUnparsableRowsAndKeepReading() throws IOException {
+        List<BookingImportReader.Record> records = readAll(BookingImportReader.csv(new StringReader("""
+                stadiumId,userId,startTime,endTime
+                not-a-uuid,%s,2026-03-01T18:00,2026-03-01T19:00
+                %s,%s,01/03/2026 18:00,2026-03-01T19:00
+                %s,%s,2026-03-01T18:00,2026-03-01T19:00
+                """.formatted(USER_ID, STADIUM_ID, USER_ID, STADIUM_ID, USER_ID))));
+
+        assertThat(records).extracting(BookingImportReader.Record::error).containsExactly(
+                "Invalid value for 'stadiumId': not-a-uuid",
+                "Invalid value for 'startTime': 01/03/2026 18:00",
+                null);
+    }
+
+    @Test
+    void csv_ShouldRequireTheBookingColumnsInTheHeader() {
+        assertThatThrownBy(() -> BookingImportReader.csv(new StringReader("stadiumId,startTime,endTime\n")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("userId");
+    }
+
+    @Test
+    void ndjson_ShouldNumberRowsByLineAndReportMalformedLines() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        List<BookingImportReader.Record> records = readAll(BookingImportReader.ndjson(new StringReader("""
+                {"stadiumId":"%s","userId":"%s","startTime":"2026-03-01T18:00","endTime":"2026-03-01T19:00"}
+
+                {"stadiumId":"%s","userId":"%s","startTime":"tomorrow","endTime":"2026-03-01T19:00"}
+                {"stadiumId":
+                """.formatted(STADIUM_ID, USER_ID, STADIUM_ID, USER_ID)), objectMapper));
+
+        assertThat(records).extracting(BookingImportReader.Record::row).containsExactly(1, 3, 4);
+        assertThat(records.getFirst().booking().startTime()).isEqualTo(LocalDateTime.of(2026, 3, 1, 18, 0));
+        assertThat(records.get(1).error()).isEqualTo("Invalid value for 'startTime'");
+        assertThat(records.get(2).error()).isEqualTo("Malformed JSON");
+    }
+
+    private static List<BookingImportReader.Record> readAll(BookingImportReader reader) throws IOException {
+        List<BookingImportReader.Record> records = new ArrayList<>();
+        try (reader) {
+            for (BookingImportReader.Record record = reader.next(); record != null; record = reader.next()) records.add(record);
+        }
+        return records;
+    }
+}
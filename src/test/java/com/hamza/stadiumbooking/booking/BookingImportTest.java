@@ -0,0 +1,175 @@
+package com.hamza.stadiumbooking.booking;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hamza.stadiumbooking.base.AuthTestUtils;
+import com.hamza.stadiumbooking.stadium.Stadium;
+import com.hamza.stadiumbooking.user.Role;
+import com.hamza.stadiumbooking.user.User;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static com.hamza.stadiumbooking.base.QueryBudget.atMost;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Bulk import through {@code POST /api/v1/bookings/import} on the in-memory H2 profile.
+ */
+@Slf4j
+@AutoConfigureMockMvc
+@SpringBootTest
+@ActiveProfiles({"test", "h2"})
+class BookingImportTest {
+
+    private static final String IMPORT_URL = "/api/v1/bookings/import";
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private AuthTestUtils authTestUtils;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String suffix;
+    private String adminToken;
+    private User player;
+    private Stadium stadium;
+    private LocalDate day;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        suffix = UUID.randomUUID().toString().substring(0, 8);
+        User admin = authTestUtils.saveUser("admin-" + suffix + "@gmail.com", "Admin@1234", "012" + suffix, Role.ROLE_ADMIN);
+        player = authTestUtils.savePlayer("player-" + suffix + "@gmail.com", "Player@1234", "011" + suffix);
+        stadium = authTestUtils.saveStadium("Import " + suffix, admin); // open 16:00 - 23:00
+        adminToken = authTestUtils.obtainAccessToken(admin.getEmail(), "Admin@1234");
+        day = LocalDate.now().plusDays(10);
+        authTestUtils.createAndSaveBooking(stadium, player, day.atTime(20, 0), 2);
+    }
+
+    @Test
+    void csvImport_ShouldInsertValidRowsAndReportEveryRejectedRow() throws Exception {
+        String csv = "stadiumId,userId,startTime,endTime,note\n"
+                + row(stadium.getId(), day.atTime(16, 0), 60, "valid")
+                + row(stadium.getId(), day.atTime(21, 0), 60, "overlaps the existing 20:00-22:00 booking")
+                + row(stadium.getId(), day.atTime(16, 30), 60, "overlaps row 1")
+                + row(stadium.getId(), day.atTime(10, 0), 60, "closed")
+                + row(stadium.getId(), day.atTime(17, 0), 45, "too short")
+                + row(UUID.randomUUID(), day.atTime(17, 0), 60, "unknown stadium")
+                + "not-a-uuid," + player.getId() + "," + day.atTime(17, 0) + "," + day.atTime(18, 0) + ",bad id\n"
+                + row(stadium.getId(), day.atTime(17, 30), 120, "valid, ends at 19:30");
+
+        mockMvc.perform(post(IMPORT_URL)
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(TEXT_CSV)
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rows").value(8))
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.rejected").value(6))
+                .andExpect(jsonPath("$.errors", hasSize(6)))
+                .andExpect(jsonPath("$.errors[0].row").value(2))
+                .andExpect(jsonPath("$.errors[0].message").value("This time is already booked"))
+                .andExpect(jsonPath("$.errors[1].message").value("This time is already booked"))
+                .andExpect(jsonPath("$.errors[2].message").value(org.hamcrest.Matchers.startsWith("Stadium is closed")))
+                .andExpect(jsonPath("$.errors[3].message").value("You can't book for less than an hour."))
+                .andExpect(jsonPath("$.errors[4].message").value(org.hamcrest.Matchers.startsWith("Stadium not found")))
+                .andExpect(jsonPath("$.errors[5].message").value("Invalid value for 'stadiumId': not-a-uuid"));
+
+        assertThat(confirmedBookings(stadium.getId())).isEqualTo(3);
+    }
+
+    @Test
+    void ndjsonImport_ShouldWriteInJdbcBatchesAcrossChunks() throws Exception {
+        int days = 300;
+        StringBuilder ndjson = new StringBuilder();
+        for (int d = 0; d < days; d++) {
+            for (int hour = 16; hour < 20; hour++) {
+                LocalDateTime start = day.plusDays(1 + d).atTime(hour, 0);
+                ndjson.append("{\"stadiumId\":\"").append(stadium.getId()).append("\",\"userId\":\"").append(player.getId())
+                        .append("\",\"startTime\":\"").append(start).append("\",\"endTime\":\"").append(start.plusHours(1))
+                        .append("\",\"note\":\"migrated\"}\n");
+            }
+        }
+
+        MvcResult result = mockMvc.perform(post(IMPORT_URL)
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(ndjson.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(days * 4))
+                .andExpect(jsonPath("$.rejected").value(0))
+                // 1200 rows in 3 chunks of 500: per chunk a few lookups plus the batched booking and outbox INSERTs, never one statement per row
+                .andExpect(atMost(60))
+                .andReturn();
+
+        log.info("Bulk import: {} rows, {} SQL statements, response {}", days * 4,
+                result.getResponse().getHeader("X-SQL-Statement-Count"), result.getResponse().getContentAsString());
+        assertThat(confirmedBookings(stadium.getId())).isEqualTo(days * 4 + 1);
+    }
+
+    @Test
+    void csvImport_ShouldRejectRowsInsideAnOpenLotteryWindow() throws Exception {
+        mockMvc.perform(post("/api/v1/stadiums/" + stadium.getId() + "/lotteries")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BookingLotteryRequest(
+                                day.atTime(17, 0), day.atTime(19, 0), LocalDateTime.now().plusHours(1)))))
+                .andExpect(status().isCreated());
+        String csv = "stadiumId,userId,startTime,endTime,note\n"
+                + row(stadium.getId(), day.atTime(16, 0), 60, "before the window")
+                + row(stadium.getId(), day.atTime(18, 30), 60, "overlaps the window");
+
+        mockMvc.perform(post(IMPORT_URL)
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(TEXT_CSV)
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.errors", hasSize(1)))
+                .andExpect(jsonPath("$.errors[0].row").value(2))
+                .andExpect(jsonPath("$.errors[0].message").value("This time is allocated by lottery"));
+
+        assertThat(confirmedBookings(stadium.getId())).isEqualTo(2);
+    }
+
+    @Test
+    void import_ShouldBeForbiddenForPlayers() throws Exception {
+        String playerToken = authTestUtils.obtainAccessToken(player.getEmail(), "Player@1234");
+
+        mockMvc.perform(post(IMPORT_URL)
+                        .header("Authorization", "Bearer " + playerToken)
+                        .contentType(TEXT_CSV)
+                        .content("stadiumId,userId,startTime,endTime\n"))
+                .andExpect(status().isForbidden());
+    }
+
+    private String row(UUID stadiumId, LocalDateTime start, int minutes, String note) {
+        return stadiumId + "," + player.getId() + "," + start + "," + start.plusMinutes(minutes) + ",\"" + note + "\"\n";
+    }
+
+    private long confirmedBookings(UUID stadiumId) {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bookings WHERE stadium_id = ? AND status = 'CONFIRMED'",
+                Long.class, stadiumId);
+        return count == null ? 0 : count;
+    }
+}
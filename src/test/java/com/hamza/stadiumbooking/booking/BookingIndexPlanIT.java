@@ -0,0 +1,186 @@
+package com.hamza.stadiumbooking.booking;
+
+import com.hamza.stadiumbooking.base.AbstractIntegrationTest;
+import com.hamza.stadiumbooking.sql.SqlStatementCounter;
+import com.hamza.stadiumbooking.stadium.Stadium;
+import com.hamza.stadiumbooking.stadium.StadiumRepository;
+import com.hamza.stadiumbooking.stadium.Type;
+import com.hamza.stadiumbooking.user.Role;
+import com.hamza.stadiumbooking.user.User;
+import com.hamza.stadiumbooking.user.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * EXPLAIN-plan regression test for the hot {@link BookingRepository} queries on MySQL. Each query is run once to
+ * capture the SQL Hibernate really generates, then EXPLAINed with the same arguments against a few thousand seeded
+ * bookings, so a changed query, mapping or dropped index that loses its access path fails here.
+ */
+class BookingIndexPlanIT extends AbstractIntegrationTest {
+
+    private static final Pattern BOOKINGS_ALIAS = Pattern.compile("\\bfrom bookings (\\w+)");
+    private static final int USERS = 100;
+    private static final int STADIUMS = 20;
+    private static final int BOOKINGS = 5000;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private StadiumRepository stadiumRepository;
+
+    private final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+    private final List<User> users = new ArrayList<>();
+    private final List<Stadium> stadiums = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        for (int i = 0; i < USERS; i++) {
+            users.add(userRepository.save(new User(null, null, "player " + i, "plan-" + i + "@gmail.com", "0155" + i,
+                    "securePass", LocalDate.of(1995, 1, 1), null, null, Role.ROLE_PLAYER, false)));
+        }
+        for (int i = 0; i < STADIUMS; i++) {
+            stadiums.add(stadiumRepository.save(new Stadium(null, null, "Plan " + i, "Cairo", 300.0, "image.com",
+                    Type.FIVE_A_SIDE, 20, LocalTime.of(8, 0), LocalTime.of(23, 0),
+                    null, new HashSet<>(), users.getFirst(), false, null, null, null)));
+        }
+
+        // Mostly finished history, a quarter upcoming, a trickle of CONFIRMED bookings the status job hasn't completed yet
+        SplittableRandom random = new SplittableRandom(37);
+        List<Object[]> rows = new ArrayList<>(BOOKINGS);
+        for (int i = 0; i < BOOKINGS; i++) {
+            int roll = random.nextInt(100);
+            LocalDateTime start = roll < 25
+                    ? now.plusDays(1 + random.nextInt(60)).withHour(8 + random.nextInt(12))
+                    : now.minusDays(1 + random.nextInt(300)).withHour(8 + random.nextInt(12));
+            String status = roll < 25 || roll == 99 ? "CONFIRMED" : roll < 30 ? "CANCELLED" : "COMPLETED";
+            rows.add(new Object[]{bytes(UUID.randomUUID()), start, start.plusHours(1), 320.0, status,
+                    bytes(users.get(random.nextInt(USERS)).getId()), bytes(stadiums.get(random.nextInt(STADIUMS)).getId()), now});
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO bookings (id, version, start_time, end_time, total_price, status, user_id, stadium_id, created_at)
+                VALUES (?, 0, ?, ?, ?, ?, ?, ?, ?)
+                """, rows);
+        jdbcTemplate.execute("ANALYZE TABLE bookings");
+    }
+
+    @Test
+    void playerListing_ShouldReadUserStartIndexInSortOrder() {
+        UUID userId = users.get(7).getId();
+        Pageable page = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "startTime", "id"));
+
+        Map<String, Object> plan = explainBookings(() -> bookingRepository.findAllByUserId(page, userId),
+                bytes(userId), 10);
+
+        assertThat(plan.get("key")).isEqualTo("idx_booking_user_start");
+        assertThat(String.valueOf(plan.get("Extra"))).doesNotContain("Using filesort");
+    }
+
+    @Test
+    void playerHistoryRange_ShouldUseUserStartIndex() {
+        UUID userId = users.get(3).getId();
+        LocalDateTime from = now.minusDays(30);
+        LocalDateTime to = now.plusDays(7);
+        Pageable page = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "startTime", "id"));
+
+        Map<String, Object> plan = explainBookings(() -> bookingRepository.findInPeriod(page, null, userId, from, to),
+                null, null, bytes(userId), bytes(userId), from, from, to, to, 10);
+
+        assertThat(plan.get("key")).isEqualTo("idx_booking_user_start");
+    }
+
+    @Test
+    void conflictCheck_ShouldBeCoveredByOverlapIndex() {
+        UUID stadiumId = stadiums.get(5).getId();
+        LocalDateTime start = now.plusDays(3).withHour(18);
+        LocalDateTime end = start.plusHours(2);
+
+        Map<String, Object> plan = explainBookings(() -> bookingRepository.findConflictingBookingsForNew(stadiumId, start, end),
+                bytes(stadiumId), end, start);
+
+        assertThat(plan.get("key")).isEqualTo("idx_booking_overlap");
+        assertThat(String.valueOf(plan.get("Extra"))).contains("Using index");
+    }
+
+    @Test
+    void importIntervals_ShouldUseOverlapIndex() {
+        UUID stadiumId = stadiums.get(9).getId();
+        LocalDateTime from = now.plusDays(1);
+        LocalDateTime to = now.plusDays(8);
+
+        Map<String, Object> plan = explainBookings(() -> bookingRepository.findConfirmedIntervals(stadiumId, from, to),
+                bytes(stadiumId), to, from);
+
+        assertThat(plan.get("key")).isEqualTo("idx_booking_overlap");
+    }
+
+    @Test
+    void expiredBookingsJob_ShouldBeCoveredByStatusEndIndex() {
+        Map<String, Object> plan = explainBookings(() -> bookingRepository.findExpiredBookingIds(now), now);
+
+        assertThat(plan.get("key")).isEqualTo("idx_booking_status_end");
+        assertThat(String.valueOf(plan.get("Extra"))).contains("Using index");
+    }
+
+    @Test
+    void archiveJob_ShouldUseStatusEndIndex() {
+        LocalDateTime cutoff = now.minusMonths(6);
+
+        Map<String, Object> plan = explainBookings(
+                () -> bookingRepository.findArchivableIds(BookingArchiveService.ARCHIVABLE, cutoff, Limit.of(100)),
+                "COMPLETED", "CANCELLED", cutoff, 100);
+
+        assertThat(plan.get("key")).isEqualTo("idx_booking_status_end");
+    }
+
+    /**
+     * Runs {@code query}, EXPLAINs the first statement it issued with {@code args} (in placeholder order) and returns
+     * the plan row of the {@code bookings} table.
+     */
+    private Map<String, Object> explainBookings(Supplier<?> query, Object... args) {
+        String sql;
+        try (SqlStatementCounter.Scope scope = SqlStatementCounter.recording()) {
+            query.get();
+            sql = scope.statements().getFirst();
+        }
+        assertThat(sql.chars().filter(c -> c == '?').count())
+                .as("placeholders in %s", sql)
+                .isEqualTo(args.length);
+
+        Matcher alias = BOOKINGS_ALIAS.matcher(sql);
+        assertThat(alias.find()).as("bookings table in %s", sql).isTrue();
+
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN " + sql, args);
+        return plan.stream()
+                .filter(row -> alias.group(1).equals(row.get("table")))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No plan row for bookings in " + plan));
+    }
+
+    private static byte[] bytes(UUID id) {
+        return ByteBuffer.allocate(16).putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits()).array();
+    }
+}
@@ -0,0 +1,296 @@
+package com.hamza.stadiumbooking.booking;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hamza.stadiumbooking.security.jwt.JwtProvider;
+import com.hamza.stadiumbooking.stadium.Stadium;
+import com.hamza.stadiumbooking.stadium.StadiumRepository;
+import com.hamza.stadiumbooking.stadium.Type;
+import com.hamza.stadiumbooking.user.Role;
+import com.hamza.stadiumbooking.user.User;
+import com.hamza.stadiumbooking.user.UserRepository;
+import com.hamza.stadiumbooking.waitingroom.WaitingRoomRequest;
+import com.hamza.stadiumbooking.waitingroom.WaitingRoomService;
+import com.hamza.stadiumbooking.waitingroom.WaitingRoomTicket;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Drives {@code POST /api/v1/bookings} through the full filter chain (JWT, security, controller, transaction) with
+ * N concurrent players, in-process via {@link MockMvc} so no socket or network is involved. Players release together
+ * from a start gate and pick 60/90/120 minute slots on a 30 minute grid, so overlapping requests hit the stadium row
+ * lock in {@code addBooking} on the real database (H2 or MySQL).
+ * <p>
+ * A scenario with {@code admitPerMinute} opens the hot stadium's waiting room first; players then join the queue,
+ * poll their position until admitted and book with the admission token, so only admitted players reach the lock.
+ * <p>
+ * Defaults are CI sized; scale up with {@code -Dloadtest.players=200 -Dloadtest.bookings-per-player=50}.
+ */
+@Slf4j
+class BookingLoadHarness {
+
+    static final int PLAYERS = Integer.getInteger("loadtest.players", 32);
+    static final int BOOKINGS_PER_PLAYER = Integer.getInteger("loadtest.bookings-per-player", 10);
+    static final int ADMIT_PER_MINUTE = Integer.getInteger("loadtest.admit-per-minute", 6000);
+
+    private static final String API_V1_BOOKINGS = "/api/v1/bookings";
+    private static final LocalTime OPEN_TIME = LocalTime.of(8, 0);
+    private static final int START_SLOTS = 27; // 08:00 .. 21:00, every 30 minutes
+    private static final int[] DURATIONS = {60, 90, 120};
+    private static final long ADMISSION_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(2);
+
+    /**
+     * @param hotShare fraction of requests aimed at the single hot stadium, the rest spread over the cold ones
+     * @param hotDays  number of days the hot stadium's demand is squeezed into
+     * @param coldDays number of days the cold stadiums' demand is spread over
+     * @param admitPerMinute admission rate of the hot stadium's waiting room, 0 to book without one
+     */
+    record Scenario(String name, int players, int bookingsPerPlayer, int coldStadiums, double hotShare, int hotDays, int coldDays,
+                    int admitPerMinute) {
+
+        static Scenario singleHotStadium() {
+            return new Scenario("single-hot-stadium", PLAYERS, BOOKINGS_PER_PLAYER, 0, 1.0, 1, 1, 0);
+        }
+
+        static Scenario hotColdMix() {
+            return new Scenario("hot-cold-mix", PLAYERS, BOOKINGS_PER_PLAYER, 8, 0.8, 1, 14, 0);
+        }
+
+        static Scenario waitingRoomRelease() {
+            return new Scenario("waiting-room-release", PLAYERS, BOOKINGS_PER_PLAYER, 0, 1.0, 1, 1, ADMIT_PER_MINUTE);
+        }
+    }
+
+    record Report(String scenario, int requests, int created, int conflicts, Map<Integer, Integer> statusCounts,
+                  double throughput, double p50Millis, double p99Millis, long confirmedRows, long overlappingPairs) {
+
+        double conflictRate() {
+            return requests == 0 ? 0 : (double) conflicts / requests;
+        }
+
+        int serverErrors() {
+            return statusCounts.entrySet().stream().filter(e -> e.getKey() >= 500).mapToInt(Map.Entry::getValue).sum();
+        }
+    }
+
+    private record Outcome(int status, long latencyNanos) {}
+
+    private final MockMvc mockMvc;
+    private final ObjectMapper objectMapper;
+    private final JwtProvider jwtProvider;
+    private final UserRepository userRepository;
+    private final StadiumRepository stadiumRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    BookingLoadHarness(MockMvc mockMvc, ObjectMapper objectMapper, JwtProvider jwtProvider, UserRepository userRepository,
+                       StadiumRepository stadiumRepository, JdbcTemplate jdbcTemplate) {
+        this.mockMvc = mockMvc;
+        this.objectMapper = objectMapper;
+        this.jwtProvider = jwtProvider;
+        this.userRepository = userRepository;
+        this.stadiumRepository = stadiumRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    Report run(Scenario scenario) throws Exception {
+        return run(scenario, Executors.newFixedThreadPool(scenario.players()));
+    }
+
+    /**
+     * @param executor runs each player's requests; MockMvc serves them on the calling thread, so this stands in for
+     *                 the server's request threads. Closed once the run is over.
+     */
+    Report run(Scenario scenario, ExecutorService executor) throws Exception {
+        String runId = Long.toString(System.nanoTime(), 36);
+        User owner = saveUser("owner-" + runId, Role.ROLE_MANAGER);
+        UUID hotStadium = saveStadium("Hot " + runId, owner);
+        List<UUID> coldStadiums = new ArrayList<>();
+        for (int i = 0; i < scenario.coldStadiums(); i++) coldStadiums.add(saveStadium("Cold " + runId + "-" + i, owner));
+        if (scenario.admitPerMinute() > 0) openWaitingRoom(owner, hotStadium, scenario.admitPerMinute());
+
+        List<String> tokens = new ArrayList<>(scenario.players());
+        for (int i = 0; i < scenario.players(); i++) {
+            User player = saveUser("player-" + runId + "-" + i, Role.ROLE_PLAYER);
+            tokens.add(jwtProvider.createAccessToken(player.getEmail(), player.getId(), false, List.of(Role.ROLE_PLAYER.name())));
+        }
+
+        long confirmedBefore = countConfirmed();
+        LocalDate firstDay = LocalDate.now().plusDays(2);
+        int requests = scenario.players() * scenario.bookingsPerPlayer();
+        CountDownLatch startGate = new CountDownLatch(1);
+        List<Future<List<Outcome>>> players = new ArrayList<>(scenario.players());
+
+        long start;
+        try (executor) {
+            for (int p = 0; p < scenario.players(); p++) {
+                String token = tokens.get(p);
+                SplittableRandom random = new SplittableRandom(p);
+                players.add(executor.submit(() -> {
+                    startGate.await();
+                    List<Outcome> outcomes = new ArrayList<>(scenario.bookingsPerPlayer());
+                    for (int i = 0; i < scenario.bookingsPerPlayer(); i++) {
+                        BookingRequest request = nextRequest(scenario, random, firstDay, hotStadium, coldStadiums);
+                        String admission = scenario.admitPerMinute() > 0 && request.stadiumId().equals(hotStadium)
+                                ? awaitAdmission(token, hotStadium) : null;
+                        outcomes.add(book(token, admission, request));
+                    }
+                    return outcomes;
+                }));
+            }
+            start = System.nanoTime();
+            startGate.countDown();
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        long[] latencies = new long[requests];
+        Map<Integer, Integer> statusCounts = new TreeMap<>();
+        int index = 0;
+        for (Future<List<Outcome>> player : players) {
+            for (Outcome outcome : player.get()) {
+                latencies[index++] = outcome.latencyNanos();
+                statusCounts.merge(outcome.status(), 1, Integer::sum);
+            }
+        }
+        Arrays.sort(latencies);
+
+        Report report = new Report(scenario.name(), requests,
+                statusCounts.getOrDefault(201, 0), statusCounts.getOrDefault(409, 0), statusCounts,
+                requests / elapsedSeconds, percentileMillis(latencies, 0.50), percentileMillis(latencies, 0.99),
+                countConfirmed() - confirmedBefore, countOverlappingBookings());
+
+        log.info("Load test [{}] {} players x {} bookings | {} req/s | p50 {} ms | p99 {} ms | 409 rate {}% | statuses {} | overlapping pairs {}",
+                report.scenario(), scenario.players(), scenario.bookingsPerPlayer(), Math.round(report.throughput()),
+                String.format("%.1f", report.p50Millis()), String.format("%.1f", report.p99Millis()),
+                String.format("%.1f", report.conflictRate() * 100), report.statusCounts(), report.overlappingPairs());
+        return report;
+    }
+
+    /**
+     * Zero-double-booking invariant: no two CONFIRMED bookings on the same pitch may overlap (a booking without a
+     * pitch holds the whole stadium).
+     */
+    long countOverlappingBookings() {
+        Long pairs = jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM bookings a
+                JOIN bookings b ON a.stadium_id = b.stadium_id AND a.id <> b.id
+                WHERE a.status = 'CONFIRMED' AND b.status = 'CONFIRMED'
+                AND (a.pitch_id IS NULL OR b.pitch_id IS NULL OR a.pitch_id = b.pitch_id)
+                AND a.start_time < b.end_time AND b.start_time < a.end_time
+                """, Long.class);
+        return pairs == null ? 0 : pairs / 2;
+    }
+
+    private long countConfirmed() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bookings WHERE status = 'CONFIRMED'", Long.class);
+        return count == null ? 0 : count;
+    }
+
+    private BookingRequest nextRequest(Scenario scenario, SplittableRandom random, LocalDate firstDay,
+                                       UUID hotStadium, List<UUID> coldStadiums) {
+        boolean hot = coldStadiums.isEmpty() || random.nextDouble() < scenario.hotShare();
+        UUID stadiumId = hot ? hotStadium : coldStadiums.get(random.nextInt(coldStadiums.size()));
+        int days = hot ? scenario.hotDays() : scenario.coldDays();
+
+        LocalDateTime startTime = firstDay.plusDays(random.nextInt(days))
+                .atTime(OPEN_TIME).plusMinutes(30L * random.nextInt(START_SLOTS));
+        return new BookingRequest(stadiumId, startTime, startTime.plusMinutes(DURATIONS[random.nextInt(DURATIONS.length)]), "load test");
+    }
+
+    private Outcome book(String token, String admission, BookingRequest bookingRequest) throws Exception {
+        MockHttpServletRequestBuilder request = post(API_V1_BOOKINGS)
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsBytes(bookingRequest));
+        if (admission != null) request.header(WaitingRoomService.TOKEN_HEADER, admission);
+
+        long sent = System.nanoTime();
+        int status = mockMvc.perform(request).andReturn().getResponse().getStatus();
+        return new Outcome(status, System.nanoTime() - sent);
+    }
+
+    private void openWaitingRoom(User owner, UUID stadiumId, int admitPerMinute) throws Exception {
+        String token = jwtProvider.createAccessToken(owner.getEmail(), owner.getId(), false, List.of(Role.ROLE_MANAGER.name()));
+        int status = mockMvc.perform(put("/api/v1/stadiums/" + stadiumId + "/waiting-room")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(new WaitingRoomRequest(admitPerMinute, null))))
+                .andReturn().getResponse().getStatus();
+        if (status != 200) throw new IllegalStateException("Opening the waiting room failed with " + status);
+    }
+
+    /**
+     * Joins the stadium's queue (or rejoins with a still unspent ticket) and polls until admitted.
+     */
+    private String awaitAdmission(String token, UUID stadiumId) throws Exception {
+        String waitingRoom = "/api/v1/stadiums/" + stadiumId + "/waiting-room";
+        long deadline = System.currentTimeMillis() + ADMISSION_TIMEOUT_MILLIS;
+        WaitingRoomTicket ticket = readTicket(mockMvc.perform(post(waitingRoom + "/join").header("Authorization", "Bearer " + token)));
+        while (!ticket.admitted()) {
+            if (System.currentTimeMillis() > deadline) throw new IllegalStateException("Not admitted within " + ADMISSION_TIMEOUT_MILLIS + " ms");
+            Thread.sleep(Math.max(1, Duration.between(LocalDateTime.now(), ticket.admittedAt()).toMillis()));
+            ticket = readTicket(mockMvc.perform(get(waitingRoom + "/position").header("Authorization", "Bearer " + token)));
+        }
+        return ticket.token();
+    }
+
+    private WaitingRoomTicket readTicket(ResultActions result) throws Exception {
+        return objectMapper.readValue(result.andReturn().getResponse().getContentAsByteArray(), WaitingRoomTicket.class);
+    }
+
+    private User saveUser(String name, Role role) {
+        return userRepository.save(User.builder()
+                .name(name)
+                .email(name + "@loadtest.com")
+                .password("not-used")
+                .phoneNumber(name)
+                .dob(LocalDate.of(1995, 1, 1))
+                .role(role)
+                .isDeleted(false)
+                .build());
+    }
+
+    private UUID saveStadium(String name, User owner) {
+        return stadiumRepository.save(Stadium.builder()
+                .name(name)
+                .location("Cairo, Egypt")
+                .pricePerHour(200.0)
+                .ballRentalFee(50)
+                .openTime(OPEN_TIME)
+                .closeTime(LocalTime.of(23, 0))
+                .owner(owner)
+                .isDeleted(false)
+                .type(Type.FIVE_A_SIDE)
+                .photoUrl("")
+                .build()).getId();
+    }
+
+    private static double percentileMillis(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) return 0;
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(0, index)] / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,44 @@
+package com.hamza.stadiumbooking.booking;
+
+import com.hamza.stadiumbooking.base.AbstractIntegrationTest;
+import com.hamza.stadiumbooking.booking.BookingLoadHarness.Scenario;
+import com.hamza.stadiumbooking.security.jwt.JwtProvider;
+import com.hamza.stadiumbooking.stadium.StadiumRepository;
+import com.hamza.stadiumbooking.user.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static com.hamza.stadiumbooking.booking.BookingLoadTest.assertInvariants;
+
+class BookingLoadIT extends AbstractIntegrationTest {
+
+    @Autowired
+    private JwtProvider jwtProvider;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private StadiumRepository stadiumRepository;
+
+    private BookingLoadHarness harness;
+
+    @BeforeEach
+    void setUp() {
+        harness = new BookingLoadHarness(mockMvc, objectMapper, jwtProvider, userRepository, stadiumRepository, jdbcTemplate);
+    }
+
+    @Test
+    void playersRacingForOneStadium_shouldNeverDoubleBook() throws Exception {
+        assertInvariants(harness.run(Scenario.singleHotStadium()));
+    }
+
+    @Test
+    void hotColdMix_shouldNeverDoubleBook() throws Exception {
+        assertInvariants(harness.run(Scenario.hotColdMix()));
+    }
+
+    @Test
+    void waitingRoomRelease_shouldOnlyLetAdmittedPlayersBookAndNeverDoubleBook() throws Exception {
+        assertInvariants(harness.run(Scenario.waitingRoomRelease()));
+    }
+}
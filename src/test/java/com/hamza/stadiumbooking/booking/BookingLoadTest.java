@@ -0,0 +1,70 @@
+package com.hamza.stadiumbooking.booking;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hamza.stadiumbooking.booking.BookingLoadHarness.Report;
+import com.hamza.stadiumbooking.booking.BookingLoadHarness.Scenario;
+import com.hamza.stadiumbooking.security.jwt.JwtProvider;
+import com.hamza.stadiumbooking.stadium.StadiumRepository;
+import com.hamza.stadiumbooking.user.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Concurrent booking load test against the in-memory H2 profile, so it runs anywhere without Docker.
+ * {@link BookingLoadIT} runs the same scenarios against MySQL.
+ */
+@AutoConfigureMockMvc
+@SpringBootTest
+@ActiveProfiles({"test", "h2"})
+class BookingLoadTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private JwtProvider jwtProvider;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private StadiumRepository stadiumRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private BookingLoadHarness harness;
+
+    @BeforeEach
+    void setUp() {
+        harness = new BookingLoadHarness(mockMvc, objectMapper, jwtProvider, userRepository, stadiumRepository, jdbcTemplate);
+    }
+
+    @Test
+    void playersRacingForOneStadium_shouldNeverDoubleBook() throws Exception {
+        assertInvariants(harness.run(Scenario.singleHotStadium()));
+    }
+
+    @Test
+    void hotColdMix_shouldNeverDoubleBook() throws Exception {
+        assertInvariants(harness.run(Scenario.hotColdMix()));
+    }
+
+    @Test
+    void waitingRoomRelease_shouldOnlyLetAdmittedPlayersBookAndNeverDoubleBook() throws Exception {
+        assertInvariants(harness.run(Scenario.waitingRoomRelease()));
+    }
+
+    static void assertInvariants(Report report) {
+        assertThat(report.overlappingPairs()).isZero();
+        assertThat(report.created()).isPositive().isEqualTo(report.confirmedRows());
+        assertThat(report.created() + report.conflicts()).isEqualTo(report.requests());
+        assertThat(report.serverErrors()).isZero();
+    }
+}
@@ -0,0 +1,74 @@
+package com.hamza.stadiumbooking.booking;
+
+import ch.qos.logback.classic.LoggerContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hamza.stadiumbooking.booking.BookingLoadHarness.Report;
+import com.hamza.stadiumbooking.booking.BookingLoadHarness.Scenario;
+import com.hamza.stadiumbooking.logging.RingBufferAppender;
+import com.hamza.stadiumbooking.security.jwt.JwtProvider;
+import com.hamza.stadiumbooking.stadium.StadiumRepository;
+import com.hamza.stadiumbooking.user.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.hamza.stadiumbooking.booking.BookingLoadTest.assertInvariants;
+
+/**
+ * Booking endpoint latency with synchronous console logging vs. the async ring buffer, same scenario and context.
+ * A small warm-up run goes first so the JIT doesn't favour whichever mode runs second.
+ */
+@Slf4j
+@AutoConfigureMockMvc
+@SpringBootTest
+@ActiveProfiles({"test", "h2"})
+class BookingLoggingLatencyTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private JwtProvider jwtProvider;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private StadiumRepository stadiumRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void asyncLogging_latencyComparedToSynchronous() throws Exception {
+        BookingLoadHarness harness = new BookingLoadHarness(mockMvc, objectMapper, jwtProvider, userRepository, stadiumRepository, jdbcTemplate);
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+
+        harness.run(scenario("logging-warm-up", 4));
+        Report sync = harness.run(scenario("logging-sync", BookingLoadHarness.PLAYERS));
+
+        RingBufferAppender ringBuffer = RingBufferAppender.install(context, 8192);
+        Report async;
+        try {
+            async = harness.run(scenario("logging-async", BookingLoadHarness.PLAYERS));
+        } finally {
+            RingBufferAppender.uninstall(context);
+        }
+
+        log.info("Logging latency | sync p50 {} ms p99 {} ms | async p50 {} ms p99 {} ms | dropped {} | overflow writes {}",
+                String.format("%.1f", sync.p50Millis()), String.format("%.1f", sync.p99Millis()),
+                String.format("%.1f", async.p50Millis()), String.format("%.1f", async.p99Millis()),
+                ringBuffer.getDroppedCount(), ringBuffer.getOverflowWriteCount());
+        assertInvariants(sync);
+        assertInvariants(async);
+    }
+
+    private static Scenario scenario(String name, int players) {
+        Scenario mix = Scenario.hotColdMix();
+        return new Scenario(name, players, mix.bookingsPerPlayer(), mix.coldStadiums(), mix.hotShare(), mix.hotDays(), mix.coldDays(), mix.admitPerMinute());
+    }
+}
@@ -0,0 +1,163 @@
+package com.hamza.stadiumbooking.booking;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hamza.stadiumbooking.base.AuthTestUtils;
+import com.hamza.stadiumbooking.stadium.PitchRequest;
+import com.hamza.stadiumbooking.stadium.Stadium;
+import com.hamza.stadiumbooking.stadium.Type;
+import com.hamza.stadiumbooking.user.Role;
+import com.hamza.stadiumbooking.user.User;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Peak windows allocated by lottery, on H2.
+ */
+@AutoConfigureMockMvc
+@SpringBootTest
+@ActiveProfiles({"test", "h2"})
+class BookingLotteryTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private AuthTestUtils authTestUtils;
+    @Autowired
+    private BookingLotteryService bookingLotteryService;
+    @Autowired
+    private BookingLotteryRepository bookingLotteryRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private Stadium stadium;
+    private String ownerToken;
+    private final List<String> playerTokens = new ArrayList<>();
+    private final LocalDate day = LocalDate.now().plusDays(5);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        User owner = authTestUtils.saveUser("lottery-owner-" + suffix + "@gmail.com", "Owner@1234", "015" + suffix, Role.ROLE_MANAGER);
+        stadium = authTestUtils.saveStadium("Lottery " + suffix, owner);
+        ownerToken = authTestUtils.obtainAccessToken(owner.getEmail(), "Owner@1234");
+        for (int i = 0; i < 3; i++) {
+            User player = authTestUtils.savePlayer("lottery-player" + i + "-" + suffix + "@gmail.com", "Player@1234", "01" + i + suffix);
+            playerTokens.add(authTestUtils.obtainAccessToken(player.getEmail(), "Player@1234"));
+        }
+    }
+
+    @Test
+    void peakWindow_ShouldTakeEntriesInsteadOfBookingsThenDrawOneWinnerPerSlot() throws Exception {
+        UUID lotteryId = openLottery();
+
+        book(playerTokens.get(0), day.atTime(18, 0)).andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.msg").value("This time is allocated by lottery. Enter the stadium's lottery instead."));
+        book(playerTokens.get(0), day.atTime(21, 0)).andExpect(status().isCreated());
+
+        for (String token : playerTokens) enter(lotteryId, token, day.atTime(18, 0), null).andExpect(status().isCreated());
+        enter(lotteryId, playerTokens.get(0), day.atTime(19, 0), null).andExpect(status().isConflict());
+        enter(lotteryId, playerTokens.get(1), day.atTime(20, 30), null).andExpect(status().isBadRequest());
+        enter(lotteryId, ownerToken, day.atTime(18, 0), null).andExpect(status().isForbidden());
+
+        closeEntries(lotteryId);
+        assertThat(bookingLotteryService.drawDueLotteries()).isPositive();
+
+        mockMvc.perform(get("/api/v1/stadiums/" + stadium.getId() + "/lotteries"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("DRAWN"))
+                .andExpect(jsonPath("$[0].entries").value(3))
+                .andExpect(jsonPath("$[0].winners").value(1))
+                .andExpect(jsonPath("$[0].seed").isNumber());
+
+        int won = 0;
+        for (String token : playerTokens) {
+            String entry = mockMvc.perform(get("/api/v1/bookings/lotteries/" + lotteryId + "/my-entry").header("Authorization", "Bearer " + token))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            if ("WON".equals(JsonPath.read(entry, "$.status"))) {
+                won++;
+                assertThat(bookingRepository.findById(UUID.fromString(JsonPath.read(entry, "$.bookingId")))).isPresent();
+            }
+        }
+        assertThat(won).isEqualTo(1);
+
+        // The rest of the window is back to first come, first served
+        book(playerTokens.get(1), day.atTime(18, 0)).andExpect(status().isConflict());
+        book(playerTokens.get(1), day.atTime(19, 0)).andExpect(status().isCreated());
+    }
+
+    @Test
+    void stadiumWithPitches_ShouldSeatAWinnerOnEachFreePitch() throws Exception {
+        for (String name : List.of("Pitch 1", "Pitch 2")) {
+            mockMvc.perform(post("/api/v1/stadiums/" + stadium.getId() + "/pitches")
+                            .header("Authorization", "Bearer " + ownerToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new PitchRequest(name, Type.FIVE_A_SIDE))))
+                    .andExpect(status().isCreated());
+        }
+        UUID lotteryId = openLottery();
+        for (String token : playerTokens) enter(lotteryId, token, day.atTime(18, 0), Type.FIVE_A_SIDE).andExpect(status().isCreated());
+        enter(lotteryId, ownerToken, day.atTime(18, 0), Type.SEVEN_A_SIDE).andExpect(status().isForbidden());
+
+        closeEntries(lotteryId);
+        bookingLotteryService.drawDueLotteries();
+
+        BookingLottery lottery = bookingLotteryRepository.findById(lotteryId).orElseThrow();
+        assertThat(lottery.getStatus()).isEqualTo(BookingLotteryStatus.DRAWN);
+        assertThat(lottery.getWinners()).isEqualTo(2);
+    }
+
+    private UUID openLottery() throws Exception {
+        String body = mockMvc.perform(post("/api/v1/stadiums/" + stadium.getId() + "/lotteries")
+                        .header("Authorization", "Bearer " + ownerToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BookingLotteryRequest(
+                                day.atTime(17, 0), day.atTime(21, 0), LocalDateTime.now().plusHours(1)))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.status").value("OPEN"))
+                .andReturn().getResponse().getContentAsString();
+        return UUID.fromString(JsonPath.read(body, "$.id"));
+    }
+
+    private void closeEntries(UUID lotteryId) {
+        BookingLottery lottery = bookingLotteryRepository.findById(lotteryId).orElseThrow();
+        lottery.setEntriesCloseAt(LocalDateTime.now().minusMinutes(1));
+        bookingLotteryRepository.save(lottery);
+    }
+
+    private ResultActions enter(UUID lotteryId, String token, LocalDateTime start, Type pitchType) throws Exception {
+        return mockMvc.perform(post("/api/v1/bookings/lotteries/" + lotteryId + "/entries")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BookingLotteryEntryRequest(start, start.plusHours(1), pitchType, null))));
+    }
+
+    private ResultActions book(String token, LocalDateTime start) throws Exception {
+        return mockMvc.perform(post("/api/v1/bookings")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BookingRequest(stadium.getId(), start, start.plusHours(1), null))));
+    }
+}
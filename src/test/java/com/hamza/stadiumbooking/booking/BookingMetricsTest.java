@@ -0,0 +1,64 @@
+package com.hamza.stadiumbooking.booking;
+
+import com.hamza.stadiumbooking.stadium.Stadium;
+import com.hamza.stadiumbooking.stadium.Type;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookingMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final BookingMetrics metrics = new BookingMetrics(registry);
+    private final Stadium stadium = Stadium.builder().id(UUID.randomUUID()).type(Type.FIVE_A_SIDE).build();
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void lockStadium_shouldRecordWaitTaggedByStadiumType() {
+        Optional<Stadium> result = metrics.lockStadium(stadium.getId(), () -> Optional.of(stadium));
+
+        assertThat(result).contains(stadium);
+        assertThat(registry.get(BookingMetrics.LOCK_WAIT).tag("type", "FIVE_A_SIDE").timer().count()).isEqualTo(1);
+        assertThat(metrics.hottestStadiumContention()).isZero();
+    }
+
+    @Test
+    void contentionGauge_shouldCountHoldersUntilTransactionCompletes() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        metrics.lockStadium(stadium.getId(), () -> Optional.of(stadium));
+        metrics.lockStadium(stadium.getId(), () -> Optional.of(stadium));
+        metrics.lockStadium(UUID.randomUUID(), Optional::empty);
+
+        assertThat(registry.get(BookingMetrics.CONTENTION).gauge().value()).isEqualTo(2);
+        assertThat(registry.get(BookingMetrics.LOCK_WAIT).tag("type", "UNKNOWN").timer().count()).isEqualTo(1);
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertThat(registry.get(BookingMetrics.CONTENTION).gauge().value()).isZero();
+    }
+
+    @Test
+    void conflictsAndRejections_shouldBeCountedPerTypeWithoutStadiumId() {
+        for (int i = 0; i < 100; i++) {
+            metrics.conflict(Stadium.builder().id(UUID.randomUUID()).type(Type.FIVE_A_SIDE).build(), "create");
+        }
+        metrics.rejected(stadium, "closed");
+
+        assertThat(registry.get(BookingMetrics.CONFLICTS).counters()).hasSize(1);
+        assertThat(registry.get(BookingMetrics.CONFLICTS).tags("type", "FIVE_A_SIDE", "operation", "create").counter().count()).isEqualTo(100);
+        assertThat(registry.get(BookingMetrics.REJECTIONS).tags("type", "FIVE_A_SIDE", "reason", "closed").counter().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,152 @@
+package com.hamza.stadiumbooking.booking;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hamza.stadiumbooking.base.AuthTestUtils;
+import com.hamza.stadiumbooking.stadium.PitchRepository;
+import com.hamza.stadiumbooking.stadium.Stadium;
+import com.hamza.stadiumbooking.stadium.StadiumHoursService;
+import com.hamza.stadiumbooking.stadium.StadiumRepository;
+import com.hamza.stadiumbooking.user.Role;
+import com.hamza.stadiumbooking.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static com.hamza.stadiumbooking.base.QueryBudget.atMost;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Bulk price quotes served from the node-local caches, on H2.
+ */
+@AutoConfigureMockMvc
+@SpringBootTest
+@ActiveProfiles({"test", "h2"})
+class BookingQuoteTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private AuthTestUtils authTestUtils;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private BookingLotteryRepository bookingLotteryRepository;
+    @Autowired
+    private StadiumRepository stadiumRepository;
+    @Autowired
+    private PitchRepository pitchRepository;
+    @Autowired
+    private StadiumHoursService stadiumHoursService;
+
+    private Stadium stadium;
+    private Stadium other;
+    private final LocalDateTime slot = LocalDateTime.now().plusDays(4).truncatedTo(ChronoUnit.DAYS).withHour(18);
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        User owner = authTestUtils.saveUser("quote-owner-" + suffix + "@gmail.com", "Owner@1234", "013" + suffix, Role.ROLE_MANAGER);
+        User player = authTestUtils.savePlayer("quote-player-" + suffix + "@gmail.com", "Player@1234", "014" + suffix);
+        stadium = authTestUtils.saveStadium("Quotes " + suffix, owner);
+        other = authTestUtils.saveStadium("Quotes other " + suffix, owner);
+        authTestUtils.createAndSaveBooking(stadium, player, slot, 1);
+    }
+
+    @Test
+    void quotes_ShouldPriceEverySlotAndAnswerInvalidOnesOneByOne() throws Exception {
+        BookingQuoteRequest request = new BookingQuoteRequest(List.of(
+                new BookingQuoteRequest.Slot(stadium.getId(), slot, slot.plusHours(1), null),
+                new BookingQuoteRequest.Slot(stadium.getId(), slot.plusHours(1), slot.plusMinutes(150), null),
+                new BookingQuoteRequest.Slot(other.getId(), slot, slot.plusHours(1), null),
+                new BookingQuoteRequest.Slot(stadium.getId(), slot.withHour(10), slot.withHour(11), null),
+                new BookingQuoteRequest.Slot(stadium.getId(), slot.plusHours(2), slot.plusMinutes(165), null),
+                new BookingQuoteRequest.Slot(UUID.randomUUID(), slot, slot.plusHours(1), null)));
+
+        quote(request).andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(6))
+                .andExpect(jsonPath("$[0].totalPrice").value(250.0))
+                .andExpect(jsonPath("$[0].available").value(false))
+                .andExpect(jsonPath("$[1].totalPrice").value(350.0))
+                .andExpect(jsonPath("$[1].available").value(true))
+                .andExpect(jsonPath("$[2].available").value(true))
+                .andExpect(jsonPath("$[3].error", containsString("closed")))
+                .andExpect(jsonPath("$[3].totalPrice").doesNotExist())
+                .andExpect(jsonPath("$[4].error", containsString("less than an hour")))
+                .andExpect(jsonPath("$[5].error").value("Stadium not found."));
+    }
+
+    @Test
+    void warmQuotes_ShouldRunNoQuery() throws Exception {
+        BookingQuoteRequest request = new BookingQuoteRequest(List.of(
+                new BookingQuoteRequest.Slot(stadium.getId(), slot.plusHours(1), slot.plusHours(2), null),
+                new BookingQuoteRequest.Slot(other.getId(), slot.plusHours(1), slot.plusHours(2), null)));
+
+        quote(request).andExpect(status().isOk());
+        quote(request).andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].available").value(true))
+                .andExpect(atMost(0));
+    }
+
+    @Test
+    void requestSpanningTooManySnapshots_ShouldAnswerTheSlotsPastTheCapWithAnError() throws Exception {
+        // One snapshot per day here, the default cap is 20
+        List<BookingQuoteRequest.Slot> slots = new ArrayList<>();
+        for (int day = 0; day < 22; day++) {
+            slots.add(new BookingQuoteRequest.Slot(stadium.getId(), slot.plusDays(day).plusHours(2), slot.plusDays(day).plusHours(3), null));
+        }
+        slots.add(new BookingQuoteRequest.Slot(stadium.getId(), slot.plusHours(3), slot.plusHours(4), null));
+
+        quote(new BookingQuoteRequest(slots)).andExpect(status().isOk())
+                .andExpect(jsonPath("$[19].available").value(true))
+                .andExpect(jsonPath("$[20].error", containsString("at most 20")))
+                .andExpect(jsonPath("$[21].error", containsString("at most 20")))
+                // Already read by the request
+                .andExpect(jsonPath("$[22].available").value(true));
+    }
+
+    @Test
+    void fullSnapshotCache_ShouldEvictTheOldestInsteadOfDroppingEverything() {
+        OccupancySnapshots snapshots = new OccupancySnapshots(bookingRepository, bookingLotteryRepository, stadiumRepository,
+                pitchRepository, stadiumHoursService, 3, 0, 60, 3);
+        LocalDate day = slot.toLocalDate();
+
+        OccupancySnapshots.Snapshot oldest = snapshots.get(stadium.getId(), day);
+        OccupancySnapshots.Snapshot second = snapshots.get(stadium.getId(), day.plusDays(1));
+        OccupancySnapshots.Snapshot third = snapshots.get(stadium.getId(), day.plusDays(2));
+        snapshots.get(stadium.getId(), day.plusDays(3));
+
+        assertThat(snapshots.get(stadium.getId(), day.plusDays(1))).isSameAs(second);
+        assertThat(snapshots.get(stadium.getId(), day.plusDays(2))).isSameAs(third);
+        assertThat(snapshots.get(stadium.getId(), day)).isNotSameAs(oldest);
+    }
+
+    @Test
+    void emptyRequest_ShouldBeRejected() throws Exception {
+        quote(new BookingQuoteRequest(List.of())).andExpect(status().isBadRequest());
+    }
+
+    private ResultActions quote(BookingQuoteRequest request) throws Exception {
+        return mockMvc.perform(post("/api/v1/quotes")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)));
+    }
+}
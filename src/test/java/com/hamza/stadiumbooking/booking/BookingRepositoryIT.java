@@ -10,6 +10,7 @@ import com.hamza.stadiumbooking.user.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import jakarta.persistence.EntityManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.transaction.annotation.Transactional;
@@ -18,9 +19,11 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.HashSet;
+import java.util.Set;
 import java.util.List;
 import java.util.UUID;
 
+import static com.hamza.stadiumbooking.base.QueryBudget.assertAtMost;
 import static org.assertj.core.api.Assertions.assertThat;
 
 @Transactional
@@ -31,6 +34,8 @@ class BookingRepositoryIT extends AbstractIntegrationTest {
     private StadiumRepository stadiumRepository;
     @Autowired
     private UserRepository userRepository;
+    @Autowired
+    private EntityManager entityManager;
 
     private User savedUser;
     private Stadium savedStadium;
@@ -48,13 +53,13 @@ class BookingRepositoryIT extends AbstractIntegrationTest {
         Stadium stadium = new Stadium(
                 null, null, "AL-AHLY", "Nasr_city", 500.00, "image.com",
                 Type.ELEVEN_A_SIDE, 50, LocalTime.of(9, 0), LocalTime.of(23, 0),
-                null, new HashSet<>(), savedUser, false, null, null
+                null, new HashSet<>(), savedUser, false, null, null, null
         );
         savedStadium = stadiumRepository.save(stadium);
 
         booking1 = new Booking(
                 null, null, T0, T0.plusHours(2), 550.00, "Note",
-                savedUser, savedStadium, BookingStatus.CONFIRMED, null, null
+                savedUser, savedStadium, null, BookingStatus.CONFIRMED, null, null
         );
     }
 
@@ -62,7 +67,7 @@ class BookingRepositoryIT extends AbstractIntegrationTest {
     void findByUserId() {
         Booking booking2 = new Booking(
                 null, null, T0.plusHours(2), T0.plusHours(3), 550.00, "Note",
-                savedUser, savedStadium, BookingStatus.CONFIRMED, null, null
+                savedUser, savedStadium, null, BookingStatus.CONFIRMED, null, null
         );
         bookingRepository.save(booking1);
         bookingRepository.save(booking2);
@@ -74,6 +79,48 @@ class BookingRepositoryIT extends AbstractIntegrationTest {
         assertThat(bookings.stream().allMatch(b -> b.getUser().getId().equals(savedUser.getId()))).isTrue();
     }
 
+    @Test
+    void findByUserId_ShouldStayWithinQueryBudget() throws Exception {
+        int stadiums = 3;
+        for (int i = 0; i < stadiums; i++) {
+            Stadium stadium = stadiumRepository.save(new Stadium(
+                    null, null, "Budget-" + i, "Nasr_city", 500.00, "image.com",
+                    Type.ELEVEN_A_SIDE, 50, LocalTime.of(9, 0), LocalTime.of(23, 0),
+                    null, new HashSet<>(Set.of("WiFi")), savedUser, false, null, null, null
+            ));
+            bookingRepository.save(new Booking(
+                    null, null, T0.plusHours(i), T0.plusHours(i + 1), 550.00, "Note",
+                    savedUser, stadium, null, BookingStatus.CONFIRMED, null, null
+            ));
+        }
+        bookingRepository.flush();
+        entityManager.clear();
+
+        // One fetch-joined select, plus one subselect for the features of every stadium it loaded, however many;
+        // the features are read as the response mapping does, so a per-stadium load would count here
+        Page<Booking> bookings = assertAtMost(2, () -> {
+            Page<Booking> page = bookingRepository.findByUserId(Pageable.unpaged(), savedUser.getId());
+            page.forEach(booking -> assertThat(booking.getStadium().getFeatures()).containsExactly("WiFi"));
+            return page;
+        });
+
+        assertThat(bookings).hasSize(stadiums);
+    }
+
+    @Test
+    void save_ShouldAssignTimeOrderedV7Ids() {
+        Booking first = bookingRepository.save(booking1);
+        Booking second = bookingRepository.save(new Booking(
+                null, null, T0.plusHours(2), T0.plusHours(3), 550.00, "Note",
+                savedUser, savedStadium, null, BookingStatus.CONFIRMED, null, null
+        ));
+
+        assertThat(savedUser.getId().version()).isEqualTo(7);
+        assertThat(savedStadium.getId().version()).isEqualTo(7);
+        assertThat(first.getId().version()).isEqualTo(7);
+        assertThat(Long.compareUnsigned(second.getId().getMostSignificantBits(), first.getId().getMostSignificantBits())).isPositive();
+    }
+
     @Test
     void findByUserId_ShouldReturnEmptyListWhenNoBookingsExist() {
         Page<Booking> bookings = bookingRepository.findByUserId(Pageable.unpaged(), savedUser.getId());
@@ -84,7 +131,7 @@ class BookingRepositoryIT extends AbstractIntegrationTest {
     void findByStadiumId() {
         Booking booking2 = new Booking(
                 null, null, T0.plusHours(2), T0.plusHours(3), 550.00, "Note",
-                savedUser, savedStadium, BookingStatus.CONFIRMED, null, null
+                savedUser, savedStadium, null, BookingStatus.CONFIRMED, null, null
         );
         bookingRepository.save(booking1);
         bookingRepository.save(booking2);
@@ -100,7 +147,7 @@ class BookingRepositoryIT extends AbstractIntegrationTest {
     void findByUserIdAndStadiumId() {
         Booking booking2 = new Booking(
                 null, null, T0.plusHours(2), T0.plusHours(3), 550.00, "Note",
-                savedUser, savedStadium, BookingStatus.CONFIRMED, null, null
+                savedUser, savedStadium, null, BookingStatus.CONFIRMED, null, null
         );
         bookingRepository.save(booking1);
         bookingRepository.save(booking2);
@@ -118,7 +165,7 @@ class BookingRepositoryIT extends AbstractIntegrationTest {
     void findAllByUserId() {
         Booking booking2 = new Booking(
                 null, null, T0.plusHours(2), T0.plusHours(3), 550.00, "Note",
-                savedUser, savedStadium, BookingStatus.CONFIRMED, null, null
+                savedUser, savedStadium, null, BookingStatus.CONFIRMED, null, null
         );
         Booking savedBooking = bookingRepository.save(booking1);
         bookingRepository.save(booking2);
@@ -136,7 +183,7 @@ class BookingRepositoryIT extends AbstractIntegrationTest {
     void testFindConflictingBookingsForNew() {
         Booking booking2 = new Booking(
                 null, null, T0, T0.plusHours(3), 550.00, "Note",
-                savedUser, savedStadium, BookingStatus.CONFIRMED, null, null
+                savedUser, savedStadium, null, BookingStatus.CONFIRMED, null, null
         );
         Booking savedBooking = bookingRepository.save(booking1);
 
@@ -195,7 +242,7 @@ class BookingRepositoryIT extends AbstractIntegrationTest {
 
         Booking otherBooking = new Booking(
                 null, 0L, T0.plusHours(1), T0.plusHours(2), 550.0, "Note",
-                savedUser, savedStadium, BookingStatus.CONFIRMED, null, null
+                savedUser, savedStadium, null, BookingStatus.CONFIRMED, null, null
         );
         bookingRepository.save(otherBooking);
 
@@ -210,7 +257,7 @@ class BookingRepositoryIT extends AbstractIntegrationTest {
     void updateExpiredBookings_ShouldMarkPastBookingsAsCompleted() {
         Booking expiredBooking = new Booking(
                 null, null , T0.minusDays(1), T0.minusDays(1).plusHours(1), 500.0, "Note",
-                savedUser, savedStadium, BookingStatus.CONFIRMED, null, null
+                savedUser, savedStadium, null, BookingStatus.CONFIRMED, null, null
         );
         Booking savedExpiredBooking = bookingRepository.save(expiredBooking);
 
@@ -222,7 +269,7 @@ class BookingRepositoryIT extends AbstractIntegrationTest {
 
         assertThat(expiredBookingIds).hasSize(1).contains(savedExpiredBooking.getId());
 
-        bookingRepository.updateStatusToCompleted(expiredBookingIds);
+        bookingRepository.updateStatusToCompleted(expiredBookingIds, LocalDateTime.now());
 
         Booking checkBooking = bookingRepository.findById(savedExpiredBooking.getId()).get();
         assertThat(checkBooking.getStatus()).isEqualTo(BookingStatus.COMPLETED);
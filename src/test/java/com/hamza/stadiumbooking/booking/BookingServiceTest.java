@@ -2,19 +2,28 @@ package com.hamza.stadiumbooking.booking;
 
 import com.hamza.stadiumbooking.exception.ConflictingBookingsException;
 import com.hamza.stadiumbooking.exception.ResourceNotFoundException;
+import com.hamza.stadiumbooking.outbox.BookingEventType;
+import com.hamza.stadiumbooking.outbox.BookingOutbox;
+import com.hamza.stadiumbooking.stadium.OperatingCalendar;
+import com.hamza.stadiumbooking.stadium.PitchRepository;
+import com.hamza.stadiumbooking.stadium.PriceTable;
 import com.hamza.stadiumbooking.stadium.Stadium;
+import com.hamza.stadiumbooking.stadium.StadiumHoursService;
+import com.hamza.stadiumbooking.stadium.StadiumPricingService;
 import com.hamza.stadiumbooking.stadium.StadiumRepository;
 import com.hamza.stadiumbooking.stadium.Type;
 import com.hamza.stadiumbooking.user.Role;
 import com.hamza.stadiumbooking.user.User;
 import com.hamza.stadiumbooking.user.UserRepository;
 import com.hamza.stadiumbooking.security.utils.OwnershipValidationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -42,10 +51,26 @@ class BookingServiceTest {
     private StadiumRepository stadiumRepository;
     @Mock
     private UserRepository userRepository;
+    @Mock
+    private BookingHistoryRepository bookingHistoryRepository;
+    @Mock
+    private BookingArchiveService bookingArchiveService;
+    @Mock
+    private BookingOutbox bookingOutbox;
     @InjectMocks
     private BookingService bookingService;
     @Mock
     private OwnershipValidationService ownershipValidationService;
+    @Spy
+    private BookingMetrics bookingMetrics = new BookingMetrics(new SimpleMeterRegistry());
+    @Mock
+    private StadiumHoursService stadiumHoursService;
+    @Mock
+    private PitchRepository pitchRepository;
+    @Mock
+    private BookingLotteryRepository bookingLotteryRepository;
+    @Mock
+    private StadiumPricingService stadiumPricingService;
 
     private User manager;
     private final UUID sharedUserId = UUID.randomUUID();
@@ -61,6 +86,14 @@ class BookingServiceTest {
 
     @BeforeEach
     void setUp() {
+        // No weekly hours or exceptions: every day uses the stadium's openTime/closeTime
+        lenient().when(stadiumHoursService.calendarFor(any(Stadium.class))).thenAnswer(invocation -> {
+            Stadium stadium = invocation.getArgument(0);
+            return OperatingCalendar.compile(stadium.getOpenTime(), stadium.getCloseTime(), List.of(), List.of());
+        });
+        // No price rules: every hour costs the stadium's pricePerHour
+        lenient().when(stadiumPricingService.priceTableFor(any(Stadium.class)))
+                .thenAnswer(invocation -> PriceTable.compile(invocation.getArgument(0), List.of()));
         UUID sharedManagerId = UUID.randomUUID();
         manager = new User(
                 sharedManagerId, 0L, "Manager Name", "manager@example.com", "01111111111",
@@ -75,7 +108,7 @@ class BookingServiceTest {
         sharedStadium = new Stadium(
                 sharedStadiumId, 0L, "Field Name", "Location", 100.00, "image.com",
                 Type.FIVE_A_SIDE, 10, LocalTime.of(8, 0), LocalTime.of(23, 0),
-                null, new HashSet<>(), manager, false, null, null
+                null, new HashSet<>(), manager, false, null, null, null
         );
 
         long hours = 2L;
@@ -86,7 +119,7 @@ class BookingServiceTest {
         UUID sharedBookingId = UUID.randomUUID();
         sharedBooking = new Booking(
                 sharedBookingId, 0L, startTime, endTime, totalPrice, "Game Note",
-                player, sharedStadium, BookingStatus.CONFIRMED, null, null
+                player, sharedStadium, null, BookingStatus.CONFIRMED, null, null
         );
         bookingList = List.of(sharedBooking);
         bookingsPage = new PageImpl<>(bookingList);
@@ -96,7 +129,7 @@ class BookingServiceTest {
     void getMyBookings() {
         Booking sharedBooking2 = new Booking(
                 UUID.randomUUID(), 0L, startTime, endTime, 550.00, "Another Note",
-                player, sharedStadium, BookingStatus.CONFIRMED, null, null
+                player, sharedStadium, null, BookingStatus.CONFIRMED, null, null
         );
         bookingList = List.of(sharedBooking, sharedBooking2);
         bookingsPage = new PageImpl<>(bookingList);
@@ -258,6 +291,49 @@ class BookingServiceTest {
                 .hasMessageContaining("Booking not found with ID: " + sharedBooking.getId());
     }
 
+    @Test
+    void getBookingById_ShouldFallBackToArchive_WhenNotInLiveTable() {
+        BookingHistory archived = mock(BookingHistory.class);
+        given(archived.getId()).willReturn(sharedBooking.getId());
+        given(archived.getStatus()).willReturn(BookingStatus.COMPLETED);
+        given(archived.getStadium()).willReturn(sharedStadium);
+        given(archived.getUser()).willReturn(player);
+        given(bookingRepository.findById(sharedBooking.getId())).willReturn(Optional.empty());
+        given(bookingHistoryRepository.findArchivedById(sharedBooking.getId())).willReturn(Optional.of(archived));
+        given(ownershipValidationService.isAdmin()).willReturn(true);
+
+        BookingResponse response = bookingService.getBookingById(sharedBooking.getId());
+
+        assertThat(response.id()).isEqualTo(sharedBooking.getId());
+        assertThat(response.status()).isEqualTo(BookingStatus.COMPLETED);
+    }
+
+    @Test
+    void getAllBookings_WithRangeInsideLiveWindow_ShouldNotReadArchive() {
+        LocalDateTime from = LocalDateTime.now().minusDays(7);
+        given(ownershipValidationService.isAdmin()).willReturn(true);
+        given(bookingArchiveService.requiresArchive(from, null)).willReturn(false);
+        given(bookingRepository.findInPeriod(Pageable.unpaged(), sharedStadiumId, null, from, null)).willReturn(bookingsPage);
+
+        Page<BookingResponse> response = bookingService.getAllBookings(Pageable.unpaged(), sharedStadiumId, null, from, null);
+
+        assertThat(response.getContent()).hasSize(1);
+        verifyNoInteractions(bookingHistoryRepository);
+    }
+
+    @Test
+    void getMyBookings_WithRangeBeforeWatermark_ShouldReadArchive() {
+        LocalDateTime from = LocalDateTime.now().minusYears(3);
+        given(ownershipValidationService.getCurrentUserId()).willReturn(sharedUserId);
+        given(bookingArchiveService.requiresArchive(from, null)).willReturn(true);
+        given(bookingHistoryRepository.findInPeriod(Pageable.unpaged(), null, sharedUserId, from, null)).willReturn(Page.empty());
+
+        bookingService.getMyBookings(Pageable.unpaged(), from, null);
+
+        verify(bookingHistoryRepository).findInPeriod(Pageable.unpaged(), null, sharedUserId, from, null);
+        verify(bookingRepository, never()).findInPeriod(any(), any(), any(), any(), any());
+    }
+
     @Test
     void getBookingByIdForPlayer() {
         given(bookingRepository.findById(sharedBooking.getId())).willReturn(Optional.of(sharedBooking));
@@ -328,6 +404,7 @@ class BookingServiceTest {
         verify(bookingRepository, times(1)).findById(sharedBooking.getId());
         verify(ownershipValidationService, times(1)).checkBookingOwnership(sharedBooking.getUser().getId());
         verify(bookingRepository, times(1)).save(sharedBooking);
+        verify(bookingOutbox).append(any(), eq(BookingEventType.BOOKING_CANCELLED));
         assertThat(sharedBooking.getStatus()).isEqualTo(BookingStatus.CANCELLED);
     }
 
@@ -436,6 +513,8 @@ class BookingServiceTest {
         assertThatThrownBy(() -> bookingService.addBooking(request))
                 .isInstanceOf(ConflictingBookingsException.class)
                 .hasMessageContaining("This time is already booked");
+        verify(bookingMetrics).conflict(sharedStadium, "create");
+        verifyNoInteractions(bookingOutbox);
     }
 
     @Test
@@ -450,6 +529,7 @@ class BookingServiceTest {
         assertThatThrownBy(() -> bookingService.addBooking(request))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("Stadium is closed during the selected time. Operating hours: " + sharedStadium.getOpenTime() + " to " + sharedStadium.getCloseTime());
+        verify(bookingMetrics).rejected(sharedStadium, "closed");
     }
 
     @Test
@@ -468,6 +548,7 @@ class BookingServiceTest {
 
         assertThat(response.totalPrice()).isEqualTo(210.0);
         verify(bookingRepository).save(any(Booking.class));
+        verify(bookingOutbox).append(any(Booking.class), eq(BookingEventType.BOOKING_CREATED));
     }
 
     @Test
@@ -640,7 +721,7 @@ class BookingServiceTest {
         Stadium newStadium = new Stadium(
                 newStadiumId, 0L, "Premium Test Field", "New Location", 150.0,
                 "new_image.com", Type.SEVEN_A_SIDE, 20, LocalTime.of(8, 0), LocalTime.of(23, 0),
-                null, new HashSet<>(), manager, false, null, null
+                null, new HashSet<>(), manager, false, null, null, null
         );
         BookingRequestForUpdate request = new BookingRequestForUpdate(
                 newStadiumId, sharedBooking.getStartTime(), sharedBooking.getEndTime(), "Updated Note!!!"
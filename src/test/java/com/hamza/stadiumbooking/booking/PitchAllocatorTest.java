@@ -0,0 +1,90 @@
+package com.hamza.stadiumbooking.booking;
+
+import com.hamza.stadiumbooking.stadium.OperatingCalendar;
+import com.hamza.stadiumbooking.stadium.Pitch;
+import com.hamza.stadiumbooking.stadium.Type;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PitchAllocatorTest {
+
+    private final LocalDate day = LocalDate.of(2030, 6, 1);
+    private final OperatingCalendar calendar = OperatingCalendar.compile(LocalTime.of(16, 0), LocalTime.of(23, 0), List.of(), List.of());
+    private final Pitch a = pitch("A", Type.FIVE_A_SIDE);
+    private final Pitch b = pitch("B", Type.FIVE_A_SIDE);
+
+    @Test
+    @DisplayName("Best fit: the slot goes into the tightest gap, keeping the long one free")
+    void reserve_ShouldPreferTightestGap() {
+        PitchAllocator allocator = new PitchAllocator(List.of(a, b), calendar, day, day);
+        allocator.occupy(b.getId(), day.atTime(17, 0), day.atTime(18, 0));
+
+        assertThat(allocator.reserve(null, day.atTime(18, 0), day.atTime(19, 0), null)).contains(b);
+        assertThat(allocator.reserve(null, day.atTime(18, 0), day.atTime(19, 0), null)).contains(a);
+        assertThat(allocator.reserve(null, day.atTime(18, 0), day.atTime(19, 0), null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Fragmentation: a pitch that would be left with an unbookable half hour loses to a looser fit")
+    void reserve_ShouldAvoidStrandingShortGaps() {
+        PitchAllocator allocator = new PitchAllocator(List.of(a, b), calendar, day, day);
+        allocator.occupy(a.getId(), day.atTime(16, 0), day.atTime(17, 0));
+        allocator.occupy(a.getId(), day.atTime(19, 30), day.atTime(23, 0));
+        allocator.occupy(b.getId(), day.atTime(16, 0), day.atTime(17, 30));
+
+        // A's gap (17:00-19:30) is tighter, but 17:30 there would strand 17:00-17:30
+        assertThat(allocator.reserve(null, day.atTime(17, 30), day.atTime(18, 30), null)).contains(b);
+    }
+
+    @Test
+    @DisplayName("Closed hours bound the gaps; pitch-less bookings block every pitch")
+    void reserve_ShouldTreatClosedHoursAndStadiumWideBookingsAsBusy() {
+        PitchAllocator allocator = new PitchAllocator(List.of(a, b), calendar, day, day);
+        allocator.occupy(null, day.atTime(20, 0), day.atTime(21, 0));
+
+        assertThat(allocator.reserve(null, day.atTime(20, 0), day.atTime(21, 0), null)).isEmpty();
+        assertThat(allocator.reserve(null, day.atTime(15, 0), day.atTime(16, 0), null)).isEmpty();
+        assertThat(allocator.reserve(null, day.atTime(22, 0), day.atTime(23, 0), null)).isPresent();
+    }
+
+    @Test
+    @DisplayName("Type filter and preferred pitch")
+    void reserve_ShouldHonourTypeAndKeepPreferredPitch() {
+        Pitch seven = pitch("C", Type.SEVEN_A_SIDE);
+        PitchAllocator allocator = new PitchAllocator(List.of(a, b, seven), calendar, day, day);
+        allocator.occupy(a.getId(), day.atTime(16, 0), day.atTime(18, 0));
+
+        assertThat(allocator.hasPitchOf(Type.ELEVEN_A_SIDE)).isFalse();
+        assertThat(allocator.reserve(Type.SEVEN_A_SIDE, day.atTime(18, 0), day.atTime(19, 0), null)).contains(seven);
+        assertThat(allocator.reserve(Type.SEVEN_A_SIDE, day.atTime(18, 30), day.atTime(19, 30), null)).isEmpty();
+        // Best fit would pick A (gap from 18:00), but B is the booking's current pitch and still free
+        assertThat(allocator.reserve(Type.FIVE_A_SIDE, day.atTime(18, 0), day.atTime(19, 0), b)).contains(b);
+    }
+
+    @Test
+    @DisplayName("Nearest free: alternates later/earlier around the asked time, skipping closed and past minutes")
+    void nearestFree_ShouldListClosestSlotsOnAnyPitch() {
+        PitchAllocator allocator = new PitchAllocator(List.of(a, b), calendar, day, day);
+        allocator.occupy(a.getId(), day.atTime(18, 0), day.atTime(20, 0));
+        allocator.occupy(b.getId(), day.atTime(17, 0), day.atTime(19, 0));
+
+        assertThat(allocator.nearestFree(null, day.atTime(18, 0), 60, day.atStartOfDay(), 30, 3))
+                .containsExactly(day.atTime(19, 0), day.atTime(17, 0), day.atTime(19, 30));
+        assertThat(allocator.nearestFree(null, day.atTime(18, 0), 60, day.atTime(17, 30), 30, 2))
+                .containsExactly(day.atTime(19, 0), day.atTime(19, 30));
+        assertThat(allocator.nearestFree(Type.SEVEN_A_SIDE, day.atTime(18, 0), 60, day.atStartOfDay(), 30, 3)).isEmpty();
+        assertThat(allocator.nearestFree(null, day.atTime(22, 30), 60, day.atStartOfDay(), 30, 1))
+                .containsExactly(day.atTime(22, 0));
+    }
+
+    private static Pitch pitch(String name, Type type) {
+        return Pitch.builder().id(UUID.randomUUID()).name(name).type(type).build();
+    }
+}
@@ -0,0 +1,123 @@
+package com.hamza.stadiumbooking.booking;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hamza.stadiumbooking.base.AuthTestUtils;
+import com.hamza.stadiumbooking.stadium.PitchRequest;
+import com.hamza.stadiumbooking.stadium.Stadium;
+import com.hamza.stadiumbooking.stadium.Type;
+import com.hamza.stadiumbooking.user.Role;
+import com.hamza.stadiumbooking.user.User;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Bookings of a stadium with several pitches, on H2.
+ */
+@AutoConfigureMockMvc
+@SpringBootTest
+@ActiveProfiles({"test", "h2"})
+class PitchBookingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private AuthTestUtils authTestUtils;
+
+    private Stadium stadium;
+    private User player;
+    private String ownerToken;
+    private String playerToken;
+    private final LocalDateTime slot = LocalDateTime.now().plusDays(5).truncatedTo(ChronoUnit.DAYS).withHour(18);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        User owner = authTestUtils.saveUser("pitch-owner-" + suffix + "@gmail.com", "Owner@1234", "015" + suffix, Role.ROLE_MANAGER);
+        player = authTestUtils.savePlayer("pitch-player-" + suffix + "@gmail.com", "Player@1234", "016" + suffix);
+        stadium = authTestUtils.saveStadium("Pitches " + suffix, owner);
+        ownerToken = authTestUtils.obtainAccessToken(owner.getEmail(), "Owner@1234");
+        playerToken = authTestUtils.obtainAccessToken(player.getEmail(), "Player@1234");
+    }
+
+    @Test
+    void sameSlot_ShouldBeAllocatedToEachFreePitchOfTheTypeThenConflict() throws Exception {
+        addPitch("Pitch 1", Type.FIVE_A_SIDE).andExpect(status().isCreated());
+        addPitch("Pitch 2", Type.FIVE_A_SIDE).andExpect(status().isCreated());
+        addPitch("pitch 2", Type.FIVE_A_SIDE).andExpect(status().isBadRequest());
+        addPitch("Big pitch", Type.SEVEN_A_SIDE).andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/v1/stadiums/" + stadium.getId() + "/pitches"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3));
+
+        String first = book(Type.FIVE_A_SIDE).andExpect(status().isCreated()).andReturn().getResponse().getContentAsString();
+        String second = book(Type.FIVE_A_SIDE).andExpect(status().isCreated()).andReturn().getResponse().getContentAsString();
+        assertThat(JsonPath.<String>read(first, "$.pitchName")).isNotEqualTo(JsonPath.<String>read(second, "$.pitchName"));
+
+        book(Type.FIVE_A_SIDE).andExpect(status().isConflict());
+        book(Type.SEVEN_A_SIDE).andExpect(status().isCreated())
+                .andExpect(jsonPath("$.pitchName").value("Big pitch"));
+        book(null).andExpect(status().isConflict());
+        book(Type.ELEVEN_A_SIDE).andExpect(status().isBadRequest());
+
+        mockMvc.perform(delete("/api/v1/stadiums/" + stadium.getId() + "/pitches/" + JsonPath.read(first, "$.pitchId"))
+                        .header("Authorization", "Bearer " + ownerToken))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void stadiumWideBookingMadeBeforePitches_ShouldBlockEveryPitch() throws Exception {
+        authTestUtils.createAndSaveBooking(stadium, player, slot, 1);
+        addPitch("Pitch 1", Type.FIVE_A_SIDE).andExpect(status().isCreated());
+        addPitch("Pitch 2", Type.FIVE_A_SIDE).andExpect(status().isCreated());
+
+        book(null).andExpect(status().isConflict());
+    }
+
+    @Test
+    void multiYearRange_ShouldBeRejectedBeforeAnyAllocatorIsBuilt() throws Exception {
+        addPitch("Pitch 1", Type.FIVE_A_SIDE).andExpect(status().isCreated());
+
+        mockMvc.perform(post("/api/v1/bookings")
+                        .header("Authorization", "Bearer " + playerToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BookingRequest(stadium.getId(), slot, slot.plusYears(5000), null, null))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.msg").value("Booking duration cannot exceed 3 hours"));
+    }
+
+    private ResultActions addPitch(String name, Type type) throws Exception {
+        return mockMvc.perform(post("/api/v1/stadiums/" + stadium.getId() + "/pitches")
+                .header("Authorization", "Bearer " + ownerToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new PitchRequest(name, type))));
+    }
+
+    private ResultActions book(Type type) throws Exception {
+        return mockMvc.perform(post("/api/v1/bookings")
+                .header("Authorization", "Bearer " + playerToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BookingRequest(stadium.getId(), slot, slot.plusHours(1), null, type))));
+    }
+}
@@ -0,0 +1,108 @@
+package com.hamza.stadiumbooking.booking;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hamza.stadiumbooking.base.AuthTestUtils;
+import com.hamza.stadiumbooking.stadium.Stadium;
+import com.hamza.stadiumbooking.stadium.StadiumRepository;
+import com.hamza.stadiumbooking.user.Role;
+import com.hamza.stadiumbooking.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Free-slot suggestions in the {@code 409} of a booking create, on H2.
+ */
+@AutoConfigureMockMvc
+@SpringBootTest
+@ActiveProfiles({"test", "h2"})
+class SlotSuggestionTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private AuthTestUtils authTestUtils;
+    @Autowired
+    private StadiumRepository stadiumRepository;
+
+    private Stadium stadium;
+    private Stadium neighbour;
+    private User player;
+    private String playerToken;
+    private String ownerToken;
+    private final LocalDate day = LocalDate.now().plusDays(5);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        User owner = authTestUtils.saveUser("suggest-owner-" + suffix + "@gmail.com", "Owner@1234", "019" + suffix, Role.ROLE_MANAGER);
+        player = authTestUtils.savePlayer("suggest-player-" + suffix + "@gmail.com", "Player@1234", "010" + suffix);
+        stadium = inLocation(authTestUtils.saveStadium("Suggest A " + suffix, owner), "Suggest " + suffix);
+        neighbour = inLocation(authTestUtils.saveStadium("Suggest B " + suffix, owner), "Suggest " + suffix);
+        playerToken = authTestUtils.obtainAccessToken(player.getEmail(), "Player@1234");
+        ownerToken = authTestUtils.obtainAccessToken(owner.getEmail(), "Owner@1234");
+    }
+
+    @Test
+    void conflict_ShouldOfferNearestFreeSlotsHereAndTheSameTimeNearby() throws Exception {
+        authTestUtils.createAndSaveBooking(stadium, player, day.atTime(18, 0), 1);
+        authTestUtils.createAndSaveBooking(neighbour, player, day.atTime(16, 0), 1);
+        LocalDateTime start = day.atTime(18, 0);
+
+        mockMvc.perform(post("/api/v1/bookings")
+                        .header("Authorization", "Bearer " + playerToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BookingRequest(stadium.getId(), start, start.plusHours(1), null))))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.msg").value("This time is already booked"))
+                .andExpect(jsonPath("$.sameStadium.length()").value(3))
+                .andExpect(jsonPath("$.sameStadium[0].startTime").value(day + "T19:00:00"))
+                .andExpect(jsonPath("$.sameStadium[1].startTime").value(day + "T17:00:00"))
+                .andExpect(jsonPath("$.sameStadium[2].endTime").value(day + "T20:30:00"))
+                .andExpect(jsonPath("$.nearby[0].stadiumId").value(neighbour.getId().toString()))
+                .andExpect(jsonPath("$.nearby[0].startTime").value(day + "T18:00:00"));
+    }
+
+    @Test
+    void conflict_ShouldNotOfferSlotsInAnOpenLotteryWindow() throws Exception {
+        authTestUtils.createAndSaveBooking(stadium, player, day.atTime(18, 0), 1);
+        mockMvc.perform(post("/api/v1/stadiums/" + stadium.getId() + "/lotteries")
+                        .header("Authorization", "Bearer " + ownerToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BookingLotteryRequest(
+                                day.atTime(19, 0), day.atTime(21, 0), LocalDateTime.now().plusHours(1)))))
+                .andExpect(status().isCreated());
+        LocalDateTime start = day.atTime(18, 0);
+
+        // 19:00 and later overlap the lottery window, so every suggestion comes from before the booking
+        mockMvc.perform(post("/api/v1/bookings")
+                        .header("Authorization", "Bearer " + playerToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BookingRequest(stadium.getId(), start, start.plusHours(1), null))))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.sameStadium.length()").value(3))
+                .andExpect(jsonPath("$.sameStadium[0].startTime").value(day + "T17:00:00"))
+                .andExpect(jsonPath("$.sameStadium[1].startTime").value(day + "T16:30:00"))
+                .andExpect(jsonPath("$.sameStadium[2].startTime").value(day + "T16:00:00"));
+    }
+
+    private Stadium inLocation(Stadium stadium, String location) {
+        stadium.setLocation(location);
+        return stadiumRepository.save(stadium);
+    }
+}
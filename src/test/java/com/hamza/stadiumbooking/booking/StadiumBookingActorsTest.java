@@ -0,0 +1,128 @@
+package com.hamza.stadiumbooking.booking;
+
+import com.hamza.stadiumbooking.base.AuthTestUtils;
+import com.hamza.stadiumbooking.exception.ConflictingBookingsException;
+import com.hamza.stadiumbooking.exception.ResourceNotFoundException;
+import com.hamza.stadiumbooking.exception.TooManyRequestsException;
+import com.hamza.stadiumbooking.security.utils.OwnershipValidationService;
+import com.hamza.stadiumbooking.stadium.Stadium;
+import com.hamza.stadiumbooking.user.Role;
+import com.hamza.stadiumbooking.user.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Booking creates made through the per-stadium mailbox, on H2.
+ */
+@AutoConfigureMockMvc
+@SpringBootTest
+@ActiveProfiles({"test", "h2"})
+class StadiumBookingActorsTest {
+
+    @Autowired
+    private AuthTestUtils authTestUtils;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private OwnershipValidationService ownershipValidationService;
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private StadiumBookingActors actors;
+    private Stadium stadium;
+    private final List<User> players = new ArrayList<>();
+    private final LocalDateTime slot = LocalDateTime.now().plusDays(6).truncatedTo(ChronoUnit.DAYS).withHour(18);
+
+    @BeforeEach
+    void setUp() {
+        actors = new StadiumBookingActors(bookingService, ownershipValidationService, new SimpleMeterRegistry(), true, 32, 1000);
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        User owner = authTestUtils.saveUser("actor-owner-" + suffix + "@gmail.com", "Owner@1234", "015" + suffix, Role.ROLE_MANAGER);
+        stadium = authTestUtils.saveStadium("Actor " + suffix, owner);
+        for (int i = 0; i < 5; i++) {
+            players.add(authTestUtils.savePlayer("actor-player" + i + "-" + suffix + "@gmail.com", "Player@1234", "01" + i + suffix));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        actors.shutdown();
+    }
+
+    @Test
+    void concurrentCreatesForOneSlot_ShouldBookItOnceAndConflictTheRest() {
+        List<CompletableFuture<BookingResponse>> results = players.stream()
+                .map(player -> actors.submit(request(slot), player.getId()))
+                .toList();
+
+        List<BookingResponse> booked = new ArrayList<>();
+        List<Throwable> errors = new ArrayList<>();
+        for (CompletableFuture<BookingResponse> result : results) {
+            try {
+                booked.add(result.join());
+            } catch (CompletionException e) {
+                errors.add(e.getCause());
+            }
+        }
+
+        assertThat(booked).hasSize(1);
+        assertThat(errors).hasSize(players.size() - 1).allMatch(ConflictingBookingsException.class::isInstance);
+        assertThat(bookingRepository.findConflictingBookingsForNew(stadium.getId(), slot, slot.plusHours(1))).isTrue();
+    }
+
+    @Test
+    void createsForDistinctSlots_ShouldAllBeBookedAndBadOnesRejectedAlone() {
+        List<CompletableFuture<BookingResponse>> results = new ArrayList<>();
+        for (int i = 0; i < 4; i++) results.add(actors.submit(request(slot.minusHours(2).plusHours(i)), players.get(i).getId()));
+        CompletableFuture<BookingResponse> closed = actors.submit(request(slot.withHour(10)), players.get(4).getId());
+        CompletableFuture<BookingResponse> unknownUser = actors.submit(request(slot.plusHours(3)), UUID.randomUUID());
+
+        assertThat(results).allSatisfy(result -> assertThat(result.join().stadiumId()).isEqualTo(stadium.getId()));
+        assertThatThrownBy(closed::join).hasCauseInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Stadium is closed during the selected time");
+        assertThatThrownBy(unknownUser::join).hasCauseInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void batchWithAYearsLongRequest_ShouldRejectItAloneWithoutSizingTheAllocatorFromIt() {
+        List<BookingService.BatchOutcome> outcomes = bookingService.addBookingBatch(stadium.getId(), List.of(
+                new BookingService.PendingBooking(request(slot), players.get(0).getId()),
+                new BookingService.PendingBooking(new BookingRequest(stadium.getId(), slot, slot.plusYears(5000), null, null), players.get(1).getId())));
+
+        assertThat(outcomes.get(0).booking()).isNotNull();
+        assertThat(outcomes.get(1).error()).isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Booking duration cannot exceed 3 hours");
+    }
+
+    @Test
+    void fullMailbox_ShouldTurnNewCreatesAway() {
+        StadiumBookingActors tiny = new StadiumBookingActors(bookingService, ownershipValidationService, new SimpleMeterRegistry(), true, 1, 0);
+        try {
+            assertThatThrownBy(() -> tiny.submit(request(slot), players.getFirst().getId()).join())
+                    .hasCauseInstanceOf(TooManyRequestsException.class);
+        } finally {
+            tiny.shutdown();
+        }
+    }
+
+    private BookingRequest request(LocalDateTime start) {
+        return new BookingRequest(stadium.getId(), start, start.plusHours(1), null, null);
+    }
+}
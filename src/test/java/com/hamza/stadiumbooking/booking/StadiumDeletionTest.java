@@ -0,0 +1,104 @@
+package com.hamza.stadiumbooking.booking;
+
+import com.hamza.stadiumbooking.base.AuthTestUtils;
+import com.hamza.stadiumbooking.outbox.BookingOutbox;
+import com.hamza.stadiumbooking.stadium.Stadium;
+import com.hamza.stadiumbooking.stadium.StadiumRepository;
+import com.hamza.stadiumbooking.user.Role;
+import com.hamza.stadiumbooking.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Cancellation of the upcoming bookings of soft-deleted stadiums, chunk by chunk, on H2.
+ */
+@AutoConfigureMockMvc
+@SpringBootTest
+@ActiveProfiles({"test", "h2"})
+class StadiumDeletionTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private AuthTestUtils authTestUtils;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private StadiumRepository stadiumRepository;
+    @Autowired
+    private BookingOutbox bookingOutbox;
+    @Autowired
+    private OccupancySnapshots occupancySnapshots;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String ownerToken;
+    private Stadium stadium;
+    private Stadium kept;
+    private User player;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        User owner = authTestUtils.saveUser("deletion-owner-" + suffix + "@gmail.com", "Owner@1234", "024" + suffix, Role.ROLE_MANAGER);
+        player = authTestUtils.savePlayer("deletion-player-" + suffix + "@gmail.com", "Player@1234", "025" + suffix);
+        stadium = authTestUtils.saveStadium("Deleted " + suffix, owner);
+        kept = authTestUtils.saveStadium("Kept " + suffix, owner);
+        ownerToken = authTestUtils.obtainAccessToken(owner.getEmail(), "Owner@1234");
+    }
+
+    @Test
+    void deletedStadium_ShouldHaveItsUpcomingBookingsCancelledInChunksWithOneEventEach() throws Exception {
+        List<UUID> upcoming = List.of(
+                authTestUtils.createAndSaveBooking(stadium, player, 1, 17).getId(),
+                authTestUtils.createAndSaveBooking(stadium, player, 2, 17).getId(),
+                authTestUtils.createAndSaveBooking(stadium, player, 3, 17).getId());
+        UUID past = authTestUtils.createAndSaveBooking(stadium, player, -1, 17).getId();
+        UUID alreadyCancelled = authTestUtils.createAndSaveBooking(stadium, player, 4, 17).getId();
+        jdbcTemplate.update("UPDATE bookings SET status = 'CANCELLED' WHERE id = ?", alreadyCancelled);
+        UUID elsewhere = authTestUtils.createAndSaveBooking(kept, player, 1, 17).getId();
+
+        assertThat(occupancySnapshots.get(stadium.getId(), LocalDate.now())).isNotNull();
+        mockMvc.perform(delete("/api/v1/stadiums/" + stadium.getId()).header("Authorization", "Bearer " + ownerToken))
+                .andExpect(status().isNoContent());
+        assertThat(stadiumRepository.findDeletedIdsWithBookingsPending()).contains(stadium.getId());
+
+        StadiumDeletionService deletionService = new StadiumDeletionService(bookingRepository, stadiumRepository, bookingOutbox,
+                occupancySnapshots, transactionManager, 2);
+        assertThat(deletionService.cancelUpcomingBookings(stadium.getId())).isEqualTo(3);
+
+        assertThat(bookingRepository.findAllById(upcoming)).extracting(Booking::getStatus).containsOnly(BookingStatus.CANCELLED);
+        assertThat(bookingRepository.findById(past).orElseThrow().getStatus()).isEqualTo(BookingStatus.CONFIRMED);
+        assertThat(bookingRepository.findById(elsewhere).orElseThrow().getStatus()).isEqualTo(BookingStatus.CONFIRMED);
+        for (UUID id : upcoming) {
+            assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM booking_outbox WHERE booking_id = ? AND type = 'BOOKING_CANCELLED'",
+                    Integer.class, id)).isEqualTo(1);
+        }
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM booking_outbox WHERE booking_id = ?", Integer.class, alreadyCancelled))
+                .isZero();
+        // The snapshot cached before the delete is gone, and the stadium no longer loads one
+        assertThat(occupancySnapshots.get(stadium.getId(), LocalDate.now())).isNull();
+
+        // Done: no longer pending, and a run over it again changes nothing
+        assertThat(stadiumRepository.findDeletedIdsWithBookingsPending()).doesNotContain(stadium.getId());
+        assertThat(stadiumRepository.findById(stadium.getId()).orElseThrow().getBookingsCancelledAt()).isNotNull();
+        assertThat(deletionService.cancelUpcomingBookings(stadium.getId())).isZero();
+    }
+}
@@ -0,0 +1,121 @@
+package com.hamza.stadiumbooking.booking;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hamza.stadiumbooking.booking.BookingLoadHarness.Report;
+import com.hamza.stadiumbooking.booking.BookingLoadHarness.Scenario;
+import com.hamza.stadiumbooking.bulkhead.BulkheadBCryptPasswordEncoder;
+import com.hamza.stadiumbooking.bulkhead.BulkheadDataSource;
+import com.hamza.stadiumbooking.security.jwt.JwtProvider;
+import com.hamza.stadiumbooking.stadium.StadiumRepository;
+import com.hamza.stadiumbooking.user.UserRepository;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A crowd of players booking through the real endpoints ({@link BookingLoadHarness}) with
+ * {@code spring.threads.virtual.enabled} off and on, on H2. MockMvc serves each request on the calling thread, so the
+ * harness's executor stands in for Tomcat's: a pool of {@code server.tomcat.threads.max} platform threads, or a virtual
+ * thread per player with the bulkheads in front of JDBC, Redis and BCrypt. Each run logs its throughput and p99;
+ * scale up with {@code -Dloadtest.crowd=2000}.
+ */
+class VirtualThreadLoadTest {
+
+    static final int CROWD = Integer.getInteger("loadtest.crowd", 400);
+    static final int TOMCAT_MAX_THREADS = 200;
+
+    static Scenario crowd(String threads) {
+        return new Scenario("crowd-" + threads, CROWD, 1, 8, 0.8, 1, 14, 0);
+    }
+
+    abstract static class Run {
+
+        @Autowired
+        MockMvc mockMvc;
+        @Autowired
+        ObjectMapper objectMapper;
+        @Autowired
+        JwtProvider jwtProvider;
+        @Autowired
+        UserRepository userRepository;
+        @Autowired
+        StadiumRepository stadiumRepository;
+        @Autowired
+        JdbcTemplate jdbcTemplate;
+        @Autowired
+        DataSource dataSource;
+
+        Report run(String threads, ExecutorService executor) throws Exception {
+            Report report = new BookingLoadHarness(mockMvc, objectMapper, jwtProvider, userRepository, stadiumRepository, jdbcTemplate)
+                    .run(crowd(threads), executor);
+            BookingLoadTest.assertInvariants(report);
+            return report;
+        }
+    }
+
+    @Nested
+    @AutoConfigureMockMvc
+    @SpringBootTest
+    @ActiveProfiles({"test", "h2"})
+    class PlatformThreads extends Run {
+
+        @Test
+        @Timeout(value = 5, unit = TimeUnit.MINUTES)
+        void crowd_shouldQueueForTomcatsThreadPool() throws Exception {
+            assertThat(dataSource).isNotInstanceOf(BulkheadDataSource.class);
+            run("platform-threads", Executors.newFixedThreadPool(Math.min(CROWD, TOMCAT_MAX_THREADS)));
+        }
+    }
+
+    @Nested
+    @AutoConfigureMockMvc
+    @SpringBootTest
+    @ActiveProfiles({"test", "h2"})
+    // Its own database, since Liquibase can't run twice on the shared one; and queueing on the JDBC bulkhead for as long
+    // as a platform thread would queue for Tomcat, rather than shedding load with 503
+    @TestPropertySource(properties = {
+            "spring.threads.virtual.enabled=true",
+            "bulkhead.max-wait-ms=60000",
+            "spring.datasource.url=jdbc:h2:mem:stadium_booking_virtual;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000;TIME ZONE=Africa/Cairo"})
+    class VirtualThreads extends Run {
+
+        @Autowired
+        RedisConnectionFactory redisConnectionFactory;
+        @Autowired
+        PasswordEncoder passwordEncoder;
+
+        @Test
+        void context_ShouldBootWithEveryResourceBehindItsBulkhead() throws Exception {
+            assertThat(dataSource).isInstanceOf(BulkheadDataSource.class);
+            assertThat(AopUtils.isAopProxy(redisConnectionFactory)).isTrue();
+            assertThat(passwordEncoder).isInstanceOf(BulkheadBCryptPasswordEncoder.class);
+
+            mockMvc.perform(get("/api/v1/stadiums")).andExpect(status().isOk());
+        }
+
+        @Test
+        @Timeout(value = 5, unit = TimeUnit.MINUTES)
+        void crowd_shouldQueueOnlyForTheJdbcBulkhead() throws Exception {
+            run("virtual-threads", Executors.newVirtualThreadPerTaskExecutor());
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.hamza.stadiumbooking.bulkhead;
+
+import com.hamza.stadiumbooking.exception.BulkheadFullException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class BulkheadTest {
+
+    @Mock
+    private DataSource dataSource;
+    @Mock
+    private Connection connection;
+    @Mock
+    private RedisConnectionFactory redisConnectionFactory;
+    @Mock
+    private RedisConnection redisConnection;
+
+    @Test
+    void acquire_shouldRejectWhenAllPermitsAreHeld() {
+        Bulkhead bulkhead = new Bulkhead("jdbc", 1, 10);
+        bulkhead.acquire();
+
+        assertThatThrownBy(bulkhead::acquire)
+                .isInstanceOf(BulkheadFullException.class)
+                .hasMessageContaining("jdbc");
+
+        bulkhead.release();
+        assertThat(bulkhead.availablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    void dataSource_shouldHoldPermitUntilConnectionIsClosedOnce() throws SQLException {
+        given(dataSource.getConnection()).willReturn(connection);
+        Bulkhead bulkhead = new Bulkhead("jdbc", 2, 10);
+        BulkheadDataSource guarded = new BulkheadDataSource(dataSource, bulkhead);
+
+        Connection borrowed = guarded.getConnection();
+        assertThat(bulkhead.availablePermits()).isEqualTo(1);
+
+        borrowed.close();
+        borrowed.close();
+
+        assertThat(bulkhead.availablePermits()).isEqualTo(2);
+        verify(connection, times(2)).close();
+    }
+
+    @Test
+    void dataSource_shouldReleasePermitWhenPoolFails() throws SQLException {
+        given(dataSource.getConnection()).willThrow(new SQLException("pool timeout"));
+        Bulkhead bulkhead = new Bulkhead("jdbc", 1, 10);
+
+        assertThatThrownBy(() -> new BulkheadDataSource(dataSource, bulkhead).getConnection())
+                .isInstanceOf(SQLException.class);
+        assertThat(bulkhead.availablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    void redisConnectionFactory_shouldHoldPermitUntilConnectionIsClosed() {
+        given(redisConnectionFactory.getConnection()).willReturn(redisConnection);
+        Bulkhead bulkhead = new Bulkhead("redis", 1, 10);
+        RedisConnectionFactory guarded = (RedisConnectionFactory) BulkheadRedisConnectionFactory.wrap(redisConnectionFactory, bulkhead);
+
+        RedisConnection borrowed = guarded.getConnection();
+        assertThatThrownBy(guarded::getConnection).isInstanceOf(BulkheadFullException.class);
+
+        borrowed.close();
+        assertThat(bulkhead.availablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    void redisConnectionFactory_shouldNotHoldPermitsForSubscriptions() {
+        given(redisConnectionFactory.getConnection()).willReturn(redisConnection);
+        Bulkhead bulkhead = new Bulkhead("redis", 1, 10);
+        RedisConnectionFactory guarded = (RedisConnectionFactory) BulkheadRedisConnectionFactory.wrap(redisConnectionFactory, bulkhead);
+
+        RedisConnection subscription = guarded.getConnection();
+        subscription.subscribe((message, pattern) -> {}, "booking-events".getBytes());
+        assertThat(bulkhead.availablePermits()).isEqualTo(1);
+
+        guarded.getConnection().close();
+        subscription.close();
+        assertThat(bulkhead.availablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    void passwordEncoder_shouldStillBeBCryptCompatible() {
+        BulkheadBCryptPasswordEncoder encoder = new BulkheadBCryptPasswordEncoder(new Bulkhead("bcrypt", 1, 1000));
+
+        String hash = encoder.encode("Player@1234");
+
+        assertThat(new BCryptPasswordEncoder().matches("Player@1234", hash)).isTrue();
+        assertThat(encoder.matches("Player@1234", hash)).isTrue();
+    }
+}
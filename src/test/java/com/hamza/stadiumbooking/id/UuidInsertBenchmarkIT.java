@@ -0,0 +1,172 @@
+package com.hamza.stadiumbooking.id;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.MySQLContainer;
+
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Inserts the same booking-shaped rows into two copies of the {@code bookings} table, one keyed by random v4 UUIDs
+ * and one by {@link UuidV7Generator}, on a MySQL with a deliberately small buffer pool. For each run, it reports
+ * insert throughput, InnoDB page splits ({@code index_page_splits}), buffer-pool hit rate and clustered index size.
+ * Scale with {@code -Duuidbench.rows=1000000}.
+ */
+@Slf4j
+class UuidInsertBenchmarkIT {
+
+    private static final int ROWS = Integer.getInteger("uuidbench.rows", 200_000);
+    private static final int BATCH_SIZE = 1_000;
+
+    private static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.3")
+            .withDatabaseName("uuidbench")
+            .withUsername("root")
+            .withCommand("--innodb-buffer-pool-size=16M", "--innodb-monitor-enable=index_page_splits");
+
+    record Result(String keys, double rowsPerSecond, long pageSplits, double bufferPoolHitRate, long dataLengthBytes) {}
+
+    @BeforeAll
+    static void startMySql() {
+        mysql.start();
+    }
+
+    @AfterAll
+    static void stopMySql() {
+        mysql.stop();
+    }
+
+    @Test
+    void timeOrderedKeys_ShouldSplitFewerPagesThanRandomKeys() throws Exception {
+        try (Connection connection = DriverManager.getConnection(
+                mysql.getJdbcUrl() + "?rewriteBatchedStatements=true", mysql.getUsername(), mysql.getPassword())) {
+            Result random = run(connection, "v4", UUID::randomUUID);
+            Result timeOrdered = run(connection, "v7", UuidV7Generator::next);
+
+            for (Result result : new Result[]{random, timeOrdered}) {
+                log.info("UUID insert benchmark [{}] {} rows | {} rows/s | page splits {} | buffer pool hit rate {}% | clustered index {} MiB",
+                        result.keys(), ROWS, Math.round(result.rowsPerSecond()), result.pageSplits(),
+                        String.format("%.2f", result.bufferPoolHitRate() * 100), result.dataLengthBytes() >> 20);
+            }
+
+            assertThat(timeOrdered.pageSplits()).isLessThan(random.pageSplits());
+            assertThat(timeOrdered.dataLengthBytes()).isLessThan(random.dataLengthBytes());
+        }
+    }
+
+    private Result run(Connection connection, String keys, Supplier<UUID> ids) throws SQLException {
+        String table = "bookings_" + keys;
+        try (Statement statement = connection.createStatement()) {
+            // Same shape and secondary indexes as the Liquibase bookings table
+            statement.execute("DROP TABLE IF EXISTS " + table);
+            statement.execute("""
+                    CREATE TABLE %s (
+                        id binary(16) NOT NULL PRIMARY KEY,
+                        version BIGINT,
+                        start_time DATETIME NOT NULL,
+                        end_time DATETIME NOT NULL,
+                        total_price DOUBLE NOT NULL,
+                        note VARCHAR(500),
+                        status VARCHAR(50) NOT NULL DEFAULT 'CONFIRMED',
+                        user_id binary(16) NOT NULL,
+                        stadium_id binary(16) NOT NULL,
+                        created_at DATETIME NOT NULL,
+                        updated_at DATETIME,
+                        INDEX idx_booking_overlap (stadium_id, status, start_time, end_time),
+                        INDEX idx_booking_user (user_id)
+                    )""".formatted(table));
+        }
+
+        Map<String, Long> before = counters(connection);
+        SplittableRandom random = new SplittableRandom(42);
+        byte[][] stadiums = new byte[50][];
+        for (int i = 0; i < stadiums.length; i++) stadiums[i] = bytes(UUID.randomUUID());
+        LocalDateTime firstDay = LocalDateTime.of(2026, 1, 1, 8, 0);
+
+        long start = System.nanoTime();
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO " + table
+                + " (id, version, start_time, end_time, total_price, note, status, user_id, stadium_id, created_at)"
+                + " VALUES (?, 0, ?, ?, ?, ?, 'CONFIRMED', ?, ?, ?)")) {
+            for (int row = 1; row <= ROWS; row++) {
+                LocalDateTime startTime = firstDay.plusMinutes(30L * random.nextInt(20_000));
+                insert.setBytes(1, bytes(ids.get()));
+                insert.setTimestamp(2, Timestamp.valueOf(startTime));
+                insert.setTimestamp(3, Timestamp.valueOf(startTime.plusMinutes(90)));
+                insert.setDouble(4, 300.0);
+                insert.setString(5, "Benchmark booking note " + row);
+                insert.setBytes(6, bytes(new UUID(random.nextLong(), random.nextLong())));
+                insert.setBytes(7, stadiums[random.nextInt(stadiums.length)]);
+                insert.setTimestamp(8, Timestamp.valueOf(LocalDateTime.now()));
+                insert.addBatch();
+                if (row % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        } finally {
+            connection.setAutoCommit(true);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        Map<String, Long> after = counters(connection);
+
+        long readRequests = after.get("Innodb_buffer_pool_read_requests") - before.get("Innodb_buffer_pool_read_requests");
+        long diskReads = after.get("Innodb_buffer_pool_reads") - before.get("Innodb_buffer_pool_reads");
+        return new Result(keys, ROWS / seconds,
+                after.get("index_page_splits") - before.get("index_page_splits"),
+                readRequests == 0 ? 1 : 1 - (double) diskReads / readRequests,
+                dataLength(connection, table));
+    }
+
+    private static Map<String, Long> counters(Connection connection) throws SQLException {
+        Map<String, Long> counters = new HashMap<>();
+        try (Statement statement = connection.createStatement()) {
+            try (ResultSet rs = statement.executeQuery("SHOW GLOBAL STATUS WHERE Variable_name IN "
+                    + "('Innodb_buffer_pool_read_requests', 'Innodb_buffer_pool_reads')")) {
+                while (rs.next()) counters.put(rs.getString(1), rs.getLong(2));
+            }
+            try (ResultSet rs = statement.executeQuery(
+                    "SELECT COUNT FROM information_schema.INNODB_METRICS WHERE NAME = 'index_page_splits'")) {
+                rs.next();
+                counters.put("index_page_splits", rs.getLong(1));
+            }
+        }
+        return counters;
+    }
+
+    private static long dataLength(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE TABLE " + table);
+            try (ResultSet rs = statement.executeQuery("SELECT data_length FROM information_schema.TABLES "
+                    + "WHERE table_schema = DATABASE() AND table_name = '" + table + "'")) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+
+    private static byte[] bytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+}
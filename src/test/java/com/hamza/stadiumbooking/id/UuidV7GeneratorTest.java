@@ -0,0 +1,78 @@
+package com.hamza.stadiumbooking.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UuidV7GeneratorTest {
+
+    @Test
+    void next_ShouldSetVersionVariantAndCurrentTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID uuid = UuidV7Generator.next();
+        long after = System.currentTimeMillis();
+
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+        assertThat(UuidV7Generator.timestampMillis(uuid)).isBetween(before, after + 1);
+    }
+
+    @Test
+    void next_ShouldIncreaseInBinaryOrderEvenWithinOneMillisecond() {
+        UUID previous = UuidV7Generator.next();
+        for (int i = 0; i < 100_000; i++) {
+            UUID current = UuidV7Generator.next();
+            assertThat(compareAsBinary16(current, previous)).isPositive();
+            previous = current;
+        }
+    }
+
+    @Test
+    void next_ShouldBeUniqueAcrossThreads() throws Exception {
+        Set<UUID> seen = ConcurrentHashMap.newKeySet();
+        List<Future<?>> workers = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int t = 0; t < 8; t++) {
+                workers.add(executor.submit(() -> {
+                    for (int i = 0; i < 20_000; i++) seen.add(UuidV7Generator.next());
+                }));
+            }
+            for (Future<?> worker : workers) worker.get();
+        }
+        assertThat(seen).hasSize(160_000);
+    }
+
+    @Test
+    void timestampMillis_ShouldRejectRandomUuids() {
+        assertThatThrownBy(() -> UuidV7Generator.timestampMillis(UUID.randomUUID()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void floor_ShouldSortBetweenEarlierAndLaterKeys() {
+        UUID earlier = UuidV7Generator.next();
+        long millis = UuidV7Generator.timestampMillis(earlier) + 1;
+        UUID floor = UuidV7Generator.floor(millis);
+
+        assertThat(floor.version()).isEqualTo(7);
+        assertThat(UuidV7Generator.timestampMillis(floor)).isEqualTo(millis);
+        assertThat(compareAsBinary16(floor, earlier)).isPositive();
+        assertThat(compareAsBinary16(new UUID(floor.getMostSignificantBits(), floor.getLeastSignificantBits() + 1), floor)).isPositive();
+    }
+
+    // Byte order of the binary(16) column: both halves compared as unsigned
+    private static int compareAsBinary16(UUID a, UUID b) {
+        int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+}
@@ -0,0 +1,72 @@
+package com.hamza.stadiumbooking.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InfoSamplingFilterTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private InfoSamplingFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        appender.setContext(context);
+        appender.start();
+        context.getLogger(Logger.ROOT_LOGGER_NAME).addAppender(appender);
+        filter = InfoSamplingFilter.install(context, 4, List.of("com.hamza.stadiumbooking.booking"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.stop();
+    }
+
+    @Test
+    void shouldKeepOneInRatePerMessageTemplate() {
+        Logger logger = context.getLogger("com.hamza.stadiumbooking.booking.BookingController");
+
+        for (int i = 0; i < 8; i++) logger.info("hot line {}", i);
+        logger.info("rare line");
+
+        assertThat(appender.list).extracting(ILoggingEvent::getFormattedMessage)
+                .containsExactly("hot line 0", "hot line 4", "rare line");
+        assertThat(filter.getSampledOutCount()).isEqualTo(6);
+    }
+
+    @Test
+    void shouldSampleStructuredEventsToo() {
+        Logger logger = context.getLogger("com.hamza.stadiumbooking.booking.BookingService");
+
+        for (int i = 0; i < 4; i++) logger.atInfo().addKeyValue("i", i).log("structured line");
+
+        assertThat(appender.list).hasSize(1);
+        assertThat(appender.list.getFirst().getKeyValuePairs()).extracting(kv -> kv.value).containsExactly(0);
+    }
+
+    @Test
+    void shouldNotSampleWarningsOrOtherLoggers() {
+        Logger booking = context.getLogger("com.hamza.stadiumbooking.booking.BookingService");
+        Logger other = context.getLogger("com.hamza.stadiumbooking.user.UserService");
+
+        for (int i = 0; i < 4; i++) {
+            booking.warn("warning");
+            other.info("other logger");
+        }
+
+        assertThat(appender.list).hasSize(8);
+        assertThat(filter.getSampledOutCount()).isZero();
+        assertThat(InfoSamplingFilter.install(context, 10, List.of())).isSameAs(filter);
+    }
+}
@@ -0,0 +1,116 @@
+package com.hamza.stadiumbooking.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RingBufferAppenderTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+    private final CollectingAppender target = new CollectingAppender();
+
+    @BeforeEach
+    void setUp() {
+        context.setMDCAdapter(new LogbackMDCAdapter());
+    }
+
+    @AfterEach
+    void tearDown() {
+        target.release.countDown();
+        context.stop();
+    }
+
+    @Test
+    void fullBuffer_ShouldDropInfoAndWriteWarnOnCallerThread() throws Exception {
+        target.blockWriter = true;
+        target.start();
+        RingBufferAppender ringBuffer = new RingBufferAppender(2);
+        ringBuffer.setContext(context);
+        ringBuffer.addAppender(target);
+        ringBuffer.start();
+
+        ringBuffer.doAppend(event(Level.INFO, "taken by the writer"));
+        assertThat(target.writerEntered.await(5, TimeUnit.SECONDS)).isTrue();
+        ringBuffer.doAppend(event(Level.INFO, "queued 1"));
+        ringBuffer.doAppend(event(Level.INFO, "queued 2"));
+
+        ringBuffer.doAppend(event(Level.INFO, "dropped"));
+        ringBuffer.doAppend(event(Level.WARN, "written by caller"));
+
+        assertThat(ringBuffer.getDroppedCount()).isEqualTo(1);
+        assertThat(ringBuffer.getOverflowWriteCount()).isEqualTo(1);
+        assertThat(ringBuffer.getQueueDepth()).isEqualTo(2);
+        assertThat(target.messages()).containsExactly("written by caller");
+
+        target.release.countDown();
+        ringBuffer.stop();
+        assertThat(target.messages()).containsExactlyInAnyOrder(
+                "written by caller", "taken by the writer", "queued 1", "queued 2");
+    }
+
+    @Test
+    void install_ShouldMoveRootAppendersBehindTheBufferAndUninstallShouldFlushAndRestoreThem() {
+        target.setName("CONSOLE");
+        target.setContext(context);
+        target.start();
+        root.addAppender(target);
+
+        RingBufferAppender ringBuffer = RingBufferAppender.install(context, 16);
+
+        assertThat(RingBufferAppender.install(context, 16)).isSameAs(ringBuffer);
+        assertThat(root.getAppender("CONSOLE")).isNull();
+        assertThat(ringBuffer.getAppender("CONSOLE")).isSameAs(target);
+
+        for (int i = 0; i < 10; i++) context.getLogger("test").info("line {}", i);
+        RingBufferAppender.uninstall(context);
+
+        assertThat(target.messages()).hasSize(10).first().isEqualTo("line 0");
+        assertThat(root.getAppender(RingBufferAppender.NAME)).isNull();
+        assertThat(root.getAppender("CONSOLE")).isSameAs(target);
+        assertThat(ringBuffer.isStarted()).isFalse();
+    }
+
+    private LoggingEvent event(Level level, String message) {
+        return new LoggingEvent(Logger.class.getName(), root, level, message, null, null);
+    }
+
+    private static class CollectingAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
+
+        private final List<ILoggingEvent> events = new CopyOnWriteArrayList<>();
+        private final CountDownLatch writerEntered = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private boolean blockWriter;
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            if (blockWriter && Thread.currentThread().getName().equals("log-ring-buffer")) {
+                writerEntered.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            events.add(event);
+        }
+
+        List<String> messages() {
+            return events.stream().map(ILoggingEvent::getFormattedMessage).toList();
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.hamza.stadiumbooking.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hamza.stadiumbooking.base.AuthTestUtils;
+import com.hamza.stadiumbooking.booking.BookingRequest;
+import com.hamza.stadiumbooking.booking.BookingRequestForUpdate;
+import com.hamza.stadiumbooking.booking.BookingStatus;
+import com.hamza.stadiumbooking.stadium.Stadium;
+import com.hamza.stadiumbooking.user.Role;
+import com.hamza.stadiumbooking.user.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Outbox append + relay on H2. The relay under test is built over an in-memory sink with no settle window, so the
+ * shared test context stays untouched.
+ */
+@AutoConfigureMockMvc
+@SpringBootTest
+@ActiveProfiles({"test", "h2"})
+class BookingOutboxTest {
+
+    static class InMemoryBookingEventSink implements BookingEventSink {
+
+        final List<BookingEvent> events = new CopyOnWriteArrayList<>();
+        final Set<UUID> failingStadiums = ConcurrentHashMap.newKeySet();
+        final Set<UUID> failingBookings = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public String name() {
+            return "memory";
+        }
+
+        @Override
+        public void publish(BookingEvent event) {
+            if (failingStadiums.contains(event.stadiumId()) || failingBookings.contains(event.bookingId())) {
+                throw new IllegalStateException("sink unavailable");
+            }
+            events.add(event);
+        }
+
+        List<BookingEvent> forStadium(UUID stadiumId) {
+            return events.stream().filter(e -> e.stadiumId().equals(stadiumId)).toList();
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private AuthTestUtils authTestUtils;
+    @Autowired
+    private BookingOutboxRepository outboxRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final InMemoryBookingEventSink sink = new InMemoryBookingEventSink();
+    private BookingOutboxRelay relay;
+
+    private String playerToken;
+    private Stadium stadiumA;
+    private Stadium stadiumB;
+    private final LocalDate day = LocalDate.now().plusDays(5);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        User owner = authTestUtils.saveUser("outbox-owner-" + suffix + "@gmail.com", "Owner@1234", "015" + suffix, Role.ROLE_MANAGER);
+        User player = authTestUtils.savePlayer("outbox-player-" + suffix + "@gmail.com", "Player@1234", "016" + suffix);
+        stadiumA = authTestUtils.saveStadium("Outbox A " + suffix, owner);
+        stadiumB = authTestUtils.saveStadium("Outbox B " + suffix, owner);
+        playerToken = authTestUtils.obtainAccessToken(player.getEmail(), "Player@1234");
+        relay = new BookingOutboxRelay(outboxRepository, List.of(sink), objectMapper, transactionManager,
+                new SimpleMeterRegistry(), List.of("memory"), 200, 0, 2, 7);
+    }
+
+    @Test
+    void bookingLifecycle_ShouldAppendInTheSameTransactionAndRelayInOrder() throws Exception {
+        UUID bookingId = book(stadiumA, day.atTime(17, 0));
+        mockMvc.perform(put("/api/v1/bookings/" + bookingId)
+                        .header("Authorization", "Bearer " + playerToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BookingRequestForUpdate(null, day.atTime(18, 0), day.atTime(20, 0), "moved"))))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/v1/bookings/" + bookingId).header("Authorization", "Bearer " + playerToken))
+                .andExpect(status().isNoContent());
+
+        assertThat(pendingTypes(stadiumA)).containsExactly("BOOKING_CREATED", "BOOKING_UPDATED", "BOOKING_CANCELLED");
+
+        relay.relayPending();
+
+        assertThat(sink.forStadium(stadiumA.getId()))
+                .extracting(BookingEvent::type, BookingEvent::status, BookingEvent::startTime)
+                .containsExactly(
+                        tuple(BookingEventType.BOOKING_CREATED, BookingStatus.CONFIRMED, day.atTime(17, 0)),
+                        tuple(BookingEventType.BOOKING_UPDATED, BookingStatus.CONFIRMED, day.atTime(18, 0)),
+                        tuple(BookingEventType.BOOKING_CANCELLED, BookingStatus.CANCELLED, day.atTime(18, 0)));
+        assertThat(pendingTypes(stadiumA)).isEmpty();
+    }
+
+    @Test
+    void failedDelivery_ShouldHoldLaterEventsOfThatStadiumOnly() throws Exception {
+        UUID first = book(stadiumA, day.atTime(16, 0));
+        UUID second = book(stadiumA, day.atTime(19, 0));
+        UUID other = book(stadiumB, day.atTime(16, 0));
+        sink.failingStadiums.add(stadiumA.getId());
+
+        relay.relayPending();
+
+        assertThat(sink.forStadium(stadiumB.getId())).extracting(BookingEvent::bookingId).containsExactly(other);
+        assertThat(sink.forStadium(stadiumA.getId())).isEmpty();
+        assertThat(jdbcTemplate.queryForList("SELECT attempts FROM booking_outbox WHERE stadium_id = ? ORDER BY id", Integer.class, stadiumA.getId()))
+                .containsExactly(1, 0);
+
+        sink.failingStadiums.clear();
+        relay.relayPending();
+
+        assertThat(sink.forStadium(stadiumA.getId())).extracting(BookingEvent::bookingId).containsExactly(first, second);
+    }
+
+    @Test
+    void eventFailingEveryAttempt_ShouldBeDeadLetteredOnceOtherEventsGetThrough() throws Exception {
+        UUID poisoned = book(stadiumA, day.atTime(16, 0));
+        UUID next = book(stadiumA, day.atTime(19, 0));
+        sink.failingBookings.add(poisoned);
+
+        // Nothing else delivered: an outage as far as the relay can tell, so the event only collects attempts
+        sink.failingStadiums.add(stadiumB.getId());
+        book(stadiumB, day.atTime(16, 0));
+        relay.relayPending();
+        relay.relayPending();
+        assertThat(deadLettered(stadiumA)).isEmpty();
+
+        sink.failingStadiums.clear();
+        relay.relayPending();
+        assertThat(deadLettered(stadiumA)).containsExactly(poisoned);
+        relay.relayPending();
+
+        assertThat(sink.forStadium(stadiumA.getId())).extracting(BookingEvent::bookingId).containsExactly(next);
+        // Kept unpublished for inspection
+        assertThat(pendingTypes(stadiumA)).containsExactly("BOOKING_CREATED");
+    }
+
+    @Test
+    void unreadableEvent_ShouldBeDeadLetteredWithoutHoldingItsStadium() throws Exception {
+        UUID unreadable = book(stadiumA, day.atTime(16, 0));
+        UUID next = book(stadiumA, day.atTime(19, 0));
+        jdbcTemplate.update("UPDATE booking_outbox SET payload = '{not json' WHERE booking_id = ?", unreadable);
+
+        relay.relayPending();
+
+        assertThat(deadLettered(stadiumA)).containsExactly(unreadable);
+        assertThat(sink.forStadium(stadiumA.getId())).extracting(BookingEvent::bookingId).containsExactly(next);
+    }
+
+    private UUID book(Stadium stadium, LocalDateTime start) throws Exception {
+        String response = mockMvc.perform(post("/api/v1/bookings")
+                        .header("Authorization", "Bearer " + playerToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BookingRequest(stadium.getId(), start, start.plusHours(1), "outbox"))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return UUID.fromString(objectMapper.readTree(response).get("id").asText());
+    }
+
+    private List<UUID> deadLettered(Stadium stadium) {
+        return jdbcTemplate.queryForList("SELECT booking_id FROM booking_outbox WHERE stadium_id = ? AND dead_lettered_at IS NOT NULL ORDER BY id",
+                UUID.class, stadium.getId());
+    }
+
+    private List<String> pendingTypes(Stadium stadium) {
+        return jdbcTemplate.queryForList("SELECT type FROM booking_outbox WHERE stadium_id = ? AND published_at IS NULL ORDER BY id",
+                String.class, stadium.getId());
+    }
+}
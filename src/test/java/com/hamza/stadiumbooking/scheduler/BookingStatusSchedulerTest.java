@@ -1,6 +1,9 @@
 package com.hamza.stadiumbooking.scheduler;
 
+import com.hamza.stadiumbooking.booking.Booking;
 import com.hamza.stadiumbooking.booking.BookingRepository;
+import com.hamza.stadiumbooking.outbox.BookingEventType;
+import com.hamza.stadiumbooking.outbox.BookingOutbox;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -12,6 +15,7 @@ import java.util.List;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.*;
 
@@ -19,6 +23,8 @@ import static org.mockito.Mockito.*;
 class BookingStatusSchedulerTest {
     @Mock
     private BookingRepository bookingRepository;
+    @Mock
+    private BookingOutbox bookingOutbox;
 
     @InjectMocks
     private BookingStatusScheduler scheduler;
@@ -31,7 +37,19 @@ class BookingStatusSchedulerTest {
 
         scheduler.completeFinishedBookings();
 
-        verify(bookingRepository, times(1)).updateStatusToCompleted(List.of(id));
+        verify(bookingRepository, times(1)).updateStatusToCompleted(eq(List.of(id)), any(LocalDateTime.class));
+    }
+
+    @Test
+    void completeFinishedBookings_shouldAppendCompletedEventPerBooking() {
+        UUID id = UUID.randomUUID();
+        Booking completed = Booking.builder().id(id).build();
+        given(bookingRepository.findExpiredBookingIds(any(LocalDateTime.class))).willReturn(List.of(id));
+        given(bookingRepository.findAllById(List.of(id))).willReturn(List.of(completed));
+
+        scheduler.completeFinishedBookings();
+
+        verify(bookingOutbox).append(completed, BookingEventType.BOOKING_COMPLETED);
     }
 
     @Test
@@ -41,7 +59,7 @@ class BookingStatusSchedulerTest {
 
         scheduler.completeFinishedBookings();
 
-        verify(bookingRepository, never()).updateStatusToCompleted(any());
+        verify(bookingRepository, never()).updateStatusToCompleted(any(), any());
     }
 
     @Test
@@ -51,6 +69,6 @@ class BookingStatusSchedulerTest {
 
         org.junit.jupiter.api.Assertions.assertDoesNotThrow(() -> scheduler.completeFinishedBookings());
 
-        verify(bookingRepository, never()).updateStatusToCompleted(any());
+        verify(bookingRepository, never()).updateStatusToCompleted(any(), any());
     }
 }
\ No newline at end of file
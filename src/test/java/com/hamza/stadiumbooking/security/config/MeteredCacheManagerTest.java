@@ -0,0 +1,64 @@
+package com.hamza.stadiumbooking.security.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MeteredCacheManagerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final MeteredCacheManager cacheManager = new MeteredCacheManager(new ConcurrentMapCacheManager(), registry);
+
+    @Test
+    void getCache_shouldWrapEachNamedCacheOnce() {
+        Cache stadiums = cacheManager.getCache("stadiums");
+
+        assertThat(stadiums).isInstanceOf(MeteredCache.class).isSameAs(cacheManager.getCache("stadiums"));
+        assertThat(stadiums.getName()).isEqualTo("stadiums");
+    }
+
+    @Test
+    void cacheableFlow_shouldCountHitsMissesWithoutTimingLoads() {
+        Cache stadiums = cacheManager.getCache("stadiums");
+
+        assertThat(stadiums.get("id-1")).isNull();
+        stadiums.put("id-1", "Camp Nou");
+        assertThat(stadiums.get("id-1")).isNotNull();
+        stadiums.evict("id-1");
+
+        assertThat(registry.get("cache.gets").tags("cache", "stadiums", "result", "miss").counter().count()).isEqualTo(1);
+        assertThat(registry.get("cache.gets").tags("cache", "stadiums", "result", "hit").counter().count()).isEqualTo(1);
+        assertThat(registry.get("cache.puts").tag("cache", "stadiums").counter().count()).isEqualTo(1);
+        assertThat(registry.get("cache.evictions").tag("cache", "stadiums").counter().count()).isEqualTo(1);
+        assertThat(registry.get("cache.load").tag("cache", "stadiums").timer().count()).isZero();
+    }
+
+    @Test
+    void syncGet_whenLoaderThrows_shouldTimeItOnceAndNotChargeALaterPut() {
+        Cache stadiums = cacheManager.getCache("stadiums");
+
+        assertThatThrownBy(() -> stadiums.get("id-1", () -> { throw new IllegalStateException("db down"); }))
+                .isInstanceOf(Cache.ValueRetrievalException.class);
+        stadiums.put("id-1", "Camp Nou");
+
+        assertThat(registry.get("cache.load").tag("cache", "stadiums").timer().count()).isEqualTo(1);
+        assertThat(stadiums.get("id-1", () -> "Anfield")).isEqualTo("Camp Nou");
+        assertThat(registry.get("cache.load").tag("cache", "stadiums").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void syncGet_shouldTimeLoaderOnlyOnMiss() {
+        Cache locations = cacheManager.getCache("locations");
+
+        locations.get("all", () -> "Cairo");
+        locations.get("all", () -> "Giza");
+
+        assertThat(registry.get("cache.gets").tags("cache", "locations", "result", "miss").counter().count()).isEqualTo(1);
+        assertThat(registry.get("cache.gets").tags("cache", "locations", "result", "hit").counter().count()).isEqualTo(1);
+        assertThat(registry.get("cache.load").tag("cache", "locations").timer().count()).isEqualTo(1);
+    }
+}
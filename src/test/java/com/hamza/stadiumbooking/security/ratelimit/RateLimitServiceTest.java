@@ -0,0 +1,131 @@
+package com.hamza.stadiumbooking.security.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class RateLimitServiceTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RateLimitService service(String mode) {
+        return new RateLimitService(true, mode, 4, 1000,
+                2, 60, 5, 60, 5, 60, 5, 60, redisTemplate, meterRegistry);
+    }
+
+    @Test
+    void tokenBucket_shouldAllowBurstUpToCapacityThenReject() {
+        long interval = TimeUnit.SECONDS.toNanos(1);
+        TokenBucket bucket = new TokenBucket(3, interval, 0);
+
+        assertThat(bucket.tryConsume(0)).isZero();
+        assertThat(bucket.tryConsume(0)).isZero();
+        assertThat(bucket.tryConsume(0)).isZero();
+        assertThat(bucket.tryConsume(0)).isEqualTo(interval);
+    }
+
+    @Test
+    void tokenBucket_shouldRefillOverTime() {
+        long interval = TimeUnit.SECONDS.toNanos(1);
+        TokenBucket bucket = new TokenBucket(1, interval, 0);
+
+        assertThat(bucket.tryConsume(0)).isZero();
+        assertThat(bucket.tryConsume(interval / 2)).isEqualTo(interval / 2);
+        assertThat(bucket.tryConsume(interval)).isZero();
+        assertThat(bucket.isFull(2 * interval)).isTrue();
+    }
+
+    @Test
+    void stripedBucketMap_shouldStayBounded() {
+        StripedBucketMap map = new StripedBucketMap(4, 40);
+        RateLimit limit = new RateLimit(1, 60);
+
+        for (int i = 0; i < 10_000; i++) {
+            map.bucketFor("ip:" + i, limit, 0).tryConsume(0);
+        }
+
+        assertThat(map.size()).isLessThanOrEqualTo(40);
+    }
+
+    @Test
+    void stripedBucketMap_whenFlooded_shouldKeepTheBucketsFurthestOverTheirLimit() {
+        StripedBucketMap map = new StripedBucketMap(1, 10);
+        RateLimit limit = new RateLimit(3, 60);
+        for (int i = 0; i < 3; i++) map.bucketFor("heavy", limit, 0).tryConsume(0);
+
+        for (int i = 0; i < 1_000; i++) {
+            map.bucketFor("ip:" + i, limit, 0).tryConsume(0);
+        }
+
+        assertThat(map.size()).isLessThanOrEqualTo(10);
+        assertThat(map.bucketFor("heavy", limit, 0).tryConsume(0)).isPositive();
+    }
+
+    @Test
+    void tryAcquire_shouldRejectWithRetryAfter_whenBookingWriteBurstExhausted() {
+        RateLimitService service = service("local");
+
+        assertThat(service.tryAcquire(EndpointClass.BOOKING_WRITE, "user:1")).isZero();
+        assertThat(service.tryAcquire(EndpointClass.BOOKING_WRITE, "user:1")).isZero();
+        assertThat(service.tryAcquire(EndpointClass.BOOKING_WRITE, "user:1")).isEqualTo(1);
+        assertThat(meterRegistry.get("rate.limit.rejections").tag("endpoint", "BOOKING_WRITE").counter().count()).isEqualTo(1);
+
+        assertThat(service.tryAcquire(EndpointClass.BOOKING_WRITE, "user:2")).isZero();
+        assertThat(service.tryAcquire(EndpointClass.STADIUM_READ, "user:1")).isZero();
+    }
+
+    @Test
+    void tryAcquire_shouldUseRedisBucket_whenRedisModeEnabled() {
+        given(redisTemplate.execute(ArgumentMatchers.<RedisScript<Long>>any(), eq(List.of("rate-limit:BOOKING_WRITE:user:1")), anyString(), anyString()))
+                .willReturn(1500L);
+
+        assertThat(service("redis").tryAcquire(EndpointClass.BOOKING_WRITE, "user:1")).isEqualTo(2);
+    }
+
+    @Test
+    void tryAcquire_shouldFallBackToLocalBucket_whenRedisUnavailable() {
+        given(redisTemplate.execute(ArgumentMatchers.<RedisScript<Long>>any(), anyList(), anyString(), anyString()))
+                .willThrow(new RedisConnectionFailureException("down"));
+
+        RateLimitService service = service("redis");
+
+        assertThat(service.tryAcquire(EndpointClass.BOOKING_WRITE, "user:1")).isZero();
+        assertThat(service.tryAcquire(EndpointClass.BOOKING_WRITE, "user:1")).isZero();
+        assertThat(service.tryAcquire(EndpointClass.BOOKING_WRITE, "user:1")).isEqualTo(1);
+        assertThat(meterRegistry.get("rate.limit.redis.fallbacks").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    void endpointClass_shouldClassifyHotEndpoints() {
+        assertThat(EndpointClass.of(request("POST", "/api/v1/bookings"))).isEqualTo(EndpointClass.BOOKING_WRITE);
+        assertThat(EndpointClass.of(request("GET", "/api/v1/bookings/my-bookings"))).isEqualTo(EndpointClass.DEFAULT);
+        assertThat(EndpointClass.of(request("GET", "/api/v1/stadiums"))).isEqualTo(EndpointClass.STADIUM_READ);
+        assertThat(EndpointClass.of(request("POST", "/api/v1/quotes"))).isEqualTo(EndpointClass.STADIUM_READ);
+        assertThat(EndpointClass.of(request("POST", "/api/v1/users"))).isEqualTo(EndpointClass.AUTH);
+        assertThat(EndpointClass.of(request("POST", "/api/v1/auth/login"))).isEqualTo(EndpointClass.AUTH);
+    }
+
+    private MockHttpServletRequest request(String method, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setServletPath(path);
+        return request;
+    }
+}
@@ -6,6 +6,7 @@ import com.hamza.stadiumbooking.stadium.StadiumRepository;
 import com.hamza.stadiumbooking.user.Role;
 import com.hamza.stadiumbooking.user.User;
 import com.hamza.stadiumbooking.user.UserRepository;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -84,6 +85,12 @@ class OwnershipValidationServiceTest {
         );
     }
 
+    // The mocked context would otherwise outlive this class on the surefire thread, and MockMvc tests after it
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
     @Test
     void getCurrentUserEmail() {
         given(SecurityContextHolder.getContext().getAuthentication()).willReturn(authentication);
@@ -0,0 +1,83 @@
+package com.hamza.stadiumbooking.sql;
+
+import com.hamza.stadiumbooking.base.AuthTestUtils;
+import com.hamza.stadiumbooking.stadium.Stadium;
+import com.hamza.stadiumbooking.user.Role;
+import com.hamza.stadiumbooking.user.User;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static com.hamza.stadiumbooking.base.QueryBudget.atMost;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Per-request statement counting and endpoint query budgets, on the in-memory H2 profile.
+ */
+@AutoConfigureMockMvc
+@SpringBootTest
+@ActiveProfiles({"test", "h2"})
+class SqlStatementCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private AuthTestUtils authTestUtils;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void myBookings_ShouldStayWithinQueryBudgetRegardlessOfStadiumCount() throws Exception {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        User owner = authTestUtils.saveUser("owner-" + suffix + "@gmail.com", "Owner@1234", "010" + suffix, Role.ROLE_MANAGER);
+        User player = authTestUtils.savePlayer("player-" + suffix + "@gmail.com", "Player@1234", "011" + suffix);
+        for (int i = 0; i < 5; i++) {
+            Stadium stadium = authTestUtils.saveStadium("Budget " + suffix + "-" + i, owner);
+            authTestUtils.createAndSaveBooking(stadium, player, 3, 16 + i);
+        }
+        String token = authTestUtils.obtainAccessToken(player.getEmail(), "Player@1234");
+
+        mockMvc.perform(get("/api/v1/bookings/my-bookings").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(atMost(2));
+    }
+
+    @Test
+    void everyResponse_ShouldCarryTheCountHeaderAndRecordTheSummary() throws Exception {
+        mockMvc.perform(get("/api/v1/stadiums/locations"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(SqlStatementCountFilter.HEADER));
+
+        DistributionSummary summary = meterRegistry.find("http.server.requests.sql.statements")
+                .tags("method", "GET", "uri", "/api/v1/stadiums/locations")
+                .summary();
+        assertThat(summary).isNotNull();
+        assertThat(summary.count()).isPositive();
+    }
+
+    @Test
+    void nestedScopes_ShouldCountIntoEveryEnclosingScope() {
+        try (SqlStatementCounter.Scope outer = SqlStatementCounter.open()) {
+            SqlStatementCounter.record("select 1");
+            try (SqlStatementCounter.Scope inner = SqlStatementCounter.recording()) {
+                SqlStatementCounter.record("select 2");
+                SqlStatementCounter.record("select 3");
+                assertThat(inner.count()).isEqualTo(2);
+                assertThat(inner.statements()).containsExactly("select 2", "select 3");
+            }
+            SqlStatementCounter.record("select 4");
+            assertThat(outer.count()).isEqualTo(4);
+            assertThat(outer.statements()).isEmpty();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.hamza.stadiumbooking.stadium;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OperatingCalendarTest {
+
+    // A Friday well in the future, so the week layout is fixed
+    private final LocalDate friday = LocalDate.of(2030, 1, 1).with(TemporalAdjusters.next(DayOfWeek.FRIDAY));
+    private final LocalDate saturday = friday.plusDays(1);
+
+    @Test
+    @DisplayName("Default hours: standard shift, boundaries included")
+    void defaultHours_StandardShift() {
+        OperatingCalendar calendar = OperatingCalendar.compile(LocalTime.of(8, 0), LocalTime.of(22, 0), List.of(), List.of());
+
+        assertThat(calendar.isOpen(friday.atTime(14, 0), friday.atTime(16, 0))).isTrue();
+        assertThat(calendar.isOpen(friday.atTime(8, 0), friday.atTime(9, 0))).isTrue();
+        assertThat(calendar.isOpen(friday.atTime(21, 0), friday.atTime(22, 0))).isTrue();
+        assertThat(calendar.isOpen(friday.atTime(7, 0), friday.atTime(9, 0))).isFalse();
+        assertThat(calendar.isOpen(friday.atTime(21, 0), friday.atTime(23, 0))).isFalse();
+        assertThat(calendar.isOpen(friday.atTime(1, 0), friday.atTime(3, 0))).isFalse();
+        assertThat(calendar.summary()).isEqualTo("08:00 to 22:00");
+    }
+
+    @Test
+    @DisplayName("Default hours: overnight shift spills into the next morning")
+    void defaultHours_OvernightShift() {
+        OperatingCalendar calendar = OperatingCalendar.compile(LocalTime.of(20, 0), LocalTime.of(2, 0), List.of(), List.of());
+
+        assertThat(calendar.isOpen(friday.atTime(23, 0), saturday.atTime(1, 0))).isTrue();
+        assertThat(calendar.isOpen(friday.atTime(21, 0), friday.atTime(23, 0))).isTrue();
+        assertThat(calendar.isOpen(saturday.atTime(0, 0), saturday.atTime(2, 0))).isTrue();
+        assertThat(calendar.isOpen(saturday.atTime(1, 0), saturday.atTime(3, 0))).isFalse();
+        assertThat(calendar.isOpen(friday.atTime(23, 0), saturday.atTime(5, 0))).isFalse();
+        assertThat(calendar.isOpen(saturday.atTime(10, 0), saturday.atTime(12, 0))).isFalse();
+        assertThat(calendar.isOpen(friday.atTime(18, 0), friday.atTime(19, 0))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Weekly hours: days without windows are closed, Sunday night wraps into Monday")
+    void weeklyHours_PerDayWindows() {
+        OperatingCalendar calendar = OperatingCalendar.compile(LocalTime.of(8, 0), LocalTime.of(22, 0), List.of(
+                weekly(DayOfWeek.FRIDAY, LocalTime.of(14, 0), LocalTime.of(23, 0)),
+                weekly(DayOfWeek.SUNDAY, LocalTime.of(22, 0), LocalTime.of(1, 0))
+        ), List.of());
+        LocalDate sunday = friday.plusDays(2);
+
+        assertThat(calendar.isOpen(friday.atTime(22, 0), friday.atTime(23, 0))).isTrue();
+        assertThat(calendar.isOpen(friday.atTime(9, 0), friday.atTime(10, 0))).isFalse();
+        assertThat(calendar.isOpen(saturday.atTime(16, 0), saturday.atTime(17, 0))).isFalse();
+        assertThat(calendar.isOpen(sunday.atTime(23, 0), sunday.plusDays(1).atTime(1, 0))).isTrue();
+        assertThat(calendar.isOpen(sunday.plusDays(1).atTime(0, 30), sunday.plusDays(1).atTime(1, 30))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Exceptions: a closed date keeps the previous night's spill, its own night does not spill")
+    void exceptions_ClosedDate() {
+        OperatingCalendar calendar = OperatingCalendar.compile(LocalTime.of(20, 0), LocalTime.of(2, 0), List.of(),
+                List.of(StadiumHoursException.builder().date(saturday).reason("Maintenance").build()));
+
+        assertThat(calendar.isOpen(saturday.atTime(0, 0), saturday.atTime(1, 0))).isTrue();
+        assertThat(calendar.isOpen(saturday.atTime(20, 0), saturday.atTime(21, 0))).isFalse();
+        assertThat(calendar.isOpen(saturday.plusDays(1).atTime(0, 0), saturday.plusDays(1).atTime(1, 0))).isFalse();
+        assertThat(calendar.isOpen(saturday.plusDays(1).atTime(20, 0), saturday.plusDays(1).atTime(21, 0))).isTrue();
+        assertThat(calendar.isOpen(saturday.plusWeeks(1).atTime(20, 0), saturday.plusWeeks(1).atTime(21, 0))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Exceptions: special hours replace the weekly window of that date only")
+    void exceptions_SpecialHours() {
+        OperatingCalendar calendar = OperatingCalendar.compile(LocalTime.of(8, 0), LocalTime.of(22, 0), List.of(),
+                List.of(StadiumHoursException.builder().date(friday).openTime(LocalTime.of(12, 0)).closeTime(LocalTime.of(15, 0)).build()));
+
+        assertThat(calendar.isOpen(friday.atTime(12, 0), friday.atTime(15, 0))).isTrue();
+        assertThat(calendar.isOpen(friday.atTime(15, 0), friday.atTime(16, 0))).isFalse();
+        assertThat(calendar.isOpen(saturday.atTime(8, 0), saturday.atTime(9, 0))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Equal open and close times mean open around the clock")
+    void equalTimes_OpenAllDay() {
+        OperatingCalendar calendar = OperatingCalendar.compile(LocalTime.of(0, 0), LocalTime.of(0, 0), List.of(), List.of());
+        LocalDateTime start = friday.atTime(22, 0);
+
+        assertThat(calendar.isOpen(start, start.plusHours(6))).isTrue();
+    }
+
+    private static StadiumWeeklyHours weekly(DayOfWeek day, LocalTime open, LocalTime close) {
+        return StadiumWeeklyHours.builder().dayOfWeek(day).openTime(open).closeTime(close).build();
+    }
+}
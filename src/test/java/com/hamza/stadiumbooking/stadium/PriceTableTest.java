@@ -0,0 +1,72 @@
+package com.hamza.stadiumbooking.stadium;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PriceTableTest {
+
+    // A Friday well in the future, so the week layout is fixed
+    private final LocalDate friday = LocalDate.of(2030, 1, 1).with(TemporalAdjusters.next(DayOfWeek.FRIDAY));
+    private final LocalDateTime bookedEarly = friday.minusDays(10).atStartOfDay();
+    private final Stadium stadium = Stadium.builder().pricePerHour(100.0).ballRentalFee(20).build();
+
+    @Test
+    @DisplayName("No rules: same price as the flat hours * pricePerHour + ballRentalFee")
+    void noRules_FlatPrice() {
+        PriceTable table = PriceTable.compile(stadium, List.of());
+
+        assertThat(table.quote(friday.atTime(18, 0), friday.atTime(20, 0), bookedEarly)).isEqualTo(220.0);
+        assertThat(table.quote(friday.atTime(18, 15), friday.atTime(19, 45), bookedEarly)).isEqualTo(170.0);
+    }
+
+    @Test
+    @DisplayName("Peak and weekend rules price each half hour, and overlapping rules multiply")
+    void peakAndWeekendRules() {
+        PriceTable table = PriceTable.compile(stadium, List.of(
+                rule(null, 19, 0, 22, 0, 150, null),
+                rule(DayOfWeek.SATURDAY, 0, 0, 0, 0, 120, null)));
+
+        // 18:30-19:00 at 50, 19:00-20:00 at 150
+        assertThat(table.quote(friday.atTime(18, 30), friday.atTime(20, 0), bookedEarly)).isEqualTo(50 + 150 + 20.0);
+        // Saturday 19:00-20:00: 100 * 1.5 * 1.2
+        assertThat(table.quote(friday.plusDays(1).atTime(19, 0), friday.plusDays(1).atTime(20, 0), bookedEarly)).isEqualTo(180 + 20.0);
+        // Pro rata inside a peak half hour: 15 minutes of 75
+        assertThat(table.quote(friday.atTime(19, 0), friday.atTime(19, 15), bookedEarly)).isEqualTo(37.5 + 20.0);
+    }
+
+    @Test
+    @DisplayName("Overnight rules spill past midnight, Sunday's into Monday")
+    void overnightRule() {
+        PriceTable table = PriceTable.compile(stadium, List.of(rule(DayOfWeek.SUNDAY, 23, 0, 1, 0, 200, null)));
+        LocalDate sunday = friday.plusDays(2);
+
+        assertThat(table.quote(sunday.atTime(23, 0), sunday.plusDays(1).atTime(2, 0), bookedEarly)).isEqualTo(200 + 200 + 100 + 20.0);
+    }
+
+    @Test
+    @DisplayName("Last-minute rules only price bookings made within withinHours of their start")
+    void lastMinuteRules() {
+        PriceTable table = PriceTable.compile(stadium, List.of(
+                rule(null, 19, 0, 22, 0, 150, null),
+                rule(null, 0, 0, 0, 0, 50, 24)));
+        LocalDateTime start = friday.atTime(19, 0);
+
+        assertThat(table.quote(start, start.plusHours(1), start.minusHours(25))).isEqualTo(150 + 20.0);
+        assertThat(table.quote(start, start.plusHours(1), start.minusHours(3))).isEqualTo(75 + 20.0);
+    }
+
+    private static StadiumPriceRule rule(DayOfWeek day, int startHour, int startMinute, int endHour, int endMinute, int percent, Integer withinHours) {
+        return StadiumPriceRule.builder().dayOfWeek(day)
+                .startTime(LocalTime.of(startHour, startMinute)).endTime(LocalTime.of(endHour, endMinute))
+                .percent(percent).withinHours(withinHours).build();
+    }
+}
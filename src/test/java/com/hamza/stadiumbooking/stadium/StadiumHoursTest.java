@@ -0,0 +1,112 @@
+package com.hamza.stadiumbooking.stadium;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hamza.stadiumbooking.base.AuthTestUtils;
+import com.hamza.stadiumbooking.booking.BookingRequest;
+import com.hamza.stadiumbooking.user.Role;
+import com.hamza.stadiumbooking.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@SpringBootTest
+@ActiveProfiles({"test", "h2"})
+class StadiumHoursTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private AuthTestUtils authTestUtils;
+
+    private Stadium stadium;
+    private String ownerToken;
+    private String playerToken;
+    private final LocalDate holiday = LocalDate.now().plusDays(10);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        User owner = authTestUtils.saveUser("hours-owner-" + suffix + "@gmail.com", "Owner@1234", "019" + suffix, Role.ROLE_MANAGER);
+        User player = authTestUtils.savePlayer("hours-player-" + suffix + "@gmail.com", "Player@1234", "012" + suffix);
+        stadium = authTestUtils.saveStadium("Hours " + suffix, owner);
+        ownerToken = authTestUtils.obtainAccessToken(owner.getEmail(), "Owner@1234");
+        playerToken = authTestUtils.obtainAccessToken(player.getEmail(), "Player@1234");
+    }
+
+    @Test
+    void weeklyHoursAndExceptions_ShouldDecideWhetherABookingFits() throws Exception {
+        // Default hours are 16:00-23:00; every weekday now opens at 18:00, and the holiday is closed
+        List<StadiumHoursRequest.WeeklyWindow> weekly = Arrays.stream(DayOfWeek.values())
+                .map(day -> new StadiumHoursRequest.WeeklyWindow(day, LocalTime.of(18, 0), LocalTime.of(23, 0)))
+                .toList();
+        StadiumHoursRequest request = new StadiumHoursRequest(weekly,
+                List.of(new StadiumHoursRequest.DateHours(holiday, null, null, "Public holiday")));
+
+        mockMvc.perform(put("/api/v1/stadiums/" + stadium.getId() + "/hours")
+                        .header("Authorization", "Bearer " + ownerToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.weekly.length()").value(7))
+                .andExpect(jsonPath("$.exceptions[0].reason").value("Public holiday"));
+
+        book(holiday.atTime(19, 0)).andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.msg", containsString("closed")));
+        book(holiday.plusDays(1).atTime(16, 0)).andExpect(status().isBadRequest());
+        book(holiday.plusDays(1).atTime(19, 0)).andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/v1/stadiums/" + stadium.getId() + "/hours"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.openTime").value("16:00:00"))
+                .andExpect(jsonPath("$.exceptions[0].date").value(holiday.toString()));
+    }
+
+    @Test
+    void updateHours_ShouldRejectHalfOpenExceptionsAndNonOwners() throws Exception {
+        StadiumHoursRequest halfOpen = new StadiumHoursRequest(List.of(),
+                List.of(new StadiumHoursRequest.DateHours(holiday, LocalTime.of(10, 0), null, null)));
+
+        mockMvc.perform(put("/api/v1/stadiums/" + stadium.getId() + "/hours")
+                        .header("Authorization", "Bearer " + ownerToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(halfOpen)))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(put("/api/v1/stadiums/" + stadium.getId() + "/hours")
+                        .header("Authorization", "Bearer " + playerToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new StadiumHoursRequest(List.of(), List.of()))))
+                .andExpect(status().isForbidden());
+    }
+
+    private ResultActions book(LocalDateTime start) throws Exception {
+        return mockMvc.perform(post("/api/v1/bookings")
+                .header("Authorization", "Bearer " + playerToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BookingRequest(stadium.getId(), start, start.plusHours(1), null))));
+    }
+}
@@ -0,0 +1,145 @@
+package com.hamza.stadiumbooking.stadium;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hamza.stadiumbooking.base.AuthTestUtils;
+import com.hamza.stadiumbooking.booking.BookingRequest;
+import com.hamza.stadiumbooking.booking.BookingRequestForUpdate;
+import com.hamza.stadiumbooking.user.Role;
+import com.hamza.stadiumbooking.user.User;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@SpringBootTest
+@ActiveProfiles({"test", "h2"})
+class StadiumPricingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private AuthTestUtils authTestUtils;
+
+    private Stadium stadium;
+    private String ownerToken;
+    private String playerToken;
+    private final LocalDate day = LocalDate.now().plusDays(10);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        User owner = authTestUtils.saveUser("pricing-owner-" + suffix + "@gmail.com", "Owner@1234", "017" + suffix, Role.ROLE_MANAGER);
+        User player = authTestUtils.savePlayer("pricing-player-" + suffix + "@gmail.com", "Player@1234", "018" + suffix);
+        stadium = authTestUtils.saveStadium("Pricing " + suffix, owner);
+        ownerToken = authTestUtils.obtainAccessToken(owner.getEmail(), "Owner@1234");
+        playerToken = authTestUtils.obtainAccessToken(player.getEmail(), "Player@1234");
+    }
+
+    @Test
+    void priceRules_ShouldPriceBookingsPerHalfHour() throws Exception {
+        // 200/hour and a 50 ball fee; 20:00-23:00 is peak at 150% every day
+        book(day.atTime(19, 0)).andExpect(status().isCreated())
+                .andExpect(jsonPath("$.totalPrice").value(250.0));
+
+        updatePricing(new StadiumPricingRequest(List.of(
+                new StadiumPricingRequest.PriceRule(null, LocalTime.of(20, 0), LocalTime.of(23, 0), 150, null))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rules.length()").value(1));
+
+        // 20:30-22:00: 1.5 hours at 300
+        book(day.atTime(20, 30), day.atTime(22, 0)).andExpect(status().isCreated())
+                .andExpect(jsonPath("$.totalPrice").value(500.0));
+        // 18:30-20:30: 1.5 hours at 200, half an hour at 300
+        book(day.plusDays(1).atTime(18, 30), day.plusDays(1).atTime(20, 30)).andExpect(status().isCreated())
+                .andExpect(jsonPath("$.totalPrice").value(300 + 150 + 50.0));
+
+        mockMvc.perform(get("/api/v1/stadiums/" + stadium.getId() + "/pricing"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pricePerHour").value(200.0))
+                .andExpect(jsonPath("$.rules[0].percent").value(150));
+    }
+
+    @Test
+    void updatingABooking_ShouldRepriceItOnlyWhenItsSlotMoves() throws Exception {
+        updatePricing(new StadiumPricingRequest(List.of(
+                new StadiumPricingRequest.PriceRule(null, LocalTime.of(20, 0), LocalTime.of(23, 0), 150, null))))
+                .andExpect(status().isOk());
+        String booked = book(day.atTime(20, 30), day.atTime(22, 0)).andExpect(status().isCreated())
+                .andExpect(jsonPath("$.totalPrice").value(500.0))
+                .andReturn().getResponse().getContentAsString();
+        UUID bookingId = UUID.fromString(JsonPath.read(booked, "$.id"));
+
+        updatePricing(new StadiumPricingRequest(List.of())).andExpect(status().isOk());
+
+        update(bookingId, new BookingRequestForUpdate(null, null, null, "bring bibs"))
+                .andExpect(jsonPath("$.totalPrice").value(500.0));
+        update(bookingId, new BookingRequestForUpdate(stadium.getId(), day.atTime(20, 30), day.atTime(22, 0), null))
+                .andExpect(jsonPath("$.totalPrice").value(500.0));
+        update(bookingId, new BookingRequestForUpdate(null, day.atTime(21, 0), day.atTime(22, 30), null))
+                .andExpect(jsonPath("$.totalPrice").value(350.0));
+    }
+
+    @Test
+    void updatePricing_ShouldRejectOffGridTimesMixedLastMinuteWindowsAndNonOwners() throws Exception {
+        updatePricing(new StadiumPricingRequest(List.of(
+                new StadiumPricingRequest.PriceRule(null, LocalTime.of(20, 15), LocalTime.of(23, 0), 150, null))))
+                .andExpect(status().isBadRequest());
+        updatePricing(new StadiumPricingRequest(List.of(
+                new StadiumPricingRequest.PriceRule(null, LocalTime.of(16, 0), LocalTime.of(18, 0), 80, 6),
+                new StadiumPricingRequest.PriceRule(null, LocalTime.of(18, 0), LocalTime.of(20, 0), 80, 12))))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(put("/api/v1/stadiums/" + stadium.getId() + "/pricing")
+                        .header("Authorization", "Bearer " + playerToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new StadiumPricingRequest(List.of()))))
+                .andExpect(status().isForbidden());
+    }
+
+    private ResultActions updatePricing(StadiumPricingRequest request) throws Exception {
+        return mockMvc.perform(put("/api/v1/stadiums/" + stadium.getId() + "/pricing")
+                .header("Authorization", "Bearer " + ownerToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)));
+    }
+
+    private ResultActions update(UUID bookingId, BookingRequestForUpdate request) throws Exception {
+        return mockMvc.perform(put("/api/v1/bookings/" + bookingId)
+                        .header("Authorization", "Bearer " + playerToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+    }
+
+    private ResultActions book(LocalDateTime start) throws Exception {
+        return book(start, start.plusHours(1));
+    }
+
+    private ResultActions book(LocalDateTime start, LocalDateTime end) throws Exception {
+        return mockMvc.perform(post("/api/v1/bookings")
+                .header("Authorization", "Bearer " + playerToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BookingRequest(stadium.getId(), start, end, null))));
+    }
+}
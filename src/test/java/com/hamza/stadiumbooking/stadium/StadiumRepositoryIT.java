@@ -44,7 +44,7 @@ class StadiumRepositoryIT extends AbstractIntegrationTest {
                 null, 1L, "AL-AHLY", "Nasr-City",
                 500.00, "image.com", Type.ELEVEN_A_SIDE, 50,
                 LocalTime.of(10, 0), LocalTime.of(23, 0), null,
-                new HashSet<>(), savedUser, false, null, null
+                new HashSet<>(), savedUser, false, null, null, null
         );
         savedStadium = stadiumRepository.save(stadium);
     }
@@ -111,6 +111,7 @@ class StadiumRepositoryIT extends AbstractIntegrationTest {
                 savedUser,
                 false,
                 null,
+                null,
                 null
         );
         stadiumRepository.save(duplicateLocationStadium);
@@ -131,6 +132,7 @@ class StadiumRepositoryIT extends AbstractIntegrationTest {
                 savedUser,
                 false,
                 null,
+                null,
                 null
         );
         stadiumRepository.save(differentLocationStadium);
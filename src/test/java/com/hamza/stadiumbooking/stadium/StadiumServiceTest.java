@@ -61,13 +61,13 @@ class StadiumServiceTest {
         sharedOriginalStadium = new Stadium(
                 sharedStadiumId, 0L, sharedStadiumName, "Nasr-city", sharedPrice, "image.com", sharedType, 50,
                 LocalTime.of(10, 0), LocalTime.of(23, 0), null, new HashSet<>(Set.of("Wifi", "Parking")),
-                manger, false, null, null
+                manger, false, null, null, null
         );
 
         sharedStadiumCopy = new Stadium(
                 sharedOriginalStadium.getId(), 0L, sharedOriginalStadium.getName(), sharedOriginalStadium.getLocation(), sharedOriginalStadium.getPricePerHour(),
                 sharedOriginalStadium.getPhotoUrl(), sharedOriginalStadium.getType(), sharedOriginalStadium.getBallRentalFee(), sharedOriginalStadium.getOpenTime(), sharedOriginalStadium.getCloseTime(),
-                null, sharedOriginalStadium.getFeatures(), sharedOriginalStadium.getOwner(), false, null, null
+                null, sharedOriginalStadium.getFeatures(), sharedOriginalStadium.getOwner(), false, null, null, null
         );
         stadiums = List.of(sharedStadiumCopy);
         stadiumPage = new PageImpl<>(stadiums);
@@ -77,7 +77,7 @@ class StadiumServiceTest {
     void getAllStadiums() {
         Stadium secondStadium = new Stadium(
                 UUID.randomUUID(), 0L, "Al-Ahly", "Nasr-city", 500.00, "image.com", Type.ELEVEN_A_SIDE,
-                50, LocalTime.of(9, 0), LocalTime.of(22, 0), null, new HashSet<>(), manger, false, null, null
+                50, LocalTime.of(9, 0), LocalTime.of(22, 0), null, new HashSet<>(), manger, false, null, null, null
         );
         stadiums = Arrays.asList(sharedStadiumCopy, secondStadium);
         stadiumPage = new PageImpl<>(stadiums);
@@ -175,7 +175,7 @@ class StadiumServiceTest {
                 UUID.randomUUID(), 0L, request.name(), request.location(), request.pricePerHour(),
                 request.photoUrl(), request.type(), request.ballRentalFee(),
                 request.openTime(), request.closeTime(), null, request.features(),
-                manger, false, null, null
+                manger, false, null, null, null
         );
         given(stadiumRepository.save(any(Stadium.class))).willReturn(savedEntity);
 
@@ -208,7 +208,7 @@ class StadiumServiceTest {
                 newStadiumId, 0L, request.name(), request.location(), request.pricePerHour(),
                 request.photoUrl(), request.type(), 0,
                 request.openTime(), request.closeTime(), null, request.features(),
-                manger, false, null, null
+                manger, false, null, null, null
         );
         given(stadiumRepository.save(any(Stadium.class))).willReturn(savedEntity);
 
@@ -0,0 +1,160 @@
+package com.hamza.stadiumbooking.user;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@Slf4j
+@ExtendWith(MockitoExtension.class)
+class RegistrationBloomFilterTest {
+
+    private static final int SIGNUPS = 2_000;
+    private static final long SIMULATED_QUERY_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    void bloomFilter_shouldNeverReturnFalseNegatives() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) filter.put("user" + i + "@gmail.com");
+
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain("user" + i + "@gmail.com")).isTrue();
+        }
+    }
+
+    @Test
+    void bloomFilter_shouldKeepFalsePositiveRateNearTarget() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) filter.put("010" + i);
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain("012" + i)) falsePositives++;
+        }
+
+        assertThat(falsePositives).isLessThan(300);
+    }
+
+    @Test
+    void build_shouldLoadAllPagesAndMatchEmailsCaseInsensitively() {
+        Pageable first = PageRequest.of(0, 5_000);
+        given(userRepository.findAllContacts(any(Pageable.class)))
+                .willReturn(new SliceImpl<>(List.of(new UserContact("Hamza@gmail.com", "01012345678")), first, true))
+                .willReturn(new SliceImpl<>(List.of(new UserContact("player@gmail.com", "01032345678")), first.next(), false));
+
+        RegistrationBloomFilter filter = new RegistrationBloomFilter(userRepository, 1_000, 0.01);
+        assertThat(filter.mightContainEmail("anything@gmail.com")).isTrue();
+
+        filter.build();
+
+        assertThat(filter.mightContainEmail("hamza@gmail.com")).isTrue();
+        assertThat(filter.mightContainEmail("player@gmail.com")).isTrue();
+        assertThat(filter.mightContainPhone("01032345678")).isTrue();
+        assertThat(filter.mightContainEmail("nobody@gmail.com")).isFalse();
+
+        filter.recordTaken("nobody@gmail.com", "01099999999");
+        assertThat(filter.mightContainEmail("nobody@gmail.com")).isTrue();
+        assertThat(filter.mightContainPhone("01099999999")).isTrue();
+    }
+
+    @Test
+    void rebuild_shouldGrowPastExpectedUsersInsteadOfRebuildingOnEveryCheck() {
+        given(userRepository.findAllContacts(any(Pageable.class))).willReturn(new SliceImpl<>(List.of(
+                new UserContact("a@gmail.com", "01000000001"), new UserContact("b@gmail.com", "01000000002"),
+                new UserContact("c@gmail.com", "01000000003"))));
+        RegistrationBloomFilter filter = new RegistrationBloomFilter(userRepository, 2, 0.01);
+
+        filter.build();
+        filter.rebuildIfStale();
+        filter.rebuildIfStale();
+        filter.rebuildIfStale();
+
+        verify(userRepository, times(2)).findAllContacts(any(Pageable.class));
+    }
+
+    @Test
+    void rebuild_shouldKeepReleasesRecordedWhileItWasLoading() {
+        RegistrationBloomFilter filter = new RegistrationBloomFilter(userRepository, 1_000, 0.01);
+        AtomicInteger loads = new AtomicInteger();
+        given(userRepository.findAllContacts(any(Pageable.class))).willAnswer(invocation -> {
+            // A user deleted while the first build pages through the table
+            if (loads.getAndIncrement() == 0) filter.recordReleased();
+            return new SliceImpl<>(List.of(new UserContact("a@gmail.com", "01000000001")));
+        });
+
+        filter.build();
+        filter.rebuildIfStale();
+        filter.rebuildIfStale();
+
+        verify(userRepository, times(2)).findAllContacts(any(Pageable.class));
+    }
+
+    @Test
+    void bulkRegistration_shouldSkipUniquenessQueriesAndRaiseThroughput() {
+        AtomicInteger lookups = new AtomicInteger();
+        given(userRepository.findAllContacts(any(Pageable.class)))
+                .willReturn(new SliceImpl<>(List.of(new UserContact("admin@gmail.com", "01012345678"))));
+        lenient().when(userRepository.findByEmailAndIsDeletedFalse(anyString())).thenAnswer(invocation -> {
+            lookups.incrementAndGet();
+            LockSupport.parkNanos(SIMULATED_QUERY_NANOS);
+            return Optional.empty();
+        });
+        lenient().when(userRepository.existsByPhoneNumberAndIsDeletedFalse(anyString())).thenAnswer(invocation -> {
+            lookups.incrementAndGet();
+            LockSupport.parkNanos(SIMULATED_QUERY_NANOS);
+            return false;
+        });
+        given(passwordEncoder.encode(anyString())).willReturn("hashed_password");
+        given(userRepository.save(any(User.class))).willAnswer(invocation -> invocation.getArgument(0));
+
+        RegistrationBloomFilter coldFilter = new RegistrationBloomFilter(userRepository, SIGNUPS, 0.01);
+        double coldRate = registerAll(new UserService(userRepository, passwordEncoder, coldFilter), "cold");
+        int coldLookups = lookups.getAndSet(0);
+
+        RegistrationBloomFilter warmFilter = new RegistrationBloomFilter(userRepository, SIGNUPS * 2L, 0.01);
+        warmFilter.build();
+        double warmRate = registerAll(new UserService(userRepository, passwordEncoder, warmFilter), "warm");
+        int warmLookups = lookups.get();
+
+        log.info("Bulk registration of {} users | Without filter: {} signups/s, {} lookups | With filter: {} signups/s, {} lookups",
+                SIGNUPS, Math.round(coldRate), coldLookups, Math.round(warmRate), warmLookups);
+
+        assertThat(coldLookups).isEqualTo(SIGNUPS * 2);
+        assertThat(warmLookups).isLessThan(SIGNUPS / 10);
+        assertThat(warmRate).isGreaterThan(coldRate);
+    }
+
+    private double registerAll(UserService userService, String batch) {
+        long start = System.nanoTime();
+        for (int i = 0; i < SIGNUPS; i++) {
+            userService.addUser(new UserRequest("Player " + i, batch + i + "@gmail.com",
+                    String.format("01%s%08d", batch.equals("cold") ? "1" : "5", i), "Player@1234", LocalDate.of(2000, 1, 1)));
+        }
+        return SIGNUPS / ((System.nanoTime() - start) / 1e9);
+    }
+}
@@ -30,6 +30,8 @@ class UserServiceTest {
     private UserService userService;
     @Mock
     private PasswordEncoder passwordEncoder;
+    @Mock
+    private RegistrationBloomFilter registrationBloomFilter;
 
     // --- Shared Test Data ---
     private final UUID sharedUserId = UUID.randomUUID();
@@ -55,6 +57,10 @@ class UserServiceTest {
                 sharedOriginalUser.getDob(), null,null,sharedOriginalUser.getRole(),false
         );
         pageable = PageRequest.of(0, 10);
+
+        // Default to "maybe taken" so the uniqueness queries run as before
+        lenient().when(registrationBloomFilter.mightContainEmail(anyString())).thenReturn(true);
+        lenient().when(registrationBloomFilter.mightContainPhone(anyString())).thenReturn(true);
     }
 
     @Test
@@ -150,7 +156,27 @@ class UserServiceTest {
 
         assertThat(response.id()).isEqualTo(savedUser.getId());
         assertThat(response.name()).isEqualTo(sharedName);
+        verify(registrationBloomFilter).recordTaken("player@gmail.com", sharedPhoneNumber);
+    }
+
+    @Test
+    void addUser_ShouldSkipUniquenessQueries_WhenFilterSaysDefinitelyNew() {
+        UserRequest userRequest = new UserRequest(
+                sharedName, "new.player@gmail.com", "01099999999", sharedPassword,
+                LocalDate.of(2000, 1, 1)
+        );
+        given(registrationBloomFilter.mightContainEmail(userRequest.email())).willReturn(false);
+        given(registrationBloomFilter.mightContainPhone(userRequest.phoneNumber())).willReturn(false);
+        given(passwordEncoder.encode(userRequest.password())).willReturn("hashed_password");
+        given(userRepository.save(any(User.class))).willAnswer(invocation -> invocation.getArgument(0));
+
+        userService.addUser(userRequest);
+
+        verify(userRepository, never()).findByEmailAndIsDeletedFalse(anyString());
+        verify(userRepository, never()).existsByPhoneNumberAndIsDeletedFalse(anyString());
+        verify(userRepository).save(any(User.class));
     }
+
     @Test
     void addUser_ShouldThrowEmailTakenException() {
         UserRequest userRequest = new UserRequest(
@@ -202,6 +228,7 @@ class UserServiceTest {
 
         verify(userRepository, times(1)).findByIdAndIsDeletedFalse(sharedUserId);
         verify(userRepository,times(1)).save(sharedUserCopy);
+        verify(registrationBloomFilter).recordReleased();
         assertThat(sharedUserCopy.isDeleted()).isEqualTo(true);
         assertThat(sharedUserCopy.getEmail())
                 .startsWith("deleted_")
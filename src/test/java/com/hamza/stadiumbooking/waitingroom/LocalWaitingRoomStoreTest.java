@@ -0,0 +1,103 @@
+package com.hamza.stadiumbooking.waitingroom;
+
+import com.hamza.stadiumbooking.waitingroom.WaitingRoomStore.Ticket;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalWaitingRoomStoreTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+    private final LocalWaitingRoomStore store = new LocalWaitingRoomStore(clock::get);
+    private final UUID stadiumId = UUID.randomUUID();
+    private final WaitingRoom room = new WaitingRoom(60, 30); // one admission per second, tokens good for 30s
+
+    @Test
+    @DisplayName("Joiners are admitted in FIFO order, one admission interval apart")
+    void join_ShouldSpaceAdmissionsInJoinOrder() {
+        store.open(stadiumId, room);
+
+        Ticket first = store.join(stadiumId, UUID.randomUUID(), room);
+        Ticket second = store.join(stadiumId, UUID.randomUUID(), room);
+        Ticket third = store.join(stadiumId, UUID.randomUUID(), room);
+
+        assertThat(first.admitAt()).isEqualTo(clock.get());
+        assertThat(second.admitAt()).isEqualTo(clock.get() + 1000);
+        assertThat(third.admitAt()).isEqualTo(clock.get() + 2000);
+        assertThat(first.token()).isNotEqualTo(second.token());
+    }
+
+    @Test
+    @DisplayName("An idle room doesn't bank admissions: a burst after a quiet spell is still spaced out")
+    void join_AfterIdleSpell_ShouldNotAdmitABurst() {
+        store.open(stadiumId, room);
+        store.join(stadiumId, UUID.randomUUID(), room);
+
+        clock.addAndGet(60_000);
+        Ticket first = store.join(stadiumId, UUID.randomUUID(), room);
+        Ticket second = store.join(stadiumId, UUID.randomUUID(), room);
+
+        assertThat(first.admitAt()).isEqualTo(clock.get());
+        assertThat(second.admitAt()).isEqualTo(clock.get() + 1000);
+    }
+
+    @Test
+    @DisplayName("Rejoining keeps the ticket until it expires; consumed or expired tickets go to the back of the queue")
+    void join_ShouldKeepLiveTicketAndRequeueSpentOnes() {
+        store.open(stadiumId, room);
+        UUID player = UUID.randomUUID();
+
+        Ticket ticket = store.join(stadiumId, player, room);
+        assertThat(store.join(stadiumId, player, room).token()).isEqualTo(ticket.token());
+        assertThat(store.ticket(stadiumId, player)).map(Ticket::token).contains(ticket.token());
+
+        store.consume(stadiumId, player);
+        assertThat(store.ticket(stadiumId, player)).isEmpty();
+        Ticket requeued = store.join(stadiumId, player, room);
+        assertThat(requeued.token()).isNotEqualTo(ticket.token());
+        assertThat(requeued.admitAt()).isEqualTo(clock.get() + 1000);
+
+        clock.addAndGet(31_000);
+        assertThat(store.ticket(stadiumId, player)).isEmpty();
+        store.sweep();
+        assertThat(store.join(stadiumId, player, room).token()).isNotEqualTo(requeued.token());
+    }
+
+    @Test
+    @DisplayName("A token is claimed by one booking at a time and handed back when that booking fails")
+    void claim_ShouldHoldTokenForOneBookingUntilReleased() {
+        store.open(stadiumId, room);
+        UUID player = UUID.randomUUID();
+        Ticket ticket = store.join(stadiumId, player, room);
+
+        assertThat(store.claim(stadiumId, player, "not-the-token")).isFalse();
+        assertThat(store.claim(stadiumId, player, ticket.token())).isTrue();
+        assertThat(store.claim(stadiumId, player, ticket.token())).isFalse();
+        // Still queued while claimed, so a rejoin keeps the same ticket
+        assertThat(store.join(stadiumId, player, room).token()).isEqualTo(ticket.token());
+
+        store.release(stadiumId, player);
+        assertThat(store.claim(stadiumId, player, ticket.token())).isTrue();
+        store.consume(stadiumId, player);
+        assertThat(store.claim(stadiumId, player, ticket.token())).isFalse();
+        store.release(stadiumId, player);
+        assertThat(store.ticket(stadiumId, player)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Closing a room drops its queue")
+    void close_ShouldDropRoomAndTickets() {
+        store.open(stadiumId, room);
+        UUID player = UUID.randomUUID();
+        store.join(stadiumId, player, room);
+
+        store.close(stadiumId);
+
+        assertThat(store.room(stadiumId)).isEmpty();
+        assertThat(store.ticket(stadiumId, player)).isEmpty();
+    }
+}
@@ -0,0 +1,184 @@
+package com.hamza.stadiumbooking.waitingroom;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hamza.stadiumbooking.base.AuthTestUtils;
+import com.hamza.stadiumbooking.booking.BookingRequest;
+import com.hamza.stadiumbooking.booking.BookingRequestForUpdate;
+import com.hamza.stadiumbooking.stadium.Stadium;
+import com.hamza.stadiumbooking.user.Role;
+import com.hamza.stadiumbooking.user.User;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Booking through a stadium's waiting room, on H2.
+ */
+@AutoConfigureMockMvc
+@SpringBootTest
+@ActiveProfiles({"test", "h2"})
+class WaitingRoomTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private AuthTestUtils authTestUtils;
+
+    private Stadium stadium;
+    private String ownerToken;
+    private String firstToken;
+    private String secondToken;
+    private final LocalDateTime slot = LocalDateTime.now().plusDays(5).truncatedTo(ChronoUnit.DAYS).withHour(18);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        User owner = authTestUtils.saveUser("queue-owner-" + suffix + "@gmail.com", "Owner@1234", "015" + suffix, Role.ROLE_MANAGER);
+        User first = authTestUtils.savePlayer("queue-first-" + suffix + "@gmail.com", "Player@1234", "016" + suffix);
+        User second = authTestUtils.savePlayer("queue-second-" + suffix + "@gmail.com", "Player@1234", "017" + suffix);
+        stadium = authTestUtils.saveStadium("Queue " + suffix, owner);
+        ownerToken = authTestUtils.obtainAccessToken(owner.getEmail(), "Owner@1234");
+        firstToken = authTestUtils.obtainAccessToken(first.getEmail(), "Player@1234");
+        secondToken = authTestUtils.obtainAccessToken(second.getEmail(), "Player@1234");
+    }
+
+    @Test
+    void openRoom_ShouldAdmitInJoinOrderAndOnlyLetTokenHoldersBook() throws Exception {
+        mockMvc.perform(put(waitingRoom())
+                        .header("Authorization", "Bearer " + ownerToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new WaitingRoomRequest(1, null))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.open").value(true))
+                .andExpect(jsonPath("$.tokenTtlSeconds").value(120));
+
+        book(firstToken, null, slot).andExpect(status().isTooManyRequests());
+        mockMvc.perform(get(waitingRoom() + "/position").header("Authorization", "Bearer " + firstToken))
+                .andExpect(status().isNotFound());
+
+        String first = join(firstToken)
+                .andExpect(jsonPath("$.admitted").value(true))
+                .andExpect(jsonPath("$.position").value(0))
+                .andReturn().getResponse().getContentAsString();
+        String admission = JsonPath.read(first, "$.token");
+
+        join(secondToken)
+                .andExpect(jsonPath("$.admitted").value(false))
+                .andExpect(jsonPath("$.position").value(1))
+                .andExpect(jsonPath("$.token").doesNotExist());
+        mockMvc.perform(get(waitingRoom() + "/position").header("Authorization", "Bearer " + secondToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.position").value(1))
+                .andExpect(jsonPath("$.estimatedWaitSeconds").isNumber());
+        book(secondToken, admission, slot)
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+
+        book(firstToken, "not-the-token", slot).andExpect(status().isTooManyRequests());
+        book(firstToken, admission, slot).andExpect(status().isCreated());
+        // The token is spent by the booking it made
+        book(firstToken, admission, slot.plusHours(2)).andExpect(status().isTooManyRequests());
+
+        mockMvc.perform(delete(waitingRoom()).header("Authorization", "Bearer " + ownerToken))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get(waitingRoom()))
+                .andExpect(jsonPath("$.open").value(false));
+        book(secondToken, null, slot.plusHours(2)).andExpect(status().isCreated());
+    }
+
+    @Test
+    void failedBooking_ShouldHandTheTokenBackAndSlotMovesShouldQueueInTheBookingsOwnStadium() throws Exception {
+        UUID bookingId = UUID.fromString(JsonPath.read(book(firstToken, null, slot)
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString(), "$.id"));
+        openRoom();
+        String admission = JsonPath.read(join(firstToken).andReturn().getResponse().getContentAsString(), "$.token");
+
+        // Longer than the 3 hour limit: rejected, and the token survives for the retry
+        book(firstToken, admission, slot.plusHours(2), slot.plusHours(6)).andExpect(status().isBadRequest());
+        book(firstToken, admission, slot.plusHours(2), slot.plusHours(3)).andExpect(status().isCreated());
+
+        // No stadiumId in the update: it still lands in this stadium, so it goes through its room
+        mockMvc.perform(update(secondToken, bookingId, null, slot.plusHours(4))).andExpect(status().isTooManyRequests());
+        mockMvc.perform(update(firstToken, bookingId, null, slot.plusHours(4))).andExpect(status().isTooManyRequests());
+        String next = JsonPath.read(join(firstToken).andReturn().getResponse().getContentAsString(), "$.token");
+        mockMvc.perform(update(firstToken, bookingId, next, slot.plusHours(4))).andExpect(status().isOk());
+        // A note edit moves nothing and needs no token
+        mockMvc.perform(put("/api/v1/bookings/" + bookingId)
+                        .header("Authorization", "Bearer " + firstToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BookingRequestForUpdate(null, null, null, "bring bibs"))))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void joinWithoutOpenRoom_ShouldBeNotFound() throws Exception {
+        mockMvc.perform(post(waitingRoom() + "/join").header("Authorization", "Bearer " + firstToken))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(post(waitingRoom() + "/join").header("Authorization", "Bearer " + ownerToken))
+                .andExpect(status().isForbidden());
+    }
+
+    private String waitingRoom() {
+        return "/api/v1/stadiums/" + stadium.getId() + "/waiting-room";
+    }
+
+    private ResultActions join(String token) throws Exception {
+        return mockMvc.perform(post(waitingRoom() + "/join").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+
+    private void openRoom() throws Exception {
+        // 100 admissions a second, so the test's rejoins are admitted straight away
+        mockMvc.perform(put(waitingRoom())
+                        .header("Authorization", "Bearer " + ownerToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new WaitingRoomRequest(6000, null))))
+                .andExpect(status().isOk());
+    }
+
+    private ResultActions book(String token, String admission, LocalDateTime start) throws Exception {
+        return book(token, admission, start, start.plusHours(1));
+    }
+
+    private ResultActions book(String token, String admission, LocalDateTime start, LocalDateTime end) throws Exception {
+        var request = post("/api/v1/bookings")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BookingRequest(stadium.getId(), start, end, null)));
+        if (admission != null) request.header(WaitingRoomService.TOKEN_HEADER, admission);
+        return mockMvc.perform(request);
+    }
+
+    private MockHttpServletRequestBuilder update(String token, UUID bookingId, String admission, LocalDateTime start) throws Exception {
+        var request = put("/api/v1/bookings/" + bookingId)
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BookingRequestForUpdate(null, start, start.plusHours(1), null)));
+        if (admission != null) request.header(WaitingRoomService.TOKEN_HEADER, admission);
+        return request;
+    }
+}